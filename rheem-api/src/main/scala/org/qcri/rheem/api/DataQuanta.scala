@@ -2,7 +2,9 @@ package org.qcri.rheem.api
 
 import _root_.java.lang.{Iterable => JavaIterable}
 import _root_.java.util.function.{Consumer, IntUnaryOperator, BiFunction => JavaBiFunction, Function => JavaFunction}
-import _root_.java.util.{Collection => JavaCollection}
+import _root_.java.util.concurrent.Future
+import _root_.java.util.stream.{Stream, StreamSupport}
+import _root_.java.util.{Spliterator, Spliterators, Collection => JavaCollection}
 
 import de.hpi.isg.profiledb.store.model.Experiment
 import org.apache.commons.lang3.Validate
@@ -15,7 +17,8 @@ import org.qcri.rheem.core.optimizer.cardinality.CardinalityEstimator
 import org.qcri.rheem.core.optimizer.costs.LoadProfileEstimator
 import org.qcri.rheem.core.plan.rheemplan._
 import org.qcri.rheem.core.platform.Platform
-import org.qcri.rheem.core.util.{Tuple => RheemTuple}
+import org.qcri.rheem.core.util.ConsumerIteratorAdapter.CloseableIterator
+import org.qcri.rheem.core.util.{ConsumerIteratorAdapter, Tuple => RheemTuple}
 
 import scala.collection.JavaConversions
 import scala.collection.JavaConversions._
@@ -444,6 +447,52 @@ class DataQuanta[Out: ClassTag](val operator: ElementaryOperator, outputIndex: I
     joinOperator
   }
 
+  /**
+    * Feeds this and a further instance into a [[RangeJoinOperator]], which pairs each data quantum of this instance
+    * with all data quanta of `that` instance whose (inclusive) range contains it.
+    *
+    * @param thisValueUdf      UDF to extract values from data quanta in this instance
+    * @param that              the other instance
+    * @param thatLowerBoundUdf UDF to extract the lower bounds from data quanta from `that` instance
+    * @param thatUpperBoundUdf UDF to extract the upper bounds from data quanta from `that` instance
+    * @return a new instance representing the [[RangeJoinOperator]]'s output
+    */
+  def rangeJoin[ThatOut: ClassTag, Value: ClassTag]
+  (thisValueUdf: Out => Value,
+   that: DataQuanta[ThatOut],
+   thatLowerBoundUdf: ThatOut => Value,
+   thatUpperBoundUdf: ThatOut => Value)
+  : DataQuanta[org.qcri.rheem.basic.data.Tuple2[Out, ThatOut]] =
+    rangeJoinJava(toSerializableFunction(thisValueUdf), that,
+      toSerializableFunction(thatLowerBoundUdf), toSerializableFunction(thatUpperBoundUdf))
+
+  /**
+    * Feeds this and a further instance into a [[RangeJoinOperator]], which pairs each data quantum of this instance
+    * with all data quanta of `that` instance whose (inclusive) range contains it.
+    *
+    * @param thisValueUdf      UDF to extract values from data quanta in this instance
+    * @param that              the other instance
+    * @param thatLowerBoundUdf UDF to extract the lower bounds from data quanta from `that` instance
+    * @param thatUpperBoundUdf UDF to extract the upper bounds from data quanta from `that` instance
+    * @return a new instance representing the [[RangeJoinOperator]]'s output
+    */
+  def rangeJoinJava[ThatOut: ClassTag, Value: ClassTag]
+  (thisValueUdf: SerializableFunction[Out, Value],
+   that: DataQuanta[ThatOut],
+   thatLowerBoundUdf: SerializableFunction[ThatOut, Value],
+   thatUpperBoundUdf: SerializableFunction[ThatOut, Value])
+  : DataQuanta[org.qcri.rheem.basic.data.Tuple2[Out, ThatOut]] = {
+    require(this.planBuilder eq that.planBuilder, s"$this and $that must use the same plan builders.")
+    val rangeJoinOperator = new RangeJoinOperator(
+      new TransformationDescriptor(thisValueUdf, basicDataUnitType[Out], basicDataUnitType[Value]),
+      new TransformationDescriptor(thatLowerBoundUdf, basicDataUnitType[ThatOut], basicDataUnitType[Value]),
+      new TransformationDescriptor(thatUpperBoundUdf, basicDataUnitType[ThatOut], basicDataUnitType[Value])
+    )
+    this.connectTo(rangeJoinOperator, 0)
+    that.connectTo(rangeJoinOperator, 1)
+    rangeJoinOperator
+  }
+
   /**
     * Feeds this and a further instance into a [[CartesianOperator]].
     *
@@ -481,6 +530,67 @@ class DataQuanta[Out: ClassTag](val operator: ElementaryOperator, outputIndex: I
     distinctOperator
   }
 
+  /**
+    * Feed this instance into a [[SortOperator]].
+    *
+    * @param keyUdf     UDF to extract the sort key from the data quanta
+    * @param keyUdfLoad optional [[LoadProfileEstimator]] for the `keyUdf`
+    * @return a new instance representing the [[SortOperator]]'s output
+    */
+  def sort[Key: ClassTag](keyUdf: Out => Key,
+                          keyUdfLoad: LoadProfileEstimator = null): DataQuanta[Out] =
+    sortJava(toSerializableFunction(keyUdf), keyUdfLoad)
+
+  /**
+    * Feed this instance into a [[SortOperator]].
+    *
+    * @param keyUdf     UDF to extract the sort key from the data quanta
+    * @param keyUdfLoad optional [[LoadProfileEstimator]] for the `keyUdf`
+    * @return a new instance representing the [[SortOperator]]'s output
+    */
+  def sortJava[Key: ClassTag](keyUdf: SerializableFunction[Out, Key],
+                              keyUdfLoad: LoadProfileEstimator = null): DataQuanta[Out] = {
+    val sortOperator = new SortOperator(
+      new TransformationDescriptor(keyUdf, basicDataUnitType[Out], basicDataUnitType[Key], keyUdfLoad),
+      dataSetType[Out]
+    )
+    this.connectTo(sortOperator, 0)
+    sortOperator
+  }
+
+  /**
+    * Feed this instance into a [[TopKOperator]].
+    *
+    * @param k          the number of data quanta to retain
+    * @param keyUdf     UDF to extract the sort key from the data quanta
+    * @param keyUdfLoad optional [[LoadProfileEstimator]] for the `keyUdf`
+    * @return a new instance representing the [[TopKOperator]]'s output
+    */
+  def topK[Key: ClassTag](k: Int,
+                          keyUdf: Out => Key,
+                          keyUdfLoad: LoadProfileEstimator = null): DataQuanta[Out] =
+    topKJava(k, toSerializableFunction(keyUdf), keyUdfLoad)
+
+  /**
+    * Feed this instance into a [[TopKOperator]].
+    *
+    * @param k          the number of data quanta to retain
+    * @param keyUdf     UDF to extract the sort key from the data quanta
+    * @param keyUdfLoad optional [[LoadProfileEstimator]] for the `keyUdf`
+    * @return a new instance representing the [[TopKOperator]]'s output
+    */
+  def topKJava[Key: ClassTag](k: Int,
+                              keyUdf: SerializableFunction[Out, Key],
+                              keyUdfLoad: LoadProfileEstimator = null): DataQuanta[Out] = {
+    val topKOperator = new TopKOperator(
+      k,
+      new TransformationDescriptor(keyUdf, basicDataUnitType[Out], basicDataUnitType[Key], keyUdfLoad),
+      dataSetType[Out]
+    )
+    this.connectTo(topKOperator, 0)
+    topKOperator
+  }
+
   /**
     * Feeds this instance into a [[CountOperator]].
     *
@@ -674,6 +784,88 @@ class DataQuanta[Out: ClassTag](val operator: ElementaryOperator, outputIndex: I
     collector
   }
 
+  /**
+    * Perform a local action on each data quantum in this instance. Triggers asynchronous execution.
+    *
+    * @param f the action to perform
+    * @return a [[Future]] that completes with the execution; cancelling it interrupts the execution
+    */
+  def foreachAsync(f: Out => _): Future[Unit] = foreachAsyncJava(toConsumer(f))
+
+  /**
+    * Perform a local action on each data quantum in this instance. Triggers asynchronous execution.
+    *
+    * @param f the action to perform as Java 8 lambda expression
+    * @return a [[Future]] that completes with the execution; cancelling it interrupts the execution
+    */
+  def foreachAsyncJava(f: Consumer[Out]): Future[Unit] = {
+    val sink = new LocalCallbackSink(f, dataSetType[Out])
+    sink.setName("foreach()")
+    this.connectTo(sink, 0)
+    this.planBuilder.sinks += sink
+    val future = this.planBuilder.buildAndSubmit(())
+    this.planBuilder.sinks.clear()
+    future
+  }
+
+  /**
+    * Collect the data quanta in this instance. Triggers asynchronous execution.
+    *
+    * @return a [[Future]] for the data quanta; cancelling it interrupts the execution
+    */
+  def collectAsync(): Future[Iterable[Out]] = {
+    // Set up the sink.
+    val collector = new java.util.LinkedList[Out]()
+    val sink = LocalCallbackSink.createCollectingSink(collector, dataSetType[Out])
+    sink.setName("collect()")
+    this.connectTo(sink, 0)
+
+    // Submit the execution.
+    this.planBuilder.sinks += sink
+    val future = this.planBuilder.buildAndSubmit[Iterable[Out]](collector)
+    this.planBuilder.sinks.clear()
+    future
+  }
+
+  /**
+    * Collect the data quanta in this instance while they are being produced. Triggers asynchronous execution.
+    * The execution blocks while `bufferCapacity` data quanta wait to be read and is aborted when the returned
+    * iterator is closed.
+    *
+    * @param bufferCapacity the minimum number of data quanta that can be buffered
+    * @return a [[CloseableIterator]] over the data quanta
+    */
+  def collectAsIterator(bufferCapacity: Int = 1 << 16): CloseableIterator[Out] = {
+    // Set up the sink.
+    val adapter = new ConsumerIteratorAdapter[Out](bufferCapacity)
+    val sink = new LocalCallbackSink(adapter.getConsumer, dataSetType[Out])
+    sink.setName("collectAsIterator()")
+    this.connectTo(sink, 0)
+
+    // Submit the execution.
+    this.planBuilder.sinks += sink
+    adapter.bindProducer(this.planBuilder.buildAndSubmit(adapter.declareLastAdd()))
+    this.planBuilder.sinks.clear()
+
+    adapter.getIterator
+  }
+
+  /**
+    * Provide the data quanta in this instance as a [[Stream]] while they are being produced. Triggers asynchronous
+    * execution. Closing the [[Stream]] aborts the execution.
+    *
+    * @param bufferCapacity the minimum number of data quanta that can be buffered
+    * @return a [[Stream]] of the data quanta
+    * @see [[collectAsIterator]]
+    */
+  def stream(bufferCapacity: Int = 1 << 16): Stream[Out] = {
+    val iterator = this.collectAsIterator(bufferCapacity)
+    StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false)
+      .onClose(new Runnable {
+        override def run(): Unit = iterator.close()
+      })
+  }
+
   /**
     * Write the data quanta in this instance to a text file. Triggers execution.
     *
@@ -2,6 +2,7 @@ package org.qcri.rheem.api
 
 
 import java.util.function.{Consumer, IntUnaryOperator, Function => JavaFunction}
+import java.util.stream.Stream
 import java.util.{Collection => JavaCollection}
 
 import de.hpi.isg.profiledb.store.model.Experiment
@@ -16,6 +17,7 @@ import org.qcri.rheem.core.optimizer.costs.{LoadEstimator, LoadProfile, LoadProf
 import org.qcri.rheem.core.plan.rheemplan.{Operator, OutputSlot, RheemPlan, UnarySource}
 import org.qcri.rheem.core.platform.Platform
 import org.qcri.rheem.core.types.DataSetType
+import org.qcri.rheem.core.util.ConsumerIteratorAdapter.CloseableIterator
 import org.qcri.rheem.core.util.{Logging, ReflectionUtils, RheemCollections, Tuple => RheemTuple}
 
 import scala.collection.mutable.ListBuffer
@@ -324,6 +326,22 @@ trait DataQuantaBuilder[+This <: DataQuantaBuilder[_, Out], Out] extends Logging
     this.dataQuanta().collect()
   }
 
+  /**
+    * Feed the built [[DataQuanta]] into a [[LocalCallbackSink]] that provides all data quanta locally while they are
+    * being produced. This triggers asynchronous execution of the constructed [[RheemPlan]].
+    *
+    * @return a [[CloseableIterator]] over the data quanta; closing it aborts the execution
+    */
+  def collectAsIterator(): CloseableIterator[Out] = this.dataQuanta().collectAsIterator()
+
+  /**
+    * Feed the built [[DataQuanta]] into a [[LocalCallbackSink]] that provides all data quanta locally while they are
+    * being produced. This triggers asynchronous execution of the constructed [[RheemPlan]].
+    *
+    * @return a [[Stream]] of the data quanta; closing it aborts the execution
+    */
+  def stream(): Stream[Out] = this.dataQuanta().stream()
+
   /**
     * Feed the built [[DataQuanta]] into a [[JavaFunction]] that runs locally. This triggers
     * execution of the constructed [[RheemPlan]].
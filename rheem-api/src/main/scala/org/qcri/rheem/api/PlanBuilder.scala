@@ -1,11 +1,14 @@
 package org.qcri.rheem.api
 
+import _root_.java.util.concurrent.Future
+import _root_.java.util.function.{Function => JavaFunction}
+
 import de.hpi.isg.profiledb.store.model.Experiment
 import org.apache.commons.lang3.Validate
 import org.qcri.rheem.api
 import org.qcri.rheem.basic.data.Record
 import org.qcri.rheem.basic.operators.{CollectionSource, TableSource, TextFileSource}
-import org.qcri.rheem.core.api.RheemContext
+import org.qcri.rheem.core.api.{Job, RheemContext}
 import org.qcri.rheem.core.plan.rheemplan._
 import org.qcri.rheem.core.util.ReflectionUtils
 
@@ -85,6 +88,22 @@ class PlanBuilder(rheemContext: RheemContext, private var jobName: String = null
     else this.rheemContext.execute(jobName, plan, this.experiment, this.udfJars.toArray: _*)
   }
 
+  /**
+    * Build the [[org.qcri.rheem.core.api.Job]] and submit it for asynchronous execution.
+    *
+    * @param result provides the result of the returned [[Future]] once the [[Job]] has been executed
+    * @return a [[Future]] for the `result`; cancelling it interrupts the [[Job]]
+    */
+  def buildAndSubmit[T](result: => T): Future[T] = {
+    val plan: RheemPlan = new RheemPlan(this.sinks.toArray: _*)
+    val job =
+      if (this.experiment == null) this.rheemContext.createJob(jobName, plan, this.udfJars.toArray: _*)
+      else this.rheemContext.createJob(jobName, plan, this.experiment, this.udfJars.toArray: _*)
+    this.rheemContext.submit(job, new JavaFunction[Job, T] {
+      override def apply(job: Job): T = result
+    })
+  }
+
   /**
     * Read a text file and provide it as a dataset of [[String]]s, one per line.
     *
@@ -1,8 +1,9 @@
 package org.qcri.rheem.api.graph
 
 import org.qcri.rheem.api._
-import org.qcri.rheem.basic.data.Record
-import org.qcri.rheem.basic.operators.{MapOperator, PageRankOperator}
+import org.qcri.rheem.basic.data.{Record, Tuple2 => T2}
+import org.qcri.rheem.basic.function.VertexProgram
+import org.qcri.rheem.basic.operators.{MapOperator, PageRankOperator, VertexProgramOperator}
 import org.qcri.rheem.core.optimizer.ProbabilisticDoubleInterval
 
 /**
@@ -27,4 +28,20 @@ class EdgeDataQuanta(dataQuanta: DataQuanta[Edge]) {
     wrap[PageRank](pageRankOperator)
   }
 
-}
\ No newline at end of file
+  /**
+    * Feed this instance into a [[VertexProgramOperator]].
+    *
+    * @param vertexProgram the [[VertexProgram]] to run
+    * @param numIterations the maximum number of supersteps
+    * @return a new instance representing the [[VertexProgramOperator]]'s output
+    */
+  def runVertexProgram[Value, Message](vertexProgram: VertexProgram[Value, Message],
+                                       numIterations: Int = 20,
+                                       graphDensity: ProbabilisticDoubleInterval = PageRankOperator.DEFAULT_GRAPH_DENSITIY):
+  DataQuanta[T2[Vertex, Value]] = {
+    val vertexProgramOperator = new VertexProgramOperator[Value, Message](vertexProgram, numIterations, graphDensity)
+    dataQuanta.connectTo(vertexProgramOperator, 0)
+    wrap[T2[Vertex, Value]](vertexProgramOperator)
+  }
+
+}
@@ -11,6 +11,7 @@ import org.qcri.rheem.core.function.FunctionDescriptor;
 import org.qcri.rheem.core.function.PredicateDescriptor;
 import org.qcri.rheem.core.function.TransformationDescriptor;
 import org.qcri.rheem.core.types.DataSetType;
+import org.qcri.rheem.core.util.ConsumerIteratorAdapter;
 import org.qcri.rheem.core.util.RheemArrays;
 import org.qcri.rheem.core.util.RheemCollections;
 import org.qcri.rheem.core.util.Tuple;
@@ -74,6 +75,23 @@ public class JavaApiTest {
         Assert.assertEquals(RheemCollections.asSet(1 + 4 + 9 + 16), RheemCollections.asSet(outputCollection));
     }
 
+    @Test
+    public void testCollectAsIterator() {
+        RheemContext rheemContext = new RheemContext().with(Java.basicPlugin());
+        JavaPlanBuilder javaPlanBuilder = new JavaPlanBuilder(rheemContext);
+
+        List<Integer> inputCollection = Arrays.asList(0, 1, 2, 3, 4);
+        List<Integer> outputList = new ArrayList<>();
+        try (ConsumerIteratorAdapter.CloseableIterator<Integer> iterator = javaPlanBuilder
+                .loadCollection(inputCollection).withName("load numbers")
+                .map(i -> i * i).withName("square")
+                .collectAsIterator()) {
+            iterator.forEachRemaining(outputList::add);
+        }
+
+        Assert.assertEquals(Arrays.asList(0, 1, 4, 9, 16), outputList);
+    }
+
     @Test
     public void testMapReduceBy() {
         RheemContext rheemContext = new RheemContext().with(Java.basicPlugin());
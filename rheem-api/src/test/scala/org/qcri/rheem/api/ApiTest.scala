@@ -4,6 +4,7 @@ import java.io.File
 import java.net.URI
 import java.nio.file.{Files, Paths}
 import java.sql.{Connection, Statement}
+import java.util.concurrent.{CountDownLatch, TimeUnit}
 import java.util.function.Consumer
 
 import org.junit.{Assert, Test}
@@ -42,6 +43,64 @@ class ApiTest {
     Assert.assertArrayEquals(expectedOutputValues, outputValues.toArray)
   }
 
+  @Test
+  def testCollectAsync(): Unit = {
+    // Set up RheemContext.
+    val rheem = new RheemContext().withPlugin(Java.basicPlugin).withPlugin(Spark.basicPlugin)
+
+    // Submit two Rheem plans.
+    val future1 = rheem.loadCollection(1 to 10).map(_ + 2).collectAsync()
+    val future2 = rheem.loadCollection(1 to 10).map(_ * 2).collectAsync()
+
+    // Check the outcome.
+    Assert.assertEquals((1 to 10).map(_ + 2).toSet, future1.get(1, TimeUnit.MINUTES).toSet)
+    Assert.assertEquals((1 to 10).map(_ * 2).toSet, future2.get(1, TimeUnit.MINUTES).toSet)
+    rheem.close()
+  }
+
+  @Test
+  def testForeachAsync(): Unit = {
+    // Set up RheemContext.
+    val rheem = new RheemContext().withPlugin(Java.basicPlugin).withPlugin(Spark.basicPlugin)
+
+    // Submit a Rheem plan.
+    val collector = new java.util.concurrent.ConcurrentLinkedQueue[Int]()
+    val future = rheem.loadCollection(1 to 10).map(_ + 2).foreachAsync((i: Int) => collector.add(i))
+
+    // Check the outcome.
+    future.get(1, TimeUnit.MINUTES)
+    Assert.assertEquals((1 to 10).map(_ + 2).toSet, collector.toArray.toSet)
+    rheem.close()
+  }
+
+  @Test
+  def testCancellationStopsSparkJobs(): Unit = {
+    // Set up RheemContext.
+    val rheem = new RheemContext().withPlugin(Java.basicPlugin).withPlugin(Spark.basicPlugin)
+    ApiTest.udfStartLatch = new CountDownLatch(1)
+    ApiTest.udfInterruptionLatch = new CountDownLatch(1)
+
+    // Submit a Rheem plan that blocks in Spark.
+    val future = rheem
+      .loadCollection(Seq(1)).withTargetPlatforms(Spark.platform)
+      .map { i =>
+        ApiTest.udfStartLatch.countDown()
+        try {
+          Thread.sleep(TimeUnit.MINUTES.toMillis(1))
+        } catch {
+          case _: InterruptedException => ApiTest.udfInterruptionLatch.countDown()
+        }
+        i
+      }.withTargetPlatforms(Spark.platform)
+      .collectAsync()
+
+    // Cancel the execution, which should also cancel the Spark job.
+    Assert.assertTrue(ApiTest.udfStartLatch.await(1, TimeUnit.MINUTES))
+    Assert.assertTrue(future.cancel(true))
+    Assert.assertTrue(ApiTest.udfInterruptionLatch.await(30, TimeUnit.SECONDS))
+    rheem.close()
+  }
+
   @Test
   def testCustomOperator(): Unit = {
     // Set up RheemContext.
@@ -513,3 +572,12 @@ class ApiTest {
     Assert.assertEquals(expectedValues, result)
   }
 }
+
+object ApiTest {
+
+  /**
+    * Coordinate with UDFs that are run by Spark.
+    */
+  @volatile var udfStartLatch, udfInterruptionLatch: CountDownLatch = _
+
+}
@@ -0,0 +1,33 @@
+package org.qcri.rheem.basic.function;
+
+/**
+ * {@link VertexProgram} that labels each vertex with the smallest vertex ID in its weakly connected component.
+ */
+public class ConnectedComponentsProgram implements VertexProgram<Long, Long> {
+
+    @Override
+    public Long getInitialValue(long vertexId) {
+        return vertexId;
+    }
+
+    @Override
+    public Long createMessage(long sourceVertexId, Long sourceValue, long targetVertexId, int sourceDegree) {
+        return sourceValue;
+    }
+
+    @Override
+    public Long combine(Long message1, Long message2) {
+        return Math.min(message1, message2);
+    }
+
+    @Override
+    public Long apply(long vertexId, Long currentValue, Long message) {
+        return Math.min(currentValue, message);
+    }
+
+    @Override
+    public EdgeDirection getEdgeDirection() {
+        return EdgeDirection.BOTH;
+    }
+
+}
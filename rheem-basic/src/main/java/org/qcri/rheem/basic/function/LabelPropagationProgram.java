@@ -0,0 +1,61 @@
+package org.qcri.rheem.basic.function;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * {@link VertexProgram} for community detection via label propagation: Initially, each vertex is labeled with its
+ * own ID. In each superstep, a vertex adopts the most frequent label among its neighbors (the smallest one on ties).
+ * As the vote has to count all neighbors, every vertex sends its label in every superstep (see
+ * {@link #isSendingAlways()}). Edges are treated as undirected. Label propagation need not converge, so it should be run with a bounded number
+ * of supersteps.
+ */
+public class LabelPropagationProgram implements VertexProgram<Long, Map<Long, Integer>> {
+
+    @Override
+    public Long getInitialValue(long vertexId) {
+        return vertexId;
+    }
+
+    @Override
+    public Map<Long, Integer> createMessage(long sourceVertexId, Long sourceValue, long targetVertexId, int sourceDegree) {
+        Map<Long, Integer> labelCounts = new HashMap<>(2);
+        labelCounts.put(sourceValue, 1);
+        return labelCounts;
+    }
+
+    @Override
+    public Map<Long, Integer> combine(Map<Long, Integer> message1, Map<Long, Integer> message2) {
+        if (message1.size() < message2.size()) {
+            return this.combine(message2, message1);
+        }
+        message2.forEach((label, count) -> message1.merge(label, count, Integer::sum));
+        return message1;
+    }
+
+    @Override
+    public Long apply(long vertexId, Long currentValue, Map<Long, Integer> message) {
+        long bestLabel = currentValue;
+        int bestCount = 0;
+        for (Map.Entry<Long, Integer> entry : message.entrySet()) {
+            final long label = entry.getKey();
+            final int count = entry.getValue();
+            if (count > bestCount || (count == bestCount && label < bestLabel)) {
+                bestLabel = label;
+                bestCount = count;
+            }
+        }
+        return bestLabel;
+    }
+
+    @Override
+    public boolean isSendingAlways() {
+        return true;
+    }
+
+    @Override
+    public EdgeDirection getEdgeDirection() {
+        return EdgeDirection.BOTH;
+    }
+
+}
@@ -0,0 +1,49 @@
+package org.qcri.rheem.basic.function;
+
+/**
+ * {@link VertexProgram} that determines for each vertex the number of hops on the shortest directed path from a
+ * given source vertex. Unreachable vertices keep the distance {@link #UNREACHABLE}.
+ */
+public class SingleSourceShortestPathsProgram implements VertexProgram<Long, Long> {
+
+    /**
+     * Distance of vertices that cannot be reached from the source vertex.
+     */
+    public static final long UNREACHABLE = Long.MAX_VALUE;
+
+    private final long sourceVertexId;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param sourceVertexId the ID of the vertex to calculate the distances from
+     */
+    public SingleSourceShortestPathsProgram(long sourceVertexId) {
+        this.sourceVertexId = sourceVertexId;
+    }
+
+    @Override
+    public Long getInitialValue(long vertexId) {
+        return vertexId == this.sourceVertexId ? 0L : UNREACHABLE;
+    }
+
+    @Override
+    public Long createMessage(long sourceVertexId, Long sourceValue, long targetVertexId, int sourceDegree) {
+        return sourceValue == UNREACHABLE ? null : sourceValue + 1;
+    }
+
+    @Override
+    public Long combine(Long message1, Long message2) {
+        return Math.min(message1, message2);
+    }
+
+    @Override
+    public Long apply(long vertexId, Long currentValue, Long message) {
+        return Math.min(currentValue, message);
+    }
+
+    public long getSourceVertexId() {
+        return this.sourceVertexId;
+    }
+
+}
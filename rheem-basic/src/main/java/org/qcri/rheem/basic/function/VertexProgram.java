@@ -0,0 +1,95 @@
+package org.qcri.rheem.basic.function;
+
+import org.qcri.rheem.basic.operators.VertexProgramOperator;
+
+import java.io.Serializable;
+
+/**
+ * Describes a vertex-centric graph algorithm in the style of Pregel, to be run by a {@link VertexProgramOperator}.
+ * <p>Every vertex holds a value. In each superstep, the vertices whose value has changed in the previous superstep
+ * (initially: all vertices) send a message to their neighbors; if {@link #isSendingAlways()}, all vertices do so. The messages for each vertex are combined, and the
+ * vertex then applies the combined message to its value. The computation terminates once no vertex value changes
+ * anymore or the maximum number of supersteps has been reached.</p>
+ * <p>Implementations must be stateless, as they might be shipped to multiple workers and invoked concurrently.</p>
+ *
+ * @param <Value>   type of the vertex values
+ * @param <Message> type of the messages between vertices
+ */
+public interface VertexProgram<Value, Message> extends Serializable {
+
+    /**
+     * Along which edges messages are sent.
+     */
+    enum EdgeDirection {
+
+        /**
+         * Send messages from the source to the target vertex of each edge.
+         */
+        OUT,
+
+        /**
+         * Send messages along both directions of each edge, i.e., treat the graph as undirected.
+         */
+        BOTH
+
+    }
+
+    /**
+     * Provides the initial value of a vertex.
+     *
+     * @param vertexId the ID of the vertex
+     * @return the initial value
+     */
+    Value getInitialValue(long vertexId);
+
+    /**
+     * Creates the message that a vertex sends to one of its neighbors.
+     *
+     * @param sourceVertexId the ID of the sending vertex
+     * @param sourceValue    the current value of the sending vertex
+     * @param targetVertexId the ID of the receiving vertex
+     * @param sourceDegree   the number of neighbors that the sending vertex sends messages to
+     * @return the message or {@code null} if no message should be sent
+     */
+    Message createMessage(long sourceVertexId, Value sourceValue, long targetVertexId, int sourceDegree);
+
+    /**
+     * Combines two messages for the same vertex. Must be associative and commutative. Implementations may modify
+     * and return the first message.
+     *
+     * @param message1 the first message
+     * @param message2 the second message
+     * @return the combined message
+     */
+    Message combine(Message message1, Message message2);
+
+    /**
+     * Applies the combined messages to the value of a vertex. If the returned value does not
+     * {@link Object#equals(Object) equal} the current value, the vertex will send messages in the next superstep.
+     *
+     * @param vertexId     the ID of the vertex
+     * @param currentValue the current value of the vertex
+     * @param message      the combined messages for the vertex
+     * @return the new value of the vertex
+     */
+    Value apply(long vertexId, Value currentValue, Message message);
+
+    /**
+     * Tells whether all vertices should send messages in every superstep, rather than only those whose value has
+     * changed. This is required if {@link #apply(long, Object, Object)} needs to see the values of all neighbors,
+     * e.g., to take a vote. The computation still terminates once no vertex value changes anymore.
+     *
+     * @return whether all vertices send messages in every superstep
+     */
+    default boolean isSendingAlways() {
+        return false;
+    }
+
+    /**
+     * @return along which edges messages are sent
+     */
+    default EdgeDirection getEdgeDirection() {
+        return EdgeDirection.OUT;
+    }
+
+}
@@ -1,6 +1,7 @@
 package org.qcri.rheem.basic.operators;
 
 import org.apache.commons.lang3.Validate;
+import org.qcri.rheem.basic.optimizer.SampleBasedSelectivityEstimator;
 import org.qcri.rheem.core.api.Configuration;
 import org.qcri.rheem.core.function.PredicateDescriptor;
 import org.qcri.rheem.core.optimizer.OptimizationContext;
@@ -102,11 +103,14 @@ public class FilterOperator<Type> extends UnaryToUnaryOperator<Type, Type> {
         public CardinalityEstimate estimate(OptimizationContext optimizationContext, CardinalityEstimate... inputEstimates) {
             Validate.isTrue(inputEstimates.length == FilterOperator.this.getNumInputs());
             final CardinalityEstimate inputEstimate = inputEstimates[0];
+            final ProbabilisticDoubleInterval selectivity = SampleBasedSelectivityEstimator.createFor(optimizationContext)
+                    .flatMap(estimator -> estimator.estimateSelectivity(FilterOperator.this))
+                    .orElse(this.selectivity);
 
             return new CardinalityEstimate(
-                    (long) (inputEstimate.getLowerEstimate() * this.selectivity.getLowerEstimate()),
-                    (long) (inputEstimate.getUpperEstimate() * this.selectivity.getUpperEstimate()),
-                    inputEstimate.getCorrectnessProbability() * this.selectivity.getCorrectnessProbability()
+                    (long) (inputEstimate.getLowerEstimate() * selectivity.getLowerEstimate()),
+                    (long) (inputEstimate.getUpperEstimate() * selectivity.getUpperEstimate()),
+                    inputEstimate.getCorrectnessProbability() * selectivity.getCorrectnessProbability()
             );
         }
     }
@@ -2,9 +2,13 @@ package org.qcri.rheem.basic.operators;
 
 import org.apache.commons.lang3.Validate;
 import org.qcri.rheem.basic.data.Tuple2;
+import org.qcri.rheem.basic.optimizer.SampleBasedSelectivityEstimator;
 import org.qcri.rheem.core.api.Configuration;
 import org.qcri.rheem.core.function.FunctionDescriptor;
 import org.qcri.rheem.core.function.TransformationDescriptor;
+import org.qcri.rheem.core.optimizer.OptimizationContext;
+import org.qcri.rheem.core.optimizer.ProbabilisticDoubleInterval;
+import org.qcri.rheem.core.optimizer.cardinality.CardinalityEstimate;
 import org.qcri.rheem.core.optimizer.cardinality.CardinalityEstimator;
 import org.qcri.rheem.core.optimizer.cardinality.DefaultCardinalityEstimator;
 import org.qcri.rheem.core.plan.rheemplan.BinaryToUnaryOperator;
@@ -84,9 +88,42 @@ public class JoinOperator<InputType0, InputType1, Key>
         Validate.inclusiveBetween(0, this.getNumOutputs() - 1, outputIndex);
         // The current idea: We assume, we have a foreign-key like join
         // TODO: Find a better estimator.
-        return Optional.of(new DefaultCardinalityEstimator(
+        final CardinalityEstimator defaultEstimator = new DefaultCardinalityEstimator(
                 .5d, 2, this.isSupportingBroadcastInputs(),
                 inputCards -> 3 * Math.max(inputCards[0], inputCards[1])
-        ));
+        );
+        return Optional.of(new JoinOperator.SamplingCardinalityEstimator(defaultEstimator));
+    }
+
+    /**
+     * Custom {@link CardinalityEstimator} for {@link JoinOperator}s that uses sample-based selectivities if
+     * available and otherwise delegates to a default estimator.
+     */
+    private class SamplingCardinalityEstimator implements CardinalityEstimator {
+
+        private final CardinalityEstimator defaultEstimator;
+
+        private SamplingCardinalityEstimator(CardinalityEstimator defaultEstimator) {
+            this.defaultEstimator = defaultEstimator;
+        }
+
+        @Override
+        public CardinalityEstimate estimate(OptimizationContext optimizationContext, CardinalityEstimate... inputEstimates) {
+            final Optional<ProbabilisticDoubleInterval> selectivity = SampleBasedSelectivityEstimator
+                    .createFor(optimizationContext)
+                    .flatMap(estimator -> estimator.estimateSelectivity(JoinOperator.this));
+            if (!selectivity.isPresent()) {
+                return this.defaultEstimator.estimate(optimizationContext, inputEstimates);
+            }
+            final CardinalityEstimate inputEstimate0 = inputEstimates[0], inputEstimate1 = inputEstimates[1];
+            return new CardinalityEstimate(
+                    (long) ((double) inputEstimate0.getLowerEstimate() * inputEstimate1.getLowerEstimate()
+                            * selectivity.get().getLowerEstimate()),
+                    (long) ((double) inputEstimate0.getUpperEstimate() * inputEstimate1.getUpperEstimate()
+                            * selectivity.get().getUpperEstimate()),
+                    inputEstimate0.getCorrectnessProbability() * inputEstimate1.getCorrectnessProbability()
+                            * selectivity.get().getCorrectnessProbability()
+            );
+        }
     }
 }
@@ -101,7 +101,7 @@ public class PageRankOperator extends UnaryToUnaryOperator<Tuple2<Long, Long>, T
      * @param density  the graph density
      * @return the number of vertices in the graph
      */
-    private static long calculateNumVertices(long numEdges, double density) {
+    static long calculateNumVertices(long numEdges, double density) {
         return density == 0 ? 0L : Math.round(0.5d + Math.sqrt(0.25 + 2 * numEdges / density));
     }
 
@@ -0,0 +1,207 @@
+package org.qcri.rheem.basic.operators;
+
+import org.apache.commons.lang3.Validate;
+import org.qcri.rheem.basic.data.Tuple2;
+import org.qcri.rheem.basic.optimizer.SampleBasedSelectivityEstimator;
+import org.qcri.rheem.core.api.Configuration;
+import org.qcri.rheem.core.function.FunctionDescriptor;
+import org.qcri.rheem.core.function.TransformationDescriptor;
+import org.qcri.rheem.core.optimizer.OptimizationContext;
+import org.qcri.rheem.core.optimizer.ProbabilisticDoubleInterval;
+import org.qcri.rheem.core.optimizer.cardinality.CardinalityEstimate;
+import org.qcri.rheem.core.optimizer.cardinality.CardinalityEstimator;
+import org.qcri.rheem.core.optimizer.cardinality.DefaultCardinalityEstimator;
+import org.qcri.rheem.core.plan.rheemplan.BinaryToUnaryOperator;
+import org.qcri.rheem.core.types.DataSetType;
+
+import java.io.Serializable;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+
+/**
+ * This operator joins each data quantum of its first input with all data quanta of its second input whose range
+ * contains it, i.e., it pairs {@code a} and {@code b} if {@code lower(b) <= value(a) <= upper(b)}. The values and
+ * bounds are compared by their natural order.
+ */
+public class RangeJoinOperator<InputType0, InputType1, Value>
+        extends BinaryToUnaryOperator<InputType0, InputType1, Tuple2<InputType0, InputType1>> {
+
+    private static <InputType0, InputType1> DataSetType<Tuple2<InputType0, InputType1>> createOutputDataSetType() {
+        return DataSetType.createDefaultUnchecked(Tuple2.class);
+    }
+
+    protected final TransformationDescriptor<InputType0, Value> valueDescriptor;
+
+    protected final TransformationDescriptor<InputType1, Value> lowerBoundDescriptor, upperBoundDescriptor;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param valueExtractor      extracts the values from the data quanta of the first input
+     * @param lowerBoundExtractor extracts the inclusive lower bounds from the data quanta of the second input
+     * @param upperBoundExtractor extracts the inclusive upper bounds from the data quanta of the second input
+     * @param input0Class         class of the data quanta of the first input
+     * @param input1Class         class of the data quanta of the second input
+     * @param valueClass          class of the values and bounds
+     */
+    public RangeJoinOperator(FunctionDescriptor.SerializableFunction<InputType0, Value> valueExtractor,
+                             FunctionDescriptor.SerializableFunction<InputType1, Value> lowerBoundExtractor,
+                             FunctionDescriptor.SerializableFunction<InputType1, Value> upperBoundExtractor,
+                             Class<InputType0> input0Class,
+                             Class<InputType1> input1Class,
+                             Class<Value> valueClass) {
+        this(
+                new TransformationDescriptor<>(valueExtractor, input0Class, valueClass),
+                new TransformationDescriptor<>(lowerBoundExtractor, input1Class, valueClass),
+                new TransformationDescriptor<>(upperBoundExtractor, input1Class, valueClass)
+        );
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param valueDescriptor      describes how to extract the values from the data quanta of the first input
+     * @param lowerBoundDescriptor describes how to extract the inclusive lower bounds from the second input
+     * @param upperBoundDescriptor describes how to extract the inclusive upper bounds from the second input
+     */
+    public RangeJoinOperator(TransformationDescriptor<InputType0, Value> valueDescriptor,
+                             TransformationDescriptor<InputType1, Value> lowerBoundDescriptor,
+                             TransformationDescriptor<InputType1, Value> upperBoundDescriptor) {
+        this(valueDescriptor, lowerBoundDescriptor, upperBoundDescriptor,
+                DataSetType.createDefault(valueDescriptor.getInputType()),
+                DataSetType.createDefault(lowerBoundDescriptor.getInputType()));
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param valueDescriptor      describes how to extract the values from the data quanta of the first input
+     * @param lowerBoundDescriptor describes how to extract the inclusive lower bounds from the second input
+     * @param upperBoundDescriptor describes how to extract the inclusive upper bounds from the second input
+     * @param inputType0           type of the first input
+     * @param inputType1           type of the second input
+     */
+    public RangeJoinOperator(TransformationDescriptor<InputType0, Value> valueDescriptor,
+                             TransformationDescriptor<InputType1, Value> lowerBoundDescriptor,
+                             TransformationDescriptor<InputType1, Value> upperBoundDescriptor,
+                             DataSetType<InputType0> inputType0,
+                             DataSetType<InputType1> inputType1) {
+        super(inputType0, inputType1, RangeJoinOperator.createOutputDataSetType(), true);
+        this.valueDescriptor = valueDescriptor;
+        this.lowerBoundDescriptor = lowerBoundDescriptor;
+        this.upperBoundDescriptor = upperBoundDescriptor;
+    }
+
+    /**
+     * Copies an instance (exclusive of broadcasts).
+     *
+     * @param that that should be copied
+     */
+    public RangeJoinOperator(RangeJoinOperator<InputType0, InputType1, Value> that) {
+        super(that);
+        this.valueDescriptor = that.getValueDescriptor();
+        this.lowerBoundDescriptor = that.getLowerBoundDescriptor();
+        this.upperBoundDescriptor = that.getUpperBoundDescriptor();
+    }
+
+    public TransformationDescriptor<InputType0, Value> getValueDescriptor() {
+        return this.valueDescriptor;
+    }
+
+    public TransformationDescriptor<InputType1, Value> getLowerBoundDescriptor() {
+        return this.lowerBoundDescriptor;
+    }
+
+    public TransformationDescriptor<InputType1, Value> getUpperBoundDescriptor() {
+        return this.upperBoundDescriptor;
+    }
+
+    @Override
+    public Optional<CardinalityEstimator> createCardinalityEstimator(
+            final int outputIndex,
+            final Configuration configuration) {
+        Validate.inclusiveBetween(0, this.getNumOutputs() - 1, outputIndex);
+        // We assume that every value falls into a small number of ranges (e.g., time windows).
+        final CardinalityEstimator defaultEstimator = new DefaultCardinalityEstimator(
+                .5d, 2, this.isSupportingBroadcastInputs(),
+                inputCards -> Math.max(inputCards[0], inputCards[1])
+        );
+        return Optional.of(new RangeJoinOperator.SamplingCardinalityEstimator(defaultEstimator));
+    }
+
+    /**
+     * Custom {@link CardinalityEstimator} for {@link RangeJoinOperator}s that uses sample-based selectivities if
+     * available and otherwise delegates to a default estimator.
+     */
+    private class SamplingCardinalityEstimator implements CardinalityEstimator {
+
+        private final CardinalityEstimator defaultEstimator;
+
+        private SamplingCardinalityEstimator(CardinalityEstimator defaultEstimator) {
+            this.defaultEstimator = defaultEstimator;
+        }
+
+        @Override
+        public CardinalityEstimate estimate(OptimizationContext optimizationContext, CardinalityEstimate... inputEstimates) {
+            final Optional<ProbabilisticDoubleInterval> selectivity = SampleBasedSelectivityEstimator
+                    .createFor(optimizationContext)
+                    .flatMap(estimator -> estimator.estimateSelectivity(RangeJoinOperator.this));
+            if (!selectivity.isPresent()) {
+                return this.defaultEstimator.estimate(optimizationContext, inputEstimates);
+            }
+            final CardinalityEstimate inputEstimate0 = inputEstimates[0], inputEstimate1 = inputEstimates[1];
+            return new CardinalityEstimate(
+                    (long) ((double) inputEstimate0.getLowerEstimate() * inputEstimate1.getLowerEstimate()
+                            * selectivity.get().getLowerEstimate()),
+                    (long) ((double) inputEstimate0.getUpperEstimate() * inputEstimate1.getUpperEstimate()
+                            * selectivity.get().getUpperEstimate()),
+                    inputEstimate0.getCorrectnessProbability() * inputEstimate1.getCorrectnessProbability()
+                            * selectivity.get().getCorrectnessProbability()
+            );
+        }
+    }
+
+    /**
+     * Orders values and bounds by their natural order and searches sorted values for bounds.
+     */
+    public static class ValueComparator<Value> implements Comparator<Value>, Serializable {
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public int compare(Value value1, Value value2) {
+            return ((Comparable<Object>) value1).compareTo(value2);
+        }
+
+        /**
+         * @param sortedValues sorted by this instance
+         * @return the number of {@code sortedValues} that are less than {@code bound}, i.e., the first index with a
+         * value {@code >= bound}
+         */
+        public int countLess(List<? extends Value> sortedValues, Value bound) {
+            return this.search(sortedValues, bound, false);
+        }
+
+        /**
+         * @param sortedValues sorted by this instance
+         * @return the number of {@code sortedValues} that are less than or equal to {@code bound}, i.e., the first
+         * index with a value {@code > bound}
+         */
+        public int countAtMost(List<? extends Value> sortedValues, Value bound) {
+            return this.search(sortedValues, bound, true);
+        }
+
+        private int search(List<? extends Value> sortedValues, Value bound, boolean isInclusive) {
+            int low = 0, high = sortedValues.size();
+            while (low < high) {
+                final int mid = (low + high) >>> 1;
+                final int comparison = this.compare(sortedValues.get(mid), bound);
+                if (comparison < 0 || isInclusive && comparison == 0) low = mid + 1;
+                else high = mid;
+            }
+            return low;
+        }
+    }
+
+}
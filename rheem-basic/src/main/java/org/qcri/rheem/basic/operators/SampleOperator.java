@@ -2,7 +2,9 @@ package org.qcri.rheem.basic.operators;
 
 import org.apache.commons.lang3.Validate;
 import org.qcri.rheem.core.api.Configuration;
+import org.qcri.rheem.core.function.TransformationDescriptor;
 import org.qcri.rheem.core.optimizer.OptimizationContext;
+import org.qcri.rheem.core.optimizer.cardinality.CardinalityEstimate;
 import org.qcri.rheem.core.optimizer.cardinality.CardinalityEstimator;
 import org.qcri.rheem.core.optimizer.cardinality.FixedSizeCardinalityEstimator;
 import org.qcri.rheem.core.plan.rheemplan.UnaryToUnaryOperator;
@@ -41,7 +43,11 @@ public class SampleOperator<Type> extends UnaryToUnaryOperator<Type, Type> {
         /**
          * Reservoir sampling.
          */
-        RESERVOIR;
+        RESERVOIR,
+        /**
+         * Stratified sampling: sample up to the sample size many data quanta per key, i.e., per stratum.
+         */
+        STRATIFIED;
     }
 
     /**
@@ -74,6 +80,11 @@ public class SampleOperator<Type> extends UnaryToUnaryOperator<Type, Type> {
 
     private Methods sampleMethod;
 
+    /**
+     * Extracts the keys of the strata from the data quanta for {@link Methods#STRATIFIED} sampling; {@code null} otherwise.
+     */
+    protected TransformationDescriptor<Type, ?> keyDescriptor;
+
     /**
      * Creates a new instance with any sampling method.
      *
@@ -125,6 +136,21 @@ public class SampleOperator<Type> extends UnaryToUnaryOperator<Type, Type> {
         this.seedFunction = seedFunction;
     }
 
+    /**
+     * Creates a new instance that samples up to the given sample size many data quanta per key
+     * (see {@link Methods#STRATIFIED}).
+     *
+     * @param sampleSizeFunction user-specified size of the sample per key in dependence of the current iteration number
+     * @param keyDescriptor      describes how to extract the keys from the data quanta
+     * @param seedFunction       user-specified seed in dependence of the current iteration number
+     */
+    public SampleOperator(IntUnaryOperator sampleSizeFunction,
+                          TransformationDescriptor<Type, ?> keyDescriptor,
+                          LongUnaryOperator seedFunction) {
+        this(sampleSizeFunction, DataSetType.createDefault(keyDescriptor.getInputType()), Methods.STRATIFIED, seedFunction);
+        this.keyDescriptor = keyDescriptor;
+    }
+
     /**
      * Copies an instance (exclusive of broadcasts).
      *
@@ -136,6 +162,7 @@ public class SampleOperator<Type> extends UnaryToUnaryOperator<Type, Type> {
         this.seedFunction = that.seedFunction;
         this.sampleMethod = that.getSampleMethod();
         this.datasetSize = that.getDatasetSize();
+        this.keyDescriptor = that.getKeyDescriptor();
     }
 
 
@@ -168,6 +195,10 @@ public class SampleOperator<Type> extends UnaryToUnaryOperator<Type, Type> {
         this.sampleMethod = sampleMethod;
     }
 
+    public TransformationDescriptor<Type, ?> getKeyDescriptor() {
+        return this.keyDescriptor;
+    }
+
     public void setSeedFunction(LongUnaryOperator seedFunction) {
         this.seedFunction = seedFunction;
     }
@@ -202,7 +233,16 @@ public class SampleOperator<Type> extends UnaryToUnaryOperator<Type, Type> {
             final Configuration configuration) {
         Validate.inclusiveBetween(0, this.getNumOutputs() - 1, outputIndex);
         // TODO: Incorporate OperatoContext would allow for precise estimation.
-        return Optional.of(new FixedSizeCardinalityEstimator(this.sampleSizeFunction.applyAsInt(0)));
+        final int sampleSize = this.sampleSizeFunction.applyAsInt(0);
+        if (this.sampleMethod == Methods.STRATIFIED) {
+            // We do not know the number of strata: there are between one and as many as input data quanta.
+            return Optional.of((optimizationContext, inputEstimates) -> new CardinalityEstimate(
+                    Math.min(sampleSize, inputEstimates[0].getLowerEstimate()),
+                    inputEstimates[0].getUpperEstimate(),
+                    inputEstimates[0].getCorrectnessProbability()
+            ));
+        }
+        return Optional.of(new FixedSizeCardinalityEstimator(sampleSize));
     }
 }
 
@@ -2,36 +2,55 @@ package org.qcri.rheem.basic.operators;
 
 import org.apache.commons.lang3.Validate;
 import org.qcri.rheem.core.api.Configuration;
+import org.qcri.rheem.core.function.FunctionDescriptor;
+import org.qcri.rheem.core.function.TransformationDescriptor;
 import org.qcri.rheem.core.optimizer.cardinality.CardinalityEstimator;
 import org.qcri.rheem.core.optimizer.cardinality.DefaultCardinalityEstimator;
 import org.qcri.rheem.core.plan.rheemplan.UnaryToUnaryOperator;
 import org.qcri.rheem.core.types.DataSetType;
 
+import java.util.Comparator;
 import java.util.Optional;
 
 
 /**
- * This operator sorts the elements in this dataset.
+ * This operator sorts the elements in this dataset w.r.t. a key function.
  */
-public class SortOperator<Type> extends UnaryToUnaryOperator<Type, Type> {
+public class SortOperator<Type, Key> extends UnaryToUnaryOperator<Type, Type> {
 
+    protected final TransformationDescriptor<Type, Key> keyDescriptor;
 
     /**
      * Creates a new instance.
      *
-     * @param type type of the dataunit elements
+     * @param keyFunction describes how to extract the sort key from data units
+     * @param typeClass   class of the data quanta to be sorted
+     * @param keyClass    class of the extracted keys
      */
-    public SortOperator(Class<Type> type) {
-        this(DataSetType.createDefault(type));
+    public SortOperator(FunctionDescriptor.SerializableFunction<Type, Key> keyFunction,
+                        Class<Type> typeClass,
+                        Class<Key> keyClass) {
+        this(new TransformationDescriptor<>(keyFunction, typeClass, keyClass));
     }
 
     /**
      * Creates a new instance.
      *
-     * @param type type of the dataunit elements
+     * @param keyDescriptor describes how to extract the sort key from data units
      */
-    public SortOperator(DataSetType<Type> type) {
+    public SortOperator(TransformationDescriptor<Type, Key> keyDescriptor) {
+        this(keyDescriptor, DataSetType.createDefault(keyDescriptor.getInputType()));
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param keyDescriptor describes how to extract the sort key from data units
+     * @param type          type of the dataunit elements
+     */
+    public SortOperator(TransformationDescriptor<Type, Key> keyDescriptor, DataSetType<Type> type) {
         super(type, type, false);
+        this.keyDescriptor = keyDescriptor;
     }
 
     /**
@@ -39,8 +58,24 @@ public class SortOperator<Type> extends UnaryToUnaryOperator<Type, Type> {
      *
      * @param that that should be copied
      */
-    public SortOperator(SortOperator<Type> that) {
+    public SortOperator(SortOperator<Type, Key> that) {
         super(that);
+        this.keyDescriptor = that.getKeyDescriptor();
+    }
+
+    public TransformationDescriptor<Type, Key> getKeyDescriptor() {
+        return this.keyDescriptor;
+    }
+
+    /**
+     * Creates a {@link Comparator} that orders data quanta by the natural order of their keys.
+     *
+     * @param keyExtractor extracts the (comparable) keys from the data quanta
+     * @return the {@link Comparator}
+     */
+    @SuppressWarnings("unchecked")
+    public static <Type, Key> Comparator<Type> createKeyComparator(java.util.function.Function<Type, Key> keyExtractor) {
+        return (dq1, dq2) -> ((Comparable<Object>) keyExtractor.apply(dq1)).compareTo(keyExtractor.apply(dq2));
     }
 
     @Override
@@ -16,21 +16,48 @@ import org.slf4j.LoggerFactory;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.Optional;
 import java.util.OptionalDouble;
 import java.util.OptionalLong;
+import java.util.Random;
+import java.util.Set;
 
 /**
  * This source reads a text file and outputs the lines as data units.
+ * <p>Optionally, it reads only a random sample of the blocks of the file (see {@link #setBlockSampling(double, long)}),
+ * which is much cheaper than sampling lines, because the unsampled blocks need not be read at all. A line belongs to
+ * the block in which it starts.</p>
  */
 public class TextFileSource extends UnarySource<String> {
 
+    /**
+     * Default number of bytes per block for block sampling.
+     */
+    public static final long DEFAULT_SAMPLING_BLOCK_SIZE = 1024 * 1024;
+
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
 
     private final String inputUrl;
 
     private final String encoding;
 
+    /**
+     * Fraction of the blocks of the file to be read; {@code 1} reads the complete file.
+     */
+    private double blockSamplingFraction = 1d;
+
+    /**
+     * Number of bytes per block for block sampling.
+     */
+    private long samplingBlockSize = DEFAULT_SAMPLING_BLOCK_SIZE;
+
+    /**
+     * Seed to pick the blocks for block sampling.
+     */
+    private long samplingSeed;
+
     public TextFileSource(String inputUrl) {
         this(inputUrl, "UTF-8");
     }
@@ -50,12 +77,90 @@ public class TextFileSource extends UnarySource<String> {
         super(that);
         this.inputUrl = that.getInputUrl();
         this.encoding = that.getEncoding();
+        this.blockSamplingFraction = that.getBlockSamplingFraction();
+        this.samplingBlockSize = that.getSamplingBlockSize();
+        this.samplingSeed = that.getSamplingSeed();
     }
 
     public String getInputUrl() {
         return this.inputUrl;
     }
 
+    /**
+     * Let this instance read only a random sample of blocks of {@value #DEFAULT_SAMPLING_BLOCK_SIZE} bytes.
+     *
+     * @param fraction the fraction of blocks to read
+     * @param seed     to pick the blocks
+     */
+    public void setBlockSampling(double fraction, long seed) {
+        this.setBlockSampling(fraction, DEFAULT_SAMPLING_BLOCK_SIZE, seed);
+    }
+
+    /**
+     * Let this instance read only a random sample of blocks.
+     *
+     * @param fraction  the fraction of blocks to read
+     * @param blockSize the number of bytes per block
+     * @param seed      to pick the blocks
+     */
+    public void setBlockSampling(double fraction, long blockSize, long seed) {
+        Validate.inclusiveBetween(0d, 1d, fraction);
+        Validate.isTrue(blockSize > 0, "Illegal block size: %d", blockSize);
+        this.blockSamplingFraction = fraction;
+        this.samplingBlockSize = blockSize;
+        this.samplingSeed = seed;
+    }
+
+    /**
+     * @return whether this instance reads only a sample of the blocks of the file
+     */
+    public boolean isBlockSampling() {
+        return this.blockSamplingFraction < 1d;
+    }
+
+    public double getBlockSamplingFraction() {
+        return this.blockSamplingFraction;
+    }
+
+    public long getSamplingBlockSize() {
+        return this.samplingBlockSize;
+    }
+
+    public long getSamplingSeed() {
+        return this.samplingSeed;
+    }
+
+    /**
+     * Determine the number of blocks to read if this instance {@link #isBlockSampling()}. At least one block is read.
+     *
+     * @param numBlocks the number of blocks of the file
+     * @return the number of blocks to read
+     */
+    public int getNumSampledBlocks(long numBlocks) {
+        if (numBlocks == 0) return 0;
+        final long numSampledBlocks = Math.round(numBlocks * this.blockSamplingFraction);
+        return (int) Math.min(numBlocks, Math.max(1L, numSampledBlocks));
+    }
+
+    /**
+     * Randomly pick the blocks to read if this instance {@link #isBlockSampling()}.
+     *
+     * @param numBlocks the number of blocks of the file
+     * @return the distinct indices of the blocks to read in ascending order
+     */
+    public long[] pickSampledBlocks(long numBlocks) {
+        // Floyd's algorithm picks distinct blocks without materializing all block indices.
+        final Random random = new Random(this.samplingSeed);
+        final Set<Long> sampledBlocks = new HashSet<>();
+        for (long block = numBlocks - this.getNumSampledBlocks(numBlocks); block < numBlocks; block++) {
+            final long candidate = (long) (random.nextDouble() * (block + 1));
+            sampledBlocks.add(sampledBlocks.contains(candidate) ? block : candidate);
+        }
+        final long[] result = sampledBlocks.stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(result);
+        return result;
+    }
+
     @Override
     public Optional<org.qcri.rheem.core.optimizer.cardinality.CardinalityEstimator> createCardinalityEstimator(
             final int outputIndex,
@@ -84,6 +189,39 @@ public class TextFileSource extends UnarySource<String> {
 
         @Override
         public CardinalityEstimate estimate(OptimizationContext optimizationContext, CardinalityEstimate... inputEstimates) {
+            final CardinalityEstimate fileEstimate = this.estimateFile(optimizationContext, inputEstimates);
+            return TextFileSource.this.isBlockSampling() ? this.applyBlockSampling(fileEstimate) : fileEstimate;
+        }
+
+        /**
+         * Scale a {@link CardinalityEstimate} for the complete file to the sampled blocks. As the number of lines per
+         * block varies, the estimate widens with fewer sampled blocks.
+         *
+         * @param fileEstimate the {@link CardinalityEstimate} for the complete file
+         * @return the {@link CardinalityEstimate} for the sampled blocks
+         */
+        private CardinalityEstimate applyBlockSampling(CardinalityEstimate fileEstimate) {
+            final OptionalLong fileSize = FileSystems.getFileSize(TextFileSource.this.inputUrl);
+            double samplingRate = TextFileSource.this.blockSamplingFraction;
+            double expectedDeviation = 1d;
+            if (fileSize.isPresent() && fileSize.getAsLong() > 0) {
+                final long blockSize = TextFileSource.this.samplingBlockSize;
+                final long numBlocks = (fileSize.getAsLong() + blockSize - 1) / blockSize;
+                final int numSampledBlocks = TextFileSource.this.getNumSampledBlocks(numBlocks);
+                samplingRate = numSampledBlocks / (double) numBlocks;
+                expectedDeviation = numSampledBlocks == numBlocks ? 0d : Math.min(1d, 1d / Math.sqrt(numSampledBlocks));
+            }
+            return new CardinalityEstimate(
+                    (long) (fileEstimate.getLowerEstimate() * samplingRate * (1d - expectedDeviation)),
+                    (long) Math.ceil(fileEstimate.getUpperEstimate() * samplingRate * (1d + expectedDeviation)),
+                    fileEstimate.getCorrectnessProbability()
+            );
+        }
+
+        /**
+         * Estimate the number of lines in the complete file.
+         */
+        private CardinalityEstimate estimateFile(OptimizationContext optimizationContext, CardinalityEstimate... inputEstimates) {
             Validate.isTrue(TextFileSource.this.getNumInputs() == inputEstimates.length);
 
             // see Job for StopWatch measurements
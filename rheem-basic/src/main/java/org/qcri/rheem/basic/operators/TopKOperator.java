@@ -0,0 +1,95 @@
+package org.qcri.rheem.basic.operators;
+
+import org.apache.commons.lang3.Validate;
+import org.qcri.rheem.core.api.Configuration;
+import org.qcri.rheem.core.function.FunctionDescriptor;
+import org.qcri.rheem.core.function.TransformationDescriptor;
+import org.qcri.rheem.core.optimizer.cardinality.CardinalityEstimator;
+import org.qcri.rheem.core.optimizer.cardinality.DefaultCardinalityEstimator;
+import org.qcri.rheem.core.plan.rheemplan.UnaryToUnaryOperator;
+import org.qcri.rheem.core.types.DataSetType;
+
+import java.util.Optional;
+
+
+/**
+ * This operator emits the {@code k} smallest elements of its dataset w.r.t. a key function in sorted order. Other than
+ * a {@link SortOperator} followed by a cut-off, implementations need not sort the complete dataset.
+ */
+public class TopKOperator<Type, Key> extends UnaryToUnaryOperator<Type, Type> {
+
+    protected final TransformationDescriptor<Type, Key> keyDescriptor;
+
+    /**
+     * The number of elements to retain.
+     */
+    protected final int k;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param k           the number of elements to retain
+     * @param keyFunction describes how to extract the sort key from data units
+     * @param typeClass   class of the data quanta
+     * @param keyClass    class of the extracted keys
+     */
+    public TopKOperator(int k,
+                        FunctionDescriptor.SerializableFunction<Type, Key> keyFunction,
+                        Class<Type> typeClass,
+                        Class<Key> keyClass) {
+        this(k, new TransformationDescriptor<>(keyFunction, typeClass, keyClass));
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param k             the number of elements to retain
+     * @param keyDescriptor describes how to extract the sort key from data units
+     */
+    public TopKOperator(int k, TransformationDescriptor<Type, Key> keyDescriptor) {
+        this(k, keyDescriptor, DataSetType.createDefault(keyDescriptor.getInputType()));
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param k             the number of elements to retain
+     * @param keyDescriptor describes how to extract the sort key from data units
+     * @param type          type of the dataunit elements
+     */
+    public TopKOperator(int k, TransformationDescriptor<Type, Key> keyDescriptor, DataSetType<Type> type) {
+        super(type, type, false);
+        Validate.isTrue(k >= 0, "Illegal k: %d", k);
+        this.k = k;
+        this.keyDescriptor = keyDescriptor;
+    }
+
+    /**
+     * Copies an instance (exclusive of broadcasts).
+     *
+     * @param that that should be copied
+     */
+    public TopKOperator(TopKOperator<Type, Key> that) {
+        super(that);
+        this.k = that.getK();
+        this.keyDescriptor = that.getKeyDescriptor();
+    }
+
+    public TransformationDescriptor<Type, Key> getKeyDescriptor() {
+        return this.keyDescriptor;
+    }
+
+    public int getK() {
+        return this.k;
+    }
+
+    @Override
+    public Optional<CardinalityEstimator> createCardinalityEstimator(
+            final int outputIndex,
+            final Configuration configuration) {
+        Validate.inclusiveBetween(0, this.getNumOutputs() - 1, outputIndex);
+        return Optional.of(new DefaultCardinalityEstimator(1d, 1, this.isSupportingBroadcastInputs(),
+                inputCards -> Math.min(this.k, inputCards[0])));
+    }
+
+}
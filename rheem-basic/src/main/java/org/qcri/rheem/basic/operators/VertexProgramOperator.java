@@ -0,0 +1,103 @@
+package org.qcri.rheem.basic.operators;
+
+import org.qcri.rheem.basic.data.Tuple2;
+import org.qcri.rheem.basic.function.VertexProgram;
+import org.qcri.rheem.core.api.Configuration;
+import org.qcri.rheem.core.optimizer.ProbabilisticDoubleInterval;
+import org.qcri.rheem.core.optimizer.cardinality.CardinalityEstimate;
+import org.qcri.rheem.core.optimizer.cardinality.CardinalityEstimator;
+import org.qcri.rheem.core.plan.rheemplan.EstimationContextProperty;
+import org.qcri.rheem.core.plan.rheemplan.Operator;
+import org.qcri.rheem.core.plan.rheemplan.UnaryToUnaryOperator;
+import org.qcri.rheem.core.types.DataSetType;
+
+import java.util.Optional;
+
+/**
+ * {@link Operator} that runs a {@link VertexProgram} on a graph. It takes as input a list of directed edges, whereby
+ * each edge is represented as {@code (source vertex ID, target vertex ID)} tuple. Its output are the final vertex
+ * values, codified as {@code (vertex ID, value)} tuples.
+ */
+public class VertexProgramOperator<Value, Message>
+        extends UnaryToUnaryOperator<Tuple2<Long, Long>, Tuple2<Long, Value>> {
+
+    protected final VertexProgram<Value, Message> vertexProgram;
+
+    /**
+     * The maximum number of supersteps.
+     */
+    @EstimationContextProperty
+    protected final Integer numIterations;
+
+    protected final ProbabilisticDoubleInterval graphDensity;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param vertexProgram the {@link VertexProgram} to run
+     * @param numIterations the maximum number of supersteps that this instance should perform
+     */
+    public VertexProgramOperator(VertexProgram<Value, Message> vertexProgram, Integer numIterations) {
+        this(vertexProgram, numIterations, PageRankOperator.DEFAULT_GRAPH_DENSITIY);
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param vertexProgram the {@link VertexProgram} to run
+     * @param numIterations the maximum number of supersteps that this instance should perform
+     * @param graphDensity  the expected density of the input graph
+     */
+    public VertexProgramOperator(VertexProgram<Value, Message> vertexProgram,
+                                 Integer numIterations,
+                                 ProbabilisticDoubleInterval graphDensity) {
+        super(DataSetType.createDefaultUnchecked(Tuple2.class),
+                DataSetType.createDefaultUnchecked(Tuple2.class),
+                false);
+        this.vertexProgram = vertexProgram;
+        this.numIterations = numIterations;
+        this.graphDensity = graphDensity;
+    }
+
+    /**
+     * Copies an instance (exclusive of broadcasts).
+     *
+     * @param that that should be copied
+     */
+    public VertexProgramOperator(VertexProgramOperator<Value, Message> that) {
+        super(that);
+        this.vertexProgram = that.getVertexProgram();
+        this.numIterations = that.getNumIterations();
+        this.graphDensity = that.getGraphDensity();
+    }
+
+    public VertexProgram<Value, Message> getVertexProgram() {
+        return this.vertexProgram;
+    }
+
+    public int getNumIterations() {
+        return this.numIterations;
+    }
+
+    public ProbabilisticDoubleInterval getGraphDensity() {
+        return this.graphDensity;
+    }
+
+    @Override
+    public Optional<CardinalityEstimator> createCardinalityEstimator(int outputIndex, Configuration configuration) {
+        switch (outputIndex) {
+            case 0:
+                return Optional.of((optimizationContext, inputEstimates) -> {
+                    assert inputEstimates.length == 1;
+                    return new CardinalityEstimate(
+                            PageRankOperator.calculateNumVertices(inputEstimates[0].getLowerEstimate(), this.graphDensity.getUpperEstimate()),
+                            PageRankOperator.calculateNumVertices(inputEstimates[0].getUpperEstimate(), this.graphDensity.getLowerEstimate()),
+                            inputEstimates[0].getCorrectnessProbability() * this.graphDensity.getCorrectnessProbability()
+                    );
+                });
+            default:
+                throw new IllegalArgumentException(String.format("%s does not have an OutputSlot with index %d.", this, outputIndex));
+        }
+    }
+
+}
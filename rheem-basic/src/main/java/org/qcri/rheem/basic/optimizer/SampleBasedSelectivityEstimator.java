@@ -0,0 +1,440 @@
+package org.qcri.rheem.basic.optimizer;
+
+import org.qcri.rheem.basic.operators.CollectionSource;
+import org.qcri.rheem.basic.operators.FilterOperator;
+import org.qcri.rheem.basic.operators.FlatMapOperator;
+import org.qcri.rheem.basic.operators.JoinOperator;
+import org.qcri.rheem.basic.operators.MapOperator;
+import org.qcri.rheem.basic.operators.RangeJoinOperator;
+import org.qcri.rheem.basic.operators.TextFileSource;
+import org.qcri.rheem.core.api.Configuration;
+import org.qcri.rheem.core.function.ExtendedFunction;
+import org.qcri.rheem.core.function.FunctionDescriptor;
+import org.qcri.rheem.core.optimizer.OptimizationContext;
+import org.qcri.rheem.core.optimizer.ProbabilisticDoubleInterval;
+import org.qcri.rheem.core.plan.rheemplan.Operator;
+import org.qcri.rheem.core.plan.rheemplan.OutputSlot;
+import org.qcri.rheem.core.util.LimitedInputStream;
+import org.qcri.rheem.core.util.fs.FileSystem;
+import org.qcri.rheem.core.util.fs.FileSystems;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Estimates the selectivities of UDFs by running them on small samples of the source data at optimization time.
+ * Samples are drawn via reservoir sampling from {@link CollectionSource}s and from the first MiB of
+ * {@link TextFileSource}s and are then pushed through {@link MapOperator}s, {@link FilterOperator}s, and
+ * {@link FlatMapOperator}s. Both the samples and the derived selectivities are kept in the job cache of the
+ * {@link OptimizationContext}, so that re-optimizations do not sample again.
+ * <p>This estimation is opt-in via the {@value #ENABLED_PROPERTY} property. It does not replace selectivities that
+ * have been specified for a {@link FunctionDescriptor} explicitly.</p>
+ */
+public class SampleBasedSelectivityEstimator {
+
+    /**
+     * {@link Configuration} key to enable the sample-based estimation.
+     */
+    public static final String ENABLED_PROPERTY = "rheem.basic.optimizer.sampling";
+
+    /**
+     * {@link Configuration} key for the number of data quanta to sample from each source.
+     */
+    public static final String SAMPLE_SIZE_PROPERTY = "rheem.basic.optimizer.sampling.size";
+
+    /**
+     * {@link Configuration} key for the minimum number of sampled input data quanta to derive a selectivity from.
+     */
+    public static final String MIN_SAMPLE_SIZE_PROPERTY = "rheem.basic.optimizer.sampling.minsize";
+
+    /**
+     * {@link Configuration} key for the seed to draw the samples with.
+     */
+    public static final String SEED_PROPERTY = "rheem.basic.optimizer.sampling.seed";
+
+    /**
+     * The derived selectivity intervals are {@value}-confidence intervals.
+     */
+    public static final double CONFIDENCE = 0.95d;
+
+    /**
+     * Standard score corresponding to {@link #CONFIDENCE}.
+     */
+    private static final double Z = 1.96d;
+
+    /**
+     * Number of bytes to read at most from a {@link TextFileSource}.
+     */
+    private static final int MAX_TEXT_FILE_BYTES = 1024 * 1024;
+
+    /**
+     * Job cache key for the samples by their anchor, i.e., the source data or the UDF that produced them.
+     */
+    private static final String SAMPLE_CACHE_KEY = SampleBasedSelectivityEstimator.class.getCanonicalName() + ".samples";
+
+    /**
+     * Job cache key for the derived selectivities by their {@link FunctionDescriptor}s.
+     */
+    private static final String SELECTIVITY_CACHE_KEY = SampleBasedSelectivityEstimator.class.getCanonicalName() + ".selectivities";
+
+    private static final Logger logger = LoggerFactory.getLogger(SampleBasedSelectivityEstimator.class);
+
+    private final OptimizationContext optimizationContext;
+
+    private final int sampleSize, minSampleSize;
+
+    private final long seed;
+
+    /**
+     * Creates a new instance if the sample-based estimation is enabled.
+     *
+     * @param optimizationContext provides the {@link Configuration} and the job cache
+     * @return the new instance or {@link Optional#empty()} if the sample-based estimation is disabled
+     */
+    public static Optional<SampleBasedSelectivityEstimator> createFor(OptimizationContext optimizationContext) {
+        if (optimizationContext == null) return Optional.empty();
+        final Configuration configuration = optimizationContext.getConfiguration();
+        if (!configuration.getBooleanProperty(ENABLED_PROPERTY, false)) return Optional.empty();
+        return Optional.of(new SampleBasedSelectivityEstimator(optimizationContext));
+    }
+
+    private SampleBasedSelectivityEstimator(OptimizationContext optimizationContext) {
+        this.optimizationContext = optimizationContext;
+        final Configuration configuration = optimizationContext.getConfiguration();
+        this.sampleSize = (int) configuration.getLongProperty(SAMPLE_SIZE_PROPERTY, 1000);
+        this.minSampleSize = (int) configuration.getLongProperty(MIN_SAMPLE_SIZE_PROPERTY, 30);
+        this.seed = configuration.getLongProperty(SEED_PROPERTY, 42L);
+    }
+
+    /**
+     * Estimates the selectivity of the predicate of a {@link FilterOperator}.
+     *
+     * @return the selectivity or {@link Optional#empty()} if it cannot be estimated from samples
+     */
+    public Optional<ProbabilisticDoubleInterval> estimateSelectivity(FilterOperator<?> operator) {
+        if (operator.getPredicateDescriptor().getSelectivity().isPresent()) return Optional.empty();
+        return this.getOrEstimate(operator.getPredicateDescriptor(), () -> {
+            final Predicate<Object> predicate = this.asPlainFunction(operator.getPredicateDescriptor().getJavaImplementation());
+            final List<Object> inputSample = this.getInputSample(operator, 0);
+            if (predicate == null || inputSample == null) return null;
+            int numSelected = 0;
+            for (Object dataQuantum : inputSample) {
+                if (predicate.test(dataQuantum)) numSelected++;
+            }
+            return createWilsonInterval(numSelected, inputSample.size());
+        });
+    }
+
+    /**
+     * Estimates the selectivity, i.e., the average number of output data quanta per input data quantum, of the
+     * function of a {@link FlatMapOperator}.
+     *
+     * @return the selectivity or {@link Optional#empty()} if it cannot be estimated from samples
+     */
+    public Optional<ProbabilisticDoubleInterval> estimateSelectivity(FlatMapOperator<?, ?> operator) {
+        if (operator.getFunctionDescriptor().getSelectivity().isPresent()) return Optional.empty();
+        return this.getOrEstimate(operator.getFunctionDescriptor(), () -> {
+            final Function<Object, Iterable<Object>> function =
+                    this.asPlainFunction(operator.getFunctionDescriptor().getJavaImplementation());
+            final List<Object> inputSample = this.getInputSample(operator, 0);
+            if (function == null || inputSample == null) return null;
+            double sum = 0d, squareSum = 0d;
+            for (Object dataQuantum : inputSample) {
+                int fanOut = 0;
+                for (Object ignored : function.apply(dataQuantum)) fanOut++;
+                sum += fanOut;
+                squareSum += (double) fanOut * fanOut;
+            }
+            final int n = inputSample.size();
+            final double mean = sum / n;
+            final double variance = Math.max(0d, squareSum / n - mean * mean);
+            final double deviation = Z * Math.sqrt(variance / n);
+            return new ProbabilisticDoubleInterval(Math.max(0d, mean - deviation), mean + deviation, CONFIDENCE);
+        });
+    }
+
+    /**
+     * Estimates the selectivity of a {@link JoinOperator} w.r.t. the cartesian product of its inputs.
+     *
+     * @return the selectivity or {@link Optional#empty()} if it cannot be estimated from samples
+     */
+    public Optional<ProbabilisticDoubleInterval> estimateSelectivity(JoinOperator<?, ?, ?> operator) {
+        return this.getOrEstimate(operator.getKeyDescriptor0(), () -> {
+            final Function<Object, Object> keyExtractor0 = this.asPlainFunction(operator.getKeyDescriptor0().getJavaImplementation());
+            final Function<Object, Object> keyExtractor1 = this.asPlainFunction(operator.getKeyDescriptor1().getJavaImplementation());
+            final List<Object> inputSample0 = this.getInputSample(operator, 0);
+            final List<Object> inputSample1 = this.getInputSample(operator, 1);
+            if (keyExtractor0 == null || keyExtractor1 == null || inputSample0 == null || inputSample1 == null) {
+                return null;
+            }
+            Map<Object, Integer> keyCounts = new HashMap<>();
+            for (Object dataQuantum : inputSample0) {
+                keyCounts.merge(keyExtractor0.apply(dataQuantum), 1, Integer::sum);
+            }
+            long numMatches = 0;
+            for (Object dataQuantum : inputSample1) {
+                numMatches += keyCounts.getOrDefault(keyExtractor1.apply(dataQuantum), 0);
+            }
+            // Consider the number of matches as Poisson-distributed.
+            final double numPairs = (double) inputSample0.size() * inputSample1.size();
+            final double deviation = Z * Math.sqrt(numMatches) + Z * Z / 2;
+            return new ProbabilisticDoubleInterval(
+                    Math.max(0d, numMatches - deviation) / numPairs,
+                    (numMatches + deviation) / numPairs,
+                    CONFIDENCE
+            );
+        });
+    }
+
+    /**
+     * Estimates the selectivity of a {@link RangeJoinOperator} w.r.t. the cartesian product of its inputs.
+     *
+     * @return the selectivity or {@link Optional#empty()} if it cannot be estimated from samples
+     */
+    public Optional<ProbabilisticDoubleInterval> estimateSelectivity(RangeJoinOperator<?, ?, ?> operator) {
+        return this.getOrEstimate(operator.getValueDescriptor(), () -> {
+            final Function<Object, Object> valueExtractor = this.asPlainFunction(operator.getValueDescriptor().getJavaImplementation());
+            final Function<Object, Object> lowerBoundExtractor = this.asPlainFunction(operator.getLowerBoundDescriptor().getJavaImplementation());
+            final Function<Object, Object> upperBoundExtractor = this.asPlainFunction(operator.getUpperBoundDescriptor().getJavaImplementation());
+            final List<Object> inputSample0 = this.getInputSample(operator, 0);
+            final List<Object> inputSample1 = this.getInputSample(operator, 1);
+            if (valueExtractor == null || lowerBoundExtractor == null || upperBoundExtractor == null
+                    || inputSample0 == null || inputSample1 == null) {
+                return null;
+            }
+            final RangeJoinOperator.ValueComparator<Object> comparator = new RangeJoinOperator.ValueComparator<>();
+            final Object[] values = new Object[inputSample0.size()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = valueExtractor.apply(inputSample0.get(i));
+            }
+            Arrays.sort(values, comparator);
+            final List<Object> sortedValues = Arrays.asList(values);
+            long numMatches = 0;
+            for (Object dataQuantum : inputSample1) {
+                final Object lowerBound = lowerBoundExtractor.apply(dataQuantum);
+                final Object upperBound = upperBoundExtractor.apply(dataQuantum);
+                numMatches += Math.max(0, comparator.countAtMost(sortedValues, upperBound) - comparator.countLess(sortedValues, lowerBound));
+            }
+            // Consider the number of matches as Poisson-distributed.
+            final double numPairs = (double) inputSample0.size() * inputSample1.size();
+            final double deviation = Z * Math.sqrt(numMatches) + Z * Z / 2;
+            return new ProbabilisticDoubleInterval(
+                    Math.max(0d, numMatches - deviation) / numPairs,
+                    (numMatches + deviation) / numPairs,
+                    CONFIDENCE
+            );
+        });
+    }
+
+    /**
+     * Queries the job cache for the selectivity of the given {@link FunctionDescriptor} or estimates it.
+     */
+    private Optional<ProbabilisticDoubleInterval> getOrEstimate(FunctionDescriptor functionDescriptor,
+                                                                SelectivityEstimation estimation) {
+        final Map<FunctionDescriptor, Optional<ProbabilisticDoubleInterval>> selectivities =
+                this.getJobCacheEntry(SELECTIVITY_CACHE_KEY);
+        Optional<ProbabilisticDoubleInterval> selectivity = selectivities.get(functionDescriptor);
+        if (selectivity == null) {
+            try {
+                selectivity = Optional.ofNullable(estimation.estimate());
+            } catch (Exception e) {
+                logger.debug("Could not estimate the selectivity of {} from samples.", functionDescriptor, e);
+                selectivity = Optional.empty();
+            }
+            selectivity.ifPresent(s -> logger.info("Estimated selectivity of {} from samples: {}", functionDescriptor, s));
+            selectivities.put(functionDescriptor, selectivity);
+        }
+        return selectivity;
+    }
+
+    /**
+     * Provides the sample of the data quanta that enter the given {@link Operator} via the given input.
+     *
+     * @return the sample or {@code null} if it cannot be provided or is too small
+     */
+    private List<Object> getInputSample(Operator operator, int inputIndex) {
+        final OutputSlot<Object> occupant = operator.getEffectiveOccupant(inputIndex);
+        if (occupant == null) return null;
+        final Iterator<OutputSlot<Object>> innerOccupants = occupant.getOwner().collectMappedOutputSlots(occupant).iterator();
+        if (!innerOccupants.hasNext()) return null;
+        final List<Object> sample = this.getSample(innerOccupants.next().getOwner());
+        return sample == null || sample.size() < this.minSampleSize ? null : sample;
+    }
+
+    /**
+     * Provides the sample of the output data quanta of the given {@link Operator}.
+     *
+     * @return the sample or {@code null} if it cannot be provided
+     */
+    @SuppressWarnings("unchecked")
+    private List<Object> getSample(Operator operator) {
+        final Object anchor;
+        final SampleCreation sampleCreation;
+        if (operator instanceof CollectionSource) {
+            final Collection<Object> collection = ((CollectionSource<Object>) operator).getCollection();
+            anchor = collection;
+            sampleCreation = () -> this.sample(collection.iterator());
+        } else if (operator instanceof TextFileSource) {
+            final TextFileSource textFileSource = (TextFileSource) operator;
+            anchor = textFileSource.getInputUrl();
+            sampleCreation = () -> this.sampleTextFile(textFileSource);
+        } else if (operator instanceof MapOperator) {
+            final MapOperator<Object, Object> mapOperator = (MapOperator<Object, Object>) operator;
+            anchor = mapOperator.getFunctionDescriptor();
+            sampleCreation = () -> {
+                final Function<Object, Object> function =
+                        this.asPlainFunction(mapOperator.getFunctionDescriptor().getJavaImplementation());
+                final List<Object> inputSample = this.getInputSample(mapOperator, 0);
+                if (function == null || inputSample == null) return null;
+                List<Object> sample = new ArrayList<>(inputSample.size());
+                for (Object dataQuantum : inputSample) sample.add(function.apply(dataQuantum));
+                return sample;
+            };
+        } else if (operator instanceof FilterOperator) {
+            final FilterOperator<Object> filterOperator = (FilterOperator<Object>) operator;
+            anchor = filterOperator.getPredicateDescriptor();
+            sampleCreation = () -> {
+                final Predicate<Object> predicate =
+                        this.asPlainFunction(filterOperator.getPredicateDescriptor().getJavaImplementation());
+                final List<Object> inputSample = this.getInputSample(filterOperator, 0);
+                if (predicate == null || inputSample == null) return null;
+                List<Object> sample = new ArrayList<>();
+                for (Object dataQuantum : inputSample) {
+                    if (predicate.test(dataQuantum)) sample.add(dataQuantum);
+                }
+                return sample;
+            };
+        } else if (operator instanceof FlatMapOperator) {
+            final FlatMapOperator<Object, Object> flatMapOperator = (FlatMapOperator<Object, Object>) operator;
+            anchor = flatMapOperator.getFunctionDescriptor();
+            sampleCreation = () -> {
+                final Function<Object, Iterable<Object>> function =
+                        this.asPlainFunction(flatMapOperator.getFunctionDescriptor().getJavaImplementation());
+                final List<Object> inputSample = this.getInputSample(flatMapOperator, 0);
+                if (function == null || inputSample == null) return null;
+                List<Object> outputs = new ArrayList<>();
+                for (Object dataQuantum : inputSample) {
+                    for (Object output : function.apply(dataQuantum)) outputs.add(output);
+                }
+                // Keep the sample size bounded.
+                return this.sample(outputs.iterator());
+            };
+        } else {
+            return null;
+        }
+
+        final Map<Object, Optional<List<Object>>> samples = this.getJobCacheEntry(SAMPLE_CACHE_KEY);
+        Optional<List<Object>> sample = samples.get(anchor);
+        if (sample == null) {
+            try {
+                sample = Optional.ofNullable(sampleCreation.create());
+            } catch (Exception e) {
+                logger.debug("Could not create a sample for {}.", operator, e);
+                sample = Optional.empty();
+            }
+            samples.put(anchor, sample);
+        }
+        return sample.orElse(null);
+    }
+
+    /**
+     * Draws a sample of at most {@link #sampleSize} elements via reservoir sampling.
+     */
+    private List<Object> sample(Iterator<?> iterator) {
+        final Random random = new Random(this.seed);
+        List<Object> reservoir = new ArrayList<>(this.sampleSize);
+        long numSeenElements = 0;
+        while (iterator.hasNext()) {
+            final Object element = iterator.next();
+            numSeenElements++;
+            if (reservoir.size() < this.sampleSize) {
+                reservoir.add(element);
+            } else {
+                final long index = (long) (random.nextDouble() * numSeenElements);
+                if (index < this.sampleSize) reservoir.set((int) index, element);
+            }
+        }
+        return reservoir;
+    }
+
+    /**
+     * Samples the lines in the first MiB of the file of the given {@link TextFileSource}.
+     */
+    private List<Object> sampleTextFile(TextFileSource textFileSource) throws IOException {
+        final String inputUrl = textFileSource.getInputUrl();
+        final Optional<FileSystem> fileSystem = FileSystems.getFileSystem(inputUrl);
+        if (!fileSystem.isPresent()) return null;
+        try (LimitedInputStream lis = new LimitedInputStream(fileSystem.get().open(inputUrl), MAX_TEXT_FILE_BYTES)) {
+            final BufferedReader reader = new BufferedReader(new InputStreamReader(lis, textFileSource.getEncoding()));
+            List<String> lines = new ArrayList<>();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+            }
+            // The last line might have been truncated.
+            if (lis.getNumReadBytes() >= MAX_TEXT_FILE_BYTES && !lines.isEmpty()) {
+                lines.remove(lines.size() - 1);
+            }
+            return this.sample(lines.iterator());
+        }
+    }
+
+    /**
+     * Casts the given Java implementation of a UDF unless it requires an execution context, e.g., for broadcasts.
+     *
+     * @return the implementation or {@code null}
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T asPlainFunction(Object implementation) {
+        return implementation instanceof ExtendedFunction ? null : (T) implementation;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <K, V> Map<K, V> getJobCacheEntry(String key) {
+        Map<K, V> entry = (Map<K, V>) this.optimizationContext.queryJobCache(key);
+        if (entry == null) {
+            entry = new IdentityHashMap<>();
+            this.optimizationContext.putIntoJobCache(key, entry);
+        }
+        return entry;
+    }
+
+    /**
+     * Creates the Wilson score interval for a binomial proportion.
+     *
+     * @param numSuccesses number of successful trials
+     * @param numTrials    number of trials
+     * @return the interval
+     */
+    static ProbabilisticDoubleInterval createWilsonInterval(int numSuccesses, int numTrials) {
+        final double p = (double) numSuccesses / numTrials;
+        final double zSquare = Z * Z;
+        final double denominator = 1 + zSquare / numTrials;
+        final double center = (p + zSquare / (2 * numTrials)) / denominator;
+        final double deviation = Z * Math.sqrt(p * (1 - p) / numTrials + zSquare / (4d * numTrials * numTrials)) / denominator;
+        return new ProbabilisticDoubleInterval(
+                Math.max(0d, center - deviation), Math.min(1d, center + deviation), CONFIDENCE
+        );
+    }
+
+    @FunctionalInterface
+    private interface SelectivityEstimation {
+
+        ProbabilisticDoubleInterval estimate() throws Exception;
+
+    }
+
+    @FunctionalInterface
+    private interface SampleCreation {
+
+        List<Object> create() throws Exception;
+
+    }
+
+}
@@ -0,0 +1,31 @@
+package org.qcri.rheem.basic.operators;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Tests for the {@link RangeJoinOperator}.
+ */
+public class RangeJoinOperatorTest {
+
+    @Test
+    public void testValueComparatorCounts() {
+        final RangeJoinOperator.ValueComparator<Integer> comparator = new RangeJoinOperator.ValueComparator<>();
+        final List<Integer> sortedValues = Arrays.asList(1, 3, 3, 3, 7);
+
+        Assert.assertEquals(0, comparator.countLess(sortedValues, 1));
+        Assert.assertEquals(1, comparator.countAtMost(sortedValues, 1));
+        Assert.assertEquals(1, comparator.countLess(sortedValues, 3));
+        Assert.assertEquals(4, comparator.countAtMost(sortedValues, 3));
+        Assert.assertEquals(4, comparator.countLess(sortedValues, 5));
+        Assert.assertEquals(4, comparator.countAtMost(sortedValues, 5));
+        Assert.assertEquals(5, comparator.countLess(sortedValues, 8));
+        Assert.assertEquals(0, comparator.countAtMost(sortedValues, 0));
+        Assert.assertEquals(0, comparator.countAtMost(Collections.emptyList(), 0));
+    }
+
+}
@@ -74,4 +74,23 @@ public class TextFileSourceTest {
         Assert.assertTrue(estimate.getUpperEstimate() >= numLineFeeds);
     }
 
+    @Test
+    public void testPickSampledBlocks() {
+        final TextFileSource textFileSource = new TextFileSource("file:///tmp/some.txt");
+        textFileSource.setBlockSampling(0.25, 42L);
+        Assert.assertTrue(textFileSource.isBlockSampling());
+
+        final long[] sampledBlocks = textFileSource.pickSampledBlocks(100);
+        Assert.assertEquals(25, sampledBlocks.length);
+        for (int i = 0; i < sampledBlocks.length; i++) {
+            Assert.assertTrue(sampledBlocks[i] >= 0 && sampledBlocks[i] < 100);
+            if (i > 0) Assert.assertTrue(sampledBlocks[i - 1] < sampledBlocks[i]);
+        }
+        Assert.assertArrayEquals(sampledBlocks, textFileSource.pickSampledBlocks(100));
+
+        // At least one block should be read.
+        Assert.assertEquals(1, textFileSource.pickSampledBlocks(2).length);
+        Assert.assertEquals(0, textFileSource.pickSampledBlocks(0).length);
+    }
+
 }
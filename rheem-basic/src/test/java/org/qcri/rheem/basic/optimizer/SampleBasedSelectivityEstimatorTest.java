@@ -0,0 +1,146 @@
+package org.qcri.rheem.basic.optimizer;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.qcri.rheem.basic.operators.CollectionSource;
+import org.qcri.rheem.basic.operators.FilterOperator;
+import org.qcri.rheem.basic.operators.FlatMapOperator;
+import org.qcri.rheem.basic.operators.JoinOperator;
+import org.qcri.rheem.basic.operators.MapOperator;
+import org.qcri.rheem.basic.operators.RangeJoinOperator;
+import org.qcri.rheem.core.api.Configuration;
+import org.qcri.rheem.core.optimizer.DefaultOptimizationContext;
+import org.qcri.rheem.core.optimizer.ProbabilisticDoubleInterval;
+import org.qcri.rheem.core.optimizer.cardinality.CardinalityEstimate;
+import org.qcri.rheem.core.optimizer.cardinality.CardinalityEstimator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test suite for {@link SampleBasedSelectivityEstimator}.
+ */
+public class SampleBasedSelectivityEstimatorTest {
+
+    private Configuration configuration;
+
+    private DefaultOptimizationContext optimizationContext;
+
+    private Map<String, Object> jobCache;
+
+    @Before
+    public void setUp() {
+        this.configuration = new Configuration();
+        this.configuration.setProperty(SampleBasedSelectivityEstimator.ENABLED_PROPERTY, "true");
+        this.jobCache = new HashMap<>();
+        this.optimizationContext = mock(DefaultOptimizationContext.class);
+        when(this.optimizationContext.getConfiguration()).thenReturn(this.configuration);
+        when(this.optimizationContext.queryJobCache(anyString()))
+                .thenAnswer(invocation -> this.jobCache.get(invocation.getArguments()[0]));
+        when(this.optimizationContext.putIntoJobCache(anyString(), any()))
+                .thenAnswer(invocation -> this.jobCache.put(
+                        (String) invocation.getArguments()[0], invocation.getArguments()[1]
+                ));
+    }
+
+    @Test
+    public void testFilterSelectivity() {
+        CollectionSource<Integer> source = new CollectionSource<>(createIntegers(10000), Integer.class);
+        MapOperator<Integer, Integer> map = new MapOperator<>(i -> i + 1, Integer.class, Integer.class);
+        FilterOperator<Integer> filter = new FilterOperator<>(i -> i % 4 == 0, Integer.class);
+        source.connectTo(0, map, 0);
+        map.connectTo(0, filter, 0);
+
+        final Optional<ProbabilisticDoubleInterval> selectivity = SampleBasedSelectivityEstimator
+                .createFor(this.optimizationContext)
+                .flatMap(estimator -> estimator.estimateSelectivity(filter));
+        Assert.assertTrue(selectivity.isPresent());
+        Assert.assertTrue(selectivity.get().getLowerEstimate() <= 0.25d);
+        Assert.assertTrue(selectivity.get().getUpperEstimate() >= 0.25d);
+        Assert.assertTrue(selectivity.get().getUpperEstimate() - selectivity.get().getLowerEstimate() < 0.1d);
+
+        // The FilterOperator should pick up the selectivity.
+        final CardinalityEstimator estimator = filter.createCardinalityEstimator(0, this.configuration).get();
+        final CardinalityEstimate estimate = estimator.estimate(
+                this.optimizationContext, new CardinalityEstimate(10000, 10000, 1d)
+        );
+        Assert.assertTrue(estimate.getLowerEstimate() <= 2500 && estimate.getUpperEstimate() >= 2500);
+        Assert.assertTrue(estimate.getUpperEstimate() - estimate.getLowerEstimate() < 1000);
+    }
+
+    @Test
+    public void testFlatMapSelectivity() {
+        CollectionSource<Integer> source = new CollectionSource<>(createIntegers(10000), Integer.class);
+        FlatMapOperator<Integer, Integer> flatMap = new FlatMapOperator<>(
+                i -> Collections.nCopies(i % 3, i), Integer.class, Integer.class
+        );
+        source.connectTo(0, flatMap, 0);
+
+        final Optional<ProbabilisticDoubleInterval> selectivity = SampleBasedSelectivityEstimator
+                .createFor(this.optimizationContext)
+                .flatMap(estimator -> estimator.estimateSelectivity(flatMap));
+        Assert.assertTrue(selectivity.isPresent());
+        Assert.assertTrue(selectivity.get().getLowerEstimate() <= 1d);
+        Assert.assertTrue(selectivity.get().getUpperEstimate() >= 1d);
+    }
+
+    @Test
+    public void testJoinSelectivity() {
+        CollectionSource<Integer> source0 = new CollectionSource<>(createIntegers(1000), Integer.class);
+        CollectionSource<Integer> source1 = new CollectionSource<>(createIntegers(1000), Integer.class);
+        JoinOperator<Integer, Integer, Integer> join = new JoinOperator<>(
+                i -> i % 100, i -> i % 100, Integer.class, Integer.class, Integer.class
+        );
+        source0.connectTo(0, join, 0);
+        source1.connectTo(0, join, 1);
+
+        final Optional<ProbabilisticDoubleInterval> selectivity = SampleBasedSelectivityEstimator
+                .createFor(this.optimizationContext)
+                .flatMap(estimator -> estimator.estimateSelectivity(join));
+        Assert.assertTrue(selectivity.isPresent());
+        Assert.assertTrue(selectivity.get().getLowerEstimate() <= 0.01d);
+        Assert.assertTrue(selectivity.get().getUpperEstimate() >= 0.01d);
+    }
+
+    @Test
+    public void testRangeJoinSelectivity() {
+        CollectionSource<Integer> source0 = new CollectionSource<>(createIntegers(1000), Integer.class);
+        CollectionSource<Integer> source1 = new CollectionSource<>(createIntegers(1000), Integer.class);
+        RangeJoinOperator<Integer, Integer, Integer> rangeJoin = new RangeJoinOperator<>(
+                i -> i, i -> i, i -> i + 9, Integer.class, Integer.class, Integer.class
+        );
+        source0.connectTo(0, rangeJoin, 0);
+        source1.connectTo(0, rangeJoin, 1);
+
+        // Every range contains about 10 out of 1000 values.
+        final Optional<ProbabilisticDoubleInterval> selectivity = SampleBasedSelectivityEstimator
+                .createFor(this.optimizationContext)
+                .flatMap(estimator -> estimator.estimateSelectivity(rangeJoin));
+        Assert.assertTrue(selectivity.isPresent());
+        Assert.assertTrue(selectivity.get().getLowerEstimate() <= 0.01d);
+        Assert.assertTrue(selectivity.get().getUpperEstimate() >= 0.01d);
+    }
+
+    @Test
+    public void testDisabledSampling() {
+        this.configuration.setProperty(SampleBasedSelectivityEstimator.ENABLED_PROPERTY, "false");
+        Assert.assertFalse(SampleBasedSelectivityEstimator.createFor(this.optimizationContext).isPresent());
+    }
+
+    private static List<Integer> createIntegers(int n) {
+        return IntStream.range(0, n).boxed().collect(Collectors.toCollection(ArrayList::new));
+    }
+
+}
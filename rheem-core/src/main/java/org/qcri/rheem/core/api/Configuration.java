@@ -82,6 +82,13 @@ public class Configuration {
 
     private ValueProvider<ToDoubleFunction<ProbabilisticDoubleInterval>> costSquasherProvider;
 
+    /**
+     * Counts how often the providers that make up the cost model have been replaced in this instance.
+     *
+     * @see #getCostModelVersion()
+     */
+    private long numCostModelProviderChanges = 0L;
+
     private KeyValueProvider<Platform, Long> platformStartUpTimeProvider;
 
     private ExplicitCollectionProvider<Platform> platformProvider;
@@ -599,6 +606,7 @@ public class Configuration {
 
     public void setOperatorLoadProfileEstimatorProvider(KeyValueProvider<ExecutionOperator, LoadProfileEstimator> operatorLoadProfileEstimatorProvider) {
         this.operatorLoadProfileEstimatorProvider = operatorLoadProfileEstimatorProvider;
+        this.numCostModelProviderChanges++;
     }
 
     public KeyValueProvider<FunctionDescriptor, LoadProfileEstimator> getFunctionLoadProfileEstimatorProvider() {
@@ -607,6 +615,7 @@ public class Configuration {
 
     public void setFunctionLoadProfileEstimatorProvider(KeyValueProvider<FunctionDescriptor, LoadProfileEstimator> functionLoadProfileEstimatorProvider) {
         this.functionLoadProfileEstimatorProvider = functionLoadProfileEstimatorProvider;
+        this.numCostModelProviderChanges++;
     }
 
     public MapBasedKeyValueProvider<String, LoadProfileEstimator> getLoadProfileEstimatorCache() {
@@ -668,6 +677,7 @@ public class Configuration {
 
     public void setProperties(KeyValueProvider<String, String> properties) {
         this.properties = properties;
+        this.numCostModelProviderChanges++;
     }
 
     public KeyValueProvider<String, String> getProperties() {
@@ -696,6 +706,7 @@ public class Configuration {
 
     public void setLoadProfileToTimeConverterProvider(KeyValueProvider<Platform, LoadProfileToTimeConverter> loadProfileToTimeConverterProvider) {
         this.loadProfileToTimeConverterProvider = loadProfileToTimeConverterProvider;
+        this.numCostModelProviderChanges++;
     }
 
     public KeyValueProvider<Platform, TimeToCostConverter> getTimeToCostConverterProvider() {
@@ -704,6 +715,7 @@ public class Configuration {
 
     public void setTimeToCostConverterProvider(KeyValueProvider<Platform, TimeToCostConverter> timeToCostConverterProvider) {
         this.timeToCostConverterProvider = timeToCostConverterProvider;
+        this.numCostModelProviderChanges++;
     }
 
     public ValueProvider<ToDoubleFunction<ProbabilisticDoubleInterval>> getCostSquasherProvider() {
@@ -712,6 +724,25 @@ public class Configuration {
 
     public void setCostSquasherProvider(ValueProvider<ToDoubleFunction<ProbabilisticDoubleInterval>> costSquasherProvider) {
         this.costSquasherProvider = costSquasherProvider;
+        this.numCostModelProviderChanges++;
+    }
+
+    /**
+     * Tells the version of the cost model of this instance, i.e., of the {@link LoadProfileEstimator}s,
+     * {@link LoadProfileToTimeConverter}s, {@link TimeToCostConverter}s, and cost squasher that it provides, as well
+     * as of the properties that they are configured with. The version increases whenever any of them is set on this
+     * instance or its parents, so that cost estimates can be kept as long as it does not change.
+     *
+     * @return the version
+     */
+    public long getCostModelVersion() {
+        return this.numCostModelProviderChanges
+                + this.operatorLoadProfileEstimatorProvider.getVersion()
+                + this.functionLoadProfileEstimatorProvider.getVersion()
+                + this.loadProfileToTimeConverterProvider.getVersion()
+                + this.timeToCostConverterProvider.getVersion()
+                + this.costSquasherProvider.getVersion()
+                + this.properties.getVersion();
     }
 
     public OptionalLong getOptionalLongProperty(String key) {
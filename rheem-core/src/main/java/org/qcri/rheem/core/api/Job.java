@@ -20,6 +20,7 @@ import org.qcri.rheem.core.optimizer.enumeration.*;
 import org.qcri.rheem.core.plan.executionplan.Channel;
 import org.qcri.rheem.core.plan.executionplan.ExecutionPlan;
 import org.qcri.rheem.core.plan.executionplan.ExecutionStage;
+import org.qcri.rheem.core.plan.executionplan.ExecutionStageLoop;
 import org.qcri.rheem.core.plan.executionplan.ExecutionTask;
 import org.qcri.rheem.core.plan.rheemplan.*;
 import org.qcri.rheem.core.platform.*;
@@ -123,6 +124,11 @@ public class Job extends OneTimeExecutable {
      */
     private final String name;
 
+    /**
+     * Identifies the execution of this instance, e.g., in the {@link #monitor}.
+     */
+    private final String runId = UUID.randomUUID().toString();
+
     /**
      * <i>Currently not used.</i>
      */
@@ -141,6 +147,11 @@ public class Job extends OneTimeExecutable {
 
     private final boolean isProactiveReoptimization;
 
+    /**
+     * {@link PlanCache.Fingerprint} of the {@link #rheemPlan} if the {@link PlanCache} is used.
+     */
+    private PlanCache.Fingerprint planFingerprint;
+
     /**
      * Creates a new instance.
      *
@@ -217,7 +228,7 @@ public class Job extends OneTimeExecutable {
     }
 
     // TODO: Move outside of Job class
-    public void reportProgress(String opName, Integer progress) {
+    public synchronized void reportProgress(String opName, Integer progress) {
         HashMap<String, Integer> partialProgress = new HashMap<>();
         partialProgress.put(opName, progress);
         try {
@@ -234,23 +245,28 @@ public class Job extends OneTimeExecutable {
             throw new RheemException("Job has already been executed.");
         }
 
+        final JobScheduler jobScheduler = this.rheemContext.getJobScheduler();
         try {
 
-            // Prepare the #rheemPlan for the optimization.
-            this.optimizationRound.start();
-            this.prepareRheemPlan();
+            ExecutionPlan executionPlan;
+            try (JobScheduler.Permit ignored = jobScheduler.acquireOptimizationPermit(this)) {
+                // Prepare the #rheemPlan for the optimization.
+                this.optimizationRound.start();
+                this.prepareRheemPlan();
+                this.checkCancellation();
 
-            // Estimate cardinalities and execution times for the #rheemPlan.
-            this.estimateKeyFigures();
+                // Estimate cardinalities and execution times for the #rheemPlan.
+                this.estimateKeyFigures();
+                this.checkCancellation();
 
-            // Get an execution plan.
-            ExecutionPlan executionPlan = this.createInitialExecutionPlan();
-            this.optimizationRound.stop();
+                // Get an execution plan.
+                executionPlan = this.createInitialExecutionPlan();
+                this.optimizationRound.stop();
+            }
+            this.checkCancellation();
 
-            // TODO: generate run ID. For now we fix this because we can't handle multiple jobs, neither in montoring nor execution.
-            String runId = "1";
             try {
-                monitor.initialize(this.configuration, runId, executionPlan.toJsonList());
+                monitor.initialize(this.configuration, this.runId, executionPlan.toJsonList());
             }catch (Exception e) {
                 this.logger.warn("Failed to initalize monitor: {}", e);
             }
@@ -258,10 +274,19 @@ public class Job extends OneTimeExecutable {
 
             // Take care of the execution.
             int executionId = 0;
-            while (!this.execute(executionPlan, executionId)) {
-                this.optimizationRound.start();
-                if (this.postProcess(executionPlan, executionId)) executionId++;
-                this.optimizationRound.stop();
+            while (true) {
+                final boolean isExecutionComplete;
+                try (JobScheduler.Permit ignored = jobScheduler.acquireExecutionPermit(this, executionPlan)) {
+                    isExecutionComplete = this.execute(executionPlan, executionId);
+                }
+                if (isExecutionComplete) break;
+                this.checkCancellation();
+                try (JobScheduler.Permit ignored = jobScheduler.acquireOptimizationPermit(this)) {
+                    this.optimizationRound.start();
+                    if (this.postProcess(executionPlan, executionId)) executionId++;
+                    this.optimizationRound.stop();
+                }
+                this.checkCancellation();
             }
 
             this.stopWatch.start("Post-processing");
@@ -281,6 +306,17 @@ public class Job extends OneTimeExecutable {
         }
     }
 
+    /**
+     * Makes sure that this instance has not been cancelled, i.e., that the executing thread has not been interrupted.
+     *
+     * @throws RheemException if this instance has been cancelled
+     */
+    private void checkCancellation() throws RheemException {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new RheemException(String.format("%s has been cancelled.", this));
+        }
+    }
+
     /**
      * Prepares the {@link #rheemPlan}: prunes unused {@link Operator}s, isolates loops, and applies all available
      * {@link PlanTransformation}s.
@@ -333,7 +369,11 @@ public class Job extends OneTimeExecutable {
 
             this.optimizationRound.start("Cardinality&Load Estimation", "Create CardinalityEstimationManager");
             this.cardinalityEstimatorManager = new CardinalityEstimatorManager(
-                    this.rheemPlan, this.optimizationContext, this.configuration);
+                    this.rheemPlan, this.optimizationContext, this.configuration,
+                    this.configuration.getBooleanProperty("rheem.core.optimizer.cardinality.statistics", false) ?
+                            this.rheemContext.getCardinalityRepository() :
+                            null
+            );
             this.optimizationRound.stop("Cardinality&Load Estimation", "Create CardinalityEstimationManager");
         }
 
@@ -354,12 +394,14 @@ public class Job extends OneTimeExecutable {
         this.optimizationRound.start("Create Initial Execution Plan");
 
         // Enumerate all possible plan.
-        final PlanEnumerator planEnumerator = this.createPlanEnumerator();
-
         final TimeMeasurement enumerateMeasurment = this.optimizationRound.start("Create Initial Execution Plan", "Enumerate");
-        planEnumerator.setTimeMeasurement(enumerateMeasurment);
-        final PlanEnumeration comprehensiveEnumeration = planEnumerator.enumerate(true);
-        planEnumerator.setTimeMeasurement(null);
+        PlanEnumeration comprehensiveEnumeration = this.enumerateWithPlanCache(enumerateMeasurment);
+        if (comprehensiveEnumeration == null) {
+            final PlanEnumerator planEnumerator = this.createPlanEnumerator();
+            planEnumerator.setTimeMeasurement(enumerateMeasurment);
+            comprehensiveEnumeration = planEnumerator.enumerate(true);
+            planEnumerator.setTimeMeasurement(null);
+        }
         this.optimizationRound.stop("Create Initial Execution Plan", "Enumerate");
 
         final Collection<PlanImplementation> executionPlans = comprehensiveEnumeration.getPlanImplementations();
@@ -374,6 +416,9 @@ public class Job extends OneTimeExecutable {
         this.pickBestExecutionPlan(executionPlans, null, null, null);
         this.timeEstimates.add(planImplementation.getTimeEstimate());
         this.costEstimates.add(planImplementation.getCostEstimate());
+        if (this.planFingerprint != null) {
+            this.rheemContext.getPlanCache().store(this.planFingerprint, this.planImplementation);
+        }
         this.optimizationRound.stop("Create Initial Execution Plan", "Pick Best Plan");
 
         this.logger.info("Compiling execution plan...");
@@ -394,6 +439,36 @@ public class Job extends OneTimeExecutable {
     }
 
 
+    /**
+     * Enumerates the {@link #rheemPlan} by adopting the {@link OperatorAlternative.Alternative}s picked for an
+     * equivalent {@link RheemPlan} before, if the {@link PlanCache} is enabled and has a corresponding entry.
+     *
+     * @param timeMeasurement to be used by the {@link PlanEnumerator}
+     * @return the {@link PlanEnumeration} or {@code null} if the {@link PlanCache} could not be used
+     */
+    private PlanEnumeration enumerateWithPlanCache(TimeMeasurement timeMeasurement) {
+        if (!PlanCache.isEnabled(this.configuration)) return null;
+
+        final PlanCache planCache = this.rheemContext.getPlanCache();
+        this.planFingerprint = PlanCache.Fingerprint.of(this.rheemPlan, this.optimizationContext);
+        if (this.planFingerprint == null) return null;
+        final Map<OperatorAlternative, OperatorAlternative.Alternative> cachedAlternatives =
+                planCache.lookup(this.planFingerprint);
+        if (cachedAlternatives == null) return null;
+
+        final PlanEnumerator planEnumerator = new PlanEnumerator(this.rheemPlan, this.optimizationContext, cachedAlternatives);
+        planEnumerator.setTimeMeasurement(timeMeasurement);
+        final PlanEnumeration planEnumeration = planEnumerator.enumerate(true);
+        planEnumerator.setTimeMeasurement(null);
+        if (planEnumeration == null || planEnumeration.getPlanImplementations().isEmpty()) {
+            this.logger.warn("Could not adopt the cached plan for {}. Enumerating from scratch.", this.planFingerprint);
+            planCache.invalidate(this.planFingerprint);
+            return null;
+        }
+        this.logger.info("Adopted cached plan for {}.", this.planFingerprint);
+        return planEnumeration;
+    }
+
     private PlanImplementation pickBestExecutionPlan(Collection<PlanImplementation> executionPlans,
                                                      ExecutionPlan existingPlan,
                                                      Set<Channel> openChannels,
@@ -494,11 +569,19 @@ public class Job extends OneTimeExecutable {
                     .filter(stage -> !completedStages.contains(stage))
                     .forEach(immediateBreakpoint::breakAfter);
         }
-        this.crossPlatformExecutor.setBreakpoint(new ConjunctiveBreakpoint(
-                immediateBreakpoint,
-                this.cardinalityBreakpoint,
-                new NoIterationBreakpoint() // Avoid re-optimization inside of loops.
-        ));
+        if (this.configuration.getBooleanProperty("rheem.core.optimizer.reoptimize.loops")) {
+            // Re-optimize also on entering loops and at iteration boundaries.
+            this.crossPlatformExecutor.setBreakpoint(new IterationBreakpoint(new ConjunctiveBreakpoint(
+                    immediateBreakpoint,
+                    this.cardinalityBreakpoint
+            )));
+        } else {
+            this.crossPlatformExecutor.setBreakpoint(new ConjunctiveBreakpoint(
+                    immediateBreakpoint,
+                    this.cardinalityBreakpoint,
+                    new NoIterationBreakpoint() // Avoid re-optimization inside of loops.
+            ));
+        }
         breakpointRound.stop();
     }
 
@@ -562,7 +645,12 @@ public class Job extends OneTimeExecutable {
     private void updateExecutionPlan(ExecutionPlan executionPlan) {
         // Defines the plan that we want to use in the end.
         // Find and copy the open Channels.
-        final Set<ExecutionStage> completedStages = this.crossPlatformExecutor.getCompletedStages();
+        final Set<ExecutionStage> completedStages = new HashSet<>(this.crossPlatformExecutor.getCompletedStages());
+
+        // Loop bodies that are suspended at an iteration boundary are re-planned on top of their loop heads.
+        for (ExecutionStageLoop loop : this.crossPlatformExecutor.getLoopsAtIterationBoundary()) {
+            completedStages.removeIf(stage -> stage.getLoop() == loop && !stage.isLoopHead());
+        }
         final Set<ExecutionTask> completedTasks = completedStages.stream()
                 .flatMap(stage -> stage.getAllTasks().stream())
                 .collect(Collectors.toSet());
@@ -787,6 +875,15 @@ public class Job extends OneTimeExecutable {
         return this.name;
     }
 
+    /**
+     * Retrieves the ID that identifies the execution of this instance.
+     *
+     * @return the run ID
+     */
+    public String getRunId() {
+        return this.runId;
+    }
+
     @Override
     public String toString() {
         return String.format("%s[%s]", this.getClass().getSimpleName(), this.name);
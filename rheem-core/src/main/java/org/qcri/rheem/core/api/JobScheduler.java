@@ -0,0 +1,307 @@
+package org.qcri.rheem.core.api;
+
+import org.qcri.rheem.core.api.exception.RheemException;
+import org.qcri.rheem.core.plan.executionplan.ExecutionPlan;
+import org.qcri.rheem.core.plan.executionplan.ExecutionStage;
+import org.qcri.rheem.core.plan.executionplan.PlatformExecution;
+import org.qcri.rheem.core.platform.Platform;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Admits {@link Job}s of a {@link RheemContext}. On the one hand, it runs {@link Job}s that are submitted
+ * asynchronously on a bounded pool of threads. On the other hand, it limits how many {@link Job}s may optimize
+ * at the same time and how many {@link Job}s may execute on each {@link Platform} at the same time, regardless of
+ * whether they have been submitted or are executed on the caller's thread. Waiting {@link Job}s are admitted in
+ * the order of their arrival.
+ * <p>The time that {@link Job}s wait for admission is recorded in their {@link Job#getStopWatch()} under
+ * {@value #SCHEDULING_ROUND} and accumulated in this instance.</p>
+ */
+public class JobScheduler {
+
+    /**
+     * Name of the {@link de.hpi.isg.profiledb.store.model.TimeMeasurement} for waiting times of {@link Job}s.
+     */
+    public static final String SCHEDULING_ROUND = "Scheduling";
+
+    /**
+     * Marks {@link Platform}s without a limit in {@link #executionPermits}.
+     */
+    private static final Semaphore NO_LIMIT = new Semaphore(0);
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final Configuration configuration;
+
+    /**
+     * Maximum number of submitted {@link Job}s that run at the same time.
+     */
+    private final int maxRunningJobs;
+
+    /**
+     * Limits the number of concurrently optimizing {@link Job}s or is {@code null} if there is no limit.
+     */
+    private final Semaphore optimizationPermits;
+
+    /**
+     * Limits the number of concurrently executing {@link Job}s per {@link Platform}. Entries map to {@link #NO_LIMIT}
+     * for {@link Platform}s without a limit.
+     */
+    private final Map<Platform, Semaphore> executionPermits = new ConcurrentHashMap<>();
+
+    /**
+     * Runs the submitted {@link Job}s. Lazily initialized.
+     */
+    private ExecutorService jobExecutorService;
+
+    /**
+     * Tells whether {@link #shutdown()} has been called.
+     */
+    private boolean isShutDown = false;
+
+    /**
+     * Key figures of this instance.
+     */
+    private final AtomicInteger numQueuedJobs = new AtomicInteger(0), numRunningJobs = new AtomicInteger(0);
+
+    private final AtomicLong queueMillis = new AtomicLong(0L), permitMillis = new AtomicLong(0L);
+
+    /**
+     * Creates a new instance.
+     *
+     * @param configuration provides the limits of the new instance
+     */
+    public JobScheduler(Configuration configuration) {
+        this.configuration = configuration;
+        this.maxRunningJobs = (int) Math.max(1, configuration.getLongProperty("rheem.core.scheduler.jobs", 4));
+        final long optimizationParallelism =
+                configuration.getLongProperty("rheem.core.scheduler.optimization.parallelism", 0);
+        this.optimizationPermits = optimizationParallelism > 0 ? new Semaphore((int) optimizationParallelism, true) : null;
+    }
+
+    /**
+     * Queues the given {@link Job} for asynchronous execution.
+     *
+     * @param job            that should be executed
+     * @param resultProvider provides the result of the returned {@link Future} from the executed {@link Job}
+     * @return a {@link Future} for the result; cancelling it interrupts the {@link Job}
+     * @throws RheemException if this instance has been shut down
+     */
+    public <T> Future<T> submit(Job job, Function<? super Job, T> resultProvider) throws RheemException {
+        final ExecutorService jobExecutorService = this.getJobExecutorService();
+        job.getStopWatch().start(SCHEDULING_ROUND, "Queue");
+        final long submissionMillis = System.currentTimeMillis();
+        this.numQueuedJobs.incrementAndGet();
+        // Either the start or the cancellation of the Job takes it out of the queue.
+        final AtomicBoolean isDequeued = new AtomicBoolean(false);
+        final FutureTask<T> futureTask = new FutureTask<T>(() -> {
+            if (isDequeued.getAndSet(true)) throw new CancellationException();
+            this.numQueuedJobs.decrementAndGet();
+            this.queueMillis.addAndGet(System.currentTimeMillis() - submissionMillis);
+            job.getStopWatch().stop(SCHEDULING_ROUND, "Queue");
+            job.getStopWatch().stop(SCHEDULING_ROUND);
+            this.numRunningJobs.incrementAndGet();
+            try {
+                job.execute();
+                return resultProvider.apply(job);
+            } finally {
+                this.numRunningJobs.decrementAndGet();
+            }
+        }) {
+            @Override
+            protected void done() {
+                if (!isDequeued.getAndSet(true)) JobScheduler.this.numQueuedJobs.decrementAndGet();
+            }
+        };
+        try {
+            jobExecutorService.execute(futureTask);
+        } catch (RejectedExecutionException e) {
+            futureTask.cancel(false);
+            throw new RheemException(String.format("Cannot submit %s, because %s has been shut down.", job, this), e);
+        }
+        return futureTask;
+    }
+
+    /**
+     * Provides the {@link ExecutorService} to run submitted {@link Job}s.
+     *
+     * @return the {@link ExecutorService}
+     * @throws RheemException if this instance has been shut down
+     */
+    private synchronized ExecutorService getJobExecutorService() throws RheemException {
+        if (this.isShutDown) {
+            throw new RheemException(String.format("%s has been shut down.", this));
+        }
+        if (this.jobExecutorService == null) {
+            final AtomicInteger threadCounter = new AtomicInteger(0);
+            this.jobExecutorService = Executors.newFixedThreadPool(this.maxRunningJobs, runnable -> {
+                final Thread thread = new Thread(runnable, String.format("%s-job-%d", this, threadCounter.getAndIncrement()));
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return this.jobExecutorService;
+    }
+
+    /**
+     * Shuts down this instance: Already submitted {@link Job}s are still run, but no new {@link Job}s are accepted.
+     * Once the submitted {@link Job}s are done, the threads of this instance terminate.
+     */
+    public synchronized void shutdown() {
+        if (this.isShutDown) return;
+        this.isShutDown = true;
+        if (this.jobExecutorService != null) {
+            this.jobExecutorService.shutdown();
+        }
+    }
+
+    /**
+     * Waits until the given {@link Job} may optimize.
+     *
+     * @param job that wants to optimize
+     * @return a {@link Permit} that must be closed once the optimization is done
+     * @throws RheemException if the {@link Job} is interrupted, e.g., because it has been cancelled
+     */
+    Permit acquireOptimizationPermit(Job job) throws RheemException {
+        final List<Semaphore> semaphores = new ArrayList<>(1);
+        if (this.optimizationPermits != null) semaphores.add(this.optimizationPermits);
+        return this.acquire(job, "Optimization Permit", semaphores);
+    }
+
+    /**
+     * Waits until the given {@link Job} may execute the given {@link ExecutionPlan}, i.e., until it may use all
+     * {@link Platform}s of the {@link ExecutionPlan}.
+     *
+     * @param job           that wants to execute
+     * @param executionPlan that should be executed
+     * @return a {@link Permit} that must be closed once the execution is done
+     * @throws RheemException if the {@link Job} is interrupted, e.g., because it has been cancelled
+     */
+    Permit acquireExecutionPermit(Job job, ExecutionPlan executionPlan) throws RheemException {
+        // Acquire the Semaphores in a fixed order to avoid deadlocks among Jobs.
+        final Set<Platform> platforms = executionPlan.getStages().stream()
+                .map(ExecutionStage::getPlatformExecution)
+                .map(PlatformExecution::getPlatform)
+                .collect(Collectors.toSet());
+        final List<Semaphore> semaphores = platforms.stream()
+                .sorted(Comparator.comparing(Platform::getName))
+                .map(platform -> this.executionPermits.computeIfAbsent(platform, this::createExecutionSemaphore))
+                .filter(semaphore -> semaphore != NO_LIMIT)
+                .collect(Collectors.toList());
+        return this.acquire(job, "Execution Permit", semaphores);
+    }
+
+    /**
+     * Creates a {@link Semaphore} that limits the number of concurrently executing {@link Job}s on a {@link Platform}.
+     * The limit is configured via {@code rheem.core.scheduler.execution.parallelism.<platform>}, whereby
+     * {@code <platform>} is the lower-case name of the {@link Platform} with dashes instead of blanks
+     * (e.g., {@code apache-spark}), and falls back to {@code rheem.core.scheduler.execution.parallelism}.
+     *
+     * @param platform for that the {@link Semaphore} should be created
+     * @return the {@link Semaphore} or {@link #NO_LIMIT}
+     */
+    private Semaphore createExecutionSemaphore(Platform platform) {
+        final String platformKey = platform.getName().toLowerCase().replaceAll("[^a-z0-9]+", "-");
+        final long parallelism = this.configuration
+                .getOptionalLongProperty("rheem.core.scheduler.execution.parallelism." + platformKey)
+                .orElseGet(() -> this.configuration.getLongProperty("rheem.core.scheduler.execution.parallelism", 0));
+        this.logger.debug("Limiting concurrent executions on {} to {}.", platform, parallelism > 0 ? parallelism : "infinity");
+        return parallelism > 0 ? new Semaphore((int) parallelism, true) : NO_LIMIT;
+    }
+
+    /**
+     * Acquires all given {@link Semaphore}s in the given order and records the waiting time.
+     *
+     * @param job        that wants the {@link Semaphore}s
+     * @param roundName  name of the {@link de.hpi.isg.profiledb.store.model.TimeMeasurement} for the waiting time
+     * @param semaphores that should be acquired
+     * @return a {@link Permit} for the acquired {@link Semaphore}s
+     */
+    private Permit acquire(Job job, String roundName, List<Semaphore> semaphores) {
+        final Permit permit = new Permit();
+        final long startMillis = System.currentTimeMillis();
+        job.getStopWatch().start(SCHEDULING_ROUND, roundName);
+        try {
+            if (Thread.currentThread().isInterrupted()) throw new InterruptedException();
+            for (Semaphore semaphore : semaphores) {
+                semaphore.acquire();
+                permit.semaphores.add(semaphore);
+            }
+        } catch (InterruptedException e) {
+            permit.close();
+            Thread.currentThread().interrupt();
+            throw new RheemException(String.format("%s has been cancelled.", job), e);
+        } finally {
+            job.getStopWatch().stop(SCHEDULING_ROUND, roundName);
+            job.getStopWatch().stop(SCHEDULING_ROUND);
+            final long waitMillis = System.currentTimeMillis() - startMillis;
+            this.permitMillis.addAndGet(waitMillis);
+            if (waitMillis > 0) this.logger.debug("{} waited {} ms for its {}.", job, waitMillis, roundName);
+        }
+        return permit;
+    }
+
+    /**
+     * @return the number of submitted {@link Job}s that have not been started yet
+     */
+    public int getNumQueuedJobs() {
+        return this.numQueuedJobs.get();
+    }
+
+    /**
+     * @return the number of submitted {@link Job}s that are currently running
+     */
+    public int getNumRunningJobs() {
+        return this.numRunningJobs.get();
+    }
+
+    /**
+     * @return the accumulated milliseconds that submitted {@link Job}s spent in the queue
+     */
+    public long getQueueMillis() {
+        return this.queueMillis.get();
+    }
+
+    /**
+     * @return the accumulated milliseconds that {@link Job}s waited for optimization and execution permits
+     */
+    public long getPermitMillis() {
+        return this.permitMillis.get();
+    }
+
+    /**
+     * Grants a {@link Job} to optimize or execute. Must be closed afterwards.
+     */
+    static class Permit implements AutoCloseable {
+
+        private final List<Semaphore> semaphores = new ArrayList<>(2);
+
+        @Override
+        public void close() {
+            for (Semaphore semaphore : this.semaphores) {
+                semaphore.release();
+            }
+            this.semaphores.clear();
+        }
+    }
+
+}
@@ -4,6 +4,7 @@ import de.hpi.isg.profiledb.store.model.Experiment;
 import de.hpi.isg.profiledb.store.model.Subject;
 import org.qcri.rheem.core.monitor.Monitor;
 import org.qcri.rheem.core.optimizer.cardinality.CardinalityEstimator;
+import org.qcri.rheem.core.optimizer.enumeration.PlanCache;
 import org.qcri.rheem.core.plan.executionplan.ExecutionPlan;
 import org.qcri.rheem.core.plan.rheemplan.RheemPlan;
 import org.qcri.rheem.core.plugin.Plugin;
@@ -12,10 +13,14 @@ import org.qcri.rheem.core.util.ReflectionUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
 /**
- * This is the entry point for users to work with Rheem.
+ * This is the entry point for users to work with Rheem. Should be {@link #close() closed} once it is not needed
+ * anymore.
  */
-public class RheemContext {
+public class RheemContext implements AutoCloseable {
 
     @SuppressWarnings("unused")
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
@@ -25,6 +30,16 @@ public class RheemContext {
      */
     private CardinalityRepository cardinalityRepository;
 
+    /**
+     * Remembers the optimization decisions for recurring {@link RheemPlan}s.
+     */
+    private PlanCache planCache;
+
+    /**
+     * Admits the {@link Job}s of this instance.
+     */
+    private JobScheduler jobScheduler;
+
     private final Configuration configuration;
 
     public RheemContext() {
@@ -65,6 +80,9 @@ public class RheemContext {
      */
     public void register(Plugin plugin) {
         plugin.configure(this.getConfiguration());
+
+        // The new Plugin might provide further platforms or different cost models.
+        if (this.planCache != null) this.planCache.clear();
     }
 
     /**
@@ -115,6 +133,56 @@ public class RheemContext {
         this.createJob(jobName, rheemPlan, experiment, udfJars).execute();
     }
 
+    /**
+     * Submit a plan for asynchronous execution.
+     *
+     * @param rheemPlan the plan to execute
+     * @param udfJars   JARs that declare the code for the UDFs
+     * @return a {@link Future} that provides the executed {@link Job}; cancelling it interrupts the {@link Job}
+     * @see ReflectionUtils#getDeclaringJar(Class)
+     */
+    public Future<Job> submit(RheemPlan rheemPlan, String... udfJars) {
+        return this.submit(null, rheemPlan, udfJars);
+    }
+
+    /**
+     * Submit a plan for asynchronous execution.
+     *
+     * @param jobName   name of the {@link Job} or {@code null}
+     * @param rheemPlan the plan to execute
+     * @param udfJars   JARs that declare the code for the UDFs
+     * @return a {@link Future} that provides the executed {@link Job}; cancelling it interrupts the {@link Job}
+     * @see ReflectionUtils#getDeclaringJar(Class)
+     */
+    public Future<Job> submit(String jobName, RheemPlan rheemPlan, String... udfJars) {
+        return this.submit(this.createJob(jobName, null, rheemPlan, udfJars), Function.identity());
+    }
+
+    /**
+     * Submit a plan for asynchronous execution.
+     *
+     * @param jobName    name of the {@link Job} or {@code null}
+     * @param rheemPlan  the plan to execute
+     * @param experiment {@link Experiment} for that profiling entries will be created
+     * @param udfJars    JARs that declare the code for the UDFs
+     * @return a {@link Future} that provides the executed {@link Job}; cancelling it interrupts the {@link Job}
+     * @see ReflectionUtils#getDeclaringJar(Class)
+     */
+    public Future<Job> submit(String jobName, RheemPlan rheemPlan, Experiment experiment, String... udfJars) {
+        return this.submit(this.createJob(jobName, rheemPlan, experiment, udfJars), Function.identity());
+    }
+
+    /**
+     * Submit a {@link Job} of this instance for asynchronous execution.
+     *
+     * @param job            the {@link Job} to execute
+     * @param resultProvider provides the result of the returned {@link Future} from the executed {@link Job}
+     * @return a {@link Future} for the result; cancelling it interrupts the {@link Job}
+     * @see JobScheduler
+     */
+    public <T> Future<T> submit(Job job, Function<? super Job, T> resultProvider) {
+        return this.getJobScheduler().submit(job, resultProvider);
+    }
 
     /**
      * Build an execution plan.
@@ -165,4 +233,29 @@ public class RheemContext {
         }
         return this.cardinalityRepository;
     }
+
+    public synchronized JobScheduler getJobScheduler() {
+        if (this.jobScheduler == null) {
+            this.jobScheduler = new JobScheduler(this.configuration);
+        }
+        return this.jobScheduler;
+    }
+
+    public synchronized PlanCache getPlanCache() {
+        if (this.planCache == null) {
+            this.planCache = new PlanCache(this.configuration);
+        }
+        return this.planCache;
+    }
+
+    /**
+     * Releases the resources of this instance, in particular the threads of its {@link JobScheduler}. {@link Job}s
+     * that have already been submitted are still executed, but no new {@link Job}s can be submitted.
+     */
+    @Override
+    public synchronized void close() {
+        if (this.jobScheduler != null) {
+            this.jobScheduler.shutdown();
+        }
+    }
 }
@@ -14,6 +14,11 @@ public class ConstantValueProvider<Value> extends ValueProvider<Value> {
 
     private Value value;
 
+    /**
+     * Counts the values that have been {@link #setValue(Object) set} on this instance.
+     */
+    private long numSetValues = 0L;
+
     public ConstantValueProvider(Value value, Configuration configuration) {
         this(configuration, null);
         this.setValue(value);
@@ -33,6 +38,12 @@ public class ConstantValueProvider<Value> extends ValueProvider<Value> {
 
     public void setValue(Value value) {
         this.value = value;
+        this.numSetValues++;
+    }
+
+    @Override
+    public long getVersion() {
+        return this.numSetValues + super.getVersion();
     }
 
     @Override
@@ -100,6 +100,16 @@ public abstract class KeyValueProvider<Key, Value> {
         this.parent = parent;
     }
 
+    /**
+     * Tells the version of the values provided by this instance. It changes whenever a value is set on this
+     * instance or its parents, so that derived values can be cached as long as the version stays the same.
+     *
+     * @return the version
+     */
+    public long getVersion() {
+        return this.parent == null ? 0L : this.parent.getVersion();
+    }
+
 
     /**
      * Log a warning in SLF4J format when using this instance to provide a value. The requested key will be passed
@@ -15,6 +15,11 @@ public class MapBasedKeyValueProvider<Key, Value> extends KeyValueProvider<Key,
 
     private final boolean isCaching;
 
+    /**
+     * Counts the values that have been {@link #set(Object, Object) set} on this instance.
+     */
+    private long numSetValues = 0L;
+
     /**
      * Creates a new caching instance.
      */
@@ -76,6 +81,12 @@ public class MapBasedKeyValueProvider<Key, Value> extends KeyValueProvider<Key,
     public void set(Key key, Value value) {
         Validate.notNull(key);
         this.storedValues.put(key, value);
+        this.numSetValues++;
+    }
+
+    @Override
+    public long getVersion() {
+        return this.numSetValues + super.getVersion();
     }
 
 }
@@ -70,6 +70,16 @@ public abstract class ValueProvider<Value> {
         }
     }
 
+    /**
+     * Tells the version of the value provided by this instance. It changes whenever a value is set on this
+     * instance or its parents, so that derived values can be cached as long as the version stays the same.
+     *
+     * @return the version
+     */
+    public long getVersion() {
+        return this.parent == null ? 0L : this.parent.getVersion();
+    }
+
     public ValueProvider<Value> withSlf4jWarning(String message) {
         this.warningSlf4j = message;
         return this;
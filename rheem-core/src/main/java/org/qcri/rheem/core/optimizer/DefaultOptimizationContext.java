@@ -214,7 +214,8 @@ public class DefaultOptimizationContext extends OptimizationContext {
     }
 
     /**
-     * Create a shallow copy of this instance.
+     * Create a shallow copy of this instance. The copied {@link OperatorContext}s share their cardinalities with the
+     * original ones until they are modified.
      *
      * @return the shallow copy
      */
@@ -228,22 +229,15 @@ public class DefaultOptimizationContext extends OptimizationContext {
                 this.getPruningStrategies()
         );
 
-        // Make copies of the OperatorContexts.
-        for (Operator operator : operatorContexts.keySet()) {
-            copy.addOneTimeOperator(operator);
-        }
-        // Now merge the original to the copied OperatorContexts.
-        // Note: This must be a separate step! Each operation above potentially creates multiple OperatorContexts.
-        for (Map.Entry<Operator, OperatorContext> entry : copy.operatorContexts.entrySet()) {
-            Operator operator = entry.getKey();
-            OperatorContext opCtxCopy = entry.getValue();
-            OperatorContext originalOpCtx = this.operatorContexts.get(operator);
-            if (originalOpCtx != null) opCtxCopy.merge(originalOpCtx);
-        }
-
         // Loops are not supported yet.
         assert this.loopContexts.isEmpty();
 
+        // Make copy-on-write copies of the OperatorContexts. Note that the operatorContexts already comprise all
+        // encased Operators, so we need not descend into composite Operators again.
+        for (OperatorContext originalOpCtx : this.operatorContexts.values()) {
+            copy.operatorContexts.put(originalOpCtx.getOperator(), copy.new OperatorContext(originalOpCtx));
+        }
+
         return copy;
     }
 
@@ -325,12 +325,18 @@ public abstract class OptimizationContext {
          * {@link CardinalityEstimate}s that align with the {@link #operator}s {@link InputSlot}s and
          * {@link OutputSlot}s.
          */
-        private final CardinalityEstimate[] inputCardinalities, outputCardinalities;
+        private CardinalityEstimate[] inputCardinalities, outputCardinalities;
 
         /**
          * Used to mark changed {@link #inputCardinalities} and {@link #outputCardinalities}.
          */
-        private final boolean[] inputCardinalityMarkers, outputCardinalityMarkers;
+        private boolean[] inputCardinalityMarkers, outputCardinalityMarkers;
+
+        /**
+         * Tells whether the {@link #inputCardinalities}, {@link #outputCardinalities}, and their markers might be
+         * shared with other instances and, thus, must be copied before being modified.
+         */
+        private boolean isSharingCardinalities = false;
 
         /**
          * {@link LoadProfile} of the {@link Operator}.
@@ -352,6 +358,12 @@ public abstract class OptimizationContext {
          */
         private double squashedCostEstimate;
 
+        /**
+         * Describes what the {@link #loadProfile}, {@link #timeEstimate}, and {@link #costEstimate} have been
+         * calculated from or {@code null} if they have been adopted from other instances.
+         */
+        private CostEstimateBasis costEstimateBasis;
+
         /**
          * Reflects the number of executions of the {@link #operator}. This, e.g., relevant in {@link LoopContext}s.
          */
@@ -373,6 +385,44 @@ public abstract class OptimizationContext {
             this.outputCardinalityMarkers = new boolean[this.outputCardinalities.length];
         }
 
+        /**
+         * Creates a copy of the given instance in the enclosing {@link OptimizationContext}. The copy shares the
+         * cardinalities with the {@code original} until either of them is modified. The lineage is not copied, though.
+         */
+        protected OperatorContext(OperatorContext original) {
+            this.operator = original.operator;
+            this.shareCardinalities(original);
+            this.loadProfile = original.loadProfile;
+            this.timeEstimate = original.timeEstimate;
+            this.costEstimate = original.costEstimate;
+            this.squashedCostEstimate = original.squashedCostEstimate;
+            this.costEstimateBasis = original.costEstimateBasis;
+            this.numExecutions = original.numExecutions;
+        }
+
+        /**
+         * Adopts the cardinalities and markers of {@code that} instance without copying them.
+         */
+        private void shareCardinalities(OperatorContext that) {
+            this.inputCardinalities = that.inputCardinalities;
+            this.inputCardinalityMarkers = that.inputCardinalityMarkers;
+            this.outputCardinalities = that.outputCardinalities;
+            this.outputCardinalityMarkers = that.outputCardinalityMarkers;
+            this.isSharingCardinalities = that.isSharingCardinalities = true;
+        }
+
+        /**
+         * Makes sure that this instance can modify its cardinalities and markers without affecting other instances.
+         */
+        private void ensureExclusiveCardinalities() {
+            if (!this.isSharingCardinalities) return;
+            this.inputCardinalities = this.inputCardinalities.clone();
+            this.inputCardinalityMarkers = this.inputCardinalityMarkers.clone();
+            this.outputCardinalities = this.outputCardinalities.clone();
+            this.outputCardinalityMarkers = this.outputCardinalityMarkers.clone();
+            this.isSharingCardinalities = false;
+        }
+
         public Operator getOperator() {
             return this.operator;
         }
@@ -397,10 +447,27 @@ public abstract class OptimizationContext {
          * Resets the marks for all {@link InputSlot}s and {@link OutputSlot}s.
          */
         public void clearMarks() {
+            if (this.isSharingCardinalities) {
+                if (!this.isAnyMarked()) return;
+                this.ensureExclusiveCardinalities();
+            }
             Arrays.fill(this.inputCardinalityMarkers, false);
             Arrays.fill(this.outputCardinalityMarkers, false);
         }
 
+        /**
+         * @return whether any {@link InputSlot} or {@link OutputSlot} is marked
+         */
+        private boolean isAnyMarked() {
+            for (boolean isMarked : this.inputCardinalityMarkers) {
+                if (isMarked) return true;
+            }
+            for (boolean isMarked : this.outputCardinalityMarkers) {
+                if (isMarked) return true;
+            }
+            return false;
+        }
+
         @Override
         public CardinalityEstimate[] getInputCardinalities() {
             return this.inputCardinalities;
@@ -416,8 +483,11 @@ public abstract class OptimizationContext {
          * changes, the {@link OutputSlot} is marked.
          */
         public void setInputCardinality(int inputIndex, CardinalityEstimate cardinality) {
-            this.inputCardinalityMarkers[inputIndex] |= !Objects.equals(this.inputCardinalities[inputIndex], cardinality);
-            if (OptimizationContext.this.logger.isDebugEnabled() && this.inputCardinalityMarkers[inputIndex]) {
+            final boolean isChanged = !Objects.equals(this.inputCardinalities[inputIndex], cardinality);
+            if (!isChanged && this.isSharingCardinalities) return;
+            this.ensureExclusiveCardinalities();
+            this.inputCardinalityMarkers[inputIndex] |= isChanged;
+            if (OptimizationContext.this.logger.isDebugEnabled() && isChanged) {
                 OptimizationContext.this.logger.debug(
                         "Changing cardinality of {} from {} to {}.",
                         this.operator.getInput(inputIndex),
@@ -427,9 +497,8 @@ public abstract class OptimizationContext {
             }
             this.inputCardinalities[inputIndex] = cardinality;
 
-            // Invalidate dependent estimate caches.
-            this.timeEstimate = null;
-            this.costEstimate = null;
+            // Invalidate dependent estimate caches, but only if there is a delta.
+            if (isChanged) this.invalidateCostEstimate();
         }
 
         /**
@@ -437,8 +506,11 @@ public abstract class OptimizationContext {
          * changes, the {@link InputSlot} is marked.
          */
         public void setOutputCardinality(int outputIndex, CardinalityEstimate cardinality) {
-            this.outputCardinalityMarkers[outputIndex] |= !Objects.equals(this.outputCardinalities[outputIndex], cardinality);
-            if (OptimizationContext.this.logger.isDebugEnabled() && this.outputCardinalityMarkers[outputIndex]) {
+            final boolean isChanged = !Objects.equals(this.outputCardinalities[outputIndex], cardinality);
+            if (!isChanged && this.isSharingCardinalities) return;
+            this.ensureExclusiveCardinalities();
+            this.outputCardinalityMarkers[outputIndex] |= isChanged;
+            if (OptimizationContext.this.logger.isDebugEnabled() && isChanged) {
                 OptimizationContext.this.logger.debug(
                         "Changing cardinality of {} from {} to {}.",
                         this.operator.getOutput(outputIndex),
@@ -448,9 +520,8 @@ public abstract class OptimizationContext {
             }
             this.outputCardinalities[outputIndex] = cardinality;
 
-            // Invalidate dependent estimate caches.
-            this.timeEstimate = null;
-            this.costEstimate = null;
+            // Invalidate dependent estimate caches, but only if there is a delta.
+            if (isChanged) this.invalidateCostEstimate();
         }
 
         /**
@@ -497,22 +568,48 @@ public abstract class OptimizationContext {
         }
 
         /**
-         * Update the {@link LoadProfile} and {@link TimeEstimate} of this instance.
+         * Update the {@link LoadProfile} and {@link TimeEstimate} of this instance. This is a no-op if neither the
+         * {@link CardinalityEstimate}s nor the cost model of the {@link Configuration} have changed since the last
+         * update.
          */
         public void updateCostEstimate() {
-            this.updateCostEstimate(this.getOptimizationContext().getConfiguration());
+            if (!this.operator.isExecutionOperator()) return;
+
+            final Configuration configuration = this.getOptimizationContext().getConfiguration();
+            final long costModelVersion = configuration.getCostModelVersion();
+            if (this.costEstimate != null
+                    && (this.costEstimateBasis == null || this.costEstimateBasis.costModelVersion == costModelVersion)) {
+                return;
+            }
+            final Platform platform = ((ExecutionOperator) this.operator).getPlatform();
+            this.updateCostEstimate(new CostEstimateBasis(
+                    this.getLoadProfileEstimator(),
+                    configuration.getLoadProfileToTimeConverterProvider().provideFor(platform),
+                    configuration.getTimeToCostConverterProvider().provideFor(platform),
+                    configuration.getCostSquasherProvider().provide(),
+                    costModelVersion
+            ));
+        }
+
+        /**
+         * Discards the cached {@link LoadProfile}, {@link TimeEstimate}, and cost estimate, so that they are
+         * recalculated on demand.
+         */
+        private void invalidateCostEstimate() {
+            this.loadProfile = null;
+            this.timeEstimate = null;
+            this.costEstimate = null;
+            this.costEstimateBasis = null;
         }
 
         /**
          * Update the {@link LoadProfile} and {@link TimeEstimate} of this instance.
          *
-         * @param configuration provides the necessary functions
+         * @param costEstimateBasis provides the estimators and converters to use
          */
-        private void updateCostEstimate(Configuration configuration) {
-            if (!this.operator.isExecutionOperator()) return;
-
+        private void updateCostEstimate(CostEstimateBasis costEstimateBasis) {
             // Estimate the LoadProfile.
-            final LoadProfileEstimator loadProfileEstimator = this.getLoadProfileEstimator();
+            final LoadProfileEstimator loadProfileEstimator = costEstimateBasis.loadProfileEstimator;
             try {
                 this.loadProfile = LoadProfileEstimators.estimateLoadProfile(this, loadProfileEstimator);
             } catch (Exception e) {
@@ -520,10 +617,7 @@ public abstract class OptimizationContext {
             }
 
             // Calculate the TimeEstimate.
-            final ExecutionOperator executionOperator = (ExecutionOperator) this.operator;
-            final Platform platform = executionOperator.getPlatform();
-            final LoadProfileToTimeConverter timeConverter = configuration.getLoadProfileToTimeConverterProvider().provideFor(platform);
-            this.timeEstimate = TimeEstimate.MINIMUM.plus(timeConverter.convert(this.loadProfile));
+            this.timeEstimate = TimeEstimate.MINIMUM.plus(costEstimateBasis.timeConverter.convert(this.loadProfile));
             if (OptimizationContext.this.logger.isDebugEnabled()) {
                 OptimizationContext.this.logger.debug(
                         "Setting time estimate of {} to {}.", this.operator, this.timeEstimate
@@ -531,12 +625,13 @@ public abstract class OptimizationContext {
             }
 
             // Calculate the cost estimate.
-            final TimeToCostConverter timeToCostConverter = configuration.getTimeToCostConverterProvider().provideFor(platform);
-            this.costEstimate = timeToCostConverter.convertWithoutFixCosts(this.timeEstimate);
+            this.costEstimate = costEstimateBasis.timeToCostConverter.convertWithoutFixCosts(this.timeEstimate);
 
             // Squash the cost estimate.
-            final ToDoubleFunction<ProbabilisticDoubleInterval> costSquasher = configuration.getCostSquasherProvider().provide();
-            this.squashedCostEstimate = costSquasher.applyAsDouble(this.costEstimate);
+            this.squashedCostEstimate = costEstimateBasis.costSquasher.applyAsDouble(this.costEstimate);
+
+            // Remember what the estimates are based upon.
+            this.costEstimateBasis = costEstimateBasis;
         }
 
         /**
@@ -564,15 +659,13 @@ public abstract class OptimizationContext {
             assert this.inputCardinalities.length == that.inputCardinalities.length;
             assert this.outputCardinalities.length == that.outputCardinalities.length;
 
-            System.arraycopy(that.inputCardinalities, 0, this.inputCardinalities, 0, that.inputCardinalities.length);
-            System.arraycopy(that.inputCardinalityMarkers, 0, this.inputCardinalityMarkers, 0, that.inputCardinalityMarkers.length);
-            System.arraycopy(that.outputCardinalities, 0, this.outputCardinalities, 0, that.outputCardinalities.length);
-            System.arraycopy(that.outputCardinalityMarkers, 0, this.outputCardinalityMarkers, 0, that.outputCardinalityMarkers.length);
+            this.shareCardinalities(that);
 
             this.loadProfile = that.loadProfile;
             this.timeEstimate = that.timeEstimate;
             this.costEstimate = that.costEstimate;
             this.squashedCostEstimate = that.squashedCostEstimate;
+            this.costEstimateBasis = that.costEstimateBasis;
             this.numExecutions = that.numExecutions;
 
             return this;
@@ -586,11 +679,14 @@ public abstract class OptimizationContext {
          */
         public void increaseBy(OperatorContext that) {
             assert this.operator.equals(that.operator);
+            this.ensureExclusiveCardinalities();
             this.addTo(this.inputCardinalities, that.inputCardinalities);
             this.addTo(this.inputCardinalityMarkers, that.inputCardinalityMarkers);
             this.addTo(this.outputCardinalities, that.outputCardinalities);
             this.addTo(this.outputCardinalityMarkers, that.outputCardinalityMarkers);
             if (that.costEstimate != null) {
+                // Make sure not to aggregate outdated estimates.
+                that.updateCostEstimate();
                 if (this.costEstimate == null) {
                     this.loadProfile = that.loadProfile;
                     this.timeEstimate = that.timeEstimate;
@@ -602,6 +698,8 @@ public abstract class OptimizationContext {
                     this.costEstimate = this.costEstimate.plus(that.costEstimate);
                     this.squashedCostEstimate += that.squashedCostEstimate;
                 }
+                // The aggregate cannot be recalculated from its own cardinalities.
+                this.costEstimateBasis = null;
             }
             this.numExecutions += that.numExecutions;
         }
@@ -633,6 +731,7 @@ public abstract class OptimizationContext {
         }
 
         public void setNumExecutions(int numExecutions) {
+            if (this.numExecutions != numExecutions) this.invalidateCostEstimate();
             this.numExecutions = numExecutions;
         }
 
@@ -641,16 +740,12 @@ public abstract class OptimizationContext {
         }
 
         public LoadProfile getLoadProfile() {
-            if (this.loadProfile == null) {
-                this.updateCostEstimate();
-            }
+            this.updateCostEstimate();
             return this.loadProfile;
         }
 
         public TimeEstimate getTimeEstimate() {
-            if (this.timeEstimate == null) {
-                this.updateCostEstimate();
-            }
+            this.updateCostEstimate();
             return this.timeEstimate;
         }
 
@@ -660,9 +755,7 @@ public abstract class OptimizationContext {
          * @return the cost estimate
          */
         public ProbabilisticDoubleInterval getCostEstimate() {
-            if (this.costEstimate == null) {
-                this.updateCostEstimate();
-            }
+            this.updateCostEstimate();
             return this.costEstimate;
         }
 
@@ -672,9 +765,7 @@ public abstract class OptimizationContext {
          * @return the squashed cost estimate
          */
         public double getSquashedCostEstimate() {
-            if (this.costEstimate == null) {
-                this.updateCostEstimate();
-            }
+            this.updateCostEstimate();
             return this.squashedCostEstimate;
         }
 
@@ -695,6 +786,38 @@ public abstract class OptimizationContext {
             this.timeEstimate = null;
             this.costEstimate = null;
             this.squashedCostEstimate = 0d;
+            this.costEstimateBasis = null;
+        }
+    }
+
+    /**
+     * Captures the estimators and converters that the cost estimation of an {@link OperatorContext} is based upon,
+     * along with the {@link Configuration#getCostModelVersion() version} of the cost model that they stem from.
+     * Changes of the {@link CardinalityEstimate}s and the number of executions are tracked by the
+     * {@link OperatorContext} itself.
+     */
+    private static final class CostEstimateBasis {
+
+        private final LoadProfileEstimator loadProfileEstimator;
+
+        private final LoadProfileToTimeConverter timeConverter;
+
+        private final TimeToCostConverter timeToCostConverter;
+
+        private final ToDoubleFunction<ProbabilisticDoubleInterval> costSquasher;
+
+        private final long costModelVersion;
+
+        private CostEstimateBasis(LoadProfileEstimator loadProfileEstimator,
+                                  LoadProfileToTimeConverter timeConverter,
+                                  TimeToCostConverter timeToCostConverter,
+                                  ToDoubleFunction<ProbabilisticDoubleInterval> costSquasher,
+                                  long costModelVersion) {
+            this.loadProfileEstimator = loadProfileEstimator;
+            this.timeConverter = timeConverter;
+            this.timeToCostConverter = timeToCostConverter;
+            this.costSquasher = costSquasher;
+            this.costModelVersion = costModelVersion;
         }
     }
 
@@ -5,18 +5,24 @@ import org.qcri.rheem.core.optimizer.OptimizationContext;
 import org.qcri.rheem.core.optimizer.OptimizationUtils;
 import org.qcri.rheem.core.optimizer.enumeration.LoopImplementation;
 import org.qcri.rheem.core.optimizer.enumeration.PlanImplementation;
+import org.qcri.rheem.core.plan.rheemplan.ElementaryOperator;
 import org.qcri.rheem.core.plan.rheemplan.LoopSubplan;
 import org.qcri.rheem.core.plan.rheemplan.Operator;
 import org.qcri.rheem.core.plan.rheemplan.OutputSlot;
+import org.qcri.rheem.core.plan.rheemplan.PlanTraversal;
 import org.qcri.rheem.core.plan.rheemplan.RheemPlan;
 import org.qcri.rheem.core.platform.ChannelInstance;
 import org.qcri.rheem.core.platform.ExecutionState;
 import org.qcri.rheem.core.platform.Junction;
+import org.qcri.rheem.core.profiling.CardinalityRepository;
+import org.qcri.rheem.core.profiling.CardinalityStatistics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * Handles the {@link CardinalityEstimate}s of a {@link RheemPlan}.
@@ -40,14 +46,33 @@ public class CardinalityEstimatorManager {
      */
     private final Configuration configuration;
 
+    /**
+     * Provides {@link CardinalityStatistics} of previous executions or {@code null} if they should not be used.
+     */
+    private final CardinalityRepository cardinalityRepository;
+
     private CardinalityEstimationTraversal planTraversal;
 
     public CardinalityEstimatorManager(RheemPlan rheemPlan,
                                        OptimizationContext optimizationContext,
                                        Configuration configuration) {
+        this(rheemPlan, optimizationContext, configuration, null);
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param cardinalityRepository if not {@code null}, its {@link CardinalityStatistics} are used in place of or
+     *                              blended with the {@link Operator}s' {@link CardinalityEstimator}s
+     */
+    public CardinalityEstimatorManager(RheemPlan rheemPlan,
+                                       OptimizationContext optimizationContext,
+                                       Configuration configuration,
+                                       CardinalityRepository cardinalityRepository) {
         this.rheemPlan = rheemPlan;
         this.optimizationContext = optimizationContext;
         this.configuration = configuration;
+        this.cardinalityRepository = cardinalityRepository;
     }
 
     /**
@@ -106,7 +131,7 @@ public class CardinalityEstimatorManager {
                         final OptimizationContext.OperatorContext opCtx = optimizationContext.getOperatorContext(jctOpCtx.getOperator());
                         if (opCtx.getInputCardinalities().length == 1) opCtx.setInputCardinality(0, cardinality);
                         if (opCtx.getOutputCardinalities().length == 1) opCtx.setOutputCardinality(0, cardinality);
-                        opCtx.updateCostEstimate();
+                        opCtx.updateCostEstimate(); // No-op if the cardinalities did not change.
                     }
                 }
             }
@@ -131,6 +156,7 @@ public class CardinalityEstimatorManager {
 
     public CardinalityEstimationTraversal getPlanTraversal() {
         if (this.planTraversal == null) {
+            if (this.cardinalityRepository != null) this.registerStatisticsBasedEstimators();
             this.planTraversal = CardinalityEstimationTraversal.createPushTraversal(
                     Collections.emptyList(),
                     this.rheemPlan.collectReachableTopLevelSources(),
@@ -140,11 +166,57 @@ public class CardinalityEstimatorManager {
         return this.planTraversal;
     }
 
+    /**
+     * Registers a {@link StatisticsBasedCardinalityEstimator} with the {@link #configuration} for every
+     * {@link OutputSlot} in the {@link #rheemPlan} that has {@link CardinalityStatistics} in the
+     * {@link #cardinalityRepository}. If the {@link Operator} type supplies a {@link CardinalityEstimator}, the
+     * statistics are blended with it until they are confident enough to override it. {@link CardinalityEstimator}s
+     * that have been specified on the {@link Operator} instances are kept, though.
+     */
+    private void registerStatisticsBasedEstimators() {
+        final double minConfidence = this.configuration.getDoubleProperty(
+                StatisticsBasedCardinalityEstimator.MIN_CONFIDENCE_PROPERTY, 0.75d
+        );
+        int numRegisteredEstimators = 0;
+        final Collection<Operator> operators = PlanTraversal.upstream()
+                .traversingHierarchically()
+                .traverse(this.rheemPlan.getSinks())
+                .getTraversedNodesWith(operator -> operator.isElementary() && !operator.isSource());
+        for (Operator operator : operators) {
+            final ElementaryOperator elementaryOperator = (ElementaryOperator) operator;
+            final boolean[] isBroadcastInputs = new boolean[operator.getNumInputs()];
+            for (int inputIndex = 0; inputIndex < operator.getNumInputs(); inputIndex++) {
+                isBroadcastInputs[inputIndex] = operator.getInput(inputIndex).isBroadcast();
+            }
+            for (int outputIndex = 0; outputIndex < operator.getNumOutputs(); outputIndex++) {
+                if (elementaryOperator.getCardinalityEstimator(outputIndex) != null) continue;
+                final OutputSlot<?> output = operator.getOutput(outputIndex);
+                final Optional<CardinalityStatistics> statistics = this.cardinalityRepository.getStatistics(output);
+                if (statistics.isPresent()) {
+                    this.logger.debug("Using {} for {}.", statistics.get(), output);
+                    final CardinalityEstimator operatorEstimator = elementaryOperator
+                            .createCardinalityEstimator(outputIndex, this.configuration)
+                            .orElse(null);
+                    this.configuration.getCardinalityEstimatorProvider().set(
+                            output,
+                            new StatisticsBasedCardinalityEstimator(
+                                    statistics.get(), isBroadcastInputs, operatorEstimator, minConfidence
+                            )
+                    );
+                    numRegisteredEstimators++;
+                }
+            }
+        }
+        this.logger.info("Estimating {} outputs based on recorded cardinality statistics.", numRegisteredEstimators);
+    }
+
     /**
      * Injects the cardinalities of a current {@link ExecutionState} into its associated {@link RheemPlan}
-     * (or its {@link OptimizationContext}, respectively) and then reperforms the cardinality estimation.
+     * (or its {@link OptimizationContext}, respectively) and then reperforms the cardinality estimation. As only
+     * changed {@link CardinalityEstimate}s are propagated, measurements that confirm the current estimates incur
+     * neither a cardinality push nor a cost re-estimation.
      *
-     * @return whether any cardinalities have been injected
+     * @return whether any cardinalities have been changed by the injection
      */
     public boolean pushCardinalityUpdates(ExecutionState executionState, PlanImplementation planImplementation) {
         boolean isInjected = this.injectMeasuredCardinalities(executionState);
@@ -155,17 +227,22 @@ public class CardinalityEstimatorManager {
     /**
      * Injects the cardinalities of a current {@link ExecutionState} into its associated {@link RheemPlan}.
      *
-     * @return whether any cardinalities have been injected
+     * @return whether any cardinalities have been changed
      */
     private boolean injectMeasuredCardinalities(ExecutionState executionState) {
-        executionState.getCardinalityMeasurements().forEach(this::injectMeasuredCardinality);
-        return !executionState.getCardinalityMeasurements().isEmpty();
+        boolean isChanged = false;
+        for (ChannelInstance channelInstance : executionState.getCardinalityMeasurements()) {
+            isChanged |= this.injectMeasuredCardinality(channelInstance);
+        }
+        return isChanged;
     }
 
     /**
      * Injects the measured cardinality of a {@link ChannelInstance}.
+     *
+     * @return whether the cardinality has been changed
      */
-    private void injectMeasuredCardinality(ChannelInstance channelInstance) {
+    private boolean injectMeasuredCardinality(ChannelInstance channelInstance) {
         assert channelInstance.wasProduced();
         assert channelInstance.isMarkedForInstrumentation();
 
@@ -178,16 +255,18 @@ public class CardinalityEstimatorManager {
         OptimizationContext optimizationContext = channelInstance.getProducerOperatorContext().getOptimizationContext();
         final OptimizationContext.OperatorContext rheemPlanOperatorCtx = optimizationContext.getOperatorContext(rheemPlanOutput.getOwner());
         if (rheemPlanOperatorCtx != null) {
-            this.injectMeasuredCardinality(cardinality, rheemPlanOperatorCtx, outputIndex);
-        } else {
-            this.logger.warn("Could not inject cardinality measurement {} for {}.", cardinality, rheemPlanOutput);
+            return this.injectMeasuredCardinality(cardinality, rheemPlanOperatorCtx, outputIndex);
         }
+        this.logger.warn("Could not inject cardinality measurement {} for {}.", cardinality, rheemPlanOutput);
+        return false;
     }
 
     /**
      * Injects the measured {@code cardinality}.
+     *
+     * @return whether the cardinality has been changed
      */
-    private void injectMeasuredCardinality(long cardinality, OptimizationContext.OperatorContext targetOperatorContext, int outputIndex) {
+    private boolean injectMeasuredCardinality(long cardinality, OptimizationContext.OperatorContext targetOperatorContext, int outputIndex) {
         // Build the new CardinalityEstimate.
         final CardinalityEstimate newCardinality = new CardinalityEstimate(cardinality, cardinality, 1d, true);
         final CardinalityEstimate oldCardinality = targetOperatorContext.getOutputCardinality(outputIndex);
@@ -201,7 +280,9 @@ public class CardinalityEstimatorManager {
                 );
             }
             targetOperatorContext.setOutputCardinality(outputIndex, newCardinality);
+            return true;
         }
+        return false;
     }
 
 }
@@ -0,0 +1,135 @@
+package org.qcri.rheem.core.optimizer.cardinality;
+
+import org.qcri.rheem.core.api.Configuration;
+import org.qcri.rheem.core.optimizer.OptimizationContext;
+import org.qcri.rheem.core.plan.rheemplan.Operator;
+import org.qcri.rheem.core.profiling.CardinalityRepository;
+import org.qcri.rheem.core.profiling.CardinalityStatistics;
+
+/**
+ * {@link CardinalityEstimator} that relies on {@link CardinalityStatistics} from previous executions as recorded in
+ * the {@link CardinalityRepository}. If selectivities have been recorded, they are applied to the product of the
+ * (non-broadcast) input estimates. Otherwise, the range of the measured output cardinalities is estimated.
+ * The confidence grows with the number of recorded measurements.
+ * <p>If the {@link Operator} supplies an estimator of its own, the statistics override its estimates once their
+ * confidence reaches {@value #MIN_CONFIDENCE_PROPERTY}. Less confident statistics are blended with the estimates of
+ * the {@link Operator}'s estimator, weighted by their confidence.</p>
+ */
+public class StatisticsBasedCardinalityEstimator implements CardinalityEstimator {
+
+    /**
+     * {@link Configuration} key for the confidence from that on statistics override the estimators of
+     * {@link Operator}s.
+     */
+    public static final String MIN_CONFIDENCE_PROPERTY = "rheem.core.optimizer.cardinality.statistics.confidence";
+
+    private final CardinalityStatistics statistics;
+
+    /**
+     * Tells for each input of the {@link Operator} whether it is a broadcast.
+     */
+    private final boolean[] isBroadcastInputs;
+
+    /**
+     * The {@link CardinalityEstimator} of the {@link Operator} or {@code null} if it has none.
+     */
+    private final CardinalityEstimator operatorEstimator;
+
+    /**
+     * Confidence from that on the {@link #statistics} override the {@link #operatorEstimator}.
+     */
+    private final double minConfidence;
+
+    public StatisticsBasedCardinalityEstimator(CardinalityStatistics statistics, boolean[] isBroadcastInputs) {
+        this(statistics, isBroadcastInputs, null, 0d);
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param statistics        the recorded {@link CardinalityStatistics}
+     * @param isBroadcastInputs tells for each input of the {@link Operator} whether it is a broadcast
+     * @param operatorEstimator the {@link CardinalityEstimator} of the {@link Operator} or {@code null}
+     * @param minConfidence     confidence from that on the {@code statistics} override the {@code operatorEstimator}
+     */
+    public StatisticsBasedCardinalityEstimator(CardinalityStatistics statistics,
+                                               boolean[] isBroadcastInputs,
+                                               CardinalityEstimator operatorEstimator,
+                                               double minConfidence) {
+        this.statistics = statistics;
+        this.isBroadcastInputs = isBroadcastInputs;
+        this.operatorEstimator = operatorEstimator;
+        this.minConfidence = minConfidence;
+    }
+
+    @Override
+    public CardinalityEstimate estimate(OptimizationContext optimizationContext, CardinalityEstimate... inputEstimates) {
+        final double measurementConfidence = this.getConfidence();
+        final CardinalityEstimate statisticsEstimate = this.estimateFromStatistics(measurementConfidence, inputEstimates);
+        if (this.operatorEstimator == null || measurementConfidence >= this.minConfidence) {
+            return statisticsEstimate;
+        }
+
+        // Blend the estimates, weighted by the confidence in the statistics.
+        final CardinalityEstimate operatorEstimate = this.operatorEstimator.estimate(optimizationContext, inputEstimates);
+        return new CardinalityEstimate(
+                toLong(Math.floor(blend(statisticsEstimate.getLowerEstimate(), operatorEstimate.getLowerEstimate(), measurementConfidence))),
+                toLong(Math.ceil(blend(statisticsEstimate.getUpperEstimate(), operatorEstimate.getUpperEstimate(), measurementConfidence))),
+                blend(statisticsEstimate.getCorrectnessProbability(), operatorEstimate.getCorrectnessProbability(), measurementConfidence)
+        );
+    }
+
+    /**
+     * @return the confidence in the {@link #statistics}, which grows with the number of measurements
+     */
+    public double getConfidence() {
+        return this.statistics.getNumMeasurements() / (this.statistics.getNumMeasurements() + 1d);
+    }
+
+    private CardinalityEstimate estimateFromStatistics(double measurementConfidence, CardinalityEstimate... inputEstimates) {
+        if (this.statistics.hasSelectivities()) {
+            double lowerInput = 1d, upperInput = 1d, probability = measurementConfidence;
+            boolean isInputsComplete = true;
+            for (int inputIndex = 0; inputIndex < inputEstimates.length; inputIndex++) {
+                if (inputIndex < this.isBroadcastInputs.length && this.isBroadcastInputs[inputIndex]) continue;
+                final CardinalityEstimate inputEstimate = inputEstimates[inputIndex];
+                if (inputEstimate == null) {
+                    isInputsComplete = false;
+                    break;
+                }
+                lowerInput *= inputEstimate.getLowerEstimate();
+                upperInput *= inputEstimate.getUpperEstimate();
+                probability *= inputEstimate.getCorrectnessProbability();
+            }
+            if (isInputsComplete) {
+                return new CardinalityEstimate(
+                        toLong(Math.floor(lowerInput * this.statistics.getMinSelectivity())),
+                        toLong(Math.ceil(upperInput * this.statistics.getMaxSelectivity())),
+                        probability
+                );
+            }
+        }
+
+        return new CardinalityEstimate(
+                this.statistics.getMinCardinality(),
+                this.statistics.getMaxCardinality(),
+                measurementConfidence
+        );
+    }
+
+    private static double blend(double statisticsValue, double operatorValue, double statisticsWeight) {
+        return statisticsWeight * statisticsValue + (1 - statisticsWeight) * operatorValue;
+    }
+
+    private static long toLong(double value) {
+        return value >= Long.MAX_VALUE ? Long.MAX_VALUE : Math.max(0L, (long) value);
+    }
+
+    public CardinalityStatistics getStatistics() {
+        return this.statistics;
+    }
+
+    public CardinalityEstimator getOperatorEstimator() {
+        return this.operatorEstimator;
+    }
+}
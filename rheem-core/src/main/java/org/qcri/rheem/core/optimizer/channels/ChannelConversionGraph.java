@@ -121,7 +121,6 @@ public class ChannelConversionGraph {
         final Iterator<Tree> iterator = trees.iterator();
         final Tree firstTree = iterator.next();
         Bitmask combinationSettledIndices = new Bitmask(firstTree.settledDestinationIndices);
-        int maxSettledIndices = combinationSettledIndices.cardinality();
         final HashSet<ChannelDescriptor> employedChannelDescriptors = new HashSet<>(firstTree.employedChannelDescriptors);
         int maxVisitedChannelDescriptors = employedChannelDescriptors.size();
         double costs = firstTree.costs;
@@ -131,11 +130,10 @@ public class ChannelConversionGraph {
         while (iterator.hasNext()) {
             final Tree ithTree = iterator.next();
 
-            combinationSettledIndices.orInPlace(ithTree.settledDestinationIndices);
-            maxSettledIndices += ithTree.settledDestinationIndices.cardinality();
-            if (maxSettledIndices > combinationSettledIndices.cardinality()) {
+            if (!combinationSettledIndices.isDisjointFrom(ithTree.settledDestinationIndices)) {
                 return null;
             }
+            combinationSettledIndices.orInPlace(ithTree.settledDestinationIndices);
             employedChannelDescriptors.addAll(ithTree.employedChannelDescriptors);
             maxVisitedChannelDescriptors += ithTree.employedChannelDescriptors.size() - 1; // NB: -1 for the root
             if (maxVisitedChannelDescriptors > employedChannelDescriptors.size()) {
@@ -489,7 +487,7 @@ public class ChannelConversionGraph {
             final Map<Bitmask, Tree> solutions = this.enumerate(
                     visitedChannelDescriptors,
                     this.sourceChannelDescriptor,
-                    Bitmask.EMPTY_BITMASK,
+                    new Bitmask(this.destChannelDescriptorSets.size()),
                     this.sourceChannelDescriptor.isSuitableForBreakpoint()
             );
 
@@ -736,6 +734,8 @@ public class ChannelConversionGraph {
                     Channel targetChannel = junction.getTargetChannel(destIndex);
                     while (targetChannel != sourceChannel) {
                         final ExecutionTask producer = targetChannel.getProducer();
+                        // An open source channel might have been copied, so that we reach the source side early.
+                        if (producer == sourceChannel.getProducer()) break;
                         producer.getOperator().setContainer(sourceLoop);
                         assert producer.getNumInputChannels() == 1 : String.format(
                                 "Glue operator %s was expected to have exactly one input channel.",
@@ -15,6 +15,7 @@ import org.qcri.rheem.core.util.mathex.DefaultContext;
 import org.qcri.rheem.core.util.mathex.Expression;
 import org.qcri.rheem.core.util.mathex.ExpressionBuilder;
 import org.qcri.rheem.core.util.mathex.exceptions.EvaluationException;
+import org.qcri.rheem.core.util.mathex.exceptions.MathExException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -22,6 +23,7 @@ import java.util.*;
 import java.util.function.ToDoubleBiFunction;
 import java.util.function.ToDoubleFunction;
 import java.util.function.ToLongBiFunction;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
@@ -37,6 +39,23 @@ public class LoadProfileEstimators {
 
     private static final Logger logger = LoggerFactory.getLogger(LoadProfileEstimators.class);
 
+    /**
+     * Matches the cardinality variables ({@code in***} and {@code out***}) in JUEL expressions.
+     */
+    private static final Pattern JUEL_CARDINALITY_VARIABLE_PATTERN = Pattern.compile("\\b(in|out)\\d+\\b");
+
+    /**
+     * Matches JUEL expression bodies (without cardinality variables) that evaluate the same as mathematical
+     * expressions with a {@code long} result, i.e., that use integer arithmetic only.
+     */
+    private static final Pattern JUEL_INTEGER_ARITHMETIC_PATTERN = Pattern.compile("[\\d\\s+\\-*()]*");
+
+    /**
+     * Matches JUEL expression bodies (without cardinality variables) that evaluate the same as mathematical
+     * expressions with a {@code double} result.
+     */
+    private static final Pattern JUEL_ARITHMETIC_PATTERN = Pattern.compile("[\\d\\s+\\-*/().]*");
+
     static {
         DefaultContext ctx = new DefaultContext(Context.baseContext);
         ctx.setFunction(
@@ -283,6 +302,9 @@ public class LoadProfileEstimators {
                 numOutputs,
                 additionalProperties.toArray(new String[additionalProperties.size()])
         );
+        final Expression mathExpression = translateJuel(juel, JUEL_INTEGER_ARITHMETIC_PATTERN);
+        if (mathExpression != null) return compile(mathExpression);
+
         final JuelUtils.JuelFunction<Long> juelFunction = new JuelUtils.JuelFunction<>(juel, Long.class, parameterClasses);
         return (estimationContext, inCards, outCards) -> applyJuelFunction(juelFunction, estimationContext, inCards, outCards, additionalProperties);
     }
@@ -296,11 +318,37 @@ public class LoadProfileEstimators {
      * @return a {@link ToLongBiFunction} wrapping the JUEL expression
      */
     private static ToDoubleBiFunction<long[], long[]> parseResourceUsageJuel(String juel, int numInputs, int numOutputs) {
+        final Expression mathExpression = translateJuel(juel, JUEL_ARITHMETIC_PATTERN);
+        if (mathExpression != null) return compileResourceUsage(mathExpression);
+
         final Map<String, Class<?>> parameterClasses = createJuelParameterClasses(numInputs, numOutputs);
         final JuelUtils.JuelFunction<Double> juelFunction = new JuelUtils.JuelFunction<>(juel, Double.class, parameterClasses);
         return (inCards, outCards) -> applyJuelFunction(juelFunction, null, inCards, outCards, Collections.emptyList());
     }
 
+    /**
+     * Translates simple arithmetic JUEL expressions, such as {@code ${5*in0 + 100}}, into equivalent mathematical
+     * {@link Expression}s, so that they can be compiled rather than interpreted.
+     *
+     * @param juel        the JUEL expression
+     * @param bodyPattern that the JUEL expression body must match after removing the cardinality variables
+     * @return the mathematical {@link Expression} or {@code null} if the JUEL expression could not be translated
+     */
+    private static Expression translateJuel(String juel, Pattern bodyPattern) {
+        final String trimmedJuel = juel.trim();
+        if (!trimmedJuel.startsWith("${") || !trimmedJuel.endsWith("}")) return null;
+        final String body = trimmedJuel.substring(2, trimmedJuel.length() - 1);
+        if (!bodyPattern.matcher(JUEL_CARDINALITY_VARIABLE_PATTERN.matcher(body).replaceAll(" ")).matches()) {
+            return null;
+        }
+        try {
+            return ExpressionBuilder.parse(body).specify(baseContext);
+        } catch (MathExException e) {
+            logger.debug("Could not translate JUEL expression \"{}\".", juel, e);
+            return null;
+        }
+    }
+
     /**
      * Creates parameters classes for JUEL expressions based on input and output cardinalities.
      *
@@ -355,7 +403,22 @@ public class LoadProfileEstimators {
      * @return the {@link SinglePointEstimationFunction}
      */
     private static SinglePointEstimationFunction compile(String expression) {
-        final Expression expr = ExpressionBuilder.parse(expression).specify(baseContext);
+        return compile(ExpressionBuilder.parse(expression).specify(baseContext));
+    }
+
+    /**
+     * Compiles a mathematical {@link Expression} and provides it as a {@link SinglePointEstimationFunction}.
+     *
+     * @param expr a mathematical {@link Expression}
+     * @return the {@link SinglePointEstimationFunction}
+     */
+    private static SinglePointEstimationFunction compile(Expression expr) {
+        try {
+            final CompiledExpression compiledExpr = new CompiledExpression(expr);
+            return (context, inCards, outCards) -> Math.round(compiledExpr.evaluate(context, inCards, outCards));
+        } catch (EvaluationException e) {
+            logger.debug("Could not compile {}; interpreting it instead.", expr, e);
+        }
         return (context, inCards, outCards) -> {
             Context mathContext = createMathContext(context, inCards, outCards);
             return Math.round(expr.evaluate(mathContext));
@@ -369,13 +432,45 @@ public class LoadProfileEstimators {
      * @return a {@link ToLongBiFunction} wrapping the expression
      */
     private static ToDoubleBiFunction<long[], long[]> compileResourceUsage(String expression) {
-        final Expression expr = ExpressionBuilder.parse(expression).specify(baseContext);
+        return compileResourceUsage(ExpressionBuilder.parse(expression).specify(baseContext));
+    }
+
+    /**
+     * Compiles a mathematical {@link Expression} and provides it as a {@link ToDoubleFunction}.
+     *
+     * @param expr a mathematical {@link Expression}
+     * @return a {@link ToLongBiFunction} wrapping the {@link Expression}
+     */
+    private static ToDoubleBiFunction<long[], long[]> compileResourceUsage(Expression expr) {
+        try {
+            final CompiledExpression compiledExpr = new CompiledExpression(expr);
+            return (inCards, outCards) -> compiledExpr.evaluate(null, inCards, outCards);
+        } catch (EvaluationException e) {
+            logger.debug("Could not compile {}; interpreting it instead.", expr, e);
+        }
         return (inCards, outCards) -> {
             Context mathContext = createMathContext(null, inCards, outCards);
             return expr.evaluate(mathContext);
         };
     }
 
+    /**
+     * Parses the index of a cardinality variable, such as {@code in0} or {@code out1}.
+     *
+     * @param variableName the name of the variable
+     * @param prefix       either {@code in} or {@code out}
+     * @return the index or {@code -1} if the {@code variableName} does not designate a cardinality with the {@code prefix}
+     */
+    private static int parseCardinalityIndex(String variableName, String prefix) {
+        if (!variableName.startsWith(prefix) || variableName.length() == prefix.length()) return -1;
+        int accu = 0;
+        for (int i = prefix.length(); i < variableName.length(); i++) {
+            char c = variableName.charAt(i);
+            if (!Character.isDigit(c)) return -1;
+            accu = 10 * accu + (c - '0');
+        }
+        return accu;
+    }
 
     /**
      * Create a mathematical {@link Context} from the parameters.
@@ -392,25 +487,10 @@ public class LoadProfileEstimators {
             @Override
             public double getVariable(String variableName) throws EvaluationException {
                 // Serve "in999" and "out999" variables directly from the cardinality arrays.
-                if (variableName.startsWith("in") && variableName.length() > 2) {
-                    int accu = 0;
-                    int i;
-                    for (i = 2; i < variableName.length(); i++) {
-                        char c = variableName.charAt(i);
-                        if (!Character.isDigit(c)) break;
-                        accu = 10 * accu + (c - '0');
-                    }
-                    if (i == variableName.length()) return inputCardinalities[accu];
-                } else if (variableName.startsWith("out") && variableName.length() > 3) {
-                    int accu = 0;
-                    int i;
-                    for (i = 3; i < variableName.length(); i++) {
-                        char c = variableName.charAt(i);
-                        if (!Character.isDigit(c)) break;
-                        accu = 10 * accu + (c - '0');
-                    }
-                    if (i == variableName.length()) return outputCardinalities[accu];
-                }
+                int index = parseCardinalityIndex(variableName, "in");
+                if (index != -1) return inputCardinalities[index];
+                index = parseCardinalityIndex(variableName, "out");
+                if (index != -1) return outputCardinalities[index];
 
                 // Otherwise, ask the context for the property.
                 return context.getDoubleProperty(variableName, Double.NaN);
@@ -463,4 +543,64 @@ public class LoadProfileEstimators {
 
     private static final ToDoubleBiFunction<long[], long[]> DEFAULT_RESOURCE_UTILIZATION_ESTIMATOR = (in, out) -> 1d;
 
+    /**
+     * A mathematical {@link Expression} that has been compiled once, such that it reads its variables from an array
+     * instead of resolving them by name on every evaluation. The {@code in***} and {@code out***} variables are served
+     * from the cardinalities, all other variables from the properties of the {@link EstimationContext}.
+     */
+    private static class CompiledExpression {
+
+        /**
+         * The compiled {@link Expression}.
+         */
+        private final ToDoubleFunction<double[]> function;
+
+        /**
+         * Describe for each variable slot whether it is served from an input cardinality, an output cardinality,
+         * or a property, respectively; only one of the entries is set for each slot.
+         */
+        private final int[] inputIndices, outputIndices;
+
+        private final String[] propertyNames;
+
+        private CompiledExpression(Expression expression) throws EvaluationException {
+            final List<String> variableNames = new ArrayList<>();
+            this.function = expression.compile(variableName -> {
+                int index = variableNames.indexOf(variableName);
+                if (index == -1) {
+                    index = variableNames.size();
+                    variableNames.add(variableName);
+                }
+                return index;
+            });
+            this.inputIndices = new int[variableNames.size()];
+            this.outputIndices = new int[variableNames.size()];
+            this.propertyNames = new String[variableNames.size()];
+            for (int slot = 0; slot < variableNames.size(); slot++) {
+                final String variableName = variableNames.get(slot);
+                this.inputIndices[slot] = parseCardinalityIndex(variableName, "in");
+                this.outputIndices[slot] = this.inputIndices[slot] == -1 ? parseCardinalityIndex(variableName, "out") : -1;
+                if (this.inputIndices[slot] == -1 && this.outputIndices[slot] == -1) {
+                    this.propertyNames[slot] = variableName;
+                }
+            }
+        }
+
+        private double evaluate(EstimationContext context, long[] inputCardinalities, long[] outputCardinalities) {
+            final double[] variables = new double[this.propertyNames.length];
+            for (int slot = 0; slot < variables.length; slot++) {
+                if (this.inputIndices[slot] != -1) {
+                    variables[slot] = inputCardinalities[this.inputIndices[slot]];
+                } else if (this.outputIndices[slot] != -1) {
+                    variables[slot] = outputCardinalities[this.outputIndices[slot]];
+                } else {
+                    variables[slot] = context == null ?
+                            Double.NaN :
+                            context.getDoubleProperty(this.propertyNames[slot], Double.NaN);
+                }
+            }
+            return this.function.applyAsDouble(variables);
+        }
+    }
+
 }
@@ -0,0 +1,112 @@
+package org.qcri.rheem.core.optimizer.enumeration;
+
+import org.qcri.rheem.core.api.Configuration;
+import org.qcri.rheem.core.plan.rheemplan.ExecutionOperator;
+import org.qcri.rheem.core.platform.Platform;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.LongSupplier;
+
+/**
+ * This {@link PlanEnumerationPruningStrategy} turns the enumeration into a bounded beam search. It discards all
+ * {@link PlanImplementation}s that are dominated by another one, i.e., that are not cheaper, use a superset of
+ * {@link Platform}s, and have the same interface {@link ExecutionOperator}s (and thus open {@link org.qcri.rheem.core.plan.executionplan.Channel}s).
+ * Of the remaining ones, it retains the cheapest {@code width}. Once the optimization time budget of the current
+ * enumeration is exhausted, the beam is narrowed to a single {@link PlanImplementation}, so that the enumeration
+ * completes quickly with the best choices found so far.
+ * <p>Note that the dominance check uses the interface {@link ExecutionOperator}s only as a proxy for the open
+ * {@link org.qcri.rheem.core.plan.executionplan.Channel}s of a {@link PlanImplementation}: Two instances with the same
+ * interface {@link ExecutionOperator}s might still offer different {@link org.qcri.rheem.core.plan.executionplan.Channel}s
+ * to their successors, so that pruning the more expensive one can rule out a cheaper channel conversion later on.</p>
+ */
+public class BeamSearchPruningStrategy implements PlanEnumerationPruningStrategy {
+
+    private static final Logger logger = LoggerFactory.getLogger(BeamSearchPruningStrategy.class);
+
+    /**
+     * The maximum number of {@link PlanImplementation}s to retain per {@link PlanEnumeration}.
+     */
+    private int width;
+
+    /**
+     * The optimization time budget in milliseconds or a non-positive value if there is none.
+     */
+    private long budgetMillis;
+
+    /**
+     * Point in time when the budget of the current enumeration expires.
+     */
+    private volatile long deadline = Long.MAX_VALUE;
+
+    /**
+     * Provides the current time in milliseconds.
+     */
+    private final LongSupplier clock;
+
+    /**
+     * Creates a new instance that measures the time budget with the system clock.
+     */
+    public BeamSearchPruningStrategy() {
+        this(System::currentTimeMillis);
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param clock provides the current time in milliseconds
+     */
+    BeamSearchPruningStrategy(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public void configure(Configuration configuration) {
+        this.width = (int) Math.max(1, configuration.getLongProperty("rheem.core.optimizer.pruning.beam.width", 10));
+        this.budgetMillis = configuration.getLongProperty("rheem.core.optimizer.pruning.beam.budget", 0);
+    }
+
+    @Override
+    public void startEnumeration() {
+        this.deadline = this.budgetMillis > 0 ? this.clock.getAsLong() + this.budgetMillis : Long.MAX_VALUE;
+    }
+
+    @Override
+    public void prune(PlanEnumeration planEnumeration) {
+        // Skip if there is nothing to do...
+        if (planEnumeration.getPlanImplementations().size() < 2) return;
+
+        // Visit the PlanImplementations from the cheapest to the most expensive one.
+        List<PlanImplementation> planImplementations = new ArrayList<>(planEnumeration.getPlanImplementations());
+        planImplementations.sort(Comparator.comparingDouble(planImpl -> planImpl.getSquashedCostEstimate(true)));
+
+        final boolean isBudgetExhausted = this.clock.getAsLong() > this.deadline;
+        final int width = isBudgetExhausted ? 1 : this.width;
+        if (isBudgetExhausted) {
+            logger.debug("Optimization time budget exhausted; retaining only the best plan for {}.", planEnumeration.getScope());
+        }
+
+        // Retain the non-dominated PlanImplementations within the beam.
+        Map<Set<ExecutionOperator>, List<Set<Platform>>> retainedPlatformsByInterface = new HashMap<>();
+        List<PlanImplementation> retainedPlanImplementations = new ArrayList<>(width);
+        for (PlanImplementation planImplementation : planImplementations) {
+            if (retainedPlanImplementations.size() >= width) break;
+            final Set<ExecutionOperator> interfaceOperators = new HashSet<>(planImplementation.getInterfaceOperators());
+            final Set<Platform> platforms = planImplementation.getUtilizedPlatforms();
+            final List<Set<Platform>> cheaperPlatforms =
+                    retainedPlatformsByInterface.computeIfAbsent(interfaceOperators, key -> new ArrayList<>(2));
+            if (cheaperPlatforms.stream().anyMatch(platforms::containsAll)) continue;
+            cheaperPlatforms.add(platforms);
+            retainedPlanImplementations.add(planImplementation);
+        }
+        planEnumeration.getPlanImplementations().retainAll(retainedPlanImplementations);
+    }
+
+}
@@ -81,7 +81,8 @@ public class ExecutionTaskFlowCompiler
         // So, we need to keep start Operators that are not (indirectly) producing a Channel and the Channels themselves
 
         // Create Activators for the unexecuted start Operators.
-        final Set<ExecutionOperator> executedOperators = existingPlan.collectAllTasks().stream()
+        final Set<ExecutionTask> executedTasks = existingPlan.collectAllTasks();
+        final Set<ExecutionOperator> executedOperators = executedTasks.stream()
                 .map(ExecutionTask::getOperator)
                 .collect(Collectors.toSet());
         this.startActivators = startOperators.stream()
@@ -89,6 +90,9 @@ public class ExecutionTaskFlowCompiler
                 .map(Activator::new)
                 .collect(Collectors.toList());
 
+        // Executed ExecutionTasks might still need to be connected, e.g., loop heads whose loop bodies are re-planned.
+        executedTasks.forEach(task -> this.executionTasks.put(task.getOperator(), task));
+
         // Create Activations for the open Channels.
         this.startActivations = new LinkedList<>();
         for (Channel channel : openChannels) {
@@ -399,6 +403,12 @@ public class ExecutionTaskFlowCompiler
                         ExecutionTaskFlowCompiler.this.getOrCreateExecutionTask((ExecutionOperator) targetInput.getOwner());
                 targetChannel.addConsumer(successorTask, targetInput.getIndex());
 
+                // Already executed successors are only connected, but not traversed any further.
+                if (successorTask.getStage() != null) {
+                    ExecutionTaskFlowCompiler.this.terminalTasks.add(targetChannel.getProducer());
+                    continue;
+                }
+
                 this.createActivation(targetInput.unchecked(), collector);
             }
         }
@@ -0,0 +1,423 @@
+package org.qcri.rheem.core.optimizer.enumeration;
+
+import org.qcri.rheem.core.api.Configuration;
+import org.qcri.rheem.core.function.FunctionDescriptor;
+import org.qcri.rheem.core.optimizer.OptimizationContext;
+import org.qcri.rheem.core.optimizer.cardinality.CardinalityEstimate;
+import org.qcri.rheem.core.optimizer.costs.LoadProfileEstimator;
+import org.qcri.rheem.core.optimizer.costs.TimeToCostConverter;
+import org.qcri.rheem.core.plan.rheemplan.CompositeOperator;
+import org.qcri.rheem.core.plan.rheemplan.ExecutionOperator;
+import org.qcri.rheem.core.plan.rheemplan.Operator;
+import org.qcri.rheem.core.plan.rheemplan.OperatorAlternative;
+import org.qcri.rheem.core.plan.rheemplan.OperatorContainer;
+import org.qcri.rheem.core.plan.rheemplan.OutputSlot;
+import org.qcri.rheem.core.plan.rheemplan.RheemPlan;
+import org.qcri.rheem.core.platform.Platform;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.math.BigInteger;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Caches the outcome of the plan enumeration for recurring {@link RheemPlan}s. Two {@link RheemPlan}s are
+ * considered equivalent if they agree in their {@link Fingerprint}, i.e., in the structure of their hyperplans,
+ * the classes and captured state of their {@link Operator}s and UDFs, their target {@link Platform}s, the order of
+ * magnitude of their source cardinalities, and the cost model settings of their {@link Configuration}, i.e., the
+ * {@link Platform#getCostModelPropertyKeys() cost model properties}, {@link TimeToCostConverter}s, and start-up times
+ * of the {@link Platform}s and the {@link LoadProfileEstimator} specifications of the {@link ExecutionOperator}s.
+ * For each {@link Fingerprint}, the picked {@link OperatorAlternative.Alternative}s are stored, so that a new
+ * {@link RheemPlan} can adopt them via a {@link PlanEnumerator} without enumerating again.
+ * <p>Note that we cannot store {@link PlanImplementation}s or
+ * {@link org.qcri.rheem.core.plan.executionplan.ExecutionPlan}s directly, because they are bound to the
+ * {@link Operator} instances of their {@link RheemPlan}.</p>
+ */
+public class PlanCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(PlanCache.class);
+
+    /**
+     * Maps {@link Fingerprint} keys to the indices of the picked {@link OperatorAlternative.Alternative}s (or
+     * {@code -1} if an {@link OperatorAlternative} has not been settled).
+     */
+    private final LinkedHashMap<String, int[]> entries;
+
+    /**
+     * Statistics of this instance.
+     */
+    private long numHits = 0, numMisses = 0;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param configuration provides the capacity of the new instance
+     */
+    public PlanCache(Configuration configuration) {
+        final int capacity = (int) Math.max(1, configuration.getLongProperty("rheem.core.optimizer.plancache.capacity", 100));
+        this.entries = new LinkedHashMap<String, int[]>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, int[]> eldest) {
+                return this.size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Tells whether plan caching is enabled in the given {@link Configuration}.
+     */
+    public static boolean isEnabled(Configuration configuration) {
+        return configuration.getBooleanProperty("rheem.core.optimizer.plancache.enabled", false);
+    }
+
+    /**
+     * Looks up the {@link OperatorAlternative.Alternative}s that have been picked for an equivalent {@link RheemPlan}.
+     *
+     * @param fingerprint the {@link Fingerprint} of the current {@link RheemPlan}
+     * @return the {@link OperatorAlternative.Alternative}s to adopt or {@code null} if there is no cache entry
+     */
+    public synchronized Map<OperatorAlternative, OperatorAlternative.Alternative> lookup(Fingerprint fingerprint) {
+        final int[] choices = this.entries.get(fingerprint.key);
+        if (choices == null) {
+            this.numMisses++;
+            return null;
+        }
+        this.numHits++;
+        logger.debug("Plan cache hit ({} hits, {} misses).", this.numHits, this.numMisses);
+
+        Map<OperatorAlternative, OperatorAlternative.Alternative> presettledAlternatives = new HashMap<>(choices.length);
+        for (int i = 0; i < choices.length; i++) {
+            if (choices[i] == -1) continue;
+            final OperatorAlternative operatorAlternative = fingerprint.operatorAlternatives.get(i);
+            presettledAlternatives.put(operatorAlternative, operatorAlternative.getAlternatives().get(choices[i]));
+        }
+        return presettledAlternatives;
+    }
+
+    /**
+     * Stores the {@link OperatorAlternative.Alternative}s picked by the given {@link PlanImplementation}.
+     *
+     * @param fingerprint        the {@link Fingerprint} of the {@link RheemPlan} of the {@code planImplementation}
+     * @param planImplementation the picked {@link PlanImplementation}
+     */
+    public void store(Fingerprint fingerprint, PlanImplementation planImplementation) {
+        Map<OperatorAlternative, OperatorAlternative.Alternative> settledAlternatives = new HashMap<>();
+        planImplementation.collectSettledAlternatives(settledAlternatives);
+
+        final int[] choices = new int[fingerprint.operatorAlternatives.size()];
+        for (int i = 0; i < choices.length; i++) {
+            final OperatorAlternative operatorAlternative = fingerprint.operatorAlternatives.get(i);
+            final OperatorAlternative.Alternative alternative = settledAlternatives.get(operatorAlternative);
+            choices[i] = alternative == null ? -1 : operatorAlternative.getAlternatives().indexOf(alternative);
+        }
+        synchronized (this) {
+            this.entries.put(fingerprint.key, choices);
+        }
+    }
+
+    /**
+     * Removes the entry for the given {@link Fingerprint}, e.g., because it could not be adopted.
+     */
+    public synchronized void invalidate(Fingerprint fingerprint) {
+        this.entries.remove(fingerprint.key);
+    }
+
+    /**
+     * Removes all entries, e.g., because the available {@link Platform}s or settings that are not covered by the
+     * {@link Fingerprint}s, such as programmatically set
+     * {@link org.qcri.rheem.core.optimizer.costs.LoadProfileToTimeConverter}s, have changed.
+     */
+    public synchronized void clear() {
+        this.entries.clear();
+    }
+
+    public synchronized int size() {
+        return this.entries.size();
+    }
+
+    /**
+     * Canonical description of a (prepared) {@link RheemPlan}.
+     */
+    public static class Fingerprint {
+
+        /**
+         * Canonical textual representation of the {@link RheemPlan}.
+         */
+        private final String key;
+
+        /**
+         * All {@link OperatorAlternative}s of the {@link RheemPlan} in canonical order.
+         */
+        private final List<OperatorAlternative> operatorAlternatives;
+
+        private Fingerprint(String key, List<OperatorAlternative> operatorAlternatives) {
+            this.key = key;
+            this.operatorAlternatives = operatorAlternatives;
+        }
+
+        /**
+         * Creates the {@link Fingerprint} of a {@link RheemPlan} whose transformations have been applied and whose
+         * cardinalities have been estimated.
+         *
+         * @param rheemPlan           the {@link RheemPlan}
+         * @param optimizationContext provides the estimated source cardinalities and the {@link Configuration}
+         * @return the {@link Fingerprint} or {@code null} if the {@link RheemPlan} cannot be described reliably,
+         * e.g., because it has UDFs that are not serializable
+         */
+        public static Fingerprint of(RheemPlan rheemPlan, OptimizationContext optimizationContext) {
+            final Fingerprinter fingerprinter = new Fingerprinter(optimizationContext);
+            final Configuration configuration = optimizationContext.getConfiguration();
+            fingerprinter.key.append(configuration.getPlatformProvider().provideAll().stream()
+                    .sorted(Comparator.comparing(Platform::getName))
+                    .map(platform -> {
+                        final TimeToCostConverter converter =
+                                configuration.getTimeToCostConverterProvider().provideFor(platform);
+                        return String.format("%s$%s+%s/ms^%dms%s",
+                                platform.getName(), converter.getFixCosts(), converter.getCostsPerMillisecond(),
+                                configuration.getPlatformStartUpTimeProvider().provideFor(platform),
+                                platform.getCostModelPropertyKeys().stream()
+                                        .map(key -> key + '=' + configuration.getStringProperty(key, "?"))
+                                        .collect(Collectors.joining(" ", "[", "]")));
+                    })
+                    .collect(Collectors.joining(",", "platforms[", "]")));
+            for (Operator sink : rheemPlan.getSinks()) {
+                fingerprinter.visit(sink);
+            }
+            if (!fingerprinter.isReliable) {
+                logger.debug("Cannot fingerprint {} reliably.", rheemPlan);
+                return null;
+            }
+            return new Fingerprint(fingerprinter.key.toString(), fingerprinter.operatorAlternatives);
+        }
+
+        List<OperatorAlternative> getOperatorAlternatives() {
+            return this.operatorAlternatives;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || this.getClass() != o.getClass()) return false;
+            return this.key.equals(((Fingerprint) o).key);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.key.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s[%d chars, %d alternatives]",
+                    this.getClass().getSimpleName(), this.key.length(), this.operatorAlternatives.size());
+        }
+    }
+
+    /**
+     * Traverses a {@link RheemPlan} upstream in a deterministic order to create a {@link Fingerprint}.
+     */
+    private static class Fingerprinter {
+
+        private final OptimizationContext optimizationContext;
+
+        private final Configuration configuration;
+
+        private final StringBuilder key = new StringBuilder();
+
+        private final List<OperatorAlternative> operatorAlternatives = new ArrayList<>();
+
+        /**
+         * Tells whether the {@link #key} describes the visited {@link Operator}s completely.
+         */
+        private boolean isReliable = true;
+
+        /**
+         * Assigns canonical IDs to the visited {@link Operator}s.
+         */
+        private final Map<Operator, Integer> operatorIds = new IdentityHashMap<>();
+
+        private Fingerprinter(OptimizationContext optimizationContext) {
+            this.optimizationContext = optimizationContext;
+            this.configuration = optimizationContext.getConfiguration();
+        }
+
+        /**
+         * Visits the given {@link Operator} and everything upstream of it unless it has been visited before.
+         *
+         * @return the canonical ID of the {@code operator}
+         */
+        private int visit(Operator operator) {
+            Integer id = this.operatorIds.get(operator);
+            if (id != null) return id;
+            id = this.operatorIds.size();
+            this.operatorIds.put(operator, id);
+
+            // Visit the upstream Operators first. Note that loops are cyclic, so we have to assign the ID beforehand.
+            final int[] producerIds = new int[operator.getNumInputs()];
+            final int[] producerOutputs = new int[operator.getNumInputs()];
+            for (int i = 0; i < producerIds.length; i++) {
+                final OutputSlot<?> occupant = operator.getInput(i).getOccupant();
+                producerIds[i] = occupant == null ? -1 : this.visit(occupant.getOwner());
+                producerOutputs[i] = occupant == null ? -1 : occupant.getIndex();
+            }
+
+            this.key.append('#').append(id).append(':').append(operator.getClass().getName());
+            this.appendUdfs(operator);
+            if (!operator.getTargetPlatforms().isEmpty()) {
+                this.key.append(operator.getTargetPlatforms().stream()
+                        .map(Platform::getName)
+                        .sorted()
+                        .collect(Collectors.joining(",", "@[", "]")));
+            }
+            if (operator.isExecutionOperator()) {
+                this.appendLoadProfileEstimatorSpecifications((ExecutionOperator) operator);
+            }
+            if (operator.isSource() && operator.isElementary()) {
+                this.appendSourceCardinality(operator);
+            }
+            this.key.append('(');
+            for (int i = 0; i < producerIds.length; i++) {
+                if (i > 0) this.key.append(',');
+                this.key.append(producerIds[i]).append('.').append(producerOutputs[i]);
+            }
+            this.key.append(')');
+
+            // Descend into composite Operators.
+            if (operator.isAlternative()) {
+                this.operatorAlternatives.add((OperatorAlternative) operator);
+            }
+            if (!operator.isElementary()) {
+                this.key.append('{');
+                for (OperatorContainer container : ((CompositeOperator) operator).getContainers()) {
+                    this.visitContainer(container);
+                    this.key.append(';');
+                }
+                this.key.append('}');
+            }
+            return id;
+        }
+
+        /**
+         * Visits the {@link Operator}s inside of the given {@link OperatorContainer}, starting from its sink or
+         * the {@link Operator}s producing its outputs.
+         */
+        private void visitContainer(OperatorContainer container) {
+            final CompositeOperator compositeOperator = container.toOperator();
+            if (compositeOperator.isSink()) {
+                final Operator sink = container.getSink();
+                this.key.append(sink == null ? -1 : this.visit(sink));
+                return;
+            }
+            for (int i = 0; i < compositeOperator.getNumOutputs(); i++) {
+                final OutputSlot<?> innerOutput = container.traceOutput(compositeOperator.getOutput(i));
+                this.key.append(innerOutput == null ? -1 : this.visit(innerOutput.getOwner()))
+                        .append('.').append(innerOutput == null ? -1 : innerOutput.getIndex())
+                        .append(' ');
+            }
+        }
+
+        /**
+         * Describes the UDFs of the given {@link Operator} by means of their classes and serialized state, so that,
+         * e.g., the same lambda with different captured values is told apart.
+         */
+        private void appendUdfs(Operator operator) {
+            List<Field> functionDescriptorFields = new ArrayList<>();
+            for (Class<?> cls = operator.getClass(); cls != null && cls != Object.class; cls = cls.getSuperclass()) {
+                for (Field field : cls.getDeclaredFields()) {
+                    if (!Modifier.isStatic(field.getModifiers())
+                            && FunctionDescriptor.class.isAssignableFrom(field.getType())) {
+                        functionDescriptorFields.add(field);
+                    }
+                }
+            }
+            if (functionDescriptorFields.isEmpty()) return;
+            functionDescriptorFields.sort(Comparator.comparing(Field::getName));
+
+            this.key.append('<');
+            for (Field field : functionDescriptorFields) {
+                try {
+                    field.setAccessible(true);
+                    final Object functionDescriptor = field.get(operator);
+                    if (functionDescriptor == null) continue;
+                    this.key.append(field.getName()).append('=').append(functionDescriptor.getClass().getName());
+                    try {
+                        final Method implementationGetter = functionDescriptor.getClass().getMethod("getJavaImplementation");
+                        final Object implementation = implementationGetter.invoke(functionDescriptor);
+                        if (implementation != null) {
+                            this.key.append('/').append(implementation.getClass().getName())
+                                    .append('/').append(digestSerializedState(implementation));
+                        }
+                    } catch (NoSuchMethodException e) {
+                        // The FunctionDescriptor does not expose an implementation.
+                    }
+                    this.key.append(' ');
+                } catch (Exception e) {
+                    logger.debug("Could not inspect {} of {}.", field, operator, e);
+                    this.isReliable = false;
+                }
+            }
+            this.key.append('>');
+        }
+
+        /**
+         * Serializes the given object and digests the result, thereby capturing its state, e.g., the captured
+         * values of a lambda.
+         *
+         * @return the hex-encoded digest
+         */
+        private static String digestSerializedState(Object object) throws IOException, NoSuchAlgorithmException {
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+                out.writeObject(object);
+            }
+            return new BigInteger(1, MessageDigest.getInstance("SHA-1").digest(bytes.toByteArray())).toString(16);
+        }
+
+        /**
+         * Describes the {@link LoadProfileEstimator} specifications of the given {@link ExecutionOperator} as
+         * they are found in the {@link Configuration}, so that job-level overrides are taken into account.
+         */
+        private void appendLoadProfileEstimatorSpecifications(ExecutionOperator operator) {
+            final Collection<String> configurationKeys = operator.getLoadProfileEstimatorConfigurationKeys();
+            if (configurationKeys.isEmpty()) return;
+            this.key.append('[');
+            for (String configurationKey : configurationKeys) {
+                this.key.append(configurationKey).append('=')
+                        .append(this.configuration.getStringProperty(configurationKey, "?"))
+                        .append(' ');
+            }
+            this.key.append(']');
+        }
+
+        /**
+         * Describes the estimated output cardinality of the given source {@link Operator} by its order of magnitude.
+         */
+        private void appendSourceCardinality(Operator operator) {
+            final OptimizationContext.OperatorContext operatorContext = this.optimizationContext.getOperatorContext(operator);
+            if (operatorContext == null) return;
+            for (int i = 0; i < operator.getNumOutputs(); i++) {
+                final CardinalityEstimate cardinality = operatorContext.getOutputCardinality(i);
+                if (cardinality == null) continue;
+                this.key.append("~2^").append(Long.SIZE - Long.numberOfLeadingZeros(cardinality.getGeometricMeanEstimate()));
+            }
+        }
+
+    }
+
+}
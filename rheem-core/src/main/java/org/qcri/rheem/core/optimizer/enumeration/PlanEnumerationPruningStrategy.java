@@ -14,6 +14,12 @@ public interface PlanEnumerationPruningStrategy {
      */
     void configure(Configuration configuration);
 
+    /**
+     * Notifies this instance that a new top-level enumeration starts. Does nothing by default.
+     */
+    default void startEnumeration() {
+    }
+
     /**
      * Prune down the {@link PlanEnumeration}, i.e., remove some of its {@link PlanImplementation}s.
      *
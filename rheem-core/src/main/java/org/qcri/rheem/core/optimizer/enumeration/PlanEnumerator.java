@@ -122,6 +122,25 @@ public class PlanEnumerator {
                 Collections.emptyMap());
     }
 
+    /**
+     * Creates a new instance that does not enumerate but adopts the given {@link OperatorAlternative.Alternative}s,
+     * e.g., as they have been picked for a previous, equivalent {@link RheemPlan}.
+     *
+     * @param rheemPlan              a hyperplan that should be used for enumeration.
+     * @param presettledAlternatives {@link OperatorAlternative.Alternative}s to adopt
+     * @see PlanCache
+     */
+    public PlanEnumerator(RheemPlan rheemPlan,
+                          OptimizationContext optimizationContext,
+                          Map<OperatorAlternative, OperatorAlternative.Alternative> presettledAlternatives) {
+        this(rheemPlan.collectReachableTopLevelSources(),
+                optimizationContext,
+                null,
+                presettledAlternatives,
+                Collections.emptyMap(),
+                Collections.emptyMap());
+    }
+
     /**
      * Creates a new instance, thereby encorporating already executed parts of the {@code rheemPlan}.
      *
@@ -280,6 +299,9 @@ public class PlanEnumerator {
      */
     private synchronized void run() {
         if (this.resultReference == null) {
+            if (this.isTopLevel()) {
+                this.optimizationContext.getPruningStrategies().forEach(PlanEnumerationPruningStrategy::startEnumeration);
+            }
             while (!this.activatedEnumerations.isEmpty()) {
                 // Try to enumerate branches.
                 EnumerationActivator enumerationActivator;
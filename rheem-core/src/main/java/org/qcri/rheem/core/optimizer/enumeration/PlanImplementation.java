@@ -80,7 +80,14 @@ public class PlanImplementation {
     /**
      * This will be used to store the parallel cost of each operator.
      */
-    private List<Tuple<Operator,Tuple<List<ProbabilisticDoubleInterval>,List<Double>>>> calculatedParallelOperatorCostCache = new ArrayList<>();
+    private final Map<Operator, Tuple<List<ProbabilisticDoubleInterval>, List<Double>>> calculatedParallelOperatorCostCache =
+            new IdentityHashMap<>();
+
+    /**
+     * Indexes the {@link #junctions} by their target {@link Operator}s. Lazily initialized and discarded whenever
+     * the {@link #junctions} change.
+     */
+    private Map<Operator, Set<Junction>> inputJunctionIndex;
 
     /**
      * Create a new instance.
@@ -448,6 +455,22 @@ public class PlanImplementation {
         return this.loopImplementations;
     }
 
+    /**
+     * Collects the {@link OperatorAlternative.Alternative}s that have been settled by this instance, including
+     * those settled inside of its {@link LoopImplementation}s.
+     *
+     * @param collector receives the settled {@link OperatorAlternative.Alternative}s
+     */
+    void collectSettledAlternatives(Map<OperatorAlternative, OperatorAlternative.Alternative> collector) {
+        collector.putAll(this.settledAlternatives);
+        for (LoopImplementation loopImplementation : this.loopImplementations.values()) {
+            for (LoopImplementation.IterationImplementation iterationImplementation
+                    : loopImplementation.getIterationImplementations()) {
+                iterationImplementation.getBodyImplementation().collectSettledAlternatives(collector);
+            }
+        }
+    }
+
     /**
      * Adds a new {@link LoopImplementation} for a given {@link LoopSubplan}.
      *
@@ -673,63 +696,45 @@ public class PlanImplementation {
      */
 
 
-    private Tuple<List<ProbabilisticDoubleInterval>,List<Double>> getParallelOperatorJunctionAllCostEstimate(Operator operator){
-
-        Set<Operator> inputOperators = new HashSet<>();
-        Set<Junction> inputJunction = new HashSet<>();
+    private Tuple<List<ProbabilisticDoubleInterval>, List<Double>> getParallelOperatorJunctionAllCostEstimate(Operator operator) {
+        // Check if the operator cost was already calculated and cached.
+        Tuple<List<ProbabilisticDoubleInterval>, List<Double>> returnedCost =
+                this.calculatedParallelOperatorCostCache.get(operator);
+        if (returnedCost != null) return returnedCost;
 
-        List<ProbabilisticDoubleInterval> probalisticCost = new ArrayList<>();
-        List<Double> squashedCost = new ArrayList<>();
+        List<ProbabilisticDoubleInterval> probalisticCost = new ArrayList<>(2);
+        List<Double> squashedCost = new ArrayList<>(2);
 
-        // check if the operator cost was already calculated and cached
-        for (Tuple<Operator, Tuple<List<ProbabilisticDoubleInterval>,List<Double>>> t:calculatedParallelOperatorCostCache){
-            if(t.field0 == operator)
-                return t.field1;
-        }
-
-        if (this.optimizationContext.getOperatorContext(operator) != null) {
-            // Get input junctions
-            this.junctions.values()
-                .forEach(j -> {
-                    for(int itr=0;itr<j.getNumTargets();itr++) {
-                        if(j.getTargetOperator(itr) == operator)
-                            inputJunction.add(j);
-                    }
-                });
-            // Get input operators associated with input junctions
-            inputJunction
-                .forEach((Junction j) -> {
-                    inputOperators.add(j.getSourceOperator());
-                });
+        final OptimizationContext.OperatorContext operatorContext = this.optimizationContext.getOperatorContext(operator);
+        if (operatorContext != null) {
+            // Get input junctions and the input operators associated with them.
+            final Set<Junction> inputJunction = this.getInputJunctions(operator);
+            final Set<Operator> inputOperators = Collections.newSetFromMap(new IdentityHashMap<>(inputJunction.size()));
+            for (Junction junction : inputJunction) {
+                inputOperators.add(junction.getSourceOperator());
+            }
 
             if (inputOperators.size() == 0) {
                 // If there is no input operator, only the cost of the current operator is returned
-                probalisticCost.add(this.optimizationContext.getOperatorContext(operator).getCostEstimate());
+                probalisticCost.add(operatorContext.getCostEstimate());
                 probalisticCost.add(new ProbabilisticDoubleInterval(0f, 0f, 0f));
-                squashedCost.add(this.optimizationContext.getOperatorContext(operator).getSquashedCostEstimate());
+                squashedCost.add(operatorContext.getSquashedCostEstimate());
                 squashedCost.add(.0);
-                Tuple<List<ProbabilisticDoubleInterval>,List<Double>> returnedCost = new Tuple(probalisticCost, squashedCost) ;
-                this.calculatedParallelOperatorCostCache.add(new Tuple(operator,returnedCost));
-                return returnedCost;
             } else if (inputOperators.size() == 1) {
                 // If there is only one input operator the cost of the current operator plus the cost of the input operator is returned
+                final Tuple<List<ProbabilisticDoubleInterval>, List<Double>> inputCost =
+                        this.getParallelOperatorJunctionAllCostEstimate(inputOperators.iterator().next());
+                final Junction junction = inputJunction.iterator().next();
+                final OptimizationContext junctionOptimizationContext = this.optimizationContext.getDefaultOptimizationContexts().get(0);
 
                 // Get the operator probalistic cost and put it as a first element in probalisticCost
-                probalisticCost.add(this.optimizationContext.getOperatorContext(operator).getCostEstimate()
-                        .plus(this.getParallelOperatorJunctionAllCostEstimate(inputOperators.iterator().next()).field0.get(0)));
+                probalisticCost.add(operatorContext.getCostEstimate().plus(inputCost.field0.get(0)));
                 // Get the junction probalistic cost and put it as a second element in probalisticCost
-                probalisticCost.add(inputJunction.iterator().next().getCostEstimate(this.optimizationContext.getDefaultOptimizationContexts().get(0))
-                        .plus(this.getParallelOperatorJunctionAllCostEstimate(inputOperators.iterator().next()).field0.get(1)));
+                probalisticCost.add(junction.getCostEstimate(junctionOptimizationContext).plus(inputCost.field0.get(1)));
                 // Get the operator squashed cost and put it as a first element in squashedCost
-                squashedCost.add(this.optimizationContext.getOperatorContext(operator).getSquashedCostEstimate()
-                        + this.getParallelOperatorJunctionAllCostEstimate(inputOperators.iterator().next()).field1.get(0));
+                squashedCost.add(operatorContext.getSquashedCostEstimate() + inputCost.field1.get(0));
                 // Get the junction squashed cost and put it as a second element in squashedCost
-                squashedCost.add(inputJunction.iterator().next().getSquashedCostEstimate(this.optimizationContext.getDefaultOptimizationContexts().get(0))
-                        + this.getParallelOperatorJunctionAllCostEstimate(inputOperators.iterator().next()).field1.get(1));
-
-                Tuple<List<ProbabilisticDoubleInterval>,List<Double>> returnedCost = new Tuple(probalisticCost, squashedCost) ;
-                this.calculatedParallelOperatorCostCache.add(new Tuple(operator,returnedCost));
-                return returnedCost;
+                squashedCost.add(junction.getSquashedCostEstimate(junctionOptimizationContext) + inputCost.field1.get(1));
             } else {
                 // If multiple input operators, the cost returned is the max of input operators
                 ProbabilisticDoubleInterval maxControlProbabilistic = new ProbabilisticDoubleInterval(0f, 0f, 0f);
@@ -738,8 +743,8 @@ public class PlanImplementation {
                 double maxControlSquash = 0;
                 double maxJunctionSquash = 0;
 
-                for (Iterator<Operator> op = inputOperators.iterator(); op.hasNext(); ) {
-                    Tuple<List<ProbabilisticDoubleInterval>, List<Double>> val = this.getParallelOperatorJunctionAllCostEstimate(op.next());
+                for (Operator inputOperator : inputOperators) {
+                    Tuple<List<ProbabilisticDoubleInterval>, List<Double>> val = this.getParallelOperatorJunctionAllCostEstimate(inputOperator);
                     List<ProbabilisticDoubleInterval> valProbalistic = val.field0;
                     List<Double> valSquash = val.field1;
                     // Take the max of the probalistic cost
@@ -758,36 +763,59 @@ public class PlanImplementation {
                         maxJunctionSquash = valSquash.get(1);
                     }
                 }
+                final Junction junction = inputJunction.iterator().next();
+                final OptimizationContext junctionOptimizationContext = this.optimizationContext.getDefaultOptimizationContexts().get(0);
+
                 // Get the operator probalistic cost and put it as a first element in probalisticCost
-                probalisticCost.add(this.optimizationContext.getOperatorContext(operator).getCostEstimate().plus(maxControlProbabilistic));
+                probalisticCost.add(operatorContext.getCostEstimate().plus(maxControlProbabilistic));
                 // Get the junction probalistic cost and put it as a second element in probalisticCost
-                probalisticCost.add(inputJunction.iterator().next().getCostEstimate(this.optimizationContext.getDefaultOptimizationContexts().get(0))
-                        .plus(maxJunctionProbabilistic));
+                probalisticCost.add(junction.getCostEstimate(junctionOptimizationContext).plus(maxJunctionProbabilistic));
                 // Get the operator squashed cost and put it as a first element in squashedCost
-                squashedCost.add(this.optimizationContext.getOperatorContext(operator).getSquashedCostEstimate()
-                        + maxControlSquash);
+                squashedCost.add(operatorContext.getSquashedCostEstimate() + maxControlSquash);
                 // Get the junction squashed cost and put it as a second element in squashedCost
-                squashedCost.add(inputJunction.iterator().next().getSquashedCostEstimate(this.optimizationContext.getDefaultOptimizationContexts().get(0))
-                        + maxJunctionSquash);
-
-                Tuple<List<ProbabilisticDoubleInterval>,List<Double>> returnedCost = new Tuple(probalisticCost, squashedCost) ;
-                this.calculatedParallelOperatorCostCache.add(new Tuple(operator,returnedCost));
-                return returnedCost;
+                squashedCost.add(junction.getSquashedCostEstimate(junctionOptimizationContext) + maxJunctionSquash);
             }
         } else {
             // Handle the case of a control not defined in this.operators (exp: loop operators)
-            double controlSquash = 0;
-            double junctionSquash = 0;
-            ProbabilisticDoubleInterval controlProbabilistic = new ProbabilisticDoubleInterval(0f, 0f, 0f);
-            ProbabilisticDoubleInterval junctionProbabilistic = new ProbabilisticDoubleInterval(0f, 0f, 0f);
+            probalisticCost.add(new ProbabilisticDoubleInterval(0f, 0f, 0f));
+            probalisticCost.add(new ProbabilisticDoubleInterval(0f, 0f, 0f));
+            squashedCost.add(.0);
+            squashedCost.add(.0);
+        }
 
-            probalisticCost.add(controlProbabilistic);
-            probalisticCost.add(junctionProbabilistic);
-            squashedCost.add(controlSquash);
-            squashedCost.add(junctionSquash);
+        returnedCost = new Tuple<>(probalisticCost, squashedCost);
+        this.calculatedParallelOperatorCostCache.put(operator, returnedCost);
+        return returnedCost;
+    }
 
-            return new Tuple<>(probalisticCost,squashedCost);
+    /**
+     * Looks up the {@link Junction}s that feed the given {@link Operator} via the {@link #inputJunctionIndex}.
+     *
+     * @param operator whose input {@link Junction}s are requested
+     * @return the input {@link Junction}s
+     */
+    private Set<Junction> getInputJunctions(Operator operator) {
+        if (this.inputJunctionIndex == null) {
+            this.inputJunctionIndex = new IdentityHashMap<>(this.junctions.size());
+            for (Junction junction : this.junctions.values()) {
+                for (int targetIndex = 0; targetIndex < junction.getNumTargets(); targetIndex++) {
+                    this.inputJunctionIndex
+                            .computeIfAbsent(junction.getTargetOperator(targetIndex), key -> new LinkedHashSet<>(2))
+                            .add(junction);
+                }
+            }
         }
+        return this.inputJunctionIndex.getOrDefault(operator, Collections.emptySet());
+    }
+
+    /**
+     * Discards the {@link #inputJunctionIndex} and all cost caches that depend on the {@link #junctions}.
+     */
+    private void invalidateJunctionCaches() {
+        this.inputJunctionIndex = null;
+        this.calculatedParallelOperatorCostCache.clear();
+        this.parallelCostEstimateCache = null;
+        this.squashedCostEstimateCache = this.squashedCostEstimateWithoutOverheadCache = Double.NaN;
     }
 
     /**
@@ -880,6 +908,7 @@ public class PlanImplementation {
         final Junction oldValue = junction == null ?
                 this.junctions.remove(output) :
                 this.junctions.put(output, junction);
+        this.invalidateJunctionCaches();
         if (oldValue != null) {
             logger.warn("Replaced {} with {}.", oldValue, junction);
         }
@@ -197,6 +197,7 @@ public class StageAssignmentTraversal extends OneTimeExecutable {
                     // At this point, we know that we are re-optimizing because the producer was already executed and
                     // is therefore not visited.
                     final ExecutionTask producer = inputChannel.getProducer();
+                    this.adoptExecutionStageLoop(producer.getStage());
 
                     // We need to see, if we must re-use the PlatformExecution of the producer.
                     // Most important seeds are those that might need to use an existing PlatformExecution:
@@ -230,6 +231,20 @@ public class StageAssignmentTraversal extends OneTimeExecutable {
         assert relevantTasks.stream().allMatch(this.assignedInterimStages::containsKey);
     }
 
+    /**
+     * Registers the {@link ExecutionStageLoop} of an already existing {@link ExecutionStage}, so that new
+     * {@link ExecutionStage}s in the same {@link LoopSubplan} join it. This happens when a loop body is re-planned
+     * on top of its already executed loop head.
+     *
+     * @param existingStage the existing {@link ExecutionStage}
+     */
+    private void adoptExecutionStageLoop(ExecutionStage existingStage) {
+        final ExecutionStageLoop loop = existingStage.getLoop();
+        if (loop != null) {
+            this.stageLoops.putIfAbsent(loop.getLoopSubplan(), loop);
+        }
+    }
+
     /**
      * Determines whether the {@code task} should reuse the {@link PlatformExecution} of the {@code producer}.
      *
@@ -306,6 +321,11 @@ public class StageAssignmentTraversal extends OneTimeExecutable {
                 expandableStage.setOutbound(task);
             }
             for (ExecutionTask consumer : channel.getConsumers()) {
+                // Do not touch already executed ExecutionTasks.
+                if (consumer.getStage() != null) {
+                    this.adoptExecutionStageLoop(consumer.getStage());
+                    continue;
+                }
                 final InterimStage assignedStage = this.assignedInterimStages.get(consumer);
                 if (assignedStage == null) {
                     this.handleTaskWithoutPlatformExecution(consumer, /*channel.isExecutionBreaker() ? null : */ expandableStage);
@@ -322,6 +342,7 @@ public class StageAssignmentTraversal extends OneTimeExecutable {
             if (!this.shouldVisitProducerOf(channel)) continue;
             final ExecutionTask producer = channel.getProducer();
             assert producer != null;
+            if (producer.getStage() != null) continue;
             final InterimStage assignedStage = this.assignedInterimStages.get(producer);
             if (assignedStage == null) {
                 this.handleTaskWithoutPlatformExecution(producer, /*channel.isExecutionBreaker() ? null : */expandableStage);
@@ -622,10 +643,25 @@ public class StageAssignmentTraversal extends OneTimeExecutable {
             this.assembleExecutionPlan(finalStages, null, sinkTask, new HashSet<>());
         }
         final ExecutionPlan executionPlan = new ExecutionPlan();
-        finalStages.values().stream().filter(ExecutionStage::isStartingStage).forEach(executionPlan::addStartingStage);
+        finalStages.values().stream()
+                .filter(stage -> stage.isStartingStage() || isDetachedLoopHead(stage))
+                .forEach(executionPlan::addStartingStage);
         return executionPlan;
     }
 
+    /**
+     * Tells whether the given {@link ExecutionStage} is a loop head whose only predecessors are its feedback
+     * {@link ExecutionStage}s. This happens when a loop is (re-)planned on top of already executed
+     * {@link ExecutionStage}s that provide the loop inputs.
+     *
+     * @param stage the {@link ExecutionStage} to check
+     * @return whether the {@link ExecutionStage} is such a loop head
+     */
+    private static boolean isDetachedLoopHead(ExecutionStage stage) {
+        return stage.isLoopHead() && stage.getPredecessors().stream()
+                .allMatch(predecessor -> predecessor.getLoop() == stage.getLoop());
+    }
+
     /**
      * Creates {@link ExecutionStage}s and connects them.
      *
@@ -662,6 +698,15 @@ public class StageAssignmentTraversal extends OneTimeExecutable {
             }
         }
 
+        // Connect to already existing ExecutionStages, e.g., loop heads whose loop bodies are re-planned.
+        for (Channel channel : currentExecutionTask.getOutputChannels()) {
+            for (ExecutionTask consumer : channel.getConsumers()) {
+                if (!this.assignedInterimStages.containsKey(consumer) && consumer.getStage() != null) {
+                    executionStage.addSuccessor(consumer.getStage());
+                }
+            }
+        }
+
     }
 
     /**
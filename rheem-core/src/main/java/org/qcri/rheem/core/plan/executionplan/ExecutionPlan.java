@@ -107,7 +107,16 @@ public class ExecutionPlan {
                     openChannels.add(channel);
                 }
             }
+            // Detach inputs that are produced by scrapped ExecutionStages, e.g., feedbacks to loop heads.
+            for (ExecutionTask task : stage.getAllTasks()) {
+                for (Channel channel : task.getInputChannels()) {
+                    if (channel != null && !retainableStages.contains(channel.getProducer().getStage())) {
+                        task.removeInputChannel(channel);
+                    }
+                }
+            }
             stage.retainSuccessors(retainableStages);
+            stage.retainPredecessors(retainableStages);
             stage.getPlatformExecution().retain(retainableStages);
         }
         return openChannels;
@@ -372,4 +372,14 @@ public class ExecutionStage {
         }
     }
 
+    public void retainPredecessors(Set<ExecutionStage> retainableStages) {
+        for (Iterator<ExecutionStage> i = this.predecessors.iterator(); i.hasNext(); ) {
+            final ExecutionStage predecessor = i.next();
+            if (!retainableStages.contains(predecessor)) {
+                i.remove();
+                predecessor.successors.remove(this);
+            }
+        }
+    }
+
 }
@@ -2,6 +2,7 @@ package org.qcri.rheem.core.platform;
 
 import org.qcri.rheem.core.api.Configuration;
 import org.qcri.rheem.core.api.Job;
+import org.qcri.rheem.core.api.exception.RheemException;
 import org.qcri.rheem.core.optimizer.OptimizationContext;
 import org.qcri.rheem.core.plan.executionplan.*;
 import org.qcri.rheem.core.plan.rheemplan.InputSlot;
@@ -15,7 +16,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 /**
  * Executes a (cross-platform) {@link ExecutionPlan}.
@@ -66,6 +70,12 @@ public class CrossPlatformExecutor implements ExecutionState {
      */
     private final Map<ExecutionStageLoop, ExecutionStageLoopContext> loopContexts = new HashMap<>();
 
+    /**
+     * Keeps track of the {@link OptimizationContext} of the latest iteration of each {@link ExecutionStageLoop}
+     * whose loop body has been entered. Such iterations are not interrupted anymore.
+     */
+    private final Map<ExecutionStageLoop, OptimizationContext> enteredIterations = new HashMap<>();
+
     /**
      * Marks {@link Channel}s for instrumentation.
      */
@@ -88,7 +98,8 @@ public class CrossPlatformExecutor implements ExecutionState {
     private final Set<ExecutionResource> globalResources = new HashSet<>(2);
 
     /**
-     * Keeps track of {@link ChannelInstance}s so as to reuse them among {@link Executor} runs.
+     * Keeps track of {@link ChannelInstance}s so as to reuse them among {@link Executor} runs. Guarded by itself,
+     * because {@link ParallelExecutionThread}s access it concurrently.
      */
     private final Map<Channel, ChannelInstance> channelInstances = new HashMap<>();
 
@@ -98,14 +109,14 @@ public class CrossPlatformExecutor implements ExecutionState {
     private final Collection<PartialExecution> partialExecutions = new LinkedList<>();
 
     /**
-     * Gathers {@link ParallelExecutionThread}s created during parallel execution.
+     * Gathers the {@link Future}s of the {@link ParallelExecutionThread}s submitted during parallel execution.
      */
-    private final ArrayList<Thread> parallelExecutionThreads = new ArrayList<>();
+    private final List<Future<?>> parallelExecutionThreads = new ArrayList<>();
 
     /**
-     * Keeps track of the completed {@link ParallelExecutionThread}s created during parallel execution.
+     * Provides threads to this instance and its {@link Executor}s. Lazily initialized.
      */
-    private volatile int completedThreads;
+    private ExecutionThreadPools threadPools;
 
     public CrossPlatformExecutor(Job job, InstrumentationStrategy instrumentationStrategy) {
         this.job = job;
@@ -135,6 +146,7 @@ public class CrossPlatformExecutor implements ExecutionState {
      * @param optimizationContext contains additional optimization info for the {@code executionPlan}
      */
     public void prepare(ExecutionPlan executionPlan, OptimizationContext optimizationContext) {
+        final Collection<StageActivator> prevSuspendedStages = new ArrayList<>(this.suspendedStages);
         this.allStages.clear();
         this.activatedStageActivators.clear();
         this.suspendedStages.clear();
@@ -143,7 +155,17 @@ public class CrossPlatformExecutor implements ExecutionState {
         this.allStages.addAll(executionPlan.getStages());
         new ArrayList<>(this.pendingStageActivators.keySet()).stream()
                 .filter(stage -> !this.allStages.contains(stage))
-                .forEach(this.pendingStageActivators::remove);
+                .map(this.pendingStageActivators::remove)
+                .forEach(StageActivator::dispose);
+
+        // ExecutionStages that have been planned into a loop at an iteration boundary continue that iteration.
+        final Map<ExecutionStageLoop, OptimizationContext> suspendedIterationContexts = new HashMap<>();
+        for (StageActivator suspendedActivator : prevSuspendedStages) {
+            final ExecutionStageLoop loop = suspendedActivator.getStage().getLoop();
+            if (loop != null) {
+                suspendedIterationContexts.putIfAbsent(loop, suspendedActivator.getOptimizationContext());
+            }
+        }
 
         // Create StageActivators for all ExecutionStages.
         for (ExecutionStage stage : this.allStages) {
@@ -151,10 +173,28 @@ public class CrossPlatformExecutor implements ExecutionState {
             if (this.completedStages.contains(stage)) continue;
             final StageActivator activator = this.getOrCreateActivator(
                     stage,
-                    () -> this.determineInitialOptimizationContext(stage, optimizationContext)
+                    () -> {
+                        final OptimizationContext iterationContext = suspendedIterationContexts.get(stage.getLoop());
+                        return iterationContext != null ?
+                                iterationContext :
+                                this.determineInitialOptimizationContext(stage, optimizationContext);
+                    }
             );
             this.tryToActivate(activator);
         }
+
+        // ExecutionStages that have been suspended at an iteration boundary have already been executed in a previous
+        // iteration, but their StageActivators still carry the inputs for the current iteration. Resume them unless
+        // they have been re-planned and release all others. Note that we release them only now, so that the
+        // ExecutionStageLoopContexts are retained by the new StageActivators.
+        for (StageActivator suspendedActivator : prevSuspendedStages) {
+            final ExecutionStage stage = suspendedActivator.getStage();
+            if (this.completedStages.contains(stage) && this.allStages.contains(stage)) {
+                this.activatedStageActivators.add(suspendedActivator);
+            } else {
+                suspendedActivator.dispose();
+            }
+        }
     }
 
     /**
@@ -209,6 +249,9 @@ public class CrossPlatformExecutor implements ExecutionState {
      */
 
     private void executeSingleStage(boolean isBreakpointsDisabled, StageActivator stageActivator) {
+        // Do not start any further stages once the Job has been cancelled.
+        this.checkInterruption();
+
         // Check if #breakpoint permits the execution.
         if (!isBreakpointsDisabled && this.suspendIfBreakpointRequest(stageActivator)) {
             return;
@@ -224,15 +267,25 @@ public class CrossPlatformExecutor implements ExecutionState {
         stageActivator.dispose();
 
         // Dispose obsolete ChannelInstances.
-        final Iterator<Map.Entry<Channel, ChannelInstance>> iterator = this.channelInstances.entrySet().iterator();
-        while (iterator.hasNext()) {
-            final Map.Entry<Channel, ChannelInstance> channelInstanceEntry = iterator.next();
-            final ChannelInstance channelInstance = channelInstanceEntry.getValue();
+        this.disposeObsoleteChannelInstances();
+    }
 
-            // If this is instance is the only one to still use this ChannelInstance, discard it.
-            if (channelInstance.getNumReferences() == 1) {
-                channelInstance.noteDiscardedReference(true);
-                iterator.remove();
+    /**
+     * Disposes all {@link ChannelInstance}s in {@link #channelInstances} that are not referenced by anything but
+     * this instance. Note that {@link ParallelExecutionThread}s might do so concurrently.
+     */
+    private void disposeObsoleteChannelInstances() {
+        synchronized (this.channelInstances) {
+            final Iterator<Map.Entry<Channel, ChannelInstance>> iterator = this.channelInstances.entrySet().iterator();
+            while (iterator.hasNext()) {
+                final Map.Entry<Channel, ChannelInstance> channelInstanceEntry = iterator.next();
+                final ChannelInstance channelInstance = channelInstanceEntry.getValue();
+
+                // If this is instance is the only one to still use this ChannelInstance, discard it.
+                if (channelInstance.getNumReferences() == 1) {
+                    channelInstance.noteDiscardedReference(true);
+                    iterator.remove();
+                }
             }
         }
     }
@@ -247,26 +300,61 @@ public class CrossPlatformExecutor implements ExecutionState {
         // Create execution threads
         for (int i = 1; i <= numActiveStages; ++i) {
             // TODO: Better pass the stage to the thread rather than letting the thread retrieve the stage itself (to avoid concurrency issues).
-            Thread thread = new Thread(new ParallelExecutionThread(isBreakpointsDisabled, "T" + String.valueOf(i), this));
-            // Start thread execution
-            thread.start();
-            this.parallelExecutionThreads.add(thread);
+            this.submitParallelExecutionThread(new ParallelExecutionThread(isBreakpointsDisabled, "T" + String.valueOf(i), this));
         }
 
-        //Join all created threads
-        for (Thread t : this.parallelExecutionThreads) {
+        // Join all created threads. Note that they might submit further threads in the meantime.
+        for (int i = 0; ; i++) {
+            final Future<?> future;
+            synchronized (this.parallelExecutionThreads) {
+                if (i >= this.parallelExecutionThreads.size()) break;
+                future = this.parallelExecutionThreads.get(i);
+            }
             try {
-                t.join();
+                future.get();
             } catch (InterruptedException e) {
-                CrossPlatformExecutor.this.logger.error("Thread Interrupted!", e);
+                // The Job has been cancelled, so stop the other threads, too.
+                this.cancelParallelExecutionThreads();
+                Thread.currentThread().interrupt();
+                throw new RheemException(String.format("Execution of %s has been cancelled.", this.job), e);
+            } catch (ExecutionException e) {
+                // The Job has failed, so stop the other threads, too.
+                this.cancelParallelExecutionThreads();
+                final Throwable cause = e.getCause();
+                if (cause instanceof RheemException) throw (RheemException) cause;
+                throw new RheemException(String.format("Parallel execution of %s failed.", this.job), cause);
             }
         }
 
         // Clear the list of created threads
-        parallelExecutionThreads.clear();
+        synchronized (this.parallelExecutionThreads) {
+            this.parallelExecutionThreads.clear();
+        }
         CrossPlatformExecutor.this.logger.info("Parallel execution ended!");
     }
 
+    /**
+     * Cancels all {@link ParallelExecutionThread}s that have been submitted.
+     */
+    private void cancelParallelExecutionThreads() {
+        synchronized (this.parallelExecutionThreads) {
+            this.parallelExecutionThreads.forEach(thread -> thread.cancel(true));
+            this.parallelExecutionThreads.clear();
+        }
+    }
+
+    /**
+     * Runs the given {@link ParallelExecutionThread} in the {@link ExecutionThreadPools.Kind#BLOCKING} pool.
+     *
+     * @param parallelExecutionThread that should be run
+     */
+    private void submitParallelExecutionThread(ParallelExecutionThread parallelExecutionThread) {
+        final Future<?> future = this.getThreadPools().getBlockingPool().submit(parallelExecutionThread);
+        synchronized (this.parallelExecutionThreads) {
+            this.parallelExecutionThreads.add(future);
+        }
+    }
+
     /**
      * Activate and execute {@link ExecutionStage}s as far as possible.
      */
@@ -311,6 +399,17 @@ public class CrossPlatformExecutor implements ExecutionState {
         assert numExecutedStages > 0 : "Did not execute a single stage.";
     }
 
+    /**
+     * Makes sure that the current thread has not been interrupted, e.g., because the {@link #job} has been cancelled.
+     *
+     * @throws RheemException if the current thread has been interrupted
+     */
+    private void checkInterruption() throws RheemException {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new RheemException(String.format("Execution of %s has been cancelled.", this.job));
+        }
+    }
+
     /**
      * If the {@link #breakpoint} requests not to execute the given {@link ExecutionStage}, put it to
      * {@link #suspendedStages}.
@@ -319,7 +418,8 @@ public class CrossPlatformExecutor implements ExecutionState {
      * @return whether the {@link ExecutionStage} was suspended
      */
     private boolean suspendIfBreakpointRequest(StageActivator stageActivator) {
-        if (!this.breakpoint.permitsExecutionOf(stageActivator.getStage(), this, this.job.getOptimizationContext())) {
+        if (this.isInEnteredIteration(stageActivator)) return false;
+        if (!this.breakpoint.permitsExecutionOf(stageActivator.getStage(), this, stageActivator.getOptimizationContext())) {
             this.suspendedStages.add(stageActivator);
             return true;
         }
@@ -350,25 +450,50 @@ public class CrossPlatformExecutor implements ExecutionState {
         CrossPlatformExecutor.this.logger.info("Executed {} in {}.", stage, Formats.formatDuration(finishTime - startTime, true));
 
         // Remember that we have executed the stage.
-        this.completedStages.add(stage);
+        synchronized (this.completedStages) {
+            this.completedStages.add(stage);
+        }
+        if (stage.getLoop() != null && !stage.isLoopHead()) {
+            synchronized (this.enteredIterations) {
+                this.enteredIterations.put(stage.getLoop(), optimizationContext);
+            }
+        }
 
         if (stage.isLoopHead()) {
             this.getOrCreateLoopContext(stage.getLoop()).scrapPreviousTransitionContext();
         }
     }
 
+    /**
+     * Tells whether the given {@link StageActivator} belongs to an iteration of an {@link ExecutionStageLoop}, whose
+     * loop body has already been entered. Such an iteration should be completed in a single go.
+     *
+     * @param stageActivator the {@link StageActivator}
+     * @return whether the iteration has been entered
+     */
+    private boolean isInEnteredIteration(StageActivator stageActivator) {
+        final ExecutionStage stage = stageActivator.getStage();
+        if (stage.getLoop() == null || stage.isLoopHead()) return false;
+        synchronized (this.enteredIterations) {
+            return this.enteredIterations.get(stage.getLoop()) == stageActivator.getOptimizationContext();
+        }
+    }
+
     private Executor getOrCreateExecutorFor(ExecutionStage stage) {
-        return this.executors.computeIfAbsent(
-                stage.getPlatformExecution().getPlatform(),
-                platform -> {
-                    // It is important to register the Executor. This way, we ensure that it will also not be disposed
-                    // among disconnected PlatformExecutions. The downside is, that we only remove it, once the
-                    // execution is done.
-                    final Executor executor = platform.getExecutorFactory().create(this.job);
-                    this.registerGlobal(executor);
-                    return executor;
-                }
-        );
+        // Note that ParallelExecutionThreads might request Executors concurrently.
+        synchronized (this.executors) {
+            return this.executors.computeIfAbsent(
+                    stage.getPlatformExecution().getPlatform(),
+                    platform -> {
+                        // It is important to register the Executor. This way, we ensure that it will also not be disposed
+                        // among disconnected PlatformExecutions. The downside is, that we only remove it, once the
+                        // execution is done.
+                        final Executor executor = platform.getExecutorFactory().create(this.job);
+                        this.registerGlobal(executor);
+                        return executor;
+                    }
+            );
+        }
     }
 
     /**
@@ -480,7 +605,9 @@ public class CrossPlatformExecutor implements ExecutionState {
     public ChannelInstance getChannelInstance(Channel channel, boolean isPeekingToNextTransition) {
         final ExecutionStageLoop loop = getExecutionStageLoop(channel);
         if (loop == null) {
-            return this.channelInstances.get(channel);
+            synchronized (this.channelInstances) {
+                return this.channelInstances.get(channel);
+            }
         } else {
             final ExecutionStageLoopContext loopContext = this.getOrCreateLoopContext(loop);
             return loopContext.getChannelInstance(channel, isPeekingToNextTransition);
@@ -509,10 +636,12 @@ public class CrossPlatformExecutor implements ExecutionState {
     public void register(ChannelInstance channelInstance) {
         final ExecutionStageLoop loop = getExecutionStageLoop(channelInstance.getChannel());
         if (loop == null) {
-            final ChannelInstance oldChannelInstance = this.channelInstances.put(channelInstance.getChannel(), channelInstance);
-            channelInstance.noteObtainedReference();
-            if (oldChannelInstance != null) {
-                oldChannelInstance.noteDiscardedReference(true);
+            synchronized (this.channelInstances) {
+                final ChannelInstance oldChannelInstance = this.channelInstances.put(channelInstance.getChannel(), channelInstance);
+                channelInstance.noteObtainedReference();
+                if (oldChannelInstance != null) {
+                    oldChannelInstance.noteDiscardedReference(true);
+                }
             }
         } else {
             final ExecutionStageLoopContext loopContext = this.getOrCreateLoopContext(loop);
@@ -527,16 +656,20 @@ public class CrossPlatformExecutor implements ExecutionState {
      * @param resource that should be registered
      */
     public void registerGlobal(ExecutionResource resource) {
-        if (this.globalResources.add(resource)) {
-            resource.noteObtainedReference();
-        } else {
-            this.logger.warn("Registered {} twice.", resource);
+        synchronized (this.globalResources) {
+            if (this.globalResources.add(resource)) {
+                resource.noteObtainedReference();
+            } else {
+                this.logger.warn("Registered {} twice.", resource);
+            }
         }
     }
 
     @Override
     public void addCardinalityMeasurement(ChannelInstance channelInstance) {
-        this.cardinalityMeasurements.add(channelInstance);
+        synchronized (this.cardinalityMeasurements) {
+            this.cardinalityMeasurements.add(channelInstance);
+        }
     }
 
     @Override
@@ -572,18 +705,58 @@ public class CrossPlatformExecutor implements ExecutionState {
     }
 
     /**
-     * Allows to inhibit changes to the {@link ExecutionPlan}, such as on re-optimization.
+     * Allows to inhibit changes to the {@link ExecutionPlan}, such as on re-optimization. This is the case while
+     * any {@link ExecutionStageLoop} is in the middle of an iteration, i.e., it is not finished and none of its
+     * {@link ExecutionStage}s is suspended.
      *
      * @return whether this instance is vetoing on changes
      */
     public boolean isVetoingPlanChanges() {
-        return !this.loopContexts.isEmpty();
+        return this.loopContexts.keySet().stream()
+                .filter(loop -> !loop.getLoopHead().isInFinishedLoop())
+                .anyMatch(loop -> this.suspendedStages.stream().noneMatch(
+                        suspendedActivator -> suspendedActivator.getStage().getLoop() == loop
+                ));
+    }
+
+    /**
+     * Determines the {@link ExecutionStageLoop}s whose loop body has been suspended at an iteration boundary, i.e.,
+     * after their loop head has been executed for the upcoming iteration. Their loop bodies can be re-planned.
+     *
+     * @return the {@link ExecutionStageLoop}s
+     * @see IterationBreakpoint
+     */
+    public Set<ExecutionStageLoop> getLoopsAtIterationBoundary() {
+        return this.suspendedStages.stream()
+                .map(StageActivator::getStage)
+                .filter(stage -> stage.getLoop() != null && !stage.isLoopHead() && this.completedStages.contains(stage))
+                .map(ExecutionStage::getLoop)
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Provides the {@link ExecutionThreadPools} for the execution of the {@link Job}. They are registered as a global
+     * {@link ExecutionResource} and thus shut down along with this instance.
+     *
+     * @return the {@link ExecutionThreadPools}
+     */
+    public ExecutionThreadPools getThreadPools() {
+        synchronized (this.globalResources) {
+            if (this.threadPools == null) {
+                this.threadPools = new ExecutionThreadPools(this.getConfiguration(), String.valueOf(this.job.getName()));
+                this.registerGlobal(this.threadPools);
+            }
+            return this.threadPools;
+        }
     }
 
     public void shutdown() {
         // Release global resources.
-        this.globalResources.forEach(resource -> resource.noteDiscardedReference(true));
-        this.globalResources.clear();
+        synchronized (this.globalResources) {
+            this.globalResources.forEach(resource -> resource.noteDiscardedReference(true));
+            this.globalResources.clear();
+            this.threadPools = null;
+        }
     }
 
     /**
@@ -750,12 +923,15 @@ public class CrossPlatformExecutor implements ExecutionState {
                 // Check if the ChannelInstance is already known.
                 if (this.inputChannelInstances.containsKey(channel)) continue;
 
-                // Otherwise, check if it is available now.
-                final ChannelInstance channelInstance = CrossPlatformExecutor.this.getChannelInstance(channel, isFeedback);
+                // Otherwise, check if it is available now. If so, reference it right away, so that it is not disposed
+                // concurrently (see #disposeObsoleteChannelInstances()).
+                final ChannelInstance channelInstance;
+                synchronized (CrossPlatformExecutor.this.channelInstances) {
+                    channelInstance = CrossPlatformExecutor.this.getChannelInstance(channel, isFeedback);
+                    if (channelInstance != null) channelInstance.noteObtainedReference();
+                }
                 if (channelInstance != null) {
-                    // If so, reference it.
                     this.inputChannelInstances.put(channel, channelInstance);
-                    channelInstance.noteObtainedReference();
 
                     // Also, check if this is a loop invariant input.
                     if (this.loopInvariantInboundChannels.contains(channel)) {
@@ -995,8 +1171,8 @@ public class CrossPlatformExecutor implements ExecutionState {
 
     /**
      * Executes {@link ExecutionStage}s in parallel threads
-     * It continues to live as long as there is a {@link ExecutionStage} activated after first {@link ExecutionStage} execution and another running {@link ParallelExecutionThread}s,
-     * if multiple {@link ExecutionStage} are activated it will create new threads to execute new {@link ExecutionStage} in recursive manner
+     * It continues to live as long as there is a {@link ExecutionStage} activated after first {@link ExecutionStage} execution,
+     * if multiple {@link ExecutionStage} are activated it will submit new threads to the {@link ExecutionThreadPools.Kind#BLOCKING} pool to execute new {@link ExecutionStage} in recursive manner
      */
 
     private class ParallelExecutionThread implements Runnable {
@@ -1035,6 +1211,9 @@ public class CrossPlatformExecutor implements ExecutionState {
             this.crossPlatformExecutor.logger.info("Thread " + String.valueOf(this.threadId) + " started");
             // Loop until there is no activated stage or only one thread running
             do {
+                // Do not start any further stages once the Job has been cancelled.
+                this.crossPlatformExecutor.checkInterruption();
+
                 // Get the stageActivator for the stage to execute
                 synchronized (this.crossPlatformExecutor) {
                     stageActivator = this.crossPlatformExecutor.activatedStageActivators.poll();
@@ -1071,7 +1250,9 @@ public class CrossPlatformExecutor implements ExecutionState {
                     CrossPlatformExecutor.this.logger.info("Executed {} in {}.", stage, Formats.formatDuration(finishTime - startTime, true));
 
                     // Remember that we have executed the stage.
-                    this.crossPlatformExecutor.completedStages.add(stage);
+                    synchronized (this.crossPlatformExecutor.completedStages) {
+                        this.crossPlatformExecutor.completedStages.add(stage);
+                    }
                     if (stage.isLoopHead()) {
                         this.crossPlatformExecutor.getOrCreateLoopContext(stage.getLoop()).scrapPreviousTransitionContext();
                     }
@@ -1083,18 +1264,7 @@ public class CrossPlatformExecutor implements ExecutionState {
                 stageActivator.dispose();
 
                 // Dispose obsolete ChannelInstances.
-                final Iterator<Map.Entry<Channel, ChannelInstance>> iterator = this.crossPlatformExecutor.channelInstances.entrySet().iterator();
-                while (iterator.hasNext()) {
-                    final Map.Entry<Channel, ChannelInstance> channelInstanceEntry = iterator.next();
-                    final ChannelInstance channelInstance = channelInstanceEntry.getValue();
-
-                    // If this is instance is the only one to still use this ChannelInstance, discard it.
-                    if (channelInstance.getNumReferences() == 1) {
-                        channelInstance.noteDiscardedReference(true);
-                        iterator.remove();
-                    }
-
-                }
+                this.crossPlatformExecutor.disposeObsoleteChannelInstances();
 
                 this.crossPlatformExecutor.logger.info(this.threadId + " completed executing Stage : {}:", stageActivator.getStage());
 
@@ -1102,26 +1272,17 @@ public class CrossPlatformExecutor implements ExecutionState {
                 if (CrossPlatformExecutor.this.activatedStageActivators.size() > 1) {
                     // Create new threads other than the existing thread
                     for (int i = 1; i <= CrossPlatformExecutor.this.activatedStageActivators.size() - 1; i++) {
-                        // TODO: Better use Java's ForkJoinPool to reduce thread creation overhead and control concurrency.
-                        // Create parallel stage execution thread
-                        Thread thread = new Thread(new ParallelExecutionThread(this.thread_isBreakpointDisabled, "T" + String.valueOf(i) + "@" + this.threadId, this.crossPlatformExecutor));
-                        thread.start();
-                        synchronized (this.crossPlatformExecutor) {
-                            //Add the created thread to {@link #parallelExecutionThreads}
-                            CrossPlatformExecutor.this.parallelExecutionThreads.add(thread);
-                        }
+                        // Create parallel stage execution thread; it is queued if the pool is exhausted.
+                        this.crossPlatformExecutor.submitParallelExecutionThread(new ParallelExecutionThread(
+                                this.thread_isBreakpointDisabled, "T" + String.valueOf(i) + "@" + this.threadId, this.crossPlatformExecutor
+                        ));
                     }
                 }
 
             }
 
-            // TODO: Do not busy-wait (could be solved with the ForkJoinPool as well).
-            while (CrossPlatformExecutor.this.activatedStageActivators.size() >= 1 &&
-                    CrossPlatformExecutor.this.parallelExecutionThreads.size() - CrossPlatformExecutor.this.completedThreads > 1);
-
-            // Increment a global variable of completed threads
-            // As long as the variable is volatile so there is no concern of race condition
-            CrossPlatformExecutor.this.completedThreads++;
+            // Keep on executing activated stages rather than waiting for another thread to pick them up.
+            while (!CrossPlatformExecutor.this.activatedStageActivators.isEmpty());
 
             // Notify thread ended
             CrossPlatformExecutor.this.logger.info(this.threadId + " ended");
@@ -0,0 +1,238 @@
+package org.qcri.rheem.core.platform;
+
+import org.qcri.rheem.core.api.Configuration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Provides named, bounded thread pools to the execution of a {@link org.qcri.rheem.core.api.Job}, so that
+ * {@link Executor}s and {@link org.qcri.rheem.core.plan.rheemplan.ExecutionOperator}s need not create threads of
+ * their own. The pools are created lazily and shut down when this instance is disposed, i.e., when the
+ * {@link CrossPlatformExecutor} it is registered with is shut down.
+ *
+ * @see CrossPlatformExecutor#getThreadPools()
+ */
+public class ExecutionThreadPools extends ExecutionResourceTemplate {
+
+    /**
+     * Kinds of thread pools provided by instances of this class.
+     */
+    public enum Kind {
+
+        /**
+         * A {@link ForkJoinPool} for computation-heavy, non-blocking work. Its size defaults to the number of
+         * available processors.
+         */
+        CPU("rheem.core.executor.pools.cpu"),
+
+        /**
+         * A pool for work that mostly waits for I/O, e.g., producers that feed an output stream.
+         */
+        IO("rheem.core.executor.pools.io"),
+
+        /**
+         * A pool for work that blocks for longer periods of time, e.g., the concurrent execution of
+         * {@link org.qcri.rheem.core.plan.executionplan.ExecutionStage}s.
+         */
+        BLOCKING("rheem.core.executor.pools.blocking");
+
+        /**
+         * {@link Configuration} key for the maximum number of threads in the pool.
+         */
+        private final String sizeProperty;
+
+        Kind(String sizeProperty) {
+            this.sizeProperty = sizeProperty;
+        }
+
+        public String getSizeProperty() {
+            return this.sizeProperty;
+        }
+
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final Configuration configuration;
+
+    /**
+     * Prefix for the names of the threads of this instance.
+     */
+    private final String name;
+
+    /**
+     * The pools of this instance. Lazily initialized.
+     */
+    private ForkJoinPool cpuPool;
+
+    private ThreadPoolExecutor ioPool, blockingPool;
+
+    /**
+     * Tells whether the pools have been shut down. Guarded by this instance rather than {@link #isDisposed()} to
+     * avoid lock order inversions with the disposal.
+     */
+    private boolean isShutDown = false;
+
+    /**
+     * Counts the created threads per {@link Kind}.
+     */
+    private final Map<Kind, AtomicInteger> numCreatedThreads = new EnumMap<>(Kind.class);
+
+    /**
+     * Creates a new instance.
+     *
+     * @param configuration provides the sizes of the pools
+     * @param name          prefix for the names of the created threads
+     */
+    public ExecutionThreadPools(Configuration configuration, String name) {
+        super(null);
+        this.configuration = configuration;
+        this.name = name;
+        for (Kind kind : Kind.values()) {
+            this.numCreatedThreads.put(kind, new AtomicInteger(0));
+        }
+    }
+
+    /**
+     * Provides the {@link Kind#CPU} pool.
+     *
+     * @return the {@link ForkJoinPool}
+     */
+    public synchronized ForkJoinPool getCpuPool() {
+        assert !this.isShutDown : String.format("%s has been disposed.", this);
+        if (this.cpuPool == null) {
+            this.cpuPool = new ForkJoinPool(this.getPoolSize(Kind.CPU), pool -> {
+                final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                thread.setName(this.createThreadName(Kind.CPU));
+                thread.setDaemon(true);
+                return thread;
+            }, null, false);
+        }
+        return this.cpuPool;
+    }
+
+    /**
+     * Provides the {@link Kind#IO} pool.
+     *
+     * @return the {@link ExecutorService}
+     */
+    public synchronized ExecutorService getIoPool() {
+        assert !this.isShutDown : String.format("%s has been disposed.", this);
+        if (this.ioPool == null) {
+            this.ioPool = this.createThreadPool(Kind.IO);
+        }
+        return this.ioPool;
+    }
+
+    /**
+     * Provides the {@link Kind#BLOCKING} pool.
+     *
+     * @return the {@link ExecutorService}
+     */
+    public synchronized ExecutorService getBlockingPool() {
+        assert !this.isShutDown : String.format("%s has been disposed.", this);
+        if (this.blockingPool == null) {
+            this.blockingPool = this.createThreadPool(Kind.BLOCKING);
+        }
+        return this.blockingPool;
+    }
+
+    /**
+     * Creates a pool with up to {@link #getPoolSize(Kind)} threads that queues tasks when all of them are busy.
+     * Idle threads are released after a while.
+     */
+    private ThreadPoolExecutor createThreadPool(Kind kind) {
+        final int poolSize = this.getPoolSize(kind);
+        final ThreadPoolExecutor pool = new ThreadPoolExecutor(
+                poolSize, poolSize, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                runnable -> {
+                    final Thread thread = new Thread(runnable, this.createThreadName(kind));
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    private String createThreadName(Kind kind) {
+        final int threadNumber = this.numCreatedThreads.get(kind).getAndIncrement();
+        return String.format("%s-%s-%d", this.name, kind.name().toLowerCase(), threadNumber);
+    }
+
+    /**
+     * Determines the maximum number of threads of a pool. Non-positive values for {@link Kind#CPU} resolve to the
+     * number of available processors.
+     *
+     * @param kind of the pool
+     * @return the maximum number of threads
+     */
+    public int getPoolSize(Kind kind) {
+        final long poolSize = this.configuration.getLongProperty(kind.getSizeProperty(), 0);
+        if (poolSize > 0) return (int) poolSize;
+        return kind == Kind.CPU ? Runtime.getRuntime().availableProcessors() : 1;
+    }
+
+    /**
+     * @param kind of a pool
+     * @return the number of threads that have been created for the pool so far
+     */
+    public int getNumCreatedThreads(Kind kind) {
+        return this.numCreatedThreads.get(kind).get();
+    }
+
+    /**
+     * @param kind of a pool other than {@link Kind#CPU}, whose {@link ForkJoinPool} does not count completed tasks
+     * @return the number of tasks that have been completed by the pool so far
+     * @see #getNumStolenCpuTasks()
+     */
+    public synchronized long getNumCompletedTasks(Kind kind) {
+        switch (kind) {
+            case IO:
+                return this.ioPool == null ? 0L : this.ioPool.getCompletedTaskCount();
+            case BLOCKING:
+                return this.blockingPool == null ? 0L : this.blockingPool.getCompletedTaskCount();
+            default:
+                throw new IllegalArgumentException(String.format("Completed tasks are not counted for %s.", kind));
+        }
+    }
+
+    /**
+     * @return the number of tasks that threads of the {@link Kind#CPU} pool have stolen from other threads so far
+     */
+    public synchronized long getNumStolenCpuTasks() {
+        return this.cpuPool == null ? 0L : this.cpuPool.getStealCount();
+    }
+
+    @Override
+    protected synchronized void doDispose() throws Throwable {
+        if (this.logger.isDebugEnabled()) {
+            this.logger.debug("{} created {} {} threads that stole {} tasks.",
+                    this, this.getNumCreatedThreads(Kind.CPU), Kind.CPU, this.getNumStolenCpuTasks());
+            for (Kind kind : new Kind[]{Kind.IO, Kind.BLOCKING}) {
+                this.logger.debug("{} created {} {} threads that completed {} tasks.",
+                        this, this.getNumCreatedThreads(kind), kind, this.getNumCompletedTasks(kind));
+            }
+        }
+        // Pending work is obsolete once the Job is over, so interrupt it.
+        this.isShutDown = true;
+        if (this.cpuPool != null) this.cpuPool.shutdownNow();
+        if (this.ioPool != null) this.ioPool.shutdownNow();
+        if (this.blockingPool != null) this.blockingPool.shutdownNow();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s[%s]", this.getClass().getSimpleName(), this.name);
+    }
+
+}
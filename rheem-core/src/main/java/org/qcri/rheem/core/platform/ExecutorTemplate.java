@@ -58,15 +58,19 @@ public abstract class ExecutorTemplate extends AbstractReferenceCountable implem
 
     @Override
     public void register(ExecutionResource resource) {
-        if (!this.registeredResources.add(resource)) {
-            this.logger.warn("Registered {} twice.", resource);
+        synchronized (this.registeredResources) {
+            if (!this.registeredResources.add(resource)) {
+                this.logger.warn("Registered {} twice.", resource);
+            }
         }
     }
 
     @Override
     public void unregister(ExecutionResource resource) {
-        if (!this.registeredResources.remove(resource)) {
-            this.logger.warn("Could not unregister {}, as it was not registered.", resource);
+        synchronized (this.registeredResources) {
+            if (!this.registeredResources.remove(resource)) {
+                this.logger.warn("Could not unregister {}, as it was not registered.", resource);
+            }
         }
     }
 
@@ -164,7 +168,11 @@ public abstract class ExecutorTemplate extends AbstractReferenceCountable implem
             this.logger.warn("Disposing {} although it is still being referenced.", this);
         }
 
-        for (ExecutionResource resource : new ArrayList<>(this.registeredResources)) {
+        final List<ExecutionResource> resources;
+        synchronized (this.registeredResources) {
+            resources = new ArrayList<>(this.registeredResources);
+        }
+        for (ExecutionResource resource : resources) {
             resource.dispose();
         }
 
@@ -20,7 +20,11 @@ public class FixBreakpoint implements Breakpoint {
     private final Set<ExecutionStage> stagesToSuspend = new HashSet<>();
 
     public FixBreakpoint breakAfter(ExecutionStage stage) {
-        return this.breakBefore(stage.getSuccessors());
+        final boolean isStageSuspended = this.stagesToSuspend.contains(stage);
+        this.breakBefore(stage.getSuccessors());
+        // The successors of loop heads lead back to the stage itself, which should not be suspended nonetheless.
+        if (!isStageSuspended) this.stagesToSuspend.remove(stage);
+        return this;
     }
 
     public FixBreakpoint breakBefore(ExecutionStage stage) {
@@ -0,0 +1,98 @@
+package org.qcri.rheem.core.platform;
+
+import org.qcri.rheem.core.optimizer.OptimizationContext;
+import org.qcri.rheem.core.optimizer.OptimizationUtils;
+import org.qcri.rheem.core.optimizer.cardinality.CardinalityEstimate;
+import org.qcri.rheem.core.plan.executionplan.ExecutionStage;
+import org.qcri.rheem.core.plan.executionplan.ExecutionStageLoop;
+import org.qcri.rheem.core.plan.rheemplan.LoopSubplan;
+import org.qcri.rheem.core.plan.rheemplan.OutputSlot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This {@link Breakpoint} implementation allows to interrupt {@link ExecutionStageLoop}s at iteration boundaries.
+ * <ul>
+ * <li>{@link ExecutionStage}s outside of loops and loop heads that are about to enter their loop are governed by a
+ * delegate {@link Breakpoint}. In the latter case, the loop body has not been executed yet and can thus still be
+ * moved to a different platform.</li>
+ * <li>Loop body {@link ExecutionStage}s that directly follow their loop head in a further iteration request a break
+ * if the measured cardinalities of the preceding iterations are not covered by their {@link CardinalityEstimate}s.
+ * The loop head has then already provided the inputs for the upcoming iteration, so that the loop body can be
+ * re-planned (and moved to a different platform) on top of it.</li>
+ * <li>All other {@link ExecutionStage}s inside of loops are always permitted.</li>
+ * </ul>
+ *
+ * @see NoIterationBreakpoint
+ */
+public class IterationBreakpoint implements Breakpoint {
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final Breakpoint delegate;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param delegate decides on {@link ExecutionStage}s outside of loops and on loop entries
+     */
+    public IterationBreakpoint(Breakpoint delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public boolean permitsExecutionOf(ExecutionStage stage, ExecutionState state, OptimizationContext context) {
+        final ExecutionStageLoop loop = stage.getLoop();
+        if (loop == null) {
+            return this.delegate.permitsExecutionOf(stage, state, context);
+        }
+        if (stage.isLoopHead()) {
+            return context.getLoopContext() != null && !context.isInitialIteration()
+                    || this.delegate.permitsExecutionOf(stage, state, context);
+        }
+        if (context.getLoopContext() == null
+                || context.isInitialIteration()
+                || !stage.getPredecessors().contains(loop.getLoopHead())) {
+            return true;
+        }
+        return !this.isDiverging(loop.getLoopSubplan(), state, context);
+    }
+
+    /**
+     * Checks whether any cardinality measurement of a preceding iteration of the given {@link LoopSubplan} is not
+     * covered by the according {@link CardinalityEstimate}. Measurements of the current iteration are not considered,
+     * so that all loop body {@link ExecutionStage}s of an iteration come to the same conclusion.
+     *
+     * @param loopSubplan      whose measurements should be inspected
+     * @param state            provides the measurements
+     * @param iterationContext {@link OptimizationContext} of the current iteration
+     * @return whether a diverging measurement was found
+     */
+    private boolean isDiverging(LoopSubplan loopSubplan, ExecutionState state, OptimizationContext iterationContext) {
+        for (ChannelInstance channelInstance : state.getCardinalityMeasurements()) {
+            final OptimizationContext.OperatorContext producerOperatorContext = channelInstance.getProducerOperatorContext();
+            if (producerOperatorContext == null) continue;
+            final OptimizationContext producerOptimizationContext = producerOperatorContext.getOptimizationContext();
+            if (producerOptimizationContext == iterationContext
+                    || producerOptimizationContext.getLoopContext() == null
+                    || producerOptimizationContext.getLoopContext().getLoop() != loopSubplan) {
+                continue;
+            }
+
+            final OutputSlot<?> rheemPlanOutput = OptimizationUtils.findRheemPlanOutputSlotFor(channelInstance.getChannel());
+            if (rheemPlanOutput == null) continue;
+            final OptimizationContext.OperatorContext operatorContext =
+                    producerOptimizationContext.getOperatorContext(rheemPlanOutput.getOwner());
+            if (operatorContext == null) continue;
+            final CardinalityEstimate estimate = operatorContext.getOutputCardinality(rheemPlanOutput.getIndex());
+            final long measuredCardinality = channelInstance.getMeasuredCardinality().getAsLong();
+            if (estimate != null
+                    && (measuredCardinality < estimate.getLowerEstimate() || measuredCardinality > estimate.getUpperEstimate())) {
+                this.logger.info("Measured {} items for {}, but estimated {}.", measuredCardinality, rheemPlanOutput, estimate);
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
@@ -14,6 +14,9 @@ import org.qcri.rheem.core.util.JsonSerializables;
 import org.qcri.rheem.core.util.JsonSerializer;
 import org.qcri.rheem.core.util.ReflectionUtils;
 
+import java.util.Collection;
+import java.util.Collections;
+
 /**
  * A platform describes an execution engine that executes {@link ExecutionOperator}s.
  */
@@ -102,6 +105,16 @@ public abstract class Platform {
      */
     public abstract TimeToCostConverter createTimeToCostConverter(Configuration configuration);
 
+    /**
+     * Tells the {@link Configuration} keys of the properties that the {@link LoadProfileToTimeConverter} and the
+     * {@link TimeToCostConverter} of this instance are created from.
+     *
+     * @return the property keys
+     */
+    public Collection<String> getCostModelPropertyKeys() {
+        return Collections.emptyList();
+    }
+
     /**
      * Warm up this instance.
      *
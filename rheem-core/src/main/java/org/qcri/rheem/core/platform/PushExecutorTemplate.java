@@ -1,6 +1,7 @@
 package org.qcri.rheem.core.platform;
 
 import org.qcri.rheem.core.api.Job;
+import org.qcri.rheem.core.api.exception.RheemException;
 import org.qcri.rheem.core.optimizer.OptimizationContext;
 import org.qcri.rheem.core.plan.executionplan.Channel;
 import org.qcri.rheem.core.plan.executionplan.ExecutionStage;
@@ -13,6 +14,12 @@ import org.qcri.rheem.core.util.RheemCollections;
 import org.qcri.rheem.core.util.Tuple;
 
 import java.util.*;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * {@link Executor} implementation that employs a push model, i.e., data quanta are "pushed"
@@ -22,9 +29,23 @@ public abstract class PushExecutorTemplate extends ExecutorTemplate {
 
     protected final Job job;
 
+    /**
+     * Maximum number of mutually independent {@link ExecutionTask}s of an {@link ExecutionStage} that may be executed
+     * concurrently. A value of {@code 1} executes them one after another.
+     */
+    private final int stageParallelism;
+
+    /**
+     * Executes {@link ExecutionTask}s concurrently if {@link #stageParallelism} {@code > 1}. Lazily initialized.
+     */
+    private ExecutorService taskExecutorService;
+
     public PushExecutorTemplate(Job job) {
         super(job == null ? null : job.getCrossPlatformExecutor());
         this.job = job;
+        this.stageParallelism = job == null ?
+                1 :
+                (int) Math.max(1, job.getConfiguration().getLongProperty("rheem.core.executor.stage.parallelism", 1));
     }
 
     @Override
@@ -66,10 +87,43 @@ public abstract class PushExecutorTemplate extends ExecutorTemplate {
                                                                               OptimizationContext.OperatorContext producerOperatorContext,
                                                                               boolean isRequestEagerExecution);
 
+    /**
+     * Provides the {@link ExecutorService} to execute {@link ExecutionTask}s concurrently.
+     *
+     * @return the {@link ExecutorService}
+     */
+    private synchronized ExecutorService getTaskExecutorService() {
+        if (this.taskExecutorService == null) {
+            final AtomicInteger threadCounter = new AtomicInteger(0);
+            this.taskExecutorService = Executors.newFixedThreadPool(this.stageParallelism, runnable -> {
+                final Thread thread = new Thread(runnable, String.format("%s-task-%d", this, threadCounter.getAndIncrement()));
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return this.taskExecutorService;
+    }
+
+    @Override
+    public void dispose() {
+        super.dispose();
+        synchronized (this) {
+            if (this.taskExecutorService != null) {
+                this.taskExecutorService.shutdown();
+                this.taskExecutorService = null;
+            }
+        }
+    }
+
     /**
      * Keeps track of state that is required within the execution of a single {@link ExecutionStage}. Specifically,
      * it issues to the {@link PushExecutorTemplate}, which {@link ExecutionTask}s should be executed in which
      * order with which input dependencies.
+     * <p>Mutually independent {@link ExecutionTask}s might be executed concurrently (see {@link #stageParallelism}).
+     * However, all bookkeeping, i.e., the {@link TaskActivator}s and the produced {@link ChannelInstance}s, is
+     * confined to the thread that executes the {@link ExecutionStage}. {@link ExecutionTask}s are dispatched only once
+     * all their inputs are available, so that lazily evaluated {@link ChannelInstance}s are consumed only after
+     * their producers have finished.</p>
      */
     protected class StageExecution extends OneTimeExecutable {
 
@@ -133,27 +187,89 @@ public abstract class PushExecutorTemplate extends ExecutorTemplate {
 
         @Override
         protected void doExecute() {
+            if (PushExecutorTemplate.this.stageParallelism > 1) {
+                this.executeConcurrently();
+                return;
+            }
+
             TaskActivator readyActivator;
             while ((readyActivator = this.readyActivators.poll()) != null) {
                 // Execute the ExecutionTask.
-                final ExecutionTask task = readyActivator.getTask();
-                final Tuple<List<ChannelInstance>, PartialExecution> executionResult = this.execute(readyActivator, task);
-                readyActivator.dispose();
-
-                // Register the outputChannelInstances (to obtain cardinality measurements and for further stages).
-                final List<ChannelInstance> outputChannelInstances = executionResult.getField0();
-                outputChannelInstances.stream().filter(Objects::nonNull).forEach(this::store);
-
-                // Log executions.
-                final PartialExecution partialExecution = executionResult.getField1();
-                if (partialExecution != null) {
-                    this.executionState.add(partialExecution);
+                final Tuple<List<ChannelInstance>, PartialExecution> executionResult =
+                        this.execute(readyActivator, readyActivator.getTask());
+                this.complete(readyActivator, executionResult);
+            }
+        }
+
+        /**
+         * Executes all {@link #readyActivators} (and those that become ready in turn), thereby executing up to
+         * {@link #stageParallelism} {@link ExecutionTask}s at the same time.
+         */
+        private void executeConcurrently() {
+            final CompletionService<Tuple<TaskActivator, Tuple<List<ChannelInstance>, PartialExecution>>> completionService =
+                    new ExecutorCompletionService<>(PushExecutorTemplate.this.getTaskExecutorService());
+            int numRunningTasks = 0;
+            Throwable failure = null;
+            do {
+                // Dispatch ready ExecutionTasks, unless something already went wrong.
+                TaskActivator readyActivator;
+                while (failure == null
+                        && numRunningTasks < PushExecutorTemplate.this.stageParallelism
+                        && (readyActivator = this.readyActivators.poll()) != null) {
+                    final TaskActivator activator = readyActivator;
+                    completionService.submit(() -> new Tuple<>(activator, this.execute(activator, activator.getTask())));
+                    numRunningTasks++;
+                }
+                if (numRunningTasks == 0) break;
+
+                // Wait for any ExecutionTask to finish and process its results.
+                try {
+                    final Tuple<TaskActivator, Tuple<List<ChannelInstance>, PartialExecution>> result =
+                            completionService.take().get();
+                    numRunningTasks--;
+                    if (failure == null) {
+                        this.complete(result.getField0(), result.getField1());
+                    }
+                } catch (ExecutionException e) {
+                    numRunningTasks--;
+                    if (failure == null) failure = e.getCause();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RheemException("Interrupted while executing ExecutionTasks.", e);
                 }
+            } while (true);
+
+            if (failure instanceof RheemException) {
+                throw (RheemException) failure;
+            } else if (failure != null) {
+                throw new RheemException("Executing an ExecutionTask failed.", failure);
+            }
+        }
 
-                // Activate successor ExecutionTasks.
-                this.activateSuccessorTasks(task, outputChannelInstances);
-                outputChannelInstances.stream().filter(Objects::nonNull).forEach(ChannelInstance::disposeIfUnreferenced);
+        /**
+         * Processes the results of an executed {@link ExecutionTask}.
+         *
+         * @param readyActivator  activated the executed {@link ExecutionTask}
+         * @param executionResult the {@link ChannelInstance}s created by the {@link ExecutionTask} and a
+         *                        {@link PartialExecution} or {@code null}
+         */
+        private void complete(TaskActivator readyActivator, Tuple<List<ChannelInstance>, PartialExecution> executionResult) {
+            final ExecutionTask task = readyActivator.getTask();
+            readyActivator.dispose();
+
+            // Register the outputChannelInstances (to obtain cardinality measurements and for further stages).
+            final List<ChannelInstance> outputChannelInstances = executionResult.getField0();
+            outputChannelInstances.stream().filter(Objects::nonNull).forEach(this::store);
+
+            // Log executions.
+            final PartialExecution partialExecution = executionResult.getField1();
+            if (partialExecution != null) {
+                this.executionState.add(partialExecution);
             }
+
+            // Activate successor ExecutionTasks.
+            this.activateSuccessorTasks(task, outputChannelInstances);
+            outputChannelInstances.stream().filter(Objects::nonNull).forEach(ChannelInstance::disposeIfUnreferenced);
         }
 
         /**
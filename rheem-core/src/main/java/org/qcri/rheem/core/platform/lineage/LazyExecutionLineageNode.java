@@ -24,7 +24,7 @@ public abstract class LazyExecutionLineageNode {
      *
      * @param predecessor the predecessor
      */
-    public void addPredecessor(LazyExecutionLineageNode predecessor) {
+    public synchronized void addPredecessor(LazyExecutionLineageNode predecessor) {
         assert !this.predecessors.contains(predecessor) :
                 String.format("Lineage predecessor %s is already present.", predecessor);
         this.predecessors.add(predecessor);
@@ -32,7 +32,8 @@ public abstract class LazyExecutionLineageNode {
 
 
     /**
-     * Traverse this instance and all its predecessors unless they are marked as executed.
+     * Traverse this instance and all its predecessors unless they are marked as executed. Concurrent traversals
+     * are serialized per instance, as they might share predecessors.
      *
      * @param accumulator state that is maintained over the traversal
      * @param aggregator  visits the traversed instances
@@ -40,7 +41,7 @@ public abstract class LazyExecutionLineageNode {
      * @param <T>
      * @return the {@code accumulator} in its final state
      */
-    public <T> T traverse(T accumulator, Aggregator<T> aggregator, boolean isMark) {
+    public synchronized <T> T traverse(T accumulator, Aggregator<T> aggregator, boolean isMark) {
         if (!this.isExecuted) {
             for (Iterator<LazyExecutionLineageNode> i = this.predecessors.iterator(); i.hasNext(); ) {
                 LazyExecutionLineageNode predecessor = i.next();
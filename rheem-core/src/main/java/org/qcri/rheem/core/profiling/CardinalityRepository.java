@@ -5,25 +5,46 @@ import org.json.JSONArray;
 import org.json.JSONObject;
 import org.qcri.rheem.core.api.Configuration;
 import org.qcri.rheem.core.api.exception.RheemException;
+import org.qcri.rheem.core.function.FunctionDescriptor;
 import org.qcri.rheem.core.optimizer.OptimizationContext;
+import org.qcri.rheem.core.optimizer.OptimizationUtils;
 import org.qcri.rheem.core.optimizer.cardinality.CardinalityEstimate;
+import org.qcri.rheem.core.plan.rheemplan.ExecutionOperator;
 import org.qcri.rheem.core.plan.rheemplan.InputSlot;
 import org.qcri.rheem.core.plan.rheemplan.Operator;
+import org.qcri.rheem.core.plan.rheemplan.OperatorBase;
 import org.qcri.rheem.core.plan.rheemplan.OutputSlot;
 import org.qcri.rheem.core.plan.rheemplan.Slot;
+import org.qcri.rheem.core.platform.ChannelInstance;
 import org.qcri.rheem.core.platform.CrossPlatformExecutor;
 import org.qcri.rheem.core.platform.ExecutionState;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.*;
+import java.lang.invoke.SerializedLambda;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
 
 /**
- * Stores cardinalities that have been collected by the {@link CrossPlatformExecutor}. Current version uses
- * JSON as serialization format.
+ * Stores cardinalities that have been collected by the {@link CrossPlatformExecutor} and serves them as
+ * {@link CardinalityStatistics} to the cardinality estimation. Current version uses JSON lines as serialization
+ * format: New measurements are appended to the repository file and, once the file has grown large enough, it is
+ * compacted to a single line of aggregated {@link CardinalityStatistics} per key.
+ * <p>Measurements are keyed by the {@link Operator} class, the {@link OutputSlot} index, the UDFs of the
+ * {@link Operator} (see {@link #identifyFunction(Object)}), and the sources that feed the {@link Operator}.</p>
  */
 public class CardinalityRepository {
 
+    /**
+     * {@link Configuration} key for the number of lines in the repository file after that it is compacted.
+     */
+    public static final String COMPACTION_THRESHOLD_PROPERTY = "rheem.core.optimizer.cardinality.statistics.compaction";
+
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
 
     /**
@@ -31,13 +52,31 @@ public class CardinalityRepository {
      */
     private final String repositoryPath;
 
+    /**
+     * Number of lines in the repository file after that it is compacted.
+     */
+    private final long compactionThreshold;
+
     /**
      * Created on demand an can be closed as well.
      */
     private BufferedWriter writer;
 
+    /**
+     * Aggregated measurements by their keys. Loaded on demand.
+     */
+    private Map<String, CardinalityStatistics> statistics;
+
     public CardinalityRepository(Configuration configuration) {
-        this.repositoryPath = configuration.getStringProperty("rheem.core.log.cardinalities");
+        this(
+                configuration.getStringProperty("rheem.core.log.cardinalities"),
+                configuration.getLongProperty(COMPACTION_THRESHOLD_PROPERTY, 1000)
+        );
+    }
+
+    public CardinalityRepository(String repositoryPath, long compactionThreshold) {
+        this.repositoryPath = repositoryPath;
+        this.compactionThreshold = compactionThreshold;
     }
 
     /**
@@ -51,42 +90,52 @@ public class CardinalityRepository {
      *                            injected in this {@link OptimizationContext} to guarantee that we capture the most
      *                            possible accurate data
      */
-    public void storeAll(ExecutionState executionState, OptimizationContext optimizationContext) {
+    public synchronized void storeAll(ExecutionState executionState, OptimizationContext optimizationContext) {
         this.logger.info("Storing cardinalities at {}.", this.repositoryPath);
 
-//        executionState.getCardinalityMeasurements().forEach(
-//                channelInstance -> {
-//                    for (Slot<?> correspondingSlot : channelInstance.getChannel().getCorrespondingSlots()) {
-//                        for (Slot<?> slot : OptimizationUtils.collectConnectedSlots(correspondingSlot)) {
-//                            if (slot instanceof OutputSlot<?>) {
-//                                OutputSlot<Object> outputSlot = ((OutputSlot<?>) slot).unchecked();
-//                                final Operator operator = outputSlot.getOwner();
-//                                if (!operator.isElementary() || operator.isSource()) {
-//                                    continue;
-//                                }
-//                                final OptimizationContext.OperatorContext operatorContext = channelInstance.getProducerOperatorContext();
-//                                if (operatorContext == null) {
-//                                    // TODO: Handle cardinalities inside of loops.
-//                                    this.logger.debug("Could not inject measured cardinality for {}: " +
-//                                            "It is presumably a glue operator or inside of a loop.", operator);
-//                                    continue;
-//                                }
-//                                this.store(outputSlot, channelInstance.getMeasuredCardinality().getAsLong(), operatorContext);
-//                            }
-//                        }
-//                    }
-//                });
-        this.logger.warn("Cardinality repository currently disabled.");
+        for (ChannelInstance channelInstance : executionState.getCardinalityMeasurements()) {
+            final OptimizationContext.OperatorContext producerOperatorContext = channelInstance.getProducerOperatorContext();
+            if (producerOperatorContext == null) continue;
+            final OptimizationContext producerOptimizationContext = producerOperatorContext.getOptimizationContext();
+            final OutputSlot<?> rheemPlanOutput = OptimizationUtils.findRheemPlanOutputSlotFor(channelInstance.getChannel());
+            final long cardinality = channelInstance.getMeasuredCardinality().getAsLong();
+
+            // Store the measurement for the executed operator and its alternatives, which are estimated alike.
+            for (Slot<?> slot : OptimizationUtils.collectConnectedSlots(rheemPlanOutput)) {
+                if (!(slot instanceof OutputSlot<?>)) continue;
+                final OutputSlot<?> outputSlot = (OutputSlot<?>) slot;
+                final Operator operator = outputSlot.getOwner();
+                if (!operator.isElementary() || operator.isSource()) {
+                    continue;
+                }
+                final OptimizationContext.OperatorContext operatorContext =
+                        producerOptimizationContext.getOperatorContext(operator);
+                if (operatorContext == null) {
+                    this.logger.debug("Could not store measured cardinality for {}: No OperatorContext available.",
+                            operator);
+                    continue;
+                }
+                this.store(outputSlot, cardinality, operatorContext);
+            }
+        }
     }
 
     /**
      * Stores the {@code cardinality} for the {@code output} together with its {@link Operator} and input
      * {@link CardinalityEstimate}s.
      */
-    public void store(OutputSlot<?> output, long cardinality, OptimizationContext.OperatorContext operatorContext) {
+    public synchronized void store(OutputSlot<?> output, long cardinality, OptimizationContext.OperatorContext operatorContext) {
         assert output.getOwner() == operatorContext.getOperator() :
                 String.format("Owner of %s is not %s.", output, operatorContext.getOperator());
-        if (!operatorContext.getOutputCardinality(output.getIndex()).isExactly(cardinality)) {
+        // Inputs might lack estimates, e.g., the feedback inputs of loop heads in the initial iteration.
+        for (int inputIndex = 0; inputIndex < operatorContext.getOperator().getNumInputs(); inputIndex++) {
+            if (operatorContext.getInputCardinality(inputIndex) == null) {
+                this.logger.debug("Could not store measured cardinality for {}: Input estimates are incomplete.", output);
+                return;
+            }
+        }
+        final CardinalityEstimate outputEstimate = operatorContext.getOutputCardinality(output.getIndex());
+        if (outputEstimate != null && !outputEstimate.isExactly(cardinality)) {
             this.logger.error("Expected a measured cardinality of {} for {}; found {}.",
                     cardinality, output, operatorContext.getOutputCardinality(output.getIndex()));
         }
@@ -116,7 +165,7 @@ public class CardinalityRepository {
 
         JSONObject jsonOperator = new JSONObject();
         jsonOperator.put("class", operator.getClass().getCanonicalName());
-        // TODO: UDFs? How can we reference them?
+        jsonOperator.put("udfs", identifyFunctions(operator));
 
         JSONObject jsonOutput = new JSONObject();
         jsonOutput.put("name", output.getName());
@@ -124,11 +173,13 @@ public class CardinalityRepository {
         jsonOutput.put("cardinality", outputCardinality);
 
         JSONObject jsonMeasurement = new JSONObject();
+        jsonMeasurement.put("key", createKey(output));
         jsonMeasurement.put("inputs", jsonInputCardinalities);
         jsonMeasurement.put("operator", jsonOperator);
         jsonMeasurement.put("output", jsonOutput);
 
         this.write(jsonMeasurement);
+        if (this.statistics != null) this.aggregate(jsonMeasurement, this.statistics);
     }
 
     /**
@@ -153,7 +204,7 @@ public class CardinalityRepository {
         if (this.writer == null) {
             File file = new File(this.repositoryPath);
             final File parentFile = file.getParentFile();
-            if (!parentFile.exists() && !file.getParentFile().mkdirs()) {
+            if (parentFile != null && !parentFile.exists() && !parentFile.mkdirs()) {
                 throw new RheemException("Could not initialize cardinality repository.");
             }
             this.writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file, true), "UTF-8"));
@@ -161,11 +212,235 @@ public class CardinalityRepository {
         return this.writer;
     }
 
+    /**
+     * Retrieve the {@link CardinalityStatistics} that have been recorded for the given {@link OutputSlot}.
+     *
+     * @param output whose {@link CardinalityStatistics} are requested
+     * @return the {@link CardinalityStatistics} if any measurements have been recorded
+     */
+    public synchronized Optional<CardinalityStatistics> getStatistics(OutputSlot<?> output) {
+        if (this.statistics == null) {
+            this.statistics = this.load();
+        }
+        return Optional.ofNullable(this.statistics.get(createKey(output)));
+    }
+
+    /**
+     * Reads the repository file and aggregates its measurements. Compacts the file if it has grown too large.
+     *
+     * @return the aggregated measurements by their keys
+     */
+    private Map<String, CardinalityStatistics> load() {
+        Map<String, CardinalityStatistics> statistics = new HashMap<>();
+        final File file = new File(this.repositoryPath);
+        if (!file.exists()) return statistics;
+
+        // Make sure that any pending measurements are included.
+        this.sleep();
+
+        long numLines = 0;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), "UTF-8"))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty()) continue;
+                numLines++;
+                try {
+                    this.aggregate(new JSONObject(line), statistics);
+                } catch (Exception e) {
+                    this.logger.warn("Could not parse cardinality repository entry \"{}\".", line, e);
+                }
+            }
+        } catch (IOException e) {
+            this.logger.error("Could not read cardinality repository at {}.", this.repositoryPath, e);
+            return statistics;
+        }
+        this.logger.info("Loaded {} cardinality statistics from {}.", statistics.size(), this.repositoryPath);
+
+        if (numLines > this.compactionThreshold && numLines > statistics.size()) {
+            this.compact(file, statistics);
+        }
+        return statistics;
+    }
+
+    /**
+     * Adds a serialized measurement or {@link CardinalityStatistics} to the given aggregates.
+     */
+    private void aggregate(JSONObject jsonEntry, Map<String, CardinalityStatistics> statistics) {
+        if (!jsonEntry.has("key")) return; // Measurement of an old format.
+        final CardinalityStatistics aggregate =
+                statistics.computeIfAbsent(jsonEntry.getString("key"), key -> new CardinalityStatistics());
+        if (jsonEntry.has("statistics")) {
+            aggregate.addAll(CardinalityStatistics.fromJson(jsonEntry.getJSONObject("statistics")));
+            return;
+        }
+
+        // Calculate the selectivity w.r.t. the non-broadcast inputs if they have been known exactly.
+        final long outputCardinality = jsonEntry.getJSONObject("output").getLong("cardinality");
+        final JSONArray jsonInputs = jsonEntry.getJSONArray("inputs");
+        double inputCardinality = 1d;
+        boolean isInputKnown = false;
+        for (int i = 0; i < jsonInputs.length(); i++) {
+            final JSONObject jsonInput = jsonInputs.getJSONObject(i);
+            if (jsonInput.getBoolean("isBroadcast")) continue;
+            final long lowerBound = jsonInput.getLong("lowerBound"), upperBound = jsonInput.getLong("upperBound");
+            if (lowerBound != upperBound || jsonInput.getDouble("confidence") < 1d) {
+                isInputKnown = false;
+                break;
+            }
+            inputCardinality *= lowerBound;
+            isInputKnown = true;
+        }
+        final Double selectivity = isInputKnown && inputCardinality > 0d ? outputCardinality / inputCardinality : null;
+        aggregate.add(outputCardinality, selectivity);
+    }
+
+    /**
+     * Replaces the repository file with one that contains only the given aggregates.
+     */
+    private void compact(File file, Map<String, CardinalityStatistics> statistics) {
+        this.logger.info("Compacting cardinality repository at {}.", this.repositoryPath);
+        File tempFile = new File(file.getPath() + ".compacting");
+        try (BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(tempFile), "UTF-8"))) {
+            for (Map.Entry<String, CardinalityStatistics> entry : statistics.entrySet()) {
+                JSONObject jsonEntry = new JSONObject();
+                jsonEntry.put("key", entry.getKey());
+                jsonEntry.put("statistics", entry.getValue().toJson());
+                jsonEntry.write(writer);
+                writer.write('\n');
+            }
+        } catch (IOException e) {
+            this.logger.error("Could not compact cardinality repository at {}.", this.repositoryPath, e);
+            tempFile.delete();
+            return;
+        }
+        try {
+            Files.move(tempFile.toPath(), file.toPath(),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            this.logger.error("Could not replace {} with its compacted version.", this.repositoryPath, e);
+            tempFile.delete();
+        }
+    }
+
     /**
      * Allows this instance to free its system resources, as they might not be needed in the closer future.
      */
-    public void sleep() {
+    public synchronized void sleep() {
         IOUtils.closeQuietly(this.writer);
         this.writer = null;
     }
+
+    /**
+     * Creates the key under that measurements for the given {@link OutputSlot} are recorded.
+     *
+     * @param output an {@link OutputSlot} of an elementary {@link Operator}
+     * @return the key
+     */
+    public static String createKey(OutputSlot<?> output) {
+        final Operator operator = output.getOwner();
+        SortedSet<String> sources = new TreeSet<>();
+        collectSourceIdentities(operator, new HashSet<>(), sources);
+        return String.format("%s#%d%s<-%s",
+                operator.getClass().getName(), output.getIndex(), identifyFunctions(operator), sources
+        );
+    }
+
+    /**
+     * Identifies the UDFs of the given {@link Operator}, i.e., the implementations held by its
+     * {@link FunctionDescriptor}s.
+     *
+     * @return the UDF identities ordered by the names of their {@link FunctionDescriptor} fields
+     */
+    private static List<String> identifyFunctions(Operator operator) {
+        SortedMap<String, String> functions = new TreeMap<>();
+        for (Field operatorField : collectInstanceFields(operator.getClass(), OperatorBase.class)) {
+            final Object fieldValue = readField(operatorField, operator);
+            if (!(fieldValue instanceof FunctionDescriptor)) continue;
+            for (Field descriptorField : collectInstanceFields(fieldValue.getClass(), FunctionDescriptor.class)) {
+                final Object function = readField(descriptorField, fieldValue);
+                if (function == null || !(function instanceof Serializable)) continue;
+                final String packageName = function.getClass().getName();
+                if (!function.getClass().isSynthetic()
+                        && (packageName.startsWith("java.") || packageName.startsWith("org.qcri.rheem.core."))) {
+                    continue;
+                }
+                functions.put(operatorField.getName() + "." + descriptorField.getName(), identifyFunction(function));
+            }
+        }
+        return new ArrayList<>(functions.values());
+    }
+
+    /**
+     * Identifies a UDF in a way that is stable across executions. Serializable lambdas are identified by their
+     * implementation method, all other functions by their class.
+     */
+    private static String identifyFunction(Object function) {
+        try {
+            final Method writeReplace = function.getClass().getDeclaredMethod("writeReplace");
+            writeReplace.setAccessible(true);
+            final Object replacement = writeReplace.invoke(function);
+            if (replacement instanceof SerializedLambda) {
+                final SerializedLambda lambda = (SerializedLambda) replacement;
+                return lambda.getImplClass().replace('/', '.') + "::" + lambda.getImplMethodName();
+            }
+        } catch (ReflectiveOperationException | SecurityException e) {
+            // Not a serializable lambda.
+        }
+        return function.getClass().getName();
+    }
+
+    /**
+     * Collects the identities of all (indirect) source {@link Operator}s of the given {@link Operator}. A source is
+     * identified by its (platform-independent) class and its {@link String}-valued fields, e.g., an input URL.
+     */
+    private static void collectSourceIdentities(Operator operator, Set<Operator> visitedOperators, Set<String> collector) {
+        if (!visitedOperators.add(operator)) return;
+        if (operator.isSource()) {
+            // Alternatives of the same source should be identified alike.
+            Class<?> sourceClass = operator.getClass();
+            while (ExecutionOperator.class.isAssignableFrom(sourceClass)
+                    && sourceClass.getSuperclass() != null
+                    && sourceClass.getSuperclass() != OperatorBase.class) {
+                sourceClass = sourceClass.getSuperclass();
+            }
+            StringBuilder sb = new StringBuilder(sourceClass.getName());
+            for (Field field : collectInstanceFields(operator.getClass(), OperatorBase.class)) {
+                if (field.getType() != String.class) continue;
+                sb.append('|').append(field.getName()).append('=').append(readField(field, operator));
+            }
+            collector.add(sb.toString());
+            return;
+        }
+        for (int inputIndex = 0; inputIndex < operator.getNumInputs(); inputIndex++) {
+            final OutputSlot<Object> occupant = operator.getEffectiveOccupant(inputIndex);
+            if (occupant == null) continue;
+            for (OutputSlot<Object> innerOccupant : occupant.getOwner().collectMappedOutputSlots(occupant)) {
+                collectSourceIdentities(innerOccupant.getOwner(), visitedOperators, collector);
+            }
+        }
+    }
+
+    /**
+     * Collects the non-static fields of the given class and its superclasses, excluding the {@code stopClass}
+     * and its superclasses, ordered by their names.
+     */
+    private static List<Field> collectInstanceFields(Class<?> cls, Class<?> stopClass) {
+        List<Field> fields = new ArrayList<>();
+        for (; cls != null && cls != stopClass && cls != Object.class; cls = cls.getSuperclass()) {
+            for (Field field : cls.getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers()) && !field.isSynthetic()) fields.add(field);
+            }
+        }
+        fields.sort(Comparator.comparing(Field::getName));
+        return fields;
+    }
+
+    private static Object readField(Field field, Object object) {
+        try {
+            field.setAccessible(true);
+            return field.get(object);
+        } catch (IllegalAccessException | SecurityException e) {
+            return null;
+        }
+    }
 }
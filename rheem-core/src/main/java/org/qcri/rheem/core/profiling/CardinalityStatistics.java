@@ -0,0 +1,161 @@
+package org.qcri.rheem.core.profiling;
+
+import org.json.JSONObject;
+
+/**
+ * Aggregates the measured output cardinalities (and, where the input cardinalities were known, the selectivities)
+ * that have been recorded for some {@link org.qcri.rheem.core.plan.rheemplan.OutputSlot} in the
+ * {@link CardinalityRepository}.
+ */
+public class CardinalityStatistics {
+
+    /**
+     * Number of aggregated measurements.
+     */
+    private long numMeasurements = 0;
+
+    /**
+     * Aggregates of the measured output cardinalities.
+     */
+    private long minCardinality = Long.MAX_VALUE, maxCardinality = Long.MIN_VALUE;
+
+    private double cardinalitySum = 0d;
+
+    /**
+     * Number of measurements that also yielded a selectivity.
+     */
+    private long numSelectivities = 0;
+
+    /**
+     * Aggregates of the selectivities.
+     */
+    private double minSelectivity = Double.POSITIVE_INFINITY, maxSelectivity = Double.NEGATIVE_INFINITY;
+
+    private double selectivitySum = 0d;
+
+    /**
+     * Adds a measurement to this instance.
+     *
+     * @param cardinality the measured output cardinality
+     * @param selectivity the ratio of the output cardinality and the (product of the) input cardinalities or
+     *                    {@code null} if it is not known
+     */
+    public void add(long cardinality, Double selectivity) {
+        this.numMeasurements++;
+        this.minCardinality = Math.min(this.minCardinality, cardinality);
+        this.maxCardinality = Math.max(this.maxCardinality, cardinality);
+        this.cardinalitySum += cardinality;
+        if (selectivity != null && !selectivity.isNaN() && !selectivity.isInfinite()) {
+            this.numSelectivities++;
+            this.minSelectivity = Math.min(this.minSelectivity, selectivity);
+            this.maxSelectivity = Math.max(this.maxSelectivity, selectivity);
+            this.selectivitySum += selectivity;
+        }
+    }
+
+    /**
+     * Adds all measurements of the given instance to this instance.
+     */
+    public void addAll(CardinalityStatistics that) {
+        this.numMeasurements += that.numMeasurements;
+        this.minCardinality = Math.min(this.minCardinality, that.minCardinality);
+        this.maxCardinality = Math.max(this.maxCardinality, that.maxCardinality);
+        this.cardinalitySum += that.cardinalitySum;
+        this.numSelectivities += that.numSelectivities;
+        this.minSelectivity = Math.min(this.minSelectivity, that.minSelectivity);
+        this.maxSelectivity = Math.max(this.maxSelectivity, that.maxSelectivity);
+        this.selectivitySum += that.selectivitySum;
+    }
+
+    public long getNumMeasurements() {
+        return this.numMeasurements;
+    }
+
+    public long getMinCardinality() {
+        return this.minCardinality;
+    }
+
+    public long getMaxCardinality() {
+        return this.maxCardinality;
+    }
+
+    public double getAverageCardinality() {
+        return this.cardinalitySum / this.numMeasurements;
+    }
+
+    public boolean hasSelectivities() {
+        return this.numSelectivities > 0;
+    }
+
+    public long getNumSelectivities() {
+        return this.numSelectivities;
+    }
+
+    public double getMinSelectivity() {
+        return this.minSelectivity;
+    }
+
+    public double getMaxSelectivity() {
+        return this.maxSelectivity;
+    }
+
+    public double getAverageSelectivity() {
+        return this.selectivitySum / this.numSelectivities;
+    }
+
+    /**
+     * Serializes this instance.
+     *
+     * @return the JSON representation
+     * @see #fromJson(JSONObject)
+     */
+    public JSONObject toJson() {
+        JSONObject json = new JSONObject();
+        json.put("measurements", this.numMeasurements);
+        json.put("minCardinality", this.minCardinality);
+        json.put("maxCardinality", this.maxCardinality);
+        json.put("cardinalitySum", this.cardinalitySum);
+        if (this.hasSelectivities()) {
+            json.put("selectivities", this.numSelectivities);
+            json.put("minSelectivity", this.minSelectivity);
+            json.put("maxSelectivity", this.maxSelectivity);
+            json.put("selectivitySum", this.selectivitySum);
+        }
+        return json;
+    }
+
+    /**
+     * Deserializes an instance.
+     *
+     * @param json the JSON representation
+     * @return the instance
+     * @see #toJson()
+     */
+    public static CardinalityStatistics fromJson(JSONObject json) {
+        CardinalityStatistics statistics = new CardinalityStatistics();
+        statistics.numMeasurements = json.getLong("measurements");
+        statistics.minCardinality = json.getLong("minCardinality");
+        statistics.maxCardinality = json.getLong("maxCardinality");
+        statistics.cardinalitySum = json.getDouble("cardinalitySum");
+        if (json.has("selectivities")) {
+            statistics.numSelectivities = json.getLong("selectivities");
+            statistics.minSelectivity = json.getDouble("minSelectivity");
+            statistics.maxSelectivity = json.getDouble("maxSelectivity");
+            statistics.selectivitySum = json.getDouble("selectivitySum");
+        }
+        return statistics;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s[%d measurements, cardinality %d..%d, selectivity %s]",
+                this.getClass().getSimpleName(),
+                this.numMeasurements,
+                this.minCardinality,
+                this.maxCardinality,
+                this.hasSelectivities() ?
+                        String.format("%.4f..%.4f", this.minSelectivity, this.maxSelectivity) :
+                        "n/a"
+        );
+    }
+}
@@ -22,16 +22,50 @@ public abstract class AbstractReferenceCountable implements ReferenceCountable {
      */
     private boolean isDisposed = false;
 
+    /**
+     * Marks whether the disposal of this instance has been decided upon, which happens before it is carried out.
+     */
+    private boolean isDisposing = false;
+
+    /**
+     * Guards the reference counting, as references might be obtained and discarded from different threads.
+     */
+    private final Object referenceLock = new Object();
+
     @Override
     public boolean disposeIfUnreferenced() {
-        if (this.getNumReferences() == 0) {
-            assert !this.isDisposed() : String.format("%s has already been disposed.", this);
-            logger.debug("Discarding {} for being unreferenced.", this);
-            this.disposeUnreferenced();
+        synchronized (this.referenceLock) {
+            if (!this.claimDisposalIfUnreferenced()) return false;
+        }
+        this.completeDisposal();
+        return true;
+    }
+
+    /**
+     * Decides whether this instance should be disposed, i.e., whether it is unreferenced. Must be invoked while
+     * holding the {@link #referenceLock}.
+     *
+     * @return whether the caller should {@link #completeDisposal() complete the disposal}
+     */
+    private boolean claimDisposalIfUnreferenced() {
+        if (this.numReferences > 0) return false;
+        assert !this.isDisposing : String.format("%s has already been disposed.", this);
+        if (this.isDisposing) return false;
+        this.isDisposing = true;
+        return true;
+    }
+
+    /**
+     * Disposes this instance after its disposal has been {@link #claimDisposalIfUnreferenced() claimed}. The
+     * {@link #referenceLock} is not held meanwhile, so that the disposal can release other resources (and take
+     * their locks) without risking lock order inversions.
+     */
+    private void completeDisposal() {
+        logger.debug("Discarding {} for being unreferenced.", this);
+        this.disposeUnreferenced();
+        synchronized (this.referenceLock) {
             this.isDisposed = true;
-            return true;
         }
-        return false;
     }
 
     /**
@@ -42,29 +76,37 @@ public abstract class AbstractReferenceCountable implements ReferenceCountable {
 
     @Override
     public int getNumReferences() {
-        return this.numReferences;
+        synchronized (this.referenceLock) {
+            return this.numReferences;
+        }
     }
 
     @Override
     public void noteObtainedReference() {
-        assert !this.isDisposed() : String.format("%s should not be resurrected.", this);
-        this.numReferences++;
-        logger.trace("{} has {} (+1) references now.", this, this.getNumReferences());
+        synchronized (this.referenceLock) {
+            assert !this.isDisposing : String.format("%s should not be resurrected.", this);
+            this.numReferences++;
+            logger.trace("{} has {} (+1) references now.", this, this.numReferences);
+        }
     }
 
     @Override
     public void noteDiscardedReference(boolean isDisposeIfUnreferenced) {
-        assert this.numReferences > 0 : String.format("Reference on %s discarded, although the reference counter is 0.", this);
-        this.numReferences--;
-        logger.trace("{} has {} (-1) references now.", this, this.getNumReferences());
-        if (isDisposeIfUnreferenced) {
-            this.disposeIfUnreferenced();
+        final boolean isDisposalClaimed;
+        synchronized (this.referenceLock) {
+            assert this.numReferences > 0 : String.format("Reference on %s discarded, although the reference counter is 0.", this);
+            this.numReferences--;
+            logger.trace("{} has {} (-1) references now.", this, this.numReferences);
+            isDisposalClaimed = isDisposeIfUnreferenced && this.claimDisposalIfUnreferenced();
         }
+        if (isDisposalClaimed) this.completeDisposal();
     }
 
     @Override
     public boolean isDisposed() {
-        return this.isDisposed;
+        synchronized (this.referenceLock) {
+            return this.isDisposed;
+        }
     }
 
 }
@@ -1,18 +1,25 @@
 package org.qcri.rheem.core.util;
 
+import java.util.function.IntConsumer;
+
 /**
  * A mutable bit-mask.
  */
 public class Bitmask implements Cloneable {
 
     /**
-     * An instance without any bits set.
+     * Shared by all instances without any words.
+     */
+    private static final long[] NO_BITS = new long[0];
+
+    /**
+     * An immutable instance without any bits set.
      */
-    public static Bitmask EMPTY_BITMASK = new Bitmask(0);
+    public static final Bitmask EMPTY_BITMASK = new Bitmask(0).toImmutable();
 
-    private static int BITS_PER_WORD = Long.BYTES * 8;
+    private static final int BITS_PER_WORD = Long.BYTES * 8;
 
-    private static int WORD_ADDRESS_BITS = 6;
+    private static final int WORD_ADDRESS_BITS = 6;
 
     /**
      * Stores the actual bits.
@@ -24,6 +31,16 @@ public class Bitmask implements Cloneable {
      */
     private int cardinalityCache;
 
+    /**
+     * Caches the hash code or is {@code 0} if no value is cached.
+     */
+    private int hashCodeCache = 0;
+
+    /**
+     * Tells whether this instance must not be modified.
+     */
+    private boolean isImmutable = false;
+
     /**
      * Creates a new instance.
      */
@@ -38,7 +55,7 @@ public class Bitmask implements Cloneable {
      */
     public Bitmask(int startCapacity) {
         int numLongs = startCapacity > 0 ? getLongPos(startCapacity - 1) + 1 : 0;
-        this.bits = new long[numLongs];
+        this.bits = numLongs == 0 ? NO_BITS : new long[numLongs];
         this.cardinalityCache = 0;
     }
 
@@ -61,6 +78,28 @@ public class Bitmask implements Cloneable {
         this(Math.max(that.bits.length << WORD_ADDRESS_BITS, startCapacity));
         System.arraycopy(that.bits, 0, this.bits, 0, that.bits.length);
         this.cardinalityCache = that.cardinalityCache;
+        this.hashCodeCache = that.hashCodeCache;
+    }
+
+    /**
+     * Marks this instance as immutable, so that any further modification fails.
+     *
+     * @return this instance
+     */
+    public Bitmask toImmutable() {
+        this.isImmutable = true;
+        return this;
+    }
+
+    /**
+     * Must be called before modifying this instance. Checks whether this is allowed and discards the cached
+     * hash code.
+     */
+    private void beforeModification() {
+        if (this.isImmutable) {
+            throw new UnsupportedOperationException("Cannot modify an immutable bitmask.");
+        }
+        this.hashCodeCache = 0;
     }
 
     /**
@@ -90,9 +129,11 @@ public class Bitmask implements Cloneable {
      * @return whether this instance was changed
      */
     public boolean set(int index) {
-        if (!this.ensureCapacity(index) && this.get(index)) {
+        if (this.get(index)) {
             return false;
         }
+        this.beforeModification();
+        this.ensureCapacity(index);
         final int longPos = getLongPos(index);
         final int offset = getOffset(index);
         this.bits[longPos] = this.bits[longPos] | (1L << offset);
@@ -117,17 +158,22 @@ public class Bitmask implements Cloneable {
      * Makes sure that {@link #bits} is large enough to comprise the given {@code index}.
      *
      * @param index an index for a bit
-     * @return whether {@link #bits} was enlarged
      */
-    private boolean ensureCapacity(int index) {
-        int numRequiredLongs = getLongPos(index) + 1;
+    private void ensureCapacity(int index) {
+        this.ensureWords(getLongPos(index) + 1);
+    }
+
+    /**
+     * Makes sure that {@link #bits} comprises at least the given number of words.
+     *
+     * @param numRequiredLongs the number of required words
+     */
+    private void ensureWords(int numRequiredLongs) {
         if (this.bits.length < numRequiredLongs) {
             long[] newBits = new long[numRequiredLongs];
             System.arraycopy(this.bits, 0, newBits, 0, this.bits.length);
             this.bits = newBits;
-            return true;
         }
-        return false;
     }
 
     /**
@@ -151,7 +197,11 @@ public class Bitmask implements Cloneable {
      * @return whether this instance is empty
      */
     public boolean isEmpty() {
-        return this.cardinality() == 0;
+        if (this.cardinalityCache != -1) return this.cardinalityCache == 0;
+        for (long bits : this.bits) {
+            if (bits != 0L) return false;
+        }
+        return true;
     }
 
     /**
@@ -161,14 +211,31 @@ public class Bitmask implements Cloneable {
      * @return this instance
      */
     public Bitmask orInPlace(Bitmask that) {
-        this.ensureCapacity(that.bits.length << WORD_ADDRESS_BITS);
-        for (int i = 0; i < that.bits.length; i++) {
-            this.bits[i] |= that.bits[i];
+        final int numThatWords = that.getNumUsedWords();
+        if (numThatWords == 0) return this;
+        this.beforeModification();
+        this.ensureWords(numThatWords);
+        int numNewBits = 0;
+        for (int i = 0; i < numThatWords; i++) {
+            final long newBits = that.bits[i] & ~this.bits[i];
+            numNewBits += Long.bitCount(newBits);
+            this.bits[i] |= newBits;
         }
-        this.cardinalityCache = -1;
+        if (this.cardinalityCache != -1) this.cardinalityCache += numNewBits;
         return this;
     }
 
+    /**
+     * Determines the number of words in {@link #bits} up to the last non-zero one.
+     *
+     * @return the number of used words
+     */
+    private int getNumUsedWords() {
+        int numUsedWords = this.bits.length;
+        while (numUsedWords > 0 && this.bits[numUsedWords - 1] == 0L) numUsedWords--;
+        return numUsedWords;
+    }
+
     /**
      * Creates the new instance that merges this and the given one via logical OR.
      *
@@ -176,7 +243,7 @@ public class Bitmask implements Cloneable {
      * @return this merged instance
      */
     public Bitmask or(Bitmask that) {
-        Bitmask copy = new Bitmask(this, that.bits.length << WORD_ADDRESS_BITS);
+        Bitmask copy = new Bitmask(this, that.getNumUsedWords() << WORD_ADDRESS_BITS);
         return copy.orInPlace(that);
     }
 
@@ -188,14 +255,15 @@ public class Bitmask implements Cloneable {
      * @return this instance
      */
     public Bitmask andInPlace(Bitmask that) {
-        this.ensureCapacity(that.bits.length << WORD_ADDRESS_BITS);
-        for (int i = 0; i < that.bits.length; i++) {
-            this.bits[i] &= that.bits[i];
-        }
-        for (int i = that.bits.length; i < this.bits.length; i++) {
-            this.bits[i] = 0;
+        int numRemovedBits = 0;
+        for (int i = 0; i < this.bits.length; i++) {
+            final long removedBits = i < that.bits.length ? this.bits[i] & ~that.bits[i] : this.bits[i];
+            if (removedBits == 0L) continue;
+            if (numRemovedBits == 0) this.beforeModification();
+            numRemovedBits += Long.bitCount(removedBits);
+            this.bits[i] ^= removedBits;
         }
-        this.cardinalityCache = -1;
+        if (this.cardinalityCache != -1) this.cardinalityCache -= numRemovedBits;
         return this;
     }
 
@@ -206,8 +274,7 @@ public class Bitmask implements Cloneable {
      * @return this merged instance
      */
     public Bitmask and(Bitmask that) {
-        Bitmask copy = new Bitmask(this, that.bits.length << WORD_ADDRESS_BITS);
-        return copy.andInPlace(that);
+        return new Bitmask(this).andInPlace(that);
     }
 
     /**
@@ -217,11 +284,16 @@ public class Bitmask implements Cloneable {
      * @return this instance
      */
     public Bitmask andNotInPlace(Bitmask that) {
-        this.ensureCapacity(that.bits.length << WORD_ADDRESS_BITS);
-        for (int i = 0; i < that.bits.length; i++) {
-            this.bits[i] &= ~that.bits[i];
+        final int minBitsLength = Math.min(this.bits.length, that.bits.length);
+        int numRemovedBits = 0;
+        for (int i = 0; i < minBitsLength; i++) {
+            final long removedBits = this.bits[i] & that.bits[i];
+            if (removedBits == 0L) continue;
+            if (numRemovedBits == 0) this.beforeModification();
+            numRemovedBits += Long.bitCount(removedBits);
+            this.bits[i] ^= removedBits;
         }
-        this.cardinalityCache = -1;
+        if (this.cardinalityCache != -1) this.cardinalityCache -= numRemovedBits;
         return this;
     }
 
@@ -232,8 +304,7 @@ public class Bitmask implements Cloneable {
      * @return this merged instance
      */
     public Bitmask andNot(Bitmask that) {
-        Bitmask copy = new Bitmask(this, that.bits.length << WORD_ADDRESS_BITS);
-        return copy.andNotInPlace(that);
+        return new Bitmask(this).andNotInPlace(that);
     }
 
     /**
@@ -245,6 +316,7 @@ public class Bitmask implements Cloneable {
      */
     public Bitmask flip(int fromIndex, int toIndex) {
         if (fromIndex < toIndex) {
+            this.beforeModification();
             this.ensureCapacity(toIndex - 1);
             int fromLongPos = getLongPos(fromIndex);
             int untilLongPos = getLongPos(toIndex - 1);
@@ -320,6 +392,21 @@ public class Bitmask implements Cloneable {
         return -1;
     }
 
+    /**
+     * Calls the given {@link IntConsumer} for the indices of all set bits in ascending order.
+     *
+     * @param consumer that should be called
+     */
+    public void forEachSetBit(IntConsumer consumer) {
+        for (int longPos = 0; longPos < this.bits.length; longPos++) {
+            long bits = this.bits[longPos];
+            while (bits != 0L) {
+                consumer.accept(longPos << WORD_ADDRESS_BITS | Long.numberOfTrailingZeros(bits));
+                bits &= bits - 1;
+            }
+        }
+    }
+
     @Override
     public String toString() {
         return this.toIndexString();
@@ -350,13 +437,10 @@ public class Bitmask implements Cloneable {
     private String toIndexString() {
         StringBuilder sb = new StringBuilder(2 + this.cardinality() * 8);
         sb.append("{");
-        String separator = "";
-        int nextIndex = this.nextSetBit(0);
-        while (nextIndex != -1) {
-            sb.append(separator).append(nextIndex);
-            separator = ", ";
-            nextIndex = this.nextSetBit(nextIndex + 1);
-        }
+        this.forEachSetBit(index -> {
+            if (sb.length() > 1) sb.append(", ");
+            sb.append(index);
+        });
         sb.append("}");
         return sb.toString();
     }
@@ -369,6 +453,9 @@ public class Bitmask implements Cloneable {
         if (this.cardinalityCache != -1 && that.cardinalityCache != -1 && this.cardinalityCache != that.cardinalityCache) {
             return false;
         }
+        if (this.hashCodeCache != 0 && that.hashCodeCache != 0 && this.hashCodeCache != that.hashCodeCache) {
+            return false;
+        }
         final Bitmask smallInstance;
         final Bitmask largeInstance;
         if (this.bits.length < that.bits.length) {
@@ -389,10 +476,13 @@ public class Bitmask implements Cloneable {
 
     @Override
     public int hashCode() {
-        int accu = 0;
-        for (long bits : this.bits) {
-            accu ^= bits ^ (bits >>> 32);
+        if (this.hashCodeCache == 0) {
+            int accu = 0;
+            for (long bits : this.bits) {
+                accu ^= bits ^ (bits >>> 32);
+            }
+            this.hashCodeCache = accu;
         }
-        return accu;
+        return this.hashCodeCache;
     }
 }
@@ -1,8 +1,15 @@
 package org.qcri.rheem.core.util;
 
+import org.qcri.rheem.core.api.exception.RheemException;
+
 import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
 import java.util.function.Consumer;
 
 /**
@@ -13,13 +20,21 @@ import java.util.function.Consumer;
  * elements are pushed, {@link #declareLastAdd()} should be called. The consumer obtains a {@link Iterator} via
  * {@link #getIterator()} from that previously pushed elements can be obtained. Both operators can block when the
  * buffer is full or empty.</p>
+ * <p>The consumer can stop reading early via {@link CloseableIterator#close()}. Then, further pushes fail with a
+ * {@link CancellationException}, so as to abort the producer. The same holds for pushes from interrupted threads. Furthermore, a producer that runs asynchronously can
+ * be bound via {@link #bindProducer(Future)}, so that its failures are rethrown to the consumer.</p>
  */
 public class ConsumerIteratorAdapter<T> {
 
     /**
-     * Sleeping time when a read/write to the {@link #ringBuffer} cannot be served.
+     * Number of failed attempts to read/write the {@link #ringBuffer} before backing off by yielding and parking.
+     */
+    private static final int SPIN_ATTEMPTS = 64, YIELD_ATTEMPTS = 128;
+
+    /**
+     * Parking time when a read/write to the {@link #ringBuffer} cannot be served repeatedly.
      */
-    private static final long SLEEP_MILLIS = 0L;
+    private static final long PARK_NANOS = 50_000L;
 
     /**
      * Default capacity for the {@link #ringBuffer}.
@@ -45,7 +60,17 @@ public class ConsumerIteratorAdapter<T> {
     /**
      * Whether new writes can occur.
      */
-    private boolean isWriteFinished = false;
+    private volatile boolean isWriteFinished = false;
+
+    /**
+     * Whether the consumer has stopped reading.
+     */
+    private volatile boolean isCancelled = false;
+
+    /**
+     * Optional {@link Future} of the producer.
+     */
+    private volatile Future<?> producer;
 
     /**
      * Bitmask of relevant bits for both read and write positions.
@@ -55,36 +80,37 @@ public class ConsumerIteratorAdapter<T> {
     /**
      * The {@link Iterator} for the consumer.
      */
-    private final Iterator<T> iterator = new Iterator<T>() {
+    private final CloseableIterator<T> iterator = new CloseableIterator<T>() {
 
-        private boolean isInitialized = false;
+        /**
+         * Whether {@link #next} has been read but not been returned yet. We read lazily to prevent deadlocks on
+         * instantiation and to surface failures of the producer only when the consumer asks for more elements.
+         */
+        private boolean isNextRead = false;
 
         private T next;
 
-        private void ensureInitialized() {
-            // We need to lazy-intialize to prevent deadlocks on instantiation.
-            if (!this.isInitialized) {
-                this.moveToNext();
-                this.isInitialized = true;
-            }
-        }
-
         @Override
         public boolean hasNext() {
-            this.ensureInitialized();
+            if (!this.isNextRead) {
+                this.next = ConsumerIteratorAdapter.this.read();
+                this.isNextRead = true;
+            }
             return this.next != null;
         }
 
         @Override
         public T next() {
-            this.ensureInitialized();
-            T curNext = this.next;
-            this.moveToNext();
-            return curNext;
+            if (!this.hasNext()) throw new NoSuchElementException();
+            this.isNextRead = false;
+            return this.next;
         }
 
-        private void moveToNext() {
-            this.next = ConsumerIteratorAdapter.this.read();
+        @Override
+        public void close() {
+            ConsumerIteratorAdapter.this.cancel();
+            this.next = null;
+            this.isNextRead = true;
         }
     };
 
@@ -125,7 +151,7 @@ public class ConsumerIteratorAdapter<T> {
      *
      * @return the consumer {@link Iterator}
      */
-    public Iterator<T> getIterator() {
+    public CloseableIterator<T> getIterator() {
         return this.iterator;
     }
 
@@ -146,21 +172,23 @@ public class ConsumerIteratorAdapter<T> {
     private void add(T element) {
         assert !this.isWriteFinished;
         int writePos, nextWritePos;
-        while (true) {
+        for (int attempt = 0; ; attempt++) {
+            if (this.isCancelled) {
+                throw new CancellationException("The consumer has stopped reading.");
+            }
+            // An interrupted producer would not park anymore but spin, so abort it instead.
+            if (Thread.currentThread().isInterrupted()) {
+                throw new CancellationException("The producer has been interrupted.");
+            }
             final long state = this.state.get();
             final int readPos = (int) state;
             writePos = (int) (state >>> 32);
 
-            // We permit to write if the next writable position is not
+            // We permit to write if the next writable position is not the read position.
             nextWritePos = (writePos + 1) & this.stateBits;
             if (nextWritePos == readPos) {
-                // If cannot read, wait to try again.
-                if (SLEEP_MILLIS > 0) {
-                    try {
-                        Thread.sleep(SLEEP_MILLIS);
-                    } catch (InterruptedException ignored) {
-                    }
-                }
+                // If cannot write, wait to try again.
+                backOff(attempt);
             } else break;
         }
         // Add the element.
@@ -178,28 +206,31 @@ public class ConsumerIteratorAdapter<T> {
      */
     private T read() {
         int readPos;
-        while (true) {
+        for (int attempt = 0; ; attempt++) {
+            if (this.isCancelled) return null;
+            // Read the flags before the state, so that we do not miss any write before the last write.
+            final Future<?> producer = this.producer;
+            final boolean isWriteFinished = this.isWriteFinished;
             final long state = this.state.get();
             readPos = (int) state;
             final int writePos = (int) (state >>> 32);
 
             if (readPos == writePos) {
-                if (this.isWriteFinished) {
+                if (isWriteFinished) {
                     return null;
+                } else if (producer != null && producer.isDone()) {
+                    // The producer has terminated without declaring the last write.
+                    this.rethrowProducerFailure(producer);
                 } else {
                     // If cannot read, wait to try again.
-                    if (SLEEP_MILLIS > 0) {
-                        try {
-                            Thread.sleep(SLEEP_MILLIS);
-                        } catch (InterruptedException ignored) {
-                        }
-                    }
+                    backOff(attempt);
                 }
             } else break;
         }
 
-        // Read the element.
+        // Read the element and release it from the ringBuffer.
         final T t = this.ringBuffer.get(readPos);
+        this.ringBuffer.set(readPos, null);
 
         // Commit the updated read position.
         int nextReadPos = (readPos + 1) & this.stateBits;
@@ -209,6 +240,37 @@ public class ConsumerIteratorAdapter<T> {
         return t;
     }
 
+    /**
+     * Rethrows the failure of the given {@code producer}, which must be done.
+     *
+     * @param producer {@link Future} of the producer
+     * @throws RheemException wrapping the failure of the {@code producer}
+     */
+    private void rethrowProducerFailure(Future<?> producer) throws RheemException {
+        try {
+            producer.get();
+        } catch (ExecutionException e) {
+            throw new RheemException("The producer has failed.", e.getCause());
+        } catch (CancellationException | InterruptedException e) {
+            throw new RheemException("The producer has been cancelled.", e);
+        }
+        if (!this.isWriteFinished) {
+            throw new RheemException("The producer has terminated without declaring its last element.");
+        }
+    }
+
+    /**
+     * Waits before retrying to read/write the {@link #ringBuffer}: spins first, then yields, and eventually parks
+     * the current thread.
+     *
+     * @param attempt the number of previous attempts
+     */
+    private static void backOff(int attempt) {
+        if (attempt < SPIN_ATTEMPTS) return;
+        if (attempt < YIELD_ATTEMPTS) Thread.yield();
+        else LockSupport.parkNanos(PARK_NANOS);
+    }
+
     /**
      * Declare that all elements have been pushed to the producer {@link Consumer}.
      *
@@ -217,4 +279,37 @@ public class ConsumerIteratorAdapter<T> {
     public void declareLastAdd() {
         this.isWriteFinished = true;
     }
+
+    /**
+     * Binds the {@link Future} of a producer that runs asynchronously to this instance: If the producer fails, the
+     * consumer {@link Iterator} rethrows its failure; and if the consumer stops reading, the producer is cancelled.
+     *
+     * @param producer the {@link Future} of the producer
+     */
+    public void bindProducer(Future<?> producer) {
+        this.producer = producer;
+        if (this.isCancelled) producer.cancel(true);
+    }
+
+    /**
+     * Declare that the consumer stops reading. Further pushes to the producer {@link Consumer} will fail with a
+     * {@link CancellationException} and a bound producer will be cancelled.
+     *
+     * @see #bindProducer(Future)
+     */
+    public void cancel() {
+        this.isCancelled = true;
+        final Future<?> producer = this.producer;
+        if (producer != null) producer.cancel(true);
+    }
+
+    /**
+     * An {@link Iterator} that can be closed to stop reading early.
+     */
+    public interface CloseableIterator<T> extends Iterator<T>, AutoCloseable {
+
+        @Override
+        void close();
+
+    }
 }
@@ -70,6 +70,16 @@ public class HadoopFileSystem implements FileSystem {
         }
     }
 
+    @Override
+    public long getModificationTime(String fileUrl) throws FileNotFoundException {
+        try {
+            final FileStatus fileStatus = this.getHdfs(fileUrl).getFileStatus(new Path(fileUrl));
+            return fileStatus.getModificationTime();
+        } catch (IOException e) {
+            throw new FileNotFoundException(String.format("Could not access %s.", fileUrl));
+        }
+    }
+
     @Override
     public boolean canHandle(String url) {
         return url.startsWith("hdfs:/");
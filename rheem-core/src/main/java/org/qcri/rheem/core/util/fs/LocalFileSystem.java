@@ -98,6 +98,20 @@ public class LocalFileSystem implements FileSystem {
         }
     }
 
+    @Override
+    public long getModificationTime(String fileUrl) throws FileNotFoundException {
+        try {
+            File file = toFile(fileUrl);
+            if (!file.exists()) {
+                throw new FileNotFoundException(String.format("Could not find %s.", fileUrl));
+            }
+            return file.lastModified();
+        } catch (MalformedURLException | URISyntaxException e) {
+            logger.error("Illegal URL: \"{}\"", fileUrl);
+            throw new FileNotFoundException("File not found, because the URL is not correct.");
+        }
+    }
+
     @Override
     public boolean canHandle(String urlAsString) {
         if (!urlAsString.startsWith("file:")) return false;
@@ -4,6 +4,9 @@ package org.qcri.rheem.core.util.mathex;
 import org.qcri.rheem.core.util.mathex.exceptions.EvaluationException;
 import org.qcri.rheem.core.util.mathex.model.Constant;
 
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+
 /**
  * A mathematical expression that can be evaluated.
  */
@@ -52,4 +55,16 @@ public interface Expression {
         }
     }
 
+    /**
+     * Compile this instance into a function that reads its variables from a {@code double[]} rather than resolving
+     * them from a {@link Context} on each evaluation. Functions must have been weaved in via {@link #specify(Context)}.
+     *
+     * @param variableIndexer assigns each variable name its index in the {@code double[]}
+     * @return the compiled function
+     * @throws EvaluationException if this instance cannot be compiled
+     */
+    default ToDoubleFunction<double[]> compile(ToIntFunction<String> variableIndexer) throws EvaluationException {
+        throw new EvaluationException(String.format("Cannot compile %s.", this));
+    }
+
 }
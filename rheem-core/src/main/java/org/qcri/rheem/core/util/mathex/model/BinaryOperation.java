@@ -5,6 +5,9 @@ import org.qcri.rheem.core.util.mathex.Context;
 import org.qcri.rheem.core.util.mathex.Expression;
 import org.qcri.rheem.core.util.mathex.exceptions.EvaluationException;
 
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+
 /**
  * An operation {@link Expression}.
  */
@@ -53,6 +56,28 @@ public class BinaryOperation implements Expression {
         return defaultSpecification;
     }
 
+    @Override
+    public ToDoubleFunction<double[]> compile(ToIntFunction<String> variableIndexer) {
+        final ToDoubleFunction<double[]> operand0 = this.operand0.compile(variableIndexer);
+        final ToDoubleFunction<double[]> operand1 = this.operand1.compile(variableIndexer);
+        switch (this.operator) {
+            case '+':
+                return variables -> operand0.applyAsDouble(variables) + operand1.applyAsDouble(variables);
+            case '-':
+                return variables -> operand0.applyAsDouble(variables) - operand1.applyAsDouble(variables);
+            case '*':
+                return variables -> operand0.applyAsDouble(variables) * operand1.applyAsDouble(variables);
+            case '/':
+                return variables -> operand0.applyAsDouble(variables) / operand1.applyAsDouble(variables);
+            case '%':
+                return variables -> operand0.applyAsDouble(variables) % operand1.applyAsDouble(variables);
+            case '^':
+                return variables -> Math.pow(operand0.applyAsDouble(variables), operand1.applyAsDouble(variables));
+            default:
+                throw new EvaluationException(String.format("Unknown operator: \"%s\"", this.operator));
+        }
+    }
+
     @Override
     public String toString() {
         return String.format("(%s)%s(%s)", this.operand0, this.operator, this.operand1);
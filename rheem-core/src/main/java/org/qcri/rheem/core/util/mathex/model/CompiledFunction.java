@@ -6,6 +6,7 @@ import org.qcri.rheem.core.util.mathex.Expression;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
 import java.util.stream.Collectors;
 
 /**
@@ -65,6 +66,24 @@ public class CompiledFunction implements Expression {
         return specification;
     }
 
+    @Override
+    public ToDoubleFunction<double[]> compile(ToIntFunction<String> variableIndexer) {
+        @SuppressWarnings("unchecked")
+        final ToDoubleFunction<double[]>[] compiledArguments = new ToDoubleFunction[this.arguments.size()];
+        int i = 0;
+        for (Expression argument : this.arguments) {
+            compiledArguments[i++] = argument.compile(variableIndexer);
+        }
+        final ToDoubleFunction<double[]> implementation = this.implementation;
+        return variables -> {
+            double[] args = new double[compiledArguments.length];
+            for (int j = 0; j < compiledArguments.length; j++) {
+                args[j] = compiledArguments[j].applyAsDouble(variables);
+            }
+            return implementation.applyAsDouble(args);
+        };
+    }
+
     @Override
     public String toString() {
         return this.name + this.arguments.stream().map(Object::toString).collect(Collectors.joining(", ", "(", ")"));
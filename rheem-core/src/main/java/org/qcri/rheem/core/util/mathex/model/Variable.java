@@ -4,6 +4,9 @@ package org.qcri.rheem.core.util.mathex.model;
 import org.qcri.rheem.core.util.mathex.Context;
 import org.qcri.rheem.core.util.mathex.Expression;
 
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+
 /**
  * A variable {@link Expression}
  */
@@ -20,6 +23,12 @@ public class Variable implements Expression {
         return context.getVariable(this.name);
     }
 
+    @Override
+    public ToDoubleFunction<double[]> compile(ToIntFunction<String> variableIndexer) {
+        final int index = variableIndexer.applyAsInt(this.name);
+        return variables -> variables[index];
+    }
+
     @Override
     public String toString() {
         return this.name;
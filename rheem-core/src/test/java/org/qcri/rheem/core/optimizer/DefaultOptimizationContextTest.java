@@ -0,0 +1,131 @@
+package org.qcri.rheem.core.optimizer;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.qcri.rheem.core.api.Configuration;
+import org.qcri.rheem.core.api.Job;
+import org.qcri.rheem.core.optimizer.cardinality.CardinalityEstimate;
+import org.qcri.rheem.core.optimizer.costs.DefaultLoadEstimator;
+import org.qcri.rheem.core.optimizer.costs.EstimationContext;
+import org.qcri.rheem.core.optimizer.costs.LoadEstimator;
+import org.qcri.rheem.core.optimizer.costs.LoadProfile;
+import org.qcri.rheem.core.optimizer.costs.NestableLoadProfileEstimator;
+import org.qcri.rheem.core.optimizer.costs.TimeToCostConverter;
+import org.qcri.rheem.core.test.DummyExecutionOperator;
+import org.qcri.rheem.core.test.DummyPlatform;
+import org.qcri.rheem.core.test.MockFactory;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test suite for {@link DefaultOptimizationContext}.
+ */
+public class DefaultOptimizationContextTest {
+
+    @Test
+    public void testCopyIsDecoupledFromOriginal() {
+        Job job = MockFactory.createJob(new Configuration());
+        DummyExecutionOperator operator = new DummyExecutionOperator(1, 1, false);
+        DefaultOptimizationContext original = new DefaultOptimizationContext(job, operator);
+        original.getOperatorContext(operator).setInputCardinality(0, new CardinalityEstimate(10, 10, 1d));
+        original.getOperatorContext(operator).setOutputCardinality(0, new CardinalityEstimate(10, 10, 1d));
+
+        // The copy should see the cardinalities of the original.
+        DefaultOptimizationContext copy = original.copy();
+        final OptimizationContext.OperatorContext copiedOpCtx = copy.getOperatorContext(operator);
+        Assert.assertNotSame(original.getOperatorContext(operator), copiedOpCtx);
+        Assert.assertEquals(new CardinalityEstimate(10, 10, 1d), copiedOpCtx.getOutputCardinality(0));
+        Assert.assertTrue(copiedOpCtx.isOutputMarked(0));
+
+        // Modifications of the copy should not affect the original.
+        copiedOpCtx.clearMarks();
+        copiedOpCtx.setOutputCardinality(0, new CardinalityEstimate(20, 20, 1d));
+        final OptimizationContext.OperatorContext originalOpCtx = original.getOperatorContext(operator);
+        Assert.assertEquals(new CardinalityEstimate(10, 10, 1d), originalOpCtx.getOutputCardinality(0));
+        Assert.assertTrue(originalOpCtx.isOutputMarked(0));
+        Assert.assertTrue(originalOpCtx.isInputMarked(0));
+
+        // ...and vice versa.
+        originalOpCtx.setInputCardinality(0, new CardinalityEstimate(30, 30, 1d));
+        Assert.assertEquals(new CardinalityEstimate(10, 10, 1d), copiedOpCtx.getInputCardinality(0));
+        Assert.assertFalse(copiedOpCtx.isInputMarked(0));
+    }
+
+    @Test
+    public void testCostEstimateIsRecalculatedWhenItsBasisChanges() {
+        Configuration configuration = new Configuration();
+        Job job = MockFactory.createJob(configuration);
+        DummyExecutionOperator operator = new DummyExecutionOperator(1, 1, false);
+        configuration.getOperatorLoadProfileEstimatorProvider().set(operator, new NestableLoadProfileEstimator(
+                DefaultLoadEstimator.createIOLinearEstimator(100, 1d),
+                LoadEstimator.createFallback(1, 1)
+        ));
+        DefaultOptimizationContext optimizationContext = new DefaultOptimizationContext(job, operator);
+        final OptimizationContext.OperatorContext operatorContext = optimizationContext.getOperatorContext(operator);
+        operatorContext.setInputCardinality(0, new CardinalityEstimate(10, 10, 1d));
+        operatorContext.setOutputCardinality(0, new CardinalityEstimate(10, 10, 1d));
+
+        final double initialCosts = operatorContext.getCostEstimate().getGeometricMeanEstimate();
+        Assert.assertTrue(initialCosts > 0d);
+        Assert.assertEquals(initialCosts, operatorContext.getCostEstimate().getGeometricMeanEstimate(), 0d);
+
+        // Changing the cost model should be reflected in the estimate.
+        configuration.getTimeToCostConverterProvider().set(DummyPlatform.getInstance(), new TimeToCostConverter(0d, 2d));
+        final double doubledCosts = operatorContext.getCostEstimate().getGeometricMeanEstimate();
+        Assert.assertEquals(2 * initialCosts, doubledCosts, 0.1d);
+
+        // So should changed cardinalities.
+        operatorContext.setInputCardinality(0, new CardinalityEstimate(20, 20, 1d));
+        operatorContext.setOutputCardinality(0, new CardinalityEstimate(20, 20, 1d));
+        Assert.assertTrue(operatorContext.getCostEstimate().getGeometricMeanEstimate() > doubledCosts);
+    }
+
+    @Test
+    public void testCostEstimateIsCalculatedOnlyWhenOutdated() {
+        Configuration configuration = new Configuration();
+        Job job = MockFactory.createJob(configuration);
+        DummyExecutionOperator operator = new DummyExecutionOperator(1, 1, false);
+        final AtomicInteger numEstimations = new AtomicInteger(0);
+        configuration.getOperatorLoadProfileEstimatorProvider().set(operator, new NestableLoadProfileEstimator(
+                DefaultLoadEstimator.createIOLinearEstimator(100, 1d),
+                LoadEstimator.createFallback(1, 1)
+        ) {
+            @Override
+            public LoadProfile estimate(EstimationContext context) {
+                numEstimations.incrementAndGet();
+                return super.estimate(context);
+            }
+        });
+        DefaultOptimizationContext optimizationContext = new DefaultOptimizationContext(job, operator);
+        final OptimizationContext.OperatorContext operatorContext = optimizationContext.getOperatorContext(operator);
+        operatorContext.setInputCardinality(0, new CardinalityEstimate(10, 10, 1d));
+        operatorContext.setOutputCardinality(0, new CardinalityEstimate(10, 10, 1d));
+
+        // Repeated requests should not trigger new estimations.
+        for (int i = 0; i < 3; i++) {
+            operatorContext.getLoadProfile();
+            operatorContext.getTimeEstimate();
+            operatorContext.getCostEstimate();
+            operatorContext.getSquashedCostEstimate();
+        }
+        Assert.assertEquals(1, numEstimations.get());
+
+        // Setting an unchanged cardinality should not trigger a new estimation either...
+        operatorContext.setOutputCardinality(0, new CardinalityEstimate(10, 10, 1d));
+        operatorContext.getCostEstimate();
+        Assert.assertEquals(1, numEstimations.get());
+
+        // ...but a changed cardinality should.
+        operatorContext.setOutputCardinality(0, new CardinalityEstimate(20, 20, 1d));
+        operatorContext.getCostEstimate();
+        operatorContext.getCostEstimate();
+        Assert.assertEquals(2, numEstimations.get());
+
+        // So should a changed cost model.
+        configuration.getTimeToCostConverterProvider().set(DummyPlatform.getInstance(), new TimeToCostConverter(0d, 2d));
+        operatorContext.getCostEstimate();
+        operatorContext.getCostEstimate();
+        Assert.assertEquals(3, numEstimations.get());
+    }
+
+}
@@ -0,0 +1,152 @@
+package org.qcri.rheem.core.optimizer.cardinality;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.qcri.rheem.core.api.Configuration;
+import org.qcri.rheem.core.api.Job;
+import org.qcri.rheem.core.optimizer.DefaultOptimizationContext;
+import org.qcri.rheem.core.optimizer.OptimizationContext;
+import org.qcri.rheem.core.plan.rheemplan.Operator;
+import org.qcri.rheem.core.plan.rheemplan.RheemPlan;
+import org.qcri.rheem.core.plan.rheemplan.test.TestCustomMapOperator;
+import org.qcri.rheem.core.plan.rheemplan.test.TestFilterOperator;
+import org.qcri.rheem.core.plan.rheemplan.test.TestSink;
+import org.qcri.rheem.core.plan.rheemplan.test.TestSource;
+import org.qcri.rheem.core.profiling.CardinalityRepository;
+import org.qcri.rheem.core.test.MockFactory;
+import org.qcri.rheem.core.types.DataSetType;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Test suite for {@link CardinalityEstimatorManager}.
+ */
+public class CardinalityEstimatorManagerTest {
+
+    private File repositoryFile;
+
+    @Before
+    public void setUp() throws IOException {
+        this.repositoryFile = File.createTempFile("cardinalities", ".json");
+        this.repositoryFile.delete();
+    }
+
+    @After
+    public void tearDown() {
+        this.repositoryFile.delete();
+    }
+
+    @Test
+    public void testStatisticsReplaceFallbackEstimators() {
+        final TestFilterOperator<String> filter = new TestFilterOperator<>(String.class);
+        final TestCustomMapOperator<String, String> customMap = new TestCustomMapOperator<>(
+                DataSetType.createDefault(String.class), DataSetType.createDefault(String.class)
+        );
+        final RheemPlan rheemPlan = this.createPlan(filter, customMap);
+
+        // Record statistics for the custom map, which has no estimator.
+        final Job job = MockFactory.createJob(new Configuration());
+        CardinalityRepository repository = new CardinalityRepository(this.repositoryFile.getPath(), 1000);
+        this.store(repository, job, customMap, 100, 50);
+        repository.sleep();
+
+        final Configuration configuration = new Configuration();
+        this.registerStatistics(rheemPlan, job, configuration);
+
+        final CardinalityEstimator estimator = configuration.getCardinalityEstimatorProvider().provideFor(customMap.getOutput(0));
+        Assert.assertTrue(estimator instanceof StatisticsBasedCardinalityEstimator);
+        Assert.assertNull(((StatisticsBasedCardinalityEstimator) estimator).getOperatorEstimator());
+        Assert.assertFalse(configuration.getCardinalityEstimatorProvider().provideFor(filter.getOutput(0))
+                instanceof StatisticsBasedCardinalityEstimator);
+    }
+
+    @Test
+    public void testConfidentStatisticsOverrideOperatorEstimators() {
+        final TestFilterOperator<String> filter = new TestFilterOperator<>(String.class);
+        final TestCustomMapOperator<String, String> customMap = new TestCustomMapOperator<>(
+                DataSetType.createDefault(String.class), DataSetType.createDefault(String.class)
+        );
+        final RheemPlan rheemPlan = this.createPlan(filter, customMap);
+
+        // The filter estimates a selectivity of 0.7, but we measured 0.1 several times.
+        final Job job = MockFactory.createJob(new Configuration());
+        CardinalityRepository repository = new CardinalityRepository(this.repositoryFile.getPath(), 1000);
+        for (int i = 0; i < 4; i++) {
+            this.store(repository, job, filter, 1000, 100);
+        }
+        repository.sleep();
+
+        final Configuration configuration = new Configuration();
+        this.registerStatistics(rheemPlan, job, configuration);
+
+        final CardinalityEstimator estimator = configuration.getCardinalityEstimatorProvider().provideFor(filter.getOutput(0));
+        Assert.assertTrue(estimator instanceof StatisticsBasedCardinalityEstimator);
+        final CardinalityEstimate estimate = estimator.estimate(
+                new DefaultOptimizationContext(job), new CardinalityEstimate(2000, 2000, 1d)
+        );
+        Assert.assertEquals(200, estimate.getLowerEstimate());
+        Assert.assertEquals(200, estimate.getUpperEstimate());
+    }
+
+    @Test
+    public void testUnconfidentStatisticsAreBlendedWithOperatorEstimators() {
+        final TestFilterOperator<String> filter = new TestFilterOperator<>(String.class);
+        final TestCustomMapOperator<String, String> customMap = new TestCustomMapOperator<>(
+                DataSetType.createDefault(String.class), DataSetType.createDefault(String.class)
+        );
+        final RheemPlan rheemPlan = this.createPlan(filter, customMap);
+
+        // A single measurement has a confidence of 0.5, so that it should be weighted equally with the filter's 0.7.
+        final Job job = MockFactory.createJob(new Configuration());
+        CardinalityRepository repository = new CardinalityRepository(this.repositoryFile.getPath(), 1000);
+        this.store(repository, job, filter, 1000, 100);
+        repository.sleep();
+
+        final Configuration configuration = new Configuration();
+        this.registerStatistics(rheemPlan, job, configuration);
+
+        final CardinalityEstimate estimate = configuration.getCardinalityEstimatorProvider()
+                .provideFor(filter.getOutput(0))
+                .estimate(new DefaultOptimizationContext(job), new CardinalityEstimate(2000, 2000, 1d));
+        Assert.assertEquals(800, estimate.getLowerEstimate());
+        Assert.assertEquals(800, estimate.getUpperEstimate());
+        Assert.assertEquals(0.75, estimate.getCorrectnessProbability(), 0.001);
+    }
+
+    /**
+     * Creates a {@link RheemPlan} of a {@link TestSource}, the given {@code filter} and {@code customMap}, and a
+     * {@link TestSink}.
+     */
+    private RheemPlan createPlan(TestFilterOperator<String> filter, TestCustomMapOperator<String, String> customMap) {
+        TestSource<String> source = new TestSource<>(String.class);
+        source.connectTo(0, filter, 0);
+        filter.connectTo(0, customMap, 0);
+        TestSink<String> sink = new TestSink<>(String.class);
+        customMap.connectTo(0, sink, 0);
+        return new RheemPlan(sink);
+    }
+
+    /**
+     * Lets a {@link CardinalityEstimatorManager} register the statistics from the {@link #repositoryFile} with the
+     * given {@link Configuration}.
+     */
+    private void registerStatistics(RheemPlan rheemPlan, Job job, Configuration configuration) {
+        final CardinalityRepository repository = new CardinalityRepository(this.repositoryFile.getPath(), 1000);
+        new CardinalityEstimatorManager(
+                rheemPlan, new DefaultOptimizationContext(job), configuration, repository
+        ).getPlanTraversal();
+    }
+
+    private void store(CardinalityRepository repository, Job job, Operator operator,
+                       long inputCardinality, long outputCardinality) {
+        OptimizationContext optimizationContext = new DefaultOptimizationContext(job, operator);
+        final OptimizationContext.OperatorContext operatorContext = optimizationContext.getOperatorContext(operator);
+        operatorContext.setInputCardinality(0, new CardinalityEstimate(inputCardinality, inputCardinality, 1d));
+        operatorContext.setOutputCardinality(0, new CardinalityEstimate(outputCardinality, outputCardinality, 1d));
+        repository.store(operator.getOutput(0), outputCardinality, operatorContext);
+    }
+
+}
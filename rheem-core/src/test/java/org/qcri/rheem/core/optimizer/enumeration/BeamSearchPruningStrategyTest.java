@@ -0,0 +1,149 @@
+package org.qcri.rheem.core.optimizer.enumeration;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.qcri.rheem.core.api.Configuration;
+import org.qcri.rheem.core.plan.rheemplan.ExecutionOperator;
+import org.qcri.rheem.core.platform.Platform;
+import org.qcri.rheem.core.test.DummyExecutionOperator;
+import org.qcri.rheem.core.test.DummyPlatform;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test suite for {@link BeamSearchPruningStrategy}.
+ */
+public class BeamSearchPruningStrategyTest {
+
+    private final Platform platform1 = DummyPlatform.getInstance();
+
+    private final Platform platform2 = mock(Platform.class);
+
+    private ExecutionOperator interfaceOperator1, interfaceOperator2;
+
+    @Before
+    public void setUp() {
+        this.interfaceOperator1 = new DummyExecutionOperator(1, 1, false);
+        this.interfaceOperator2 = new DummyExecutionOperator(1, 1, false);
+    }
+
+    private static PlanImplementation createPlanImplementation(double costs,
+                                                               Set<Platform> platforms,
+                                                               ExecutionOperator... interfaceOperators) {
+        final PlanImplementation planImplementation = mock(PlanImplementation.class);
+        when(planImplementation.getSquashedCostEstimate(true)).thenReturn(costs);
+        when(planImplementation.getUtilizedPlatforms()).thenReturn(platforms);
+        when(planImplementation.getInterfaceOperators()).thenReturn(Arrays.asList(interfaceOperators));
+        return planImplementation;
+    }
+
+    private static BeamSearchPruningStrategy createStrategy(long width, long budget) {
+        return createStrategy(width, budget, new AtomicLong(0L));
+    }
+
+    private static BeamSearchPruningStrategy createStrategy(long width, long budget, AtomicLong clock) {
+        final Configuration configuration = new Configuration();
+        configuration.setProperty("rheem.core.optimizer.pruning.beam.width", String.valueOf(width));
+        configuration.setProperty("rheem.core.optimizer.pruning.beam.budget", String.valueOf(budget));
+        final BeamSearchPruningStrategy strategy = new BeamSearchPruningStrategy(clock::get);
+        strategy.configure(configuration);
+        strategy.startEnumeration();
+        return strategy;
+    }
+
+    private static PlanEnumeration createPlanEnumeration(PlanImplementation... planImplementations) {
+        final PlanEnumeration planEnumeration = new PlanEnumeration();
+        Collections.addAll(planEnumeration.getPlanImplementations(), planImplementations);
+        return planEnumeration;
+    }
+
+    @Test
+    public void testRetainsCheapestPlansWithinWidth() {
+        PlanImplementation[] planImplementations = new PlanImplementation[4];
+        ExecutionOperator[] interfaceOperators = new ExecutionOperator[planImplementations.length];
+        for (int i = 0; i < planImplementations.length; i++) {
+            // Use distinct interfaces, so that no PlanImplementation dominates another one.
+            interfaceOperators[i] = new DummyExecutionOperator(1, 1, false);
+            planImplementations[i] = createPlanImplementation(
+                    planImplementations.length - i, Collections.singleton(this.platform1), interfaceOperators[i]
+            );
+        }
+        final PlanEnumeration planEnumeration = createPlanEnumeration(planImplementations);
+
+        createStrategy(2, 0).prune(planEnumeration);
+
+        Assert.assertEquals(
+                new HashSet<>(Arrays.asList(planImplementations[2], planImplementations[3])),
+                new HashSet<>(planEnumeration.getPlanImplementations())
+        );
+    }
+
+    @Test
+    public void testDiscardsDominatedPlans() {
+        // Cheap plan on a single platform.
+        final PlanImplementation cheapPlan = createPlanImplementation(
+                1, Collections.singleton(this.platform1), this.interfaceOperator1
+        );
+        // Dominated: more expensive, more platforms, same interface.
+        final PlanImplementation dominatedPlan = createPlanImplementation(
+                2, new HashSet<>(Arrays.asList(this.platform1, this.platform2)), this.interfaceOperator1
+        );
+        // Not dominated: more expensive, but on a different platform.
+        final PlanImplementation otherPlatformPlan = createPlanImplementation(
+                3, Collections.singleton(this.platform2), this.interfaceOperator1
+        );
+        // Not dominated: more expensive, more platforms, but with a different interface.
+        final PlanImplementation otherInterfacePlan = createPlanImplementation(
+                4, new HashSet<>(Arrays.asList(this.platform1, this.platform2)), this.interfaceOperator2
+        );
+        final PlanEnumeration planEnumeration = createPlanEnumeration(
+                cheapPlan, dominatedPlan, otherPlatformPlan, otherInterfacePlan
+        );
+
+        createStrategy(10, 0).prune(planEnumeration);
+
+        Assert.assertEquals(
+                new HashSet<>(Arrays.asList(cheapPlan, otherPlatformPlan, otherInterfacePlan)),
+                new HashSet<>(planEnumeration.getPlanImplementations())
+        );
+    }
+
+    @Test
+    public void testNarrowsBeamOnceBudgetIsExhausted() {
+        final PlanImplementation cheapPlan = createPlanImplementation(
+                1, Collections.singleton(this.platform1), this.interfaceOperator1
+        );
+        final PlanImplementation expensivePlan = createPlanImplementation(
+                2, Collections.singleton(this.platform2), this.interfaceOperator2
+        );
+
+        // Within the budget, both PlanImplementations are retained.
+        final AtomicLong clock = new AtomicLong(1000L);
+        final BeamSearchPruningStrategy strategy = createStrategy(10, 50, clock);
+        clock.addAndGet(50L);
+        final PlanEnumeration planEnumeration1 = createPlanEnumeration(cheapPlan, expensivePlan);
+        strategy.prune(planEnumeration1);
+        Assert.assertEquals(2, planEnumeration1.getPlanImplementations().size());
+
+        // Afterwards, only the cheapest one survives.
+        clock.addAndGet(1L);
+        final PlanEnumeration planEnumeration2 = createPlanEnumeration(cheapPlan, expensivePlan);
+        strategy.prune(planEnumeration2);
+        Assert.assertEquals(Collections.singleton(cheapPlan), new HashSet<>(planEnumeration2.getPlanImplementations()));
+
+        // A new enumeration gets a new budget.
+        strategy.startEnumeration();
+        final PlanEnumeration planEnumeration3 = createPlanEnumeration(cheapPlan, expensivePlan);
+        strategy.prune(planEnumeration3);
+        Assert.assertEquals(2, planEnumeration3.getPlanImplementations().size());
+    }
+
+}
@@ -0,0 +1,216 @@
+package org.qcri.rheem.core.optimizer.enumeration;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.qcri.rheem.core.api.Configuration;
+import org.qcri.rheem.core.function.TransformationDescriptor;
+import org.qcri.rheem.core.optimizer.OptimizationContext;
+import org.qcri.rheem.core.plan.rheemplan.OperatorAlternative;
+import org.qcri.rheem.core.plan.rheemplan.RheemPlan;
+import org.qcri.rheem.core.test.DummyExecutionOperator;
+import org.qcri.rheem.core.test.DummyPlatform;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test suite for {@link PlanCache}.
+ */
+public class PlanCacheTest {
+
+    private static final String LOAD_ESTIMATOR_KEY = "rheem.core.test.dummy.load";
+
+    private static RheemPlan createRheemPlan(int numIntermediateOperators) {
+        DummyExecutionOperator source = new DummyExecutionOperator(0, 1, false) {
+            @Override
+            public Collection<String> getLoadProfileEstimatorConfigurationKeys() {
+                return Collections.singleton(LOAD_ESTIMATOR_KEY);
+            }
+        };
+        DummyExecutionOperator pipelineEnd = source;
+        List<DummyExecutionOperator> intermediateOperators = new ArrayList<>(numIntermediateOperators);
+        for (int i = 0; i < numIntermediateOperators; i++) {
+            DummyExecutionOperator operator = new DummyExecutionOperator(1, 1, false);
+            pipelineEnd.connectTo(0, operator, 0);
+            intermediateOperators.add(operator);
+            pipelineEnd = operator;
+        }
+        DummyExecutionOperator sink = new DummyExecutionOperator(1, 0, false);
+        pipelineEnd.connectTo(0, sink, 0);
+
+        // Provide an alternative for each intermediate operator.
+        for (DummyExecutionOperator operator : intermediateOperators) {
+            OperatorAlternative.wrap(operator).addAlternative(new DummyExecutionOperator(1, 1, false));
+        }
+        return new RheemPlan(sink);
+    }
+
+    /**
+     * Creates a {@link RheemPlan} with a single UDF-carrying {@link DummyExecutionOperator}.
+     */
+    private static RheemPlan createRheemPlan(TransformationDescriptor<Integer, Integer> udf) {
+        DummyExecutionOperator source = new DummyExecutionOperator(0, 1, false);
+        DummyExecutionOperator map = new DummyExecutionOperator(1, 1, false) {
+            @SuppressWarnings("unused")
+            private final TransformationDescriptor<Integer, Integer> functionDescriptor = udf;
+        };
+        source.connectTo(0, map, 0);
+        DummyExecutionOperator sink = new DummyExecutionOperator(1, 0, false);
+        map.connectTo(0, sink, 0);
+        return new RheemPlan(sink);
+    }
+
+    private static TransformationDescriptor<Integer, Integer> createMultiplyingUdf(int factor) {
+        return new TransformationDescriptor<>(i -> i * factor, Integer.class, Integer.class);
+    }
+
+    private static OptimizationContext createOptimizationContext() {
+        return createOptimizationContext(new Configuration());
+    }
+
+    private static OptimizationContext createOptimizationContext(Configuration configuration) {
+        OptimizationContext optimizationContext = mock(OptimizationContext.class);
+        when(optimizationContext.getConfiguration()).thenReturn(configuration);
+        return optimizationContext;
+    }
+
+    /**
+     * Creates a {@link PlanImplementation} that picks the {@link OperatorAlternative.Alternative} with the given
+     * index for all {@link OperatorAlternative}s of the given {@link PlanCache.Fingerprint}.
+     */
+    private static PlanImplementation createPlanImplementation(PlanCache.Fingerprint fingerprint, int alternativeIndex) {
+        PlanImplementation planImplementation = mock(PlanImplementation.class);
+        doAnswer(invocation -> {
+            @SuppressWarnings("unchecked")
+            Map<OperatorAlternative, OperatorAlternative.Alternative> collector =
+                    (Map<OperatorAlternative, OperatorAlternative.Alternative>) invocation.getArguments()[0];
+            for (OperatorAlternative operatorAlternative : fingerprint.getOperatorAlternatives()) {
+                collector.put(operatorAlternative, operatorAlternative.getAlternatives().get(alternativeIndex));
+            }
+            return null;
+        }).when(planImplementation).collectSettledAlternatives(any());
+        return planImplementation;
+    }
+
+    @Test
+    public void testFingerprintsOfEquivalentPlansAgree() {
+        final PlanCache.Fingerprint fingerprint1 = PlanCache.Fingerprint.of(createRheemPlan(2), createOptimizationContext());
+        final PlanCache.Fingerprint fingerprint2 = PlanCache.Fingerprint.of(createRheemPlan(2), createOptimizationContext());
+        Assert.assertEquals(fingerprint1, fingerprint2);
+    }
+
+    @Test
+    public void testFingerprintsOfDifferentPlansDiffer() {
+        final PlanCache.Fingerprint fingerprint1 = PlanCache.Fingerprint.of(createRheemPlan(2), createOptimizationContext());
+        final PlanCache.Fingerprint fingerprint2 = PlanCache.Fingerprint.of(createRheemPlan(3), createOptimizationContext());
+        Assert.assertNotEquals(fingerprint1, fingerprint2);
+    }
+
+    @Test
+    public void testLookupAdoptsStoredAlternatives() {
+        final PlanCache planCache = new PlanCache(new Configuration());
+        final PlanCache.Fingerprint fingerprint1 = PlanCache.Fingerprint.of(createRheemPlan(2), createOptimizationContext());
+        planCache.store(fingerprint1, createPlanImplementation(fingerprint1, 1));
+
+        // An equivalent RheemPlan should get the same choices, but for its own OperatorAlternatives.
+        final PlanCache.Fingerprint fingerprint2 = PlanCache.Fingerprint.of(createRheemPlan(2), createOptimizationContext());
+        final Map<OperatorAlternative, OperatorAlternative.Alternative> presettledAlternatives =
+                planCache.lookup(fingerprint2);
+        Assert.assertNotNull(presettledAlternatives);
+        Assert.assertEquals(2, presettledAlternatives.size());
+        for (OperatorAlternative operatorAlternative : fingerprint2.getOperatorAlternatives()) {
+            Assert.assertSame(
+                    operatorAlternative.getAlternatives().get(1),
+                    presettledAlternatives.get(operatorAlternative)
+            );
+        }
+
+        // A different RheemPlan should not hit the cache.
+        Assert.assertNull(planCache.lookup(PlanCache.Fingerprint.of(createRheemPlan(3), createOptimizationContext())));
+    }
+
+    @Test
+    public void testPropertyChangesInvalidateEntries() {
+        final Configuration configuration = new Configuration();
+        configuration.setProperty(LOAD_ESTIMATOR_KEY, "{\"in\":1,\"out\":1,\"cpu\":\"${10*in0}\"}");
+        final PlanCache planCache = new PlanCache(configuration);
+        final PlanCache.Fingerprint fingerprint1 = PlanCache.Fingerprint.of(
+                createRheemPlan(2), createOptimizationContext(configuration.fork("job1"))
+        );
+        planCache.store(fingerprint1, createPlanImplementation(fingerprint1, 1));
+
+        // Another job with the same settings can reuse the entry.
+        Assert.assertNotNull(planCache.lookup(PlanCache.Fingerprint.of(
+                createRheemPlan(2), createOptimizationContext(configuration.fork("job2"))
+        )));
+
+        // A job-level override of the load profile estimator must not reuse the entry.
+        final Configuration jobConfiguration = configuration.fork("job3");
+        jobConfiguration.setProperty(LOAD_ESTIMATOR_KEY, "{\"in\":1,\"out\":1,\"cpu\":\"${100*in0}\"}");
+        Assert.assertNull(planCache.lookup(PlanCache.Fingerprint.of(
+                createRheemPlan(2), createOptimizationContext(jobConfiguration)
+        )));
+
+        // The same holds for changes to the global configuration.
+        configuration.setProperty(LOAD_ESTIMATOR_KEY, "{\"in\":1,\"out\":1,\"cpu\":\"${1000*in0}\"}");
+        Assert.assertNull(planCache.lookup(PlanCache.Fingerprint.of(
+                createRheemPlan(2), createOptimizationContext(configuration.fork("job4"))
+        )));
+    }
+
+    @Test
+    public void testPlatformCostModelChangesInvalidateEntries() {
+        final Configuration configuration = new Configuration();
+        configuration.getPlatformProvider().addToWhitelist(DummyPlatform.getInstance());
+        configuration.setProperty(DummyPlatform.CPU_MHZ_PROPERTY, "2000");
+        final PlanCache planCache = new PlanCache(configuration);
+        final PlanCache.Fingerprint fingerprint = PlanCache.Fingerprint.of(
+                createRheemPlan(2), createOptimizationContext(configuration.fork("job1"))
+        );
+        planCache.store(fingerprint, createPlanImplementation(fingerprint, 1));
+        Assert.assertNotNull(planCache.lookup(PlanCache.Fingerprint.of(
+                createRheemPlan(2), createOptimizationContext(configuration.fork("job2"))
+        )));
+
+        // A different setting of the LoadProfileToTimeConverter must not reuse the entry.
+        final Configuration jobConfiguration = configuration.fork("job3");
+        jobConfiguration.setProperty(DummyPlatform.CPU_MHZ_PROPERTY, "1000");
+        Assert.assertNull(planCache.lookup(PlanCache.Fingerprint.of(
+                createRheemPlan(2), createOptimizationContext(jobConfiguration)
+        )));
+    }
+
+    @Test
+    public void testFingerprintsDistinguishCapturedUdfState() {
+        final PlanCache.Fingerprint fingerprint1 = PlanCache.Fingerprint.of(
+                createRheemPlan(createMultiplyingUdf(2)), createOptimizationContext()
+        );
+        final PlanCache.Fingerprint fingerprint2 = PlanCache.Fingerprint.of(
+                createRheemPlan(createMultiplyingUdf(2)), createOptimizationContext()
+        );
+        final PlanCache.Fingerprint fingerprint3 = PlanCache.Fingerprint.of(
+                createRheemPlan(createMultiplyingUdf(3)), createOptimizationContext()
+        );
+        Assert.assertNotNull(fingerprint1);
+        Assert.assertEquals(fingerprint1, fingerprint2);
+        Assert.assertNotEquals(fingerprint1, fingerprint3);
+
+        // UDFs whose state cannot be serialized cannot be fingerprinted.
+        final Object nonSerializableState = new Object();
+        Assert.assertNull(PlanCache.Fingerprint.of(
+                createRheemPlan(new TransformationDescriptor<>(
+                        i -> nonSerializableState.hashCode() == 0 ? i : -i, Integer.class, Integer.class
+                )),
+                createOptimizationContext()
+        ));
+    }
+
+}
@@ -0,0 +1,61 @@
+package org.qcri.rheem.core.platform;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.qcri.rheem.core.api.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test suite for {@link ExecutionThreadPools}.
+ */
+public class ExecutionThreadPoolsTest {
+
+    @Test
+    public void testPoolsAreBoundedAndNamed() throws Exception {
+        final Configuration configuration = new Configuration();
+        configuration.setProperty(ExecutionThreadPools.Kind.BLOCKING.getSizeProperty(), "2");
+        final ExecutionThreadPools threadPools = new ExecutionThreadPools(configuration, "test");
+        threadPools.noteObtainedReference();
+
+        // Submit more blocking tasks than there are threads: the surplus tasks must be queued.
+        final ExecutorService blockingPool = threadPools.getBlockingPool();
+        final CountDownLatch latch = new CountDownLatch(1);
+        final List<Future<String>> futures = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            futures.add(blockingPool.submit(() -> {
+                latch.await();
+                return Thread.currentThread().getName();
+            }));
+        }
+        latch.countDown();
+        for (Future<String> future : futures) {
+            Assert.assertTrue(future.get(10, TimeUnit.SECONDS).startsWith("test-blocking-"));
+        }
+        Assert.assertEquals(2, threadPools.getNumCreatedThreads(ExecutionThreadPools.Kind.BLOCKING));
+        Assert.assertEquals(5, threadPools.getNumCompletedTasks(ExecutionThreadPools.Kind.BLOCKING));
+        Assert.assertEquals(0, threadPools.getNumCreatedThreads(ExecutionThreadPools.Kind.IO));
+
+        // Disposing the instance should shut down the pools.
+        threadPools.noteDiscardedReference(true);
+        Assert.assertTrue(threadPools.isDisposed());
+        Assert.assertTrue(blockingPool.awaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testCpuPoolSize() {
+        final Configuration configuration = new Configuration();
+        final ExecutionThreadPools threadPools = new ExecutionThreadPools(configuration, "test");
+        Assert.assertEquals(0, threadPools.getNumStolenCpuTasks());
+        Assert.assertEquals(Runtime.getRuntime().availableProcessors(), threadPools.getCpuPool().getParallelism());
+
+        configuration.setProperty(ExecutionThreadPools.Kind.CPU.getSizeProperty(), "3");
+        Assert.assertEquals(3, threadPools.getPoolSize(ExecutionThreadPools.Kind.CPU));
+    }
+
+}
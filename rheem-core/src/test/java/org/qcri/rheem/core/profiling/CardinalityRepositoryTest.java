@@ -0,0 +1,115 @@
+package org.qcri.rheem.core.profiling;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.qcri.rheem.core.api.Configuration;
+import org.qcri.rheem.core.api.Job;
+import org.qcri.rheem.core.optimizer.DefaultOptimizationContext;
+import org.qcri.rheem.core.optimizer.OptimizationContext;
+import org.qcri.rheem.core.optimizer.cardinality.CardinalityEstimate;
+import org.qcri.rheem.core.optimizer.cardinality.StatisticsBasedCardinalityEstimator;
+import org.qcri.rheem.core.plan.rheemplan.test.TestFilterOperator;
+import org.qcri.rheem.core.plan.rheemplan.test.TestMapOperator;
+import org.qcri.rheem.core.plan.rheemplan.test.TestSource;
+import org.qcri.rheem.core.test.MockFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Optional;
+
+/**
+ * Test suite for {@link CardinalityRepository}.
+ */
+public class CardinalityRepositoryTest {
+
+    private File repositoryFile;
+
+    private Job job;
+
+    @Before
+    public void setUp() throws IOException {
+        this.repositoryFile = File.createTempFile("cardinalities", ".json");
+        this.repositoryFile.delete();
+        this.job = MockFactory.createJob(new Configuration());
+    }
+
+    @After
+    public void tearDown() {
+        this.repositoryFile.delete();
+    }
+
+    @Test
+    public void testStoreAndLoadStatistics() {
+        TestSource<String> source = new TestSource<>(String.class);
+        TestFilterOperator<String> filter = new TestFilterOperator<>(String.class);
+        source.connectTo(0, filter, 0);
+
+        CardinalityRepository repository = new CardinalityRepository(this.repositoryFile.getPath(), 1000);
+        this.store(repository, filter, 1000, 300);
+        this.store(repository, filter, 2000, 800);
+        repository.sleep();
+
+        // Load the measurements with a new instance.
+        repository = new CardinalityRepository(this.repositoryFile.getPath(), 1000);
+        final Optional<CardinalityStatistics> optStatistics = repository.getStatistics(filter.getOutput(0));
+        Assert.assertTrue(optStatistics.isPresent());
+        final CardinalityStatistics statistics = optStatistics.get();
+        Assert.assertEquals(2, statistics.getNumMeasurements());
+        Assert.assertEquals(300, statistics.getMinCardinality());
+        Assert.assertEquals(800, statistics.getMaxCardinality());
+        Assert.assertEquals(0.3d, statistics.getMinSelectivity(), 0.0001d);
+        Assert.assertEquals(0.4d, statistics.getMaxSelectivity(), 0.0001d);
+
+        // Other operators should not be affected.
+        TestMapOperator<String, String> map = new TestMapOperator<>(String.class, String.class);
+        source.connectTo(0, map, 0);
+        Assert.assertFalse(repository.getStatistics(map.getOutput(0)).isPresent());
+
+        // The statistics should be applied to the input estimates.
+        StatisticsBasedCardinalityEstimator estimator =
+                new StatisticsBasedCardinalityEstimator(statistics, new boolean[]{false});
+        final CardinalityEstimate estimate = estimator.estimate(null, new CardinalityEstimate(100, 200, 1d));
+        Assert.assertEquals(30, estimate.getLowerEstimate());
+        Assert.assertEquals(80, estimate.getUpperEstimate());
+    }
+
+    @Test
+    public void testCompaction() throws IOException {
+        TestSource<String> source = new TestSource<>(String.class);
+        TestFilterOperator<String> filter = new TestFilterOperator<>(String.class);
+        source.connectTo(0, filter, 0);
+
+        CardinalityRepository repository = new CardinalityRepository(this.repositoryFile.getPath(), 2);
+        for (int i = 1; i <= 5; i++) {
+            this.store(repository, filter, 100 * i, 10 * i);
+        }
+        repository.sleep();
+        Assert.assertEquals(5, Files.readAllLines(this.repositoryFile.toPath()).size());
+
+        // Loading should compact the repository.
+        repository = new CardinalityRepository(this.repositoryFile.getPath(), 2);
+        Assert.assertEquals(5, repository.getStatistics(filter.getOutput(0)).get().getNumMeasurements());
+        Assert.assertEquals(1, Files.readAllLines(this.repositoryFile.toPath()).size());
+
+        // The compacted repository should be extensible.
+        this.store(repository, filter, 600, 60);
+        repository.sleep();
+        repository = new CardinalityRepository(this.repositoryFile.getPath(), 2);
+        final CardinalityStatistics statistics = repository.getStatistics(filter.getOutput(0)).get();
+        Assert.assertEquals(6, statistics.getNumMeasurements());
+        Assert.assertEquals(0.1d, statistics.getAverageSelectivity(), 0.0001d);
+    }
+
+    private void store(CardinalityRepository repository, TestFilterOperator<String> filter,
+                       long inputCardinality, long outputCardinality) {
+        OptimizationContext optimizationContext = new DefaultOptimizationContext(this.job, filter);
+        final OptimizationContext.OperatorContext operatorContext = optimizationContext.getOperatorContext(filter);
+        operatorContext.setInputCardinality(0, new CardinalityEstimate(inputCardinality, inputCardinality, 1d));
+        operatorContext.setOutputCardinality(0, new CardinalityEstimate(outputCardinality, outputCardinality, 1d));
+        repository.store(filter.getOutput(0), outputCardinality, operatorContext);
+    }
+
+}
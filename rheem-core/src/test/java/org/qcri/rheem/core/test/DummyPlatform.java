@@ -5,11 +5,16 @@ import org.qcri.rheem.core.optimizer.costs.*;
 import org.qcri.rheem.core.platform.Executor;
 import org.qcri.rheem.core.platform.Platform;
 
+import java.util.Collection;
+import java.util.Collections;
+
 /**
  * {@link Platform} implementation for test purposes.
  */
 public class DummyPlatform extends Platform {
 
+    public static final String CPU_MHZ_PROPERTY = "rheem.dummy.cpu.mhz";
+
     private static DummyPlatform INSTANCE;
 
     private DummyPlatform() {
@@ -46,6 +51,11 @@ public class DummyPlatform extends Platform {
         };
     }
 
+    @Override
+    public Collection<String> getCostModelPropertyKeys() {
+        return Collections.singleton(CPU_MHZ_PROPERTY);
+    }
+
     @Override
     public TimeToCostConverter createTimeToCostConverter(Configuration configuration) {
         return new TimeToCostConverter(0d, 1d);
@@ -0,0 +1,51 @@
+package org.qcri.rheem.core.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test suite for {@link AbstractReferenceCountable}.
+ */
+public class AbstractReferenceCountableTest {
+
+    @Test
+    public void testDisposalDoesNotHoldTheReferenceLock() throws Exception {
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        final AtomicInteger numDisposals = new AtomicInteger(0);
+        try {
+            final AbstractReferenceCountable referenceCountable = new AbstractReferenceCountable() {
+                @Override
+                protected void disposeUnreferenced() {
+                    numDisposals.incrementAndGet();
+                    // Other threads must be able to inspect this instance meanwhile.
+                    try {
+                        Assert.assertEquals(
+                                Integer.valueOf(0),
+                                executor.submit(this::getNumReferences).get(10, TimeUnit.SECONDS)
+                        );
+                    } catch (Exception e) {
+                        throw new AssertionError(e);
+                    }
+                }
+            };
+            referenceCountable.noteObtainedReference();
+            referenceCountable.noteObtainedReference();
+
+            referenceCountable.noteDiscardedReference(true);
+            Assert.assertEquals(0, numDisposals.get());
+            Assert.assertFalse(referenceCountable.isDisposed());
+
+            referenceCountable.noteDiscardedReference(true);
+            Assert.assertEquals(1, numDisposals.get());
+            Assert.assertTrue(referenceCountable.isDisposed());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+}
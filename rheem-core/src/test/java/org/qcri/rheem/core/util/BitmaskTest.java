@@ -3,6 +3,10 @@ package org.qcri.rheem.core.util;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 /**
  * Test suite for {@link Bitmask}s.
  */
@@ -92,6 +96,38 @@ public class BitmaskTest {
         Assert.assertEquals(createBitmask(0, 65), createBitmask(0, 1, 65, 128).andNot(createBitmask(0, 1, 128)));
     }
 
+    @Test
+    public void testAnd() {
+        Assert.assertEquals(createBitmask(0), createBitmask(0).and(createBitmask(0, 0)));
+        Assert.assertEquals(createBitmask(0, 1), createBitmask(0, 0, 1).and(createBitmask(0, 1)));
+        Assert.assertEquals(createBitmask(0, 1), createBitmask(0, 1, 128).and(createBitmask(0, 1, 65)));
+        Assert.assertEquals(2, createBitmask(0, 1, 65, 128).andInPlace(createBitmask(0, 1, 128)).cardinality());
+    }
+
+    @Test
+    public void testCardinalityAfterInPlaceOperations() {
+        Bitmask bitmask = createBitmask(0, 1, 65);
+        Assert.assertEquals(4, bitmask.orInPlace(createBitmask(0, 1, 2, 130)).cardinality());
+        Assert.assertEquals(2, bitmask.andNotInPlace(createBitmask(0, 2, 130)).cardinality());
+        Assert.assertEquals(1, bitmask.andInPlace(createBitmask(0, 65)).cardinality());
+        Assert.assertEquals(createBitmask(0, 65), bitmask);
+        Assert.assertEquals(createBitmask(0, 65).hashCode(), bitmask.hashCode());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testEmptyBitmaskIsImmutable() {
+        Assert.assertTrue(Bitmask.EMPTY_BITMASK.andNotInPlace(createBitmask(0, 1)).isEmpty());
+        Bitmask.EMPTY_BITMASK.orInPlace(createBitmask(0, 1));
+    }
+
+    @Test
+    public void testForEachSetBit() {
+        Bitmask bitmask = createBitmask(0, 1, 63, 64, 420);
+        List<Integer> setBits = new ArrayList<>();
+        bitmask.forEachSetBit(setBits::add);
+        Assert.assertEquals(Arrays.asList(1, 63, 64, 420), setBits);
+    }
+
     @Test
     public void testNextSetBit() {
         testSetBits();
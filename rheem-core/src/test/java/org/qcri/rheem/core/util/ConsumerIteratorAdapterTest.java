@@ -2,10 +2,15 @@ package org.qcri.rheem.core.util;
 
 import org.junit.Assert;
 import org.junit.Test;
+import org.qcri.rheem.core.api.exception.RheemException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Iterator;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 
 /**
@@ -40,5 +45,61 @@ public class ConsumerIteratorAdapterTest {
         Assert.assertFalse(iterator.hasNext());
     }
 
+    @Test
+    public void testEarlyClose() throws Exception {
+        final ConsumerIteratorAdapter<Integer> adapter = new ConsumerIteratorAdapter<>(16);
+        final ConsumerIteratorAdapter.CloseableIterator<Integer> iterator = adapter.getIterator();
+        final Consumer<Integer> consumer = adapter.getConsumer();
+
+        // The producer would never finish on its own.
+        final AtomicBoolean isProducerCancelled = new AtomicBoolean(false);
+        Thread producerThread = new Thread(
+                () -> {
+                    try {
+                        for (int i = 0; ; i++) {
+                            consumer.accept(i);
+                        }
+                    } catch (CancellationException e) {
+                        isProducerCancelled.set(true);
+                    }
+                }
+        );
+        producerThread.start();
+
+        for (int i = 0; i < 100; i++) {
+            Assert.assertEquals(i, iterator.next().intValue());
+        }
+        iterator.close();
+        Assert.assertFalse(iterator.hasNext());
+
+        producerThread.join(10000);
+        Assert.assertTrue(isProducerCancelled.get());
+    }
+
+    @Test
+    public void testProducerFailure() {
+        final ConsumerIteratorAdapter<Integer> adapter = new ConsumerIteratorAdapter<>(16);
+        final Iterator<Integer> iterator = adapter.getIterator();
+        final Consumer<Integer> consumer = adapter.getConsumer();
+
+        final ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            adapter.bindProducer(executorService.submit(() -> {
+                consumer.accept(1);
+                throw new IllegalStateException("Expected failure.");
+            }));
+
+            Assert.assertEquals(1, iterator.next().intValue());
+            try {
+                iterator.hasNext();
+                Assert.fail();
+            } catch (RheemException e) {
+                Assert.assertTrue(e.getCause() instanceof IllegalStateException);
+            }
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
 
 }
\ No newline at end of file
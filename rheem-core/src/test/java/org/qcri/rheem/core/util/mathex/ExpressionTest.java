@@ -7,8 +7,11 @@ import org.qcri.rheem.core.util.mathex.model.CompiledFunction;
 import org.qcri.rheem.core.util.mathex.model.Constant;
 import org.qcri.rheem.core.util.mathex.model.NamedFunction;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
 
 /**
  * Test suite for the {@link Expression} subclasses.
@@ -89,4 +92,31 @@ public class ExpressionTest {
         }
     }
 
+    @Test
+    public void testCompilation() {
+        final Expression expression = ExpressionBuilder.parse("(2 *a + 3* b + 5.3 * c0) + 3*a - ln(e^b)")
+                .specify(Context.baseContext);
+        List<String> variables = new ArrayList<>();
+        final ToDoubleFunction<double[]> compiledExpression = expression.compile(variable -> {
+            if (!variables.contains(variable)) variables.add(variable);
+            return variables.indexOf(variable);
+        });
+        Assert.assertEquals(3, variables.size());
+
+        double[] values = new double[variables.size()];
+        values[variables.indexOf("a")] = 5.1;
+        values[variables.indexOf("b")] = 3;
+        values[variables.indexOf("c0")] = -23;
+        Assert.assertEquals(
+                2 * 5.1 + 3 * 3 + 5.3 * (-23) + 3 * 5.1 - 3,
+                compiledExpression.applyAsDouble(values),
+                0.0001
+        );
+    }
+
+    @Test(expected = EvaluationException.class)
+    public void testCompilationFailsOnUnknownFunction() {
+        ExpressionBuilder.parse("myFunction(23)").specify(Context.baseContext).compile(variable -> 0);
+    }
+
 }
@@ -8,21 +8,17 @@ import org.qcri.rheem.core.platform.ChannelInstance;
 import org.qcri.rheem.core.platform.lineage.ExecutionLineageNode;
 import org.qcri.rheem.core.types.DataSetType;
 import org.qcri.rheem.core.util.Tuple;
-import org.qcri.rheem.iejoin.data.Data;
-import org.qcri.rheem.iejoin.operators.java_helpers.BitSetJoin;
-import org.qcri.rheem.iejoin.operators.java_helpers.DataComparator;
-import org.qcri.rheem.iejoin.operators.java_helpers.extractData;
+import org.qcri.rheem.iejoin.operators.java_helpers.ParallelBitSetJoin;
 import org.qcri.rheem.java.channels.CollectionChannel;
 import org.qcri.rheem.java.channels.JavaChannelInstance;
 import org.qcri.rheem.java.channels.StreamChannel;
 import org.qcri.rheem.java.execution.JavaExecutor;
 import org.qcri.rheem.java.operators.JavaExecutionOperator;
-import scala.Tuple2;
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Function;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Java implementation of the {@link IEJoinOperator}.
@@ -48,69 +44,66 @@ public class JavaIEJoinOperator<Type0 extends Comparable<Type0>, Type1 extends C
             OptimizationContext.OperatorContext operatorContext) {
         StreamChannel.Instance outputChannel = (StreamChannel.Instance) outputs[0];
 
-        Stream<Input> stream0;
-        Stream<Input> stream1;
-        if (inputs[0] instanceof CollectionChannel.Instance) {
-            final Collection<Input> collection = ((CollectionChannel.Instance) inputs[0]).provideCollection();
-            stream0 = collection.stream();
-            stream1 = ((JavaChannelInstance) inputs[1]).provideStream();
-        } else if (inputs[1] instanceof CollectionChannel.Instance) {
-            stream0 = ((JavaChannelInstance) inputs[0]).provideStream();
-            final Collection<Input> collection = ((CollectionChannel.Instance) inputs[1]).provideCollection();
-            stream1 = collection.stream();
-        } else {
-            // Fallback: Materialize one side.
-            final Collection<Input> collection = ((JavaChannelInstance) inputs[0]).<Input>provideStream().collect(Collectors.toList());
-            stream0 = collection.stream();
-            stream1 = ((JavaChannelInstance) inputs[1]).provideStream();
-        }
+        final Object[] input0 = provideArray(inputs[0]);
+        final Object[] input1 = provideArray(inputs[1]);
 
         final Function<Input, Type0> get0Pivot_ = javaExecutor.getCompiler().compile(this.get0Pivot);
         final Function<Input, Type0> get1Pivot_ = javaExecutor.getCompiler().compile(this.get1Pivot);
         final Function<Input, Type1> get0Ref_ = javaExecutor.getCompiler().compile(this.get0Ref);
         final Function<Input, Type1> get1Ref_ = javaExecutor.getCompiler().compile(this.get1Ref);
 
-        Object[] stream0R = stream0.toArray();
-        Object[] stream1R = stream1.toArray();
-
-        ArrayList<Tuple2<Data<Type0, Type1>, Input>> list0 = new ArrayList<Tuple2<Data<Type0, Type1>, Input>>();
-        ArrayList<Tuple2<Data<Type0, Type1>, Input>> list1 = new ArrayList<Tuple2<Data<Type0, Type1>, Input>>();
-
-        for (int i = 0; i < stream0R.length; i++) {
-            list0.add(new Tuple2<Data<Type0, Type1>, Input>(new extractData<Type0, Type1, Input>(get0Pivot_, get0Ref_).call((Input) stream0R[i]), (Input) stream0R[i]));
-        }
-        for (int i = 0; i < stream1R.length; i++) {
-            list1.add(new Tuple2<Data<Type0, Type1>, Input>(new extractData<Type0, Type1, Input>(get1Pivot_, get1Ref_).call((Input) stream1R[i]), (Input) stream1R[i]));
-        }
-
-        Collections.sort(list0, new DataComparator<Type0, Type1, Input>(list1ASC, list1ASCSec));
-        Collections.sort(list1, new DataComparator<Type0, Type1, Input>(list2ASC, list2ASCSec));
-
-        long partCount = list0.size();
-        long partCount2 = list1.size();
+        // Extract the join attributes into primitive sort keys.
+        final long[][] pivots = ParallelBitSetJoin.encode(extract(input0, get0Pivot_), extract(input1, get1Pivot_));
+        final long[][] refs = ParallelBitSetJoin.encode(extract(input0, get0Ref_), extract(input1, get1Ref_));
+
+        final ForkJoinPool pool = javaExecutor.getCrossPlatformExecutor().getThreadPools().getCpuPool();
+        final ParallelBitSetJoin.Result result = new ParallelBitSetJoin(this.cond0, this.cond1, pool)
+                .join(pivots[0], refs[0], pivots[1], refs[1]);
+
+        // Create the join products only as they are consumed.
+        final PrimitiveIterator.OfInt positions = result.positions();
+        final Iterator<org.qcri.rheem.basic.data.Tuple2<Input, Input>> joinProducts =
+                new Iterator<org.qcri.rheem.basic.data.Tuple2<Input, Input>>() {
+                    @Override
+                    public boolean hasNext() {
+                        return positions.hasNext();
+                    }
+
+                    @Override
+                    @SuppressWarnings("unchecked")
+                    public org.qcri.rheem.basic.data.Tuple2<Input, Input> next() {
+                        final Input dataQuantum0 = (Input) input0[positions.nextInt()];
+                        final Input dataQuantum1 = (Input) input1[positions.nextInt()];
+                        return new org.qcri.rheem.basic.data.Tuple2<>(dataQuantum0, dataQuantum1);
+                    }
+                };
+        outputChannel.accept(StreamSupport.stream(
+                Spliterators.spliterator(joinProducts, result.size(), Spliterator.ORDERED), false
+        ));
 
-        // count starting point for rdd2
-        long cnt2 = partCount + 1;
+        return ExecutionOperator.modelEagerExecution(inputs, outputs, operatorContext);
+    }
 
-        // Give unique ID for rdd1 & rdd2
-        for (int i = 0; i < partCount; i++) {
-            list0.get(i)._1().setRowID(i);
-        }
-        for (int i = 0; i < partCount2; i++) {
-            list1.get(i)._1().setRowID(i + cnt2);
+    /**
+     * Provides the data quanta of the given {@link ChannelInstance} as an array.
+     */
+    private static Object[] provideArray(ChannelInstance channelInstance) {
+        if (channelInstance instanceof CollectionChannel.Instance) {
+            return ((CollectionChannel.Instance) channelInstance).provideCollection().toArray();
         }
+        return ((JavaChannelInstance) channelInstance).provideStream().toArray();
+    }
 
-        ArrayList<Tuple2<Input, Input>> result = new BitSetJoin<Type0, Type1, Input>(list1ASC, list2ASC,
-                list1ASCSec, list2ASCSec, equalReverse, false, cond0).call(list0, list1);
-
-        ArrayList<org.qcri.rheem.basic.data.Tuple2<Input, Input>> result2 = new ArrayList<>();
-        for (Tuple2<Input, Input> t : result) {
-            result2.add(new org.qcri.rheem.basic.data.Tuple2<>(t._1(), t._2()));
+    /**
+     * Applies the given {@link Function} to all data quanta.
+     */
+    @SuppressWarnings("unchecked")
+    private static <Input> Object[] extract(Object[] dataQuanta, Function<Input, ?> function) {
+        final Object[] values = new Object[dataQuanta.length];
+        for (int i = 0; i < dataQuanta.length; i++) {
+            values[i] = function.apply((Input) dataQuanta[i]);
         }
-
-        outputChannel.accept(result2);
-
-        return ExecutionOperator.modelEagerExecution(inputs, outputs, operatorContext);
+        return values;
     }
 
     @Override
@@ -3,6 +3,8 @@ package org.qcri.rheem.iejoin.operators;
 import org.apache.spark.api.java.JavaPairRDD;
 import org.apache.spark.api.java.JavaRDD;
 import org.apache.spark.api.java.function.Function;
+import org.apache.spark.storage.StorageLevel;
+import org.qcri.rheem.core.api.exception.RheemException;
 import org.qcri.rheem.core.function.TransformationDescriptor;
 import org.qcri.rheem.core.optimizer.OptimizationContext;
 import org.qcri.rheem.core.plan.rheemplan.ExecutionOperator;
@@ -24,11 +26,18 @@ import java.util.*;
 
 /**
  * Spark implementation of the {@link   IEJoinOperator}.
+ * <p>The number of data quanta per block can be tuned via {@value #BLOCK_SIZE_PROPERTY}. By default, the blocks
+ * correspond to the input partitions.</p>
  */
 public class SparkIEJoinOperator<Type0 extends Comparable<Type0>, Type1 extends Comparable<Type1>, Input extends Copyable<Input>>
         extends IEJoinOperator<Type0, Type1, Input>
         implements SparkExecutionOperator {
 
+    /**
+     * Configuration key for the number of data quanta per sorted block.
+     */
+    public static final String BLOCK_SIZE_PROPERTY = "rheem.iejoin.spark.block-size";
+
     /**
      * Creates a new instance.
      */
@@ -57,80 +66,49 @@ public class SparkIEJoinOperator<Type0 extends Comparable<Type0>, Type1 extends
         final Function<Input, Type0> get1Pivot_ = sparkExecutor.getCompiler().compile(this.get1Pivot, this, operatorContext, inputs);
         final Function<Input, Type1> get0Ref_ = sparkExecutor.getCompiler().compile(this.get0Ref, this, operatorContext, inputs);
         final Function<Input, Type1> get1Ref_ = sparkExecutor.getCompiler().compile(this.get1Ref, this, operatorContext, inputs);
-        final JavaRDD<Input> rdd0 = rinput0.provideRdd();
-        final JavaRDD<Input> rdd1 = rinput1.provideRdd();
+        // The inputs are scanned once to determine the row IDs and once more to be joined.
+        final Collection<JavaRDD<?>> cachedRdds = new ArrayList<>(4);
+        final JavaRDD<Input> rdd0 = cacheIfUncached(rinput0.provideRdd(), cachedRdds);
+        final JavaRDD<Input> rdd1 = cacheIfUncached(rinput1.provideRdd(), cachedRdds);
 
         JavaPairRDD<List2AttributesObjectSkinny<Type0, Type1>, List2AttributesObjectSkinny<Type0, Type1>> listOfListObject = null;
         JavaPairRDD<Long, Tuple2<Long, Input>> r1RowIDS = null;
         JavaPairRDD<Long, Tuple2<Long, Input>> r2RowIDS = null;
         JavaRDD<org.qcri.rheem.basic.data.Tuple2<Input, Input>> outRDD = null;
 
-        //get this from the user (SOMEHOW)
-        //ArrayList<String> attSymbols = new ArrayList<String>();
-        //attSymbols.add("<");//prim
-        //attSymbols.add(">");//ref
-        //int primPivotIndex = 0; //exInput.get(0)._1()
-        //int secPivotIndex = 0; //exInput.get(0)._2()
-        //int primRefIndex = 1; //exInput.get(1)._1()
-        //int secRefIndex = 1; //exInput.get(1)._2()
-        // boolean list1ASC = false;
-        //boolean list1ASCSec = false;
-        //boolean list2ASC = false;
-        //boolean list2ASCSec = false;
-        //boolean equalReverse = false;
-
-
-        // count larger partition size in rdd1 & rdd2
-        int partCount = rdd0.mapPartitions(input -> {
-                    Iterator<Input> it = input;
-                    ArrayList<Integer> out = new ArrayList<Integer>(1);
-                    int i = 0;
-                    while (it.hasNext()) {
-                        it.next();
-                        i++;
-                    }
-                    out.add(i);
-                    return out;
-                }
-                , true).reduce((input1, input2) -> Math.max(input1, input2));
-
-        int partCount2 = rdd1.mapPartitions(input -> {
-                    Iterator<Input> it = input;
-                    ArrayList<Integer> out = new ArrayList<Integer>(1);
-                    int i = 0;
-                    while (it.hasNext()) {
-                        it.next();
-                        i++;
-                    }
-                    out.add(i);
-                    return out;
-                }
-                , true).reduce((input1, input2) -> Math.max(input1, input2));
-
-        // count starting point for rdd2
-        int cnt2 = partCount * rdd0.rdd().partitions().length;
+        // Determine the first row ID of each partition, whereby the row IDs of rdd2 succeed those of rdd1.
+        final long[] partitionOffsets0 = computePartitionOffsets(rdd0, 0L);
+        final long[] partitionOffsets1 = computePartitionOffsets(rdd1, partitionOffsets0[partitionOffsets0.length - 1]);
 
         // Get unique ID for rdd1 & rdd2
         JavaRDD<Tuple2<Long, Input>> inputRDD1UID = rdd0
-                .mapPartitionsWithIndex(new addUniqueID(partCount, 0), true);
+                .mapPartitionsWithIndex(new addUniqueID<>(partitionOffsets0), true);
         JavaRDD<Tuple2<Long, Input>> inputRDD2UID = rdd1
-                .mapPartitionsWithIndex(new addUniqueID(partCount2, cnt2),
-                        true);
+                .mapPartitionsWithIndex(new addUniqueID<>(partitionOffsets1), true);
 
         // extract pivot attribute and sort
+        final long blockSize = sparkExecutor.getConfiguration().getLongProperty(BLOCK_SIZE_PROPERTY, 0L);
         JavaPairRDD<Data<Type0, Type1>, Tuple2<Long, Input>> keyedDataRDD1 = inputRDD1UID
-                .keyBy(new extractData<Type0, Type1, Input>(get0Pivot_, get0Ref_)).sortByKey(new Data.Comparator<Type0, Type1>(list1ASC, list1ASCSec));
+                .keyBy(new extractData<Type0, Type1, Input>(get0Pivot_, get0Ref_))
+                .sortByKey(new Data.Comparator<Type0, Type1>(list1ASC, list1ASCSec), true,
+                        getNumBlocks(partitionOffsets0, blockSize, rdd0.partitions().size()));
         JavaPairRDD<Data<Type0, Type1>, Tuple2<Long, Input>> keyedDataRDD2 = inputRDD2UID
-                .keyBy(new extractData<Type0, Type1, Input>(get1Pivot_, get1Ref_)).sortByKey(new Data.Comparator<Type0, Type1>(list2ASC, list2ASCSec));
+                .keyBy(new extractData<Type0, Type1, Input>(get1Pivot_, get1Ref_))
+                .sortByKey(new Data.Comparator<Type0, Type1>(list2ASC, list2ASCSec), true,
+                        getNumBlocks(partitionOffsets1, blockSize, rdd1.partitions().size()));
 
-        // convert each partition to List2AttributesObjectSkinny
+        // convert each partition to List2AttributesObjectSkinny; those are needed for both the pruning and the join
         JavaRDD<List2AttributesObjectSkinny<Type0, Type1>> listObjectDataRDD1 = keyedDataRDD1
                 .values().mapPartitionsWithIndex(
-                        new build2ListObject<Type0, Type1, Input>(list1ASC, list1ASCSec, get0Pivot_, get0Ref_), true);
+                        new build2ListObject<Type0, Type1, Input>(list1ASC, list1ASCSec, get0Pivot_, get0Ref_), true)
+                .cache();
+        cachedRdds.add(listObjectDataRDD1);
 
         JavaRDD<List2AttributesObjectSkinny<Type0, Type1>> listObjectDataRDD2 = keyedDataRDD2
                 .values().mapPartitionsWithIndex(
-                        new build2ListObject<Type0, Type1, Input>(list2ASC, list2ASCSec, get1Pivot_, get1Ref_), true);
+                        new build2ListObject<Type0, Type1, Input>(list2ASC, list2ASCSec, get1Pivot_, get1Ref_), true)
+                .cache();
+        cachedRdds.add(listObjectDataRDD2);
 
         // get partition ID for each List2AttributesObjectSkinny object
         JavaPairRDD<Long, List2AttributesObjectSkinny<Type0, Type1>> listObjectDataRDD1Indexd = listObjectDataRDD1
@@ -138,27 +116,19 @@ public class SparkIEJoinOperator<Type0 extends Comparable<Type0>, Type1 extends
         JavaPairRDD<Long, List2AttributesObjectSkinny<Type0, Type1>> listObjectDataRDD2Indexd = listObjectDataRDD2
                 .keyBy(in -> in.getPartitionID());
 
-        // get information on each List2AttributesObjectSkinny object
-        JavaRDD<Tuple5<Long, Type0, Type0, Type1, Type1>> rdd1TinyObjects = listObjectDataRDD1
-                .map(in -> {
-                    Tuple2<Type1, Type1> refMinMax = in.findMinMaxRank();
-                    return new Tuple5<Long, Type0, Type0, Type1, Type1>(in.getPartitionID(),
-                            in.getHeadTupleValue(), in.getTailTupleData().getValue(),
-                            refMinMax._1(), refMinMax._2());
-                }).repartition(1);
-        JavaRDD<Tuple5<Long, Type0, Type0, Type1, Type1>> rdd2TinyObjects = listObjectDataRDD2
-                .map(in -> {
-                    Tuple2<Type1, Type1> refMinMax = in.findMinMaxRank();
-                    return new Tuple5<Long, Type0, Type0, Type1, Type1>(in.getPartitionID(),
-                            in.getHeadTupleValue(), in.getTailTupleData().getValue(),
-                            refMinMax._1(), refMinMax._2());
-                }).repartition(1);
-
-        // cartesian all block information, filter unwanted block pairs
-        JavaPairRDD<Long, Long> myBlocks = rdd1TinyObjects
-                .cartesian(rdd2TinyObjects)
-                .filter(new filterUnwantedBlocks<Type0, Type1>(cond0,
-                        list2ASC)).mapToPair(in -> new Tuple2<Long, Long>(in._1()._1(), in._2()._1()));
+        // get min/max information on each List2AttributesObjectSkinny object; there is only one per block
+        List<Tuple5<Long, Type0, Type0, Type1, Type1>> rdd1TinyObjects = listObjectDataRDD1
+                .map(SparkIEJoinOperator::summarize).collect();
+        List<Tuple5<Long, Type0, Type0, Type1, Type1>> rdd2TinyObjects = listObjectDataRDD2
+                .map(SparkIEJoinOperator::summarize).collect();
+
+        // pair all block information on the driver, filter unwanted block pairs
+        List<Tuple2<Long, Long>> blockPairs = pairBlocks(
+                rdd1TinyObjects, rdd2TinyObjects, new filterUnwantedBlocks<>(cond0, list2ASC)
+        );
+        JavaPairRDD<Long, Long> myBlocks = sparkExecutor.sc.parallelizePairs(
+                blockPairs, Math.max(1, Math.min(blockPairs.size(), sparkExecutor.getNumDefaultPartitions()))
+        );
 
         listOfListObject = myBlocks.join(listObjectDataRDD1Indexd)
                 .mapToPair(in -> new Tuple2<Long, List2AttributesObjectSkinny<Type0, Type1>>(in._2()._1(), in._2()._2())).join(listObjectDataRDD2Indexd)
@@ -167,7 +137,6 @@ public class SparkIEJoinOperator<Type0 extends Comparable<Type0>, Type1 extends
         // Get row IDs in RDDs to be joined later
         r1RowIDS = inputRDD1UID.keyBy(in -> in._1());
         r2RowIDS = inputRDD2UID.keyBy(in -> in._1());
-        //}
 
         JavaPairRDD<Long, Long> tmpOut1 = null;
 
@@ -182,10 +151,103 @@ public class SparkIEJoinOperator<Type0 extends Comparable<Type0>, Type1 extends
         outRDD = tmpOut2.join(r2RowIDS).map(in -> new org.qcri.rheem.basic.data.Tuple2<Input, Input>(in._2()._1(), in._2()._2()._2()));
 
         output.accept(outRDD, sparkExecutor);
+        // The output is evaluated lazily, so the cached RDDs may only be released along with it.
+        cachedRdds.forEach(output::addCachedDependency);
 
         return ExecutionOperator.modelLazyExecution(inputs, outputs, operatorContext);
     }
 
+    /**
+     * Caches the given {@link JavaRDD} unless it is already persisted.
+     *
+     * @param rdd        that should be cached
+     * @param cachedRdds collects the {@link JavaRDD} if it has been cached by this method
+     * @return the {@code rdd}
+     */
+    private static <T> JavaRDD<T> cacheIfUncached(JavaRDD<T> rdd, Collection<JavaRDD<?>> cachedRdds) {
+        if (rdd.getStorageLevel().equals(StorageLevel.NONE())) {
+            cachedRdds.add(rdd.cache());
+        }
+        return rdd;
+    }
+
+    /**
+     * Counts the data quanta in each partition of the given {@link JavaRDD} in a single pass, akin to
+     * {@link JavaRDD#zipWithIndex()}.
+     *
+     * @param rdd         whose partitions should be counted
+     * @param firstOffset the offset of the first partition
+     * @return the offset of each partition followed by the offset after the last partition
+     */
+    private static long[] computePartitionOffsets(JavaRDD<?> rdd, long firstOffset) {
+        final List<Long> partitionSizes = rdd.mapPartitions(iterator -> {
+            long size = 0;
+            while (iterator.hasNext()) {
+                iterator.next();
+                size++;
+            }
+            return Collections.singletonList(size);
+        }, true).collect();
+        final long[] partitionOffsets = new long[partitionSizes.size() + 1];
+        partitionOffsets[0] = firstOffset;
+        for (int i = 0; i < partitionSizes.size(); i++) {
+            partitionOffsets[i + 1] = partitionOffsets[i] + partitionSizes.get(i);
+        }
+        return partitionOffsets;
+    }
+
+    /**
+     * Determines the number of blocks to sort an input into.
+     *
+     * @param partitionOffsets as obtained from {@link #computePartitionOffsets(JavaRDD, long)}
+     * @param blockSize        the desired number of data quanta per block or {@code 0} if unspecified
+     * @param numPartitions    the number of partitions of the input
+     * @return the number of blocks
+     */
+    private static int getNumBlocks(long[] partitionOffsets, long blockSize, int numPartitions) {
+        if (blockSize <= 0) return Math.max(1, numPartitions);
+        final long numDataQuanta = partitionOffsets[partitionOffsets.length - 1] - partitionOffsets[0];
+        return (int) Math.max(1, Math.min(Integer.MAX_VALUE, (numDataQuanta + blockSize - 1) / blockSize));
+    }
+
+    /**
+     * Pairs up all blocks of the two inputs that might contain join partners.
+     *
+     * @param summaries0  block summaries of the first input as obtained from {@link #summarize(List2AttributesObjectSkinny)}
+     * @param summaries1  block summaries of the second input
+     * @param blockFilter decides whether two blocks might contain join partners
+     * @return the IDs of the qualifying block pairs
+     */
+    static <Type0 extends Comparable<Type0>, Type1 extends Comparable<Type1>> List<Tuple2<Long, Long>> pairBlocks(
+            List<Tuple5<Long, Type0, Type0, Type1, Type1>> summaries0,
+            List<Tuple5<Long, Type0, Type0, Type1, Type1>> summaries1,
+            filterUnwantedBlocks<Type0, Type1> blockFilter) {
+        List<Tuple2<Long, Long>> blockPairs = new ArrayList<>();
+        for (Tuple5<Long, Type0, Type0, Type1, Type1> summary0 : summaries0) {
+            for (Tuple5<Long, Type0, Type0, Type1, Type1> summary1 : summaries1) {
+                try {
+                    if (blockFilter.call(new Tuple2<>(summary0, summary1))) {
+                        blockPairs.add(new Tuple2<>(summary0._1(), summary1._1()));
+                    }
+                } catch (Exception e) {
+                    throw new RheemException("Could not compare blocks.", e);
+                }
+            }
+        }
+        return blockPairs;
+    }
+
+    /**
+     * Summarizes a block by its ID and the ranges of its pivot and reference values.
+     */
+    private static <Type0 extends Comparable<Type0>, Type1 extends Comparable<Type1>> Tuple5<Long, Type0, Type0, Type1, Type1>
+    summarize(List2AttributesObjectSkinny<Type0, Type1> block) {
+        Tuple2<Type1, Type1> refMinMax = block.findMinMaxRank();
+        return new Tuple5<Long, Type0, Type0, Type1, Type1>(block.getPartitionID(),
+                block.getHeadTupleValue(), block.getTailTupleData().getValue(),
+                refMinMax._1(), refMinMax._2());
+    }
+
     @Override
     protected ExecutionOperator createCopy() {
         return new SparkIEJoinOperator<Type0, Type1, Input>(this.getInputType0(), this.getInputType1(),
@@ -210,7 +272,7 @@ public class SparkIEJoinOperator<Type0 extends Comparable<Type0>, Type1 extends
 
     @Override
     public boolean containsAction() {
-        // TODO: Check if RDD.partition() is an action.
-        return false;
+        // Counting the partitions and collecting the block summaries trigger Spark jobs.
+        return true;
     }
 }
@@ -0,0 +1,419 @@
+package org.qcri.rheem.iejoin.operators.java_helpers;
+
+import org.qcri.rheem.iejoin.operators.IEJoinMasterOperator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Inequality join on primitive sort keys. Let {@code x} range over the first and {@code y} over the second input.
+ * Then all pairs satisfying {@code x.pivot cond0 y.pivot} and {@code x.ref cond1 y.ref} are found as follows:
+ * <ol>
+ * <li>The second input is sorted by its pivot keys, which yields the <i>permutation array</i> from positions
+ * of the second input to bits of a bit array.</li>
+ * <li>For each {@code x}, the pivot condition selects a contiguous range of that bit array (<i>offset arrays</i>).</li>
+ * <li>Both inputs are visited in the order of their reference keys, so that each {@code x} is preceded by
+ * exactly the {@code y}s satisfying the reference condition. Those are set in the bit array, which then only
+ * has to be scanned in the range of {@code x}.</li>
+ * </ol>
+ * The bit array is partitioned into blocks that are scanned in parallel. Join partners are reported as pairs of
+ * input positions to avoid creating objects during the join. They are collected in bounded segments, so that the
+ * number of join partners is not limited by the maximum array length.
+ */
+public class ParallelBitSetJoin {
+
+    /**
+     * Minimum number of bits per block. Must be a multiple of {@code 64}.
+     */
+    private static final int MIN_BLOCK_SIZE = 1 << 14;
+
+    /**
+     * Number of words in the bit array that are summarized by one entry of the chunk index.
+     */
+    private static final int CHUNK_WORDS = 16;
+
+    /**
+     * Maximum number of values in a segment of join partners. Must be even, so that pairs are not split.
+     */
+    static final int MAX_SEGMENT_LENGTH = 1 << 20;
+
+    private final IEJoinMasterOperator.JoinCondition cond0, cond1;
+
+    /**
+     * Scans the blocks of the bit array.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param cond0 the condition between the pivot keys
+     * @param cond1 the condition between the reference keys
+     * @param pool  in which the blocks are scanned; its parallelism bounds the number of blocks
+     */
+    public ParallelBitSetJoin(IEJoinMasterOperator.JoinCondition cond0,
+                              IEJoinMasterOperator.JoinCondition cond1,
+                              ForkJoinPool pool) {
+        this.cond0 = cond0;
+        this.cond1 = cond1;
+        this.pool = pool;
+    }
+
+    /**
+     * Encodes the join attribute values of both inputs into primitive sort keys that preserve their order. Integral
+     * and floating point numbers are encoded directly; any other values, including {@link java.math.BigInteger}s
+     * and {@link java.math.BigDecimal}s, are replaced by their dense rank.
+     *
+     * @param values0 attribute values of the first input
+     * @param values1 attribute values of the second input
+     * @return the sort keys for {@code values0} and {@code values1}
+     */
+    @SuppressWarnings("unchecked")
+    public static long[][] encode(Object[] values0, Object[] values1) {
+        final long[] keys0 = new long[values0.length], keys1 = new long[values1.length];
+        if (isIntegral(values0) && isIntegral(values1)) {
+            for (int i = 0; i < values0.length; i++) keys0[i] = ((Number) values0[i]).longValue();
+            for (int i = 0; i < values1.length; i++) keys1[i] = ((Number) values1[i]).longValue();
+        } else if (isNumeric(values0) && isNumeric(values1)) {
+            for (int i = 0; i < values0.length; i++) keys0[i] = encode(((Number) values0[i]).doubleValue());
+            for (int i = 0; i < values1.length; i++) keys1[i] = encode(((Number) values1[i]).doubleValue());
+        } else {
+            // Fallback: Sort all values once and use their ranks.
+            final Object[] allValues = new Object[values0.length + values1.length];
+            System.arraycopy(values0, 0, allValues, 0, values0.length);
+            System.arraycopy(values1, 0, allValues, values0.length, values1.length);
+            final Integer[] order = new Integer[allValues.length];
+            for (int i = 0; i < order.length; i++) order[i] = i;
+            final Comparator<Integer> comparator = (i, j) -> ((Comparable<Object>) allValues[i]).compareTo(allValues[j]);
+            Arrays.sort(order, comparator);
+            long rank = 0;
+            for (int k = 0; k < order.length; k++) {
+                if (k > 0 && comparator.compare(order[k - 1], order[k]) != 0) rank++;
+                final int index = order[k];
+                if (index < values0.length) keys0[index] = rank;
+                else keys1[index - values0.length] = rank;
+            }
+        }
+        return new long[][]{keys0, keys1};
+    }
+
+    private static boolean isIntegral(Object[] values) {
+        for (Object value : values) {
+            if (!(value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isNumeric(Object[] values) {
+        for (Object value : values) {
+            if (!(value instanceof Double || value instanceof Float
+                    || value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Maps a {@code double} to a {@code long}, such that the natural orders of both coincide.
+     */
+    private static long encode(double value) {
+        if (value == 0d) value = 0d; // Unify -0.0 and 0.0.
+        final long bits = Double.doubleToLongBits(value);
+        return bits < 0 ? bits ^ Long.MAX_VALUE : bits;
+    }
+
+    /**
+     * Joins the two inputs.
+     *
+     * @param pivots0 the pivot keys of the first input
+     * @param refs0   the reference keys of the first input
+     * @param pivots1 the pivot keys of the second input
+     * @param refs1   the reference keys of the second input
+     * @return the join partners
+     */
+    public Result join(long[] pivots0, long[] refs0, long[] pivots1, long[] refs1) {
+        final int n0 = pivots0.length, n1 = pivots1.length;
+        if (n0 == 0 || n1 == 0) return new Result(new int[0][]);
+
+        // Sort the second input by its pivot keys: bit i of the bit array will represent permutation[i].
+        final int[] permutation = sortedIndices(pivots1);
+        final long[] sortedPivots1 = new long[n1];
+        final int[] bitPositions = new int[n1];
+        for (int i = 0; i < n1; i++) {
+            sortedPivots1[i] = pivots1[permutation[i]];
+            bitPositions[permutation[i]] = i;
+        }
+
+        // Determine the bit ranges for the first input.
+        final int[] lowerOffsets = new int[n0], upperOffsets = new int[n0];
+        for (int i = 0; i < n0; i++) {
+            final long pivot = pivots0[i];
+            switch (this.cond0) {
+                case GreaterThan:
+                    upperOffsets[i] = lowerBound(sortedPivots1, pivot);
+                    break;
+                case GreaterThanEqual:
+                    upperOffsets[i] = upperBound(sortedPivots1, pivot);
+                    break;
+                case LessThan:
+                    lowerOffsets[i] = upperBound(sortedPivots1, pivot);
+                    upperOffsets[i] = n1;
+                    break;
+                case LessThanEqual:
+                    lowerOffsets[i] = lowerBound(sortedPivots1, pivot);
+                    upperOffsets[i] = n1;
+                    break;
+                default:
+                    throw new IllegalStateException("Unsupported condition: " + this.cond0);
+            }
+        }
+
+        // Determine the visiting order wrt. the reference keys.
+        final boolean isDescending = this.cond1 == IEJoinMasterOperator.JoinCondition.LessThan
+                || this.cond1 == IEJoinMasterOperator.JoinCondition.LessThanEqual;
+        final boolean isStrict = this.cond1 == IEJoinMasterOperator.JoinCondition.LessThan
+                || this.cond1 == IEJoinMasterOperator.JoinCondition.GreaterThan;
+        final int[] order0 = sortedIndices(refs0), order1 = sortedIndices(refs1);
+        if (isDescending) {
+            reverse(order0);
+            reverse(order1);
+        }
+
+        // Scan the blocks of the bit array.
+        final int numBlocks = (int) Math.max(1, Math.min(this.pool.getParallelism(), (long) n1 / MIN_BLOCK_SIZE));
+        final int blockSize = ((n1 + numBlocks - 1) / numBlocks + 63) & ~63;
+        final int[][][] blockResults = new int[numBlocks][][];
+        final List<ForkJoinTask<?>> blockTasks = new ArrayList<>(numBlocks);
+        for (int block = 0; block < numBlocks; block++) {
+            final int blockStart = Math.min(n1, block * blockSize), blockEnd = Math.min(n1, (block + 1) * blockSize);
+            final int blockIndex = block;
+            blockTasks.add(ForkJoinTask.adapt(() -> {
+                blockResults[blockIndex] = this.scanBlock(
+                        blockStart, blockEnd, refs0, order0, refs1, order1, isDescending, isStrict,
+                        bitPositions, permutation, lowerOffsets, upperOffsets
+                );
+            }));
+        }
+        if (numBlocks > 1) {
+            this.pool.invoke(ForkJoinTask.adapt(() -> {
+                ForkJoinTask.invokeAll(blockTasks);
+            }));
+        } else {
+            blockTasks.get(0).invoke();
+        }
+        return new Result(Arrays.stream(blockResults).flatMap(Arrays::stream).toArray(int[][]::new));
+    }
+
+    /**
+     * Scans a block of the bit array.
+     *
+     * @return segments of pairs of join partners, i.e., position in the first input followed by position in the
+     * second input
+     */
+    private int[][] scanBlock(int blockStart, int blockEnd,
+                            long[] refs0, int[] order0, long[] refs1, int[] order1,
+                            boolean isDescending, boolean isStrict,
+                            int[] bitPositions, int[] permutation, int[] lowerOffsets, int[] upperOffsets) {
+        final long[] words = new long[(blockEnd - blockStart + 63) >>> 6];
+        final int[] chunkCounts = new int[(words.length + CHUNK_WORDS - 1) / CHUNK_WORDS];
+        int numSetBits = 0;
+        final List<int[]> segments = new ArrayList<>();
+        int[] pairs = new int[64];
+        int numPairValues = 0;
+
+        int next1 = 0;
+        for (int index0 : order0) {
+            // Set the bits for all elements of the second input that satisfy the reference condition.
+            final long ref = refs0[index0];
+            while (next1 < order1.length && isInsertable(refs1[order1[next1]], ref, isDescending, isStrict)) {
+                final int bit = bitPositions[order1[next1++]] - blockStart;
+                if (bit >= 0 && bit < blockEnd - blockStart) {
+                    words[bit >>> 6] |= 1L << bit;
+                    chunkCounts[(bit >>> 6) / CHUNK_WORDS]++;
+                    numSetBits++;
+                }
+            }
+            if (numSetBits == 0) continue;
+
+            // Scan the set bits that also satisfy the pivot condition.
+            final int from = Math.max(lowerOffsets[index0], blockStart) - blockStart;
+            final int to = Math.min(upperOffsets[index0], blockEnd) - blockStart;
+            if (from >= to) continue;
+            int wordIndex = from >>> 6;
+            final int lastWordIndex = (to - 1) >>> 6;
+            while (wordIndex <= lastWordIndex) {
+                if (wordIndex % CHUNK_WORDS == 0 && chunkCounts[wordIndex / CHUNK_WORDS] == 0) {
+                    wordIndex += CHUNK_WORDS;
+                    continue;
+                }
+                long word = words[wordIndex];
+                if (wordIndex == from >>> 6) word &= -1L << from;
+                if (wordIndex == lastWordIndex) word &= -1L >>> (63 - ((to - 1) & 63));
+                while (word != 0) {
+                    final int bit = (wordIndex << 6) + Long.numberOfTrailingZeros(word);
+                    word &= word - 1;
+                    if (numPairValues == pairs.length) {
+                        if (pairs.length < MAX_SEGMENT_LENGTH) {
+                            pairs = Arrays.copyOf(pairs, Math.min(pairs.length * 2, MAX_SEGMENT_LENGTH));
+                        } else {
+                            segments.add(pairs);
+                            pairs = new int[MAX_SEGMENT_LENGTH];
+                            numPairValues = 0;
+                        }
+                    }
+                    pairs[numPairValues++] = index0;
+                    pairs[numPairValues++] = permutation[bit + blockStart];
+                }
+                wordIndex++;
+            }
+        }
+        segments.add(Arrays.copyOf(pairs, numPairValues));
+        return segments.toArray(new int[segments.size()][]);
+    }
+
+    private static boolean isInsertable(long ref1, long ref0, boolean isDescending, boolean isStrict) {
+        if (isDescending) {
+            return isStrict ? ref1 > ref0 : ref1 >= ref0;
+        } else {
+            return isStrict ? ref1 < ref0 : ref1 <= ref0;
+        }
+    }
+
+    /**
+     * @return the indices of the {@code keys} in ascending order of the latter
+     */
+    private static int[] sortedIndices(long[] keys) {
+        final int[] indices = new int[keys.length];
+        for (int i = 0; i < indices.length; i++) indices[i] = i;
+        final int[] buffer = indices.clone();
+        mergeSort(keys, buffer, indices, 0, indices.length);
+        return indices;
+    }
+
+    /**
+     * Sorts {@code dest[low..high)} by the {@code keys}, whereby {@code src} holds the same values as {@code dest}.
+     */
+    private static void mergeSort(long[] keys, int[] src, int[] dest, int low, int high) {
+        if (high - low < 16) {
+            for (int i = low + 1; i < high; i++) {
+                final int index = dest[i];
+                int j = i - 1;
+                while (j >= low && keys[dest[j]] > keys[index]) {
+                    dest[j + 1] = dest[j];
+                    j--;
+                }
+                dest[j + 1] = index;
+            }
+            return;
+        }
+        final int mid = (low + high) >>> 1;
+        mergeSort(keys, dest, src, low, mid);
+        mergeSort(keys, dest, src, mid, high);
+        if (keys[src[mid - 1]] <= keys[src[mid]]) {
+            System.arraycopy(src, low, dest, low, high - low);
+            return;
+        }
+        for (int i = low, p = low, q = mid; i < high; i++) {
+            if (q >= high || p < mid && keys[src[p]] <= keys[src[q]]) {
+                dest[i] = src[p++];
+            } else {
+                dest[i] = src[q++];
+            }
+        }
+    }
+
+    private static void reverse(int[] array) {
+        for (int i = 0, j = array.length - 1; i < j; i++, j--) {
+            final int temp = array[i];
+            array[i] = array[j];
+            array[j] = temp;
+        }
+    }
+
+    /**
+     * @return the first index in {@code sortedKeys} with a value {@code >= key}
+     */
+    private static int lowerBound(long[] sortedKeys, long key) {
+        int low = 0, high = sortedKeys.length;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (sortedKeys[mid] < key) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+
+    /**
+     * @return the first index in {@code sortedKeys} with a value {@code > key}
+     */
+    private static int upperBound(long[] sortedKeys, long key) {
+        int low = 0, high = sortedKeys.length;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (sortedKeys[mid] <= key) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+
+    /**
+     * Join partners as found by {@link #join(long[], long[], long[], long[])}.
+     */
+    public static class Result {
+
+        /**
+         * Per segment: position in the first input followed by position in the second input for each join partner.
+         */
+        private final int[][] blockPairs;
+
+        private Result(int[][] blockPairs) {
+            this.blockPairs = blockPairs;
+        }
+
+        /**
+         * @return the number of join partners
+         */
+        public long size() {
+            long size = 0;
+            for (int[] pairs : this.blockPairs) size += pairs.length / 2;
+            return size;
+        }
+
+        /**
+         * Iterates the join partners, alternately providing the position in the first and the second input.
+         *
+         * @return a {@link PrimitiveIterator.OfInt} over the positions
+         */
+        public PrimitiveIterator.OfInt positions() {
+            return new PrimitiveIterator.OfInt() {
+
+                private int block = 0, index = 0;
+
+                @Override
+                public boolean hasNext() {
+                    while (this.block < Result.this.blockPairs.length
+                            && this.index >= Result.this.blockPairs[this.block].length) {
+                        this.block++;
+                        this.index = 0;
+                    }
+                    return this.block < Result.this.blockPairs.length;
+                }
+
+                @Override
+                public int nextInt() {
+                    if (!this.hasNext()) throw new NoSuchElementException();
+                    return Result.this.blockPairs[this.block][this.index++];
+                }
+            };
+        }
+    }
+}
@@ -4,7 +4,6 @@ import org.apache.spark.api.java.function.Function2;
 import org.qcri.rheem.core.util.Copyable;
 import scala.Tuple2;
 
-import java.util.ArrayList;
 import java.util.Iterator;
 
 /**
@@ -16,6 +15,11 @@ public class addUniqueID<Input extends Copyable<Input>> implements
     int block;
     int start;
 
+    /**
+     * If given, the first ID of each partition. Supersedes {@link #block} and {@link #start}.
+     */
+    long[] partitionOffsets;
+
     public addUniqueID() {
 
         this.start = 0;
@@ -27,22 +31,36 @@ public class addUniqueID<Input extends Copyable<Input>> implements
         this.start = start;
     }
 
+    /**
+     * Creates a new instance that numbers the data quanta consecutively, akin to
+     * {@link org.apache.spark.api.java.JavaRDD#zipWithIndex()}.
+     *
+     * @param partitionOffsets the first ID of each partition
+     */
+    public addUniqueID(long[] partitionOffsets) {
+        this.partitionOffsets = partitionOffsets;
+    }
+
     @SuppressWarnings("unchecked")
     public Iterator<Tuple2<Long, Input>> call(Integer in, Iterator<Input> arg0)
             throws Exception {
 
-        ArrayList<Tuple2<Long, Input>> outList = new ArrayList<Tuple2<Long, Input>>(300000);
+        final long firstID = this.partitionOffsets == null ? (block * in) + start : this.partitionOffsets[in];
+        return new Iterator<Tuple2<Long, Input>>() {
 
-        long tupleLocalID = (block * in) + start;
-        // System.out.println("tupleLocalID = "+tupleLocalID);
-        while (arg0.hasNext()) {
+            long tupleLocalID = firstID;
 
-            Input t = arg0.next().copy();
+            @Override
+            public boolean hasNext() {
+                return arg0.hasNext();
+            }
 
-            outList.add(new Tuple2<Long, Input>(tupleLocalID, t));
-            tupleLocalID = tupleLocalID + 1;
-        }
-        return outList.iterator();
+            @Override
+            public Tuple2<Long, Input> next() {
+                Input t = arg0.next().copy();
+                return new Tuple2<Long, Input>(this.tupleLocalID++, t);
+            }
+        };
     }
 }
 
@@ -7,6 +7,8 @@ import org.qcri.rheem.core.optimizer.DefaultOptimizationContext;
 import org.qcri.rheem.core.optimizer.OptimizationContext;
 import org.qcri.rheem.core.plan.rheemplan.Operator;
 import org.qcri.rheem.core.platform.ChannelInstance;
+import org.qcri.rheem.core.platform.CrossPlatformExecutor;
+import org.qcri.rheem.core.profiling.NoInstrumentationStrategy;
 import org.qcri.rheem.iejoin.test.ChannelFactory;
 import org.qcri.rheem.java.channels.CollectionChannel;
 import org.qcri.rheem.java.channels.StreamChannel;
@@ -41,6 +43,7 @@ public class JavaExecutionOperatorTestBase {
     protected static JavaExecutor createExecutor() {
         final Job job = mock(Job.class);
         when(job.getConfiguration()).thenReturn(configuration);
+        when(job.getCrossPlatformExecutor()).thenReturn(new CrossPlatformExecutor(job, new NoInstrumentationStrategy()));
         return new JavaExecutor(JavaPlatform.getInstance(), job);
     }
 
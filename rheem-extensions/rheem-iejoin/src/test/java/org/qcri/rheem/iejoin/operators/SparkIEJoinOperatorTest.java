@@ -1,5 +1,6 @@
 package org.qcri.rheem.iejoin.operators;
 
+import org.apache.spark.rdd.RDD;
 import org.junit.Assert;
 import org.junit.Test;
 import org.qcri.rheem.basic.data.Record;
@@ -8,10 +9,13 @@ import org.qcri.rheem.core.function.TransformationDescriptor;
 import org.qcri.rheem.core.platform.ChannelInstance;
 import org.qcri.rheem.core.types.DataSetType;
 import org.qcri.rheem.core.types.DataUnitType;
+import org.qcri.rheem.iejoin.operators.spark_helpers.filterUnwantedBlocks;
 import org.qcri.rheem.spark.channels.RddChannel;
+import scala.Tuple5;
+import scala.collection.JavaConversions;
 
-import java.util.Arrays;
-import java.util.List;
+import java.util.*;
+import java.util.stream.Collectors;
 
 /**
  * Test suite for {@link SparkIEJoinOperator}.
@@ -70,4 +74,106 @@ public class SparkIEJoinOperatorTest extends SparkOperatorTestBase {
 
     }
 
+    @Test
+    public void testExecutionWithSmallBlocks() {
+        // r.x > s.x AND r.y < s.y
+        List<Record> records0 = new ArrayList<>(), records1 = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            records0.add(new Record(i * 10, (i * 7) % 8));
+            records1.add(new Record(i * 10 + 5, (i * 3) % 8));
+        }
+        this.configuration.setProperty(SparkIEJoinOperator.BLOCK_SIZE_PROPERTY, "2");
+
+        RddChannel.Instance input0 = this.createRddChannelInstance();
+        input0.accept(this.getSC().parallelize(records0, 1), this.sparkExecutor);
+        RddChannel.Instance input1 = this.createRddChannelInstance();
+        input1.accept(this.getSC().parallelize(records1, 1), this.sparkExecutor);
+        RddChannel.Instance output = this.createRddChannelInstance();
+
+        final Set<Object> persistentRddIds = new HashSet<>(this.getPersistentRdds().keySet());
+        evaluate(createOperator(), new ChannelInstance[]{input0, input1}, new ChannelInstance[]{output});
+
+        // Both inputs should be cached as is and sorted into blocks of 2 data quanta.
+        final List<Integer> numPartitions = this.getPersistentRdds().entrySet().stream()
+                .filter(entry -> !persistentRddIds.contains(entry.getKey()))
+                .map(entry -> entry.getValue().partitions().length)
+                .sorted()
+                .collect(Collectors.toList());
+        Assert.assertEquals(Arrays.asList(1, 1, 4, 4), numPartitions);
+
+        // Compare to a nested-loop join.
+        Set<String> expectedResult = new HashSet<>();
+        for (Record r : records0) {
+            for (Record s : records1) {
+                if (r.getInt(0) > s.getInt(0) && r.getInt(1) < s.getInt(1)) {
+                    expectedResult.add(r + "|" + s);
+                }
+            }
+        }
+        final List<Tuple2<Record, Record>> result = output.<Tuple2<Record, Record>>provideRdd().collect();
+        Assert.assertEquals(expectedResult.size(), result.size());
+        Assert.assertEquals(
+                expectedResult,
+                result.stream().map(pair -> pair.getField0() + "|" + pair.getField1()).collect(Collectors.toSet())
+        );
+
+        // Disposing the output should release the cached RDDs.
+        output.dispose();
+        Assert.assertEquals(persistentRddIds, this.getPersistentRdds().keySet());
+    }
+
+    @Test
+    public void testPairBlocksPrunesBlocks() {
+        // r.x > s.x AND r.y < s.y, whereby the blocks are summarized as (ID, head x, tail x, min y, max y).
+        List<Tuple5<Long, Integer, Integer, Integer, Integer>> summaries0 = Arrays.asList(
+                new Tuple5<>(0L, 10, 0, 0, 10),
+                new Tuple5<>(1L, 40, 30, 0, 10)
+        );
+        List<Tuple5<Long, Integer, Integer, Integer, Integer>> summaries1 = Arrays.asList(
+                new Tuple5<>(0L, 25, 20, 5, 15),
+                new Tuple5<>(1L, 5, 0, 5, 15),
+                new Tuple5<>(2L, 5, 0, -10, -5)
+        );
+        final SparkIEJoinOperator<Integer, Integer, Record> operator = createOperator();
+
+        final List<scala.Tuple2<Long, Long>> blockPairs = SparkIEJoinOperator.pairBlocks(
+                summaries0, summaries1, new filterUnwantedBlocks<>(operator.cond0, operator.list2ASC)
+        );
+
+        // (0, 0) has no partners w.r.t. x, (*, 2) has none w.r.t. y.
+        Assert.assertEquals(
+                new HashSet<>(Arrays.asList(new scala.Tuple2<>(0L, 1L), new scala.Tuple2<>(1L, 0L), new scala.Tuple2<>(1L, 1L))),
+                new HashSet<>(blockPairs)
+        );
+    }
+
+    private Map<Object, RDD<?>> getPersistentRdds() {
+        return JavaConversions.mapAsJavaMap(this.getSC().sc().getPersistentRDDs());
+    }
+
+    private static SparkIEJoinOperator<Integer, Integer, Record> createOperator() {
+        return new SparkIEJoinOperator<>(
+                DataSetType.createDefaultUnchecked(Record.class),
+                DataSetType.createDefaultUnchecked(Record.class),
+                new TransformationDescriptor<>(record -> (Integer) record.getField(0),
+                        DataUnitType.<Record>createBasic(Record.class),
+                        DataUnitType.<Integer>createBasicUnchecked(Integer.class)
+                ),
+                new TransformationDescriptor<>(record -> (Integer) record.getField(0),
+                        DataUnitType.<Record>createBasic(Record.class),
+                        DataUnitType.<Integer>createBasicUnchecked(Integer.class)
+                ),
+                IEJoinMasterOperator.JoinCondition.GreaterThan,
+                new TransformationDescriptor<>(record -> (Integer) record.getField(1),
+                        DataUnitType.<Record>createBasic(Record.class),
+                        DataUnitType.<Integer>createBasicUnchecked(Integer.class)
+                ),
+                new TransformationDescriptor<>(record -> (Integer) record.getField(1),
+                        DataUnitType.<Record>createBasic(Record.class),
+                        DataUnitType.<Integer>createBasicUnchecked(Integer.class)
+                ),
+                IEJoinMasterOperator.JoinCondition.LessThan
+        );
+    }
+
 }
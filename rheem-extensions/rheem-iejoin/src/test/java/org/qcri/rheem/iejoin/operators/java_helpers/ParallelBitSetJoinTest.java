@@ -0,0 +1,125 @@
+package org.qcri.rheem.iejoin.operators.java_helpers;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.qcri.rheem.iejoin.operators.IEJoinMasterOperator.JoinCondition;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.HashSet;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Test suite for {@link ParallelBitSetJoin}.
+ */
+public class ParallelBitSetJoinTest {
+
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+
+    @After
+    public void tearDown() {
+        this.pool.shutdown();
+    }
+
+    @Test
+    public void testAgainstNestedLoops() {
+        Random random = new Random(42);
+        for (int n1 : new int[]{0, 1, 100, 40000}) {
+            final int n0 = n1 > 1000 ? 5 : 100;
+            Object[] pivots0 = new Object[n0], refs0 = new Object[n0], pivots1 = new Object[n1], refs1 = new Object[n1];
+            for (int i = 0; i < n0; i++) {
+                pivots0[i] = random.nextInt(20);
+                refs0[i] = "v" + random.nextInt(20);
+            }
+            for (int i = 0; i < n1; i++) {
+                pivots1[i] = random.nextInt(20);
+                refs1[i] = "v" + random.nextInt(20);
+            }
+            long[][] pivotKeys = ParallelBitSetJoin.encode(pivots0, pivots1);
+            long[][] refKeys = ParallelBitSetJoin.encode(refs0, refs1);
+
+            for (JoinCondition cond0 : JoinCondition.values()) {
+                for (JoinCondition cond1 : JoinCondition.values()) {
+                    Set<Long> expectedPairs = new HashSet<>();
+                    for (int i = 0; i < n0; i++) {
+                        for (int j = 0; j < n1; j++) {
+                            if (holds(cond0, pivots0[i], pivots1[j]) && holds(cond1, refs0[i], refs1[j])) {
+                                expectedPairs.add(((long) i << 32) | j);
+                            }
+                        }
+                    }
+
+                    ParallelBitSetJoin.Result result = new ParallelBitSetJoin(cond0, cond1, this.pool)
+                            .join(pivotKeys[0], refKeys[0], pivotKeys[1], refKeys[1]);
+                    Set<Long> actualPairs = new HashSet<>();
+                    PrimitiveIterator.OfInt positions = result.positions();
+                    while (positions.hasNext()) {
+                        final int i = positions.nextInt(), j = positions.nextInt();
+                        Assert.assertTrue(actualPairs.add(((long) i << 32) | j));
+                    }
+                    Assert.assertEquals(expectedPairs.size(), result.size());
+                    Assert.assertEquals(expectedPairs, actualPairs);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testResultsExceedingASegment() {
+        // All pairs join, so that the results of the single block span several segments.
+        final int n0 = 3, n1 = ParallelBitSetJoin.MAX_SEGMENT_LENGTH;
+        final long[] keys0 = new long[n0], keys1 = new long[n1];
+        ParallelBitSetJoin.Result result =
+                new ParallelBitSetJoin(JoinCondition.GreaterThanEqual, JoinCondition.LessThanEqual, this.pool)
+                        .join(keys0, keys0, keys1, keys1);
+        Assert.assertEquals((long) n0 * n1, result.size());
+
+        final long[] numPartnersPerPosition0 = new long[n0];
+        PrimitiveIterator.OfInt positions = result.positions();
+        while (positions.hasNext()) {
+            numPartnersPerPosition0[positions.nextInt()]++;
+            Assert.assertTrue(positions.nextInt() < n1);
+        }
+        for (long numPartners : numPartnersPerPosition0) {
+            Assert.assertEquals(n1, numPartners);
+        }
+    }
+
+    @Test
+    public void testEncodingKeepsArbitraryPrecision() {
+        long[][] keys = ParallelBitSetJoin.encode(
+                new Object[]{new BigDecimal("1"), new BigDecimal("1.0000000000000000001")},
+                new Object[]{new BigDecimal("1.00000000000000000005")}
+        );
+        Assert.assertTrue(keys[0][0] < keys[1][0]);
+        Assert.assertTrue(keys[1][0] < keys[0][1]);
+
+        keys = ParallelBitSetJoin.encode(
+                new Object[]{BigInteger.ONE.shiftLeft(64)},
+                new Object[]{BigInteger.ONE.shiftLeft(64).add(BigInteger.ONE)}
+        );
+        Assert.assertTrue(keys[0][0] < keys[1][0]);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static boolean holds(JoinCondition condition, Object value0, Object value1) {
+        final int comparison = ((Comparable<Object>) value0).compareTo(value1);
+        switch (condition) {
+            case GreaterThan:
+                return comparison > 0;
+            case GreaterThanEqual:
+                return comparison >= 0;
+            case LessThan:
+                return comparison < 0;
+            case LessThanEqual:
+                return comparison <= 0;
+            default:
+                throw new IllegalArgumentException();
+        }
+    }
+
+}
@@ -0,0 +1,365 @@
+package org.qcri.rheem.graphchi.execution;
+
+import edu.cmu.graphchi.ChiFilenames;
+import edu.cmu.graphchi.datablocks.BytesToValueConverter;
+import org.qcri.rheem.core.api.Configuration;
+import org.qcri.rheem.core.api.exception.RheemException;
+import org.qcri.rheem.core.util.fs.FileSystem;
+import org.qcri.rheem.core.util.fs.LocalFileSystem;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps GraphChi shards across runs. Shards are content-addressed, i.e., they are identified by the path, size, and
+ * modification time of the input file they were created from. Least recently used shards are evicted once more than
+ * a configured number of them is cached.
+ * <p>There is a single instance per cache directory, so that concurrent {@link org.qcri.rheem.core.api.Job}s do not
+ * shard into the same directory at the same time. Provided {@link Entry}s are leased exclusively: GraphChi updates
+ * the vertex and edge data of the shards in place, so that an entry is handed out to only one run at a time and not
+ * evicted until it is {@link Entry#close() closed}. Runs should therefore release their {@link Entry} right after
+ * GraphChi has finished and read their results from a {@link Entry#copyVertexData(BytesToValueConverter) copy} of
+ * the vertex data.</p>
+ */
+public class GraphChiShardCache {
+
+    /**
+     * {@link Configuration} key for the maximum number of cached sharded graphs.
+     */
+    public static final String CAPACITY_PROPERTY = "rheem.graphchi.shardcache.capacity";
+
+    /**
+     * {@link Configuration} key for the directory to place the cached shards in.
+     */
+    public static final String TEMP_DIR_PROPERTY = "rheem.graphchi.tempdir";
+
+    /**
+     * Prefix for cache entry directories.
+     */
+    private static final String ENTRY_PREFIX = "graphchi-shards-";
+
+    /**
+     * Prefix for directories with copied vertex data.
+     */
+    private static final String VERTEX_DATA_PREFIX = "graphchi-vertexdata-";
+
+    /**
+     * Name of the graph within a cache entry directory.
+     */
+    private static final String GRAPH_NAME = "graph";
+
+    /**
+     * Name of the file that marks a complete cache entry and stores its number of shards.
+     */
+    private static final String COMPLETION_MARKER = "shards.complete";
+
+    private static final Logger logger = LoggerFactory.getLogger(GraphChiShardCache.class);
+
+    /**
+     * Instances by their (absolute) cache directory.
+     */
+    private static final Map<File, GraphChiShardCache> instances = new HashMap<>();
+
+    private final File cacheDir;
+
+    private final int capacity;
+
+    /**
+     * Cache entry directories with an unreleased {@link Entry}.
+     */
+    private final Set<File> leasedEntryDirs = new HashSet<>();
+
+    /**
+     * Provides the instance for the cache directory specified in the given {@link Configuration}. The capacity is
+     * determined by the {@link Configuration} that first requests the instance.
+     *
+     * @param configuration provides the cache directory and capacity
+     * @return the instance
+     */
+    public static GraphChiShardCache getInstance(Configuration configuration) {
+        final File cacheDir = new File(configuration.getStringProperty(TEMP_DIR_PROPERTY)).getAbsoluteFile();
+        synchronized (instances) {
+            return instances.computeIfAbsent(cacheDir, dir -> new GraphChiShardCache(
+                    dir, (int) configuration.getLongProperty(CAPACITY_PROPERTY, 8)
+            ));
+        }
+    }
+
+    GraphChiShardCache(File cacheDir, int capacity) {
+        this.cacheDir = cacheDir;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Provides the sharded version of a given input file. If it is not cached yet, it will be created.
+     * Blocks while the shards are leased by another run. The returned {@link Entry} must be
+     * {@link Entry#close() closed} once the shards are not used anymore.
+     *
+     * @param inputUrl  URL of the input file
+     * @param inputFs   {@link FileSystem} to access the input file
+     * @param numShards the number of shards to create if the shards are not cached
+     * @param sharding  creates the shards if they are not cached
+     * @return the cached shards
+     */
+    public Entry provide(String inputUrl, FileSystem inputFs, int numShards, Sharding sharding)
+            throws IOException {
+        return this.provide(inputUrl, inputFs, "", numShards, sharding);
+    }
+
+    /**
+     * Provides the sharded version of a given input file. If it is not cached yet, it will be created.
+     * Blocks while the shards are leased by another run. The returned {@link Entry} must be
+     * {@link Entry#close() closed} once the shards are not used anymore.
+     *
+     * @param inputUrl  URL of the input file
+     * @param inputFs   {@link FileSystem} to access the input file
+     * @param variant   distinguishes shards of the same input file, e.g., with different vertex and edge data
+     * @param numShards the number of shards to create if the shards are not cached
+     * @param sharding  creates the shards if they are not cached
+     * @return the cached shards
+     */
+    public Entry provide(String inputUrl, FileSystem inputFs, String variant, int numShards, Sharding sharding)
+            throws IOException {
+        final String key = createKey(
+                inputUrl, inputFs.getFileSize(inputUrl), inputFs.getModificationTime(inputUrl), variant
+        );
+        final File entryDir = new File(this.cacheDir, ENTRY_PREFIX + key);
+        final File marker = new File(entryDir, COMPLETION_MARKER);
+        final String graphName = new File(entryDir, GRAPH_NAME).toString();
+
+        // The lease also serves as lock for the entry directory, so that we can shard without blocking other entries.
+        this.acquire(entryDir);
+        boolean isProvided = false;
+        try {
+            final Entry entry;
+            if (marker.isFile()) {
+                final int cachedNumShards = Integer.parseInt(
+                        new String(Files.readAllBytes(marker.toPath()), StandardCharsets.UTF_8).trim()
+                );
+                if (!marker.setLastModified(System.currentTimeMillis())) {
+                    logger.warn("Could not update the access time of {}.", marker);
+                }
+                logger.info("Found {} shards for {} in {} -- no need to preprocess.", cachedNumShards, inputUrl, entryDir);
+                entry = new Entry(this, entryDir, graphName, cachedNumShards);
+            } else {
+                // Clean up any leftovers of an incomplete sharding.
+                if (entryDir.exists()) {
+                    new LocalFileSystem().delete(LocalFileSystem.toURL(entryDir), true);
+                }
+                LocalFileSystem.ensureDir(entryDir);
+                logger.info("Creating {} shards for {} in {}.", numShards, inputUrl, entryDir);
+                sharding.createShards(graphName, numShards);
+                Files.write(marker.toPath(), Integer.toString(numShards).getBytes(StandardCharsets.UTF_8));
+                entry = new Entry(this, entryDir, graphName, numShards);
+                synchronized (this) {
+                    this.evict();
+                }
+            }
+            isProvided = true;
+            return entry;
+        } finally {
+            if (!isProvided) this.release(entryDir);
+        }
+    }
+
+    /**
+     * Waits until the given cache entry directory is not leased anymore and then leases it.
+     */
+    private synchronized void acquire(File entryDir) {
+        while (this.leasedEntryDirs.contains(entryDir)) {
+            try {
+                this.wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RheemException(String.format("Interrupted while waiting for the shards in %s.", entryDir), e);
+            }
+        }
+        this.leasedEntryDirs.add(entryDir);
+    }
+
+    private synchronized void release(File entryDir) {
+        final boolean wasLeased = this.leasedEntryDirs.remove(entryDir);
+        assert wasLeased;
+        this.notifyAll();
+        this.evict();
+    }
+
+    /**
+     * Deletes the least recently used entries that are not leased, so that at most {@link #capacity} entries remain
+     * (unless more entries are leased).
+     */
+    private void evict() {
+        final File[] entryDirs = this.cacheDir.listFiles(
+                file -> file.isDirectory() && file.getName().startsWith(ENTRY_PREFIX)
+        );
+        if (entryDirs == null || entryDirs.length <= this.capacity) return;
+
+        final List<File> evictedEntryDirs = Arrays.stream(entryDirs)
+                .filter(entryDir -> !this.leasedEntryDirs.contains(entryDir))
+                .sorted(Comparator.comparingLong(
+                        (File entryDir) -> new File(entryDir, COMPLETION_MARKER).lastModified()
+                ).reversed())
+                .skip(Math.max(0, this.capacity - this.leasedEntryDirs.size()))
+                .collect(Collectors.toList());
+        final LocalFileSystem localFileSystem = new LocalFileSystem();
+        for (File evictedEntryDir : evictedEntryDirs) {
+            logger.info("Evicting GraphChi shards in {}.", evictedEntryDir);
+            try {
+                localFileSystem.delete(LocalFileSystem.toURL(evictedEntryDir), true);
+            } catch (IOException e) {
+                logger.warn("Could not evict {}.", evictedEntryDir, e);
+            }
+        }
+    }
+
+    /**
+     * Creates a cache key for the given file characteristics.
+     */
+    private static String createKey(String inputUrl, long fileSize, long modificationTime, String variant) {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            digest.update(String.format("%s\u0000%d\u0000%d", inputUrl, fileSize, modificationTime)
+                    .getBytes(StandardCharsets.UTF_8));
+            if (!variant.isEmpty()) {
+                digest.update(String.format("\u0000%s", variant).getBytes(StandardCharsets.UTF_8));
+            }
+            StringBuilder sb = new StringBuilder();
+            for (byte b : digest.digest()) {
+                sb.append(String.format("%02x", b));
+            }
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new RheemException("Could not create shard cache key.", e);
+        }
+    }
+
+    /**
+     * Creates GraphChi shards.
+     */
+    @FunctionalInterface
+    public interface Sharding {
+
+        /**
+         * Create the shards.
+         *
+         * @param graphName the GraphChi graph name (a base path) of the shards
+         * @param numShards the number of shards to create
+         */
+        void createShards(String graphName, int numShards) throws IOException;
+
+    }
+
+    /**
+     * Describes cached GraphChi shards. Closing an instance releases the shards, so that they can be used by other
+     * runs or be evicted.
+     */
+    public static class Entry implements AutoCloseable {
+
+        private final GraphChiShardCache cache;
+
+        private final File entryDir;
+
+        private final String graphName;
+
+        private final int numShards;
+
+        private final AtomicBoolean isClosed = new AtomicBoolean(false);
+
+        private Entry(GraphChiShardCache cache, File entryDir, String graphName, int numShards) {
+            this.cache = cache;
+            this.entryDir = entryDir;
+            this.graphName = graphName;
+            this.numShards = numShards;
+        }
+
+        public String getGraphName() {
+            return this.graphName;
+        }
+
+        public int getNumShards() {
+            return this.numShards;
+        }
+
+        /**
+         * Copies the current vertex data of the shards, so that it can still be read once this instance is closed.
+         *
+         * @param converter the {@link BytesToValueConverter} for the vertex data
+         * @return the copy
+         */
+        public VertexData copyVertexData(BytesToValueConverter<?> converter) throws IOException {
+            assert !this.isClosed.get();
+            final Path copyDir = Files.createTempDirectory(this.cache.cacheDir.toPath(), VERTEX_DATA_PREFIX);
+            final VertexData vertexData = new VertexData(copyDir.toFile(), copyDir.resolve(GRAPH_NAME).toString());
+            try {
+                Files.copy(
+                        new File(ChiFilenames.getFilenameOfVertexData(this.graphName, converter, false)).toPath(),
+                        new File(ChiFilenames.getFilenameOfVertexData(vertexData.getGraphName(), converter, false)).toPath()
+                );
+            } catch (IOException e) {
+                vertexData.close();
+                throw e;
+            }
+            return vertexData;
+        }
+
+        @Override
+        public void close() {
+            if (this.isClosed.compareAndSet(false, true)) {
+                this.cache.release(this.entryDir);
+            }
+        }
+    }
+
+    /**
+     * Describes a copy of the vertex data of cached GraphChi shards. Closing an instance deletes the copy.
+     */
+    public static class VertexData implements AutoCloseable {
+
+        private final File dir;
+
+        private final String graphName;
+
+        private final AtomicBoolean isClosed = new AtomicBoolean(false);
+
+        private VertexData(File dir, String graphName) {
+            this.dir = dir;
+            this.graphName = graphName;
+        }
+
+        /**
+         * @return the GraphChi graph name to read the vertex data with, e.g., via
+         * {@link edu.cmu.graphchi.vertexdata.VertexAggregator}
+         */
+        public String getGraphName() {
+            return this.graphName;
+        }
+
+        @Override
+        public void close() {
+            if (this.isClosed.compareAndSet(false, true)) {
+                try {
+                    new LocalFileSystem().delete(LocalFileSystem.toURL(this.dir), true);
+                } catch (IOException e) {
+                    logger.warn("Could not delete {}.", this.dir, e);
+                }
+            }
+        }
+    }
+
+}
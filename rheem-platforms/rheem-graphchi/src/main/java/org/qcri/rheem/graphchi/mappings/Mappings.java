@@ -2,16 +2,17 @@ package org.qcri.rheem.graphchi.mappings;
 
 import org.qcri.rheem.core.mapping.Mapping;
 
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.Collections;
 
 /**
  * Register for {@link Mapping}s for this platform.
  */
 public class Mappings {
 
-    public static final Collection<Mapping> ALL = Collections.singletonList(
-            new PageRankMapping()
+    public static final Collection<Mapping> ALL = Arrays.asList(
+            new PageRankMapping(),
+            new VertexProgramMapping()
     );
 
 }
@@ -0,0 +1,41 @@
+package org.qcri.rheem.graphchi.mappings;
+
+import org.qcri.rheem.basic.operators.VertexProgramOperator;
+import org.qcri.rheem.core.mapping.*;
+import org.qcri.rheem.graphchi.operators.GraphChiVertexProgramOperator;
+import org.qcri.rheem.graphchi.platform.GraphChiPlatform;
+
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * Maps {@link VertexProgramOperator}s to {@link GraphChiVertexProgramOperator}s.
+ */
+public class VertexProgramMapping implements Mapping {
+
+    @Override
+    public Collection<PlanTransformation> getTransformations() {
+        return Collections.singleton(
+                new PlanTransformation(
+                        this.createSubplanPattern(),
+                        this.createReplacementSubplanFactory(),
+                        GraphChiPlatform.getInstance()
+                )
+        );
+    }
+
+    @SuppressWarnings("unchecked")
+    private SubplanPattern createSubplanPattern() {
+        final OperatorPattern operatorPattern = new OperatorPattern<>(
+                "vertexProgram", new VertexProgramOperator<>(null, 1), false
+        ).withAdditionalTest(op -> GraphChiVertexProgramOperator.isSupporting(op.getVertexProgram()));
+        return SubplanPattern.createSingleton(operatorPattern);
+    }
+
+    private ReplacementSubplanFactory createReplacementSubplanFactory() {
+        return new ReplacementSubplanFactory.OfSingleOperators<VertexProgramOperator<Object, Object>>(
+                (matchedOperator, epoch) -> new GraphChiVertexProgramOperator<>(matchedOperator).at(epoch)
+        );
+    }
+
+}
@@ -1,6 +1,5 @@
 package org.qcri.rheem.graphchi.operators;
 
-import edu.cmu.graphchi.ChiFilenames;
 import edu.cmu.graphchi.apps.Pagerank;
 import edu.cmu.graphchi.datablocks.FloatConverter;
 import edu.cmu.graphchi.engine.GraphChiEngine;
@@ -13,6 +12,7 @@ import org.qcri.rheem.basic.operators.PageRankOperator;
 import org.qcri.rheem.core.api.Configuration;
 import org.qcri.rheem.core.api.exception.RheemException;
 import org.qcri.rheem.core.optimizer.OptimizationContext;
+import org.qcri.rheem.core.optimizer.cardinality.CardinalityEstimate;
 import org.qcri.rheem.core.optimizer.costs.LoadProfileEstimators;
 import org.qcri.rheem.core.plan.rheemplan.Operator;
 import org.qcri.rheem.core.platform.ChannelDescriptor;
@@ -23,16 +23,17 @@ import org.qcri.rheem.core.util.ConsumerIteratorAdapter;
 import org.qcri.rheem.core.util.Tuple;
 import org.qcri.rheem.core.util.fs.FileSystem;
 import org.qcri.rheem.core.util.fs.FileSystems;
-import org.qcri.rheem.core.util.fs.LocalFileSystem;
+import org.qcri.rheem.graphchi.execution.GraphChiShardCache;
 import org.qcri.rheem.graphchi.platform.GraphChiPlatform;
 import org.qcri.rheem.java.channels.StreamChannel;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
@@ -43,6 +44,33 @@ import java.util.stream.StreamSupport;
  */
 public class GraphChiPageRankOperator extends PageRankOperator implements GraphChiExecutionOperator {
 
+    /**
+     * {@link Configuration} key for the number of edges per GraphChi shard.
+     */
+    public static final String EDGES_PER_SHARD_PROPERTY = "rheem.graphchi.pagerank.edges-per-shard";
+
+    /**
+     * {@link Configuration} key for the assumed number of bytes per edge in an input file.
+     */
+    public static final String BYTES_PER_EDGE_PROPERTY = "rheem.graphchi.pagerank.bytes-per-edge";
+
+    /**
+     * {@link Configuration} key for the maximum GraphChi memory budget in MB.
+     */
+    public static final String MAX_MEMORY_BUDGET_PROPERTY = "rheem.graphchi.membudget.max-mb";
+
+    private static final long DEFAULT_EDGES_PER_SHARD = 1000000L;
+
+    private static final long DEFAULT_BYTES_PER_EDGE = 10L;
+
+    private static final long MAX_NUM_SHARDS = 10000L;
+
+    private static final long MIN_MEMORY_BUDGET_MB = 32L;
+
+    private static final long BYTES_PER_EDGE_IN_MEMORY = 32L;
+
+    private static final long BYTES_PER_VERTEX_IN_MEMORY = 64L;
+
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
 
     public GraphChiPageRankOperator(Integer numIterations) {
@@ -84,57 +112,64 @@ public class GraphChiPageRankOperator extends PageRankOperator implements GraphC
                 () -> new RheemException(String.format("Could not identify filesystem for \"%s\".", inputPath))
         );
 
-        // Create shards.
+        // Create shards or reuse cached ones.
         Configuration configuration = operatorContext.getOptimizationContext().getConfiguration();
-        String tempDirPath = configuration.getStringProperty("rheem.graphchi.tempdir");
-        Random random = new Random();
-        String tempFilePath = String.format("%s%s%04x-%04x-%04x-%04x.tmp", tempDirPath, File.separator,
-                random.nextInt() & 0xFFFF,
-                random.nextInt() & 0xFFFF,
-                random.nextInt() & 0xFFFF,
-                random.nextInt() & 0xFFFF
+        final GraphChiShardCache.Entry shards = GraphChiShardCache.getInstance(configuration).provide(
+                actualInputPath,
+                inputFs,
+                estimateNumShards(operatorContext, inputFs.getFileSize(actualInputPath), configuration),
+                (graphName, numShards) -> {
+                    FastSharder sharder = createSharder(graphName, numShards);
+                    try (InputStream inputStream = inputFs.open(actualInputPath)) {
+                        sharder.shard(inputStream, FastSharder.GraphInputFormat.EDGELIST);
+                    }
+                }
         );
-        final File tempFile = new File(tempFilePath);
-        LocalFileSystem.touch(tempFile);
-        tempFile.deleteOnExit();
-        String graphName = tempFile.toString();
-        // As suggested by GraphChi, we propose to use approximately 1 shard per 1,000,000 edges.
-        final int numShards = 2 + (int) inputFs.getFileSize(actualInputPath) / (10 * 1000000);
-        if (!new File(ChiFilenames.getFilenameIntervals(graphName, numShards)).exists()) {
-            FastSharder sharder = createSharder(graphName, numShards);
-            final InputStream inputStream = inputFs.open(actualInputPath);
-            sharder.shard(inputStream, FastSharder.GraphInputFormat.EDGELIST);
-        } else {
-            this.logger.info("Found shards -- no need to preprocess");
+        // Run GraphChi. As it updates the shards in place, we copy the resulting vertex values and release the shards
+        // right away.
+        final int numVertices;
+        final VertexIdTranslate trans;
+        final GraphChiShardCache.VertexData vertexData;
+        try {
+            GraphChiEngine<Float, Float> engine = new GraphChiEngine<>(shards.getGraphName(), shards.getNumShards());
+            engine.setEdataConverter(new FloatConverter());
+            engine.setVertexDataConverter(new FloatConverter());
+            engine.setModifiesInedges(false); // Important optimization
+            engine.setMemoryBudgetMb(estimateMemoryBudgetMb(operatorContext, shards.getNumShards(), configuration));
+            engine.run(new Pagerank(), this.numIterations);
+            numVertices = engine.numVertices();
+            trans = engine.getVertexIdTranslate();
+            vertexData = shards.copyVertexData(new FloatConverter());
+        } finally {
+            shards.close();
         }
 
-        // Run GraphChi.
-        GraphChiEngine<Float, Float> engine = new GraphChiEngine<>(graphName, numShards);
-        engine.setEdataConverter(new FloatConverter());
-        engine.setVertexDataConverter(new FloatConverter());
-        engine.setModifiesInedges(false); // Important optimization
-        engine.run(new Pagerank(), this.numIterations);
-
         final ConsumerIteratorAdapter<Tuple2<Long, Float>> consumerIteratorAdapter = new ConsumerIteratorAdapter<>();
-        final Consumer<Tuple2<Long, Float>> consumer = consumerIteratorAdapter.getConsumer();
+        boolean isProducing = false;
+        try {
+            // Output results in the I/O pool of the Job; failures are rethrown by the iterator. The producer deletes
+            // the copied vertex values once it has read them.
+            final Consumer<Tuple2<Long, Float>> consumer = consumerIteratorAdapter.getConsumer();
+            final ExecutorService ioPool = operatorContext.getOptimizationContext().getJob()
+                    .getCrossPlatformExecutor().getThreadPools().getIoPool();
+            final Future<?> producer = ioPool.submit(() -> {
+                try {
+                    VertexAggregator.foreach(numVertices, vertexData.getGraphName(), new FloatConverter(),
+                            (vertexId, vertexValue) -> consumer.accept(new Tuple2<>((long) trans.backward(vertexId), vertexValue)));
+                } catch (IOException e) {
+                    throw new RheemException(e);
+                } finally {
+                    consumerIteratorAdapter.declareLastAdd();
+                    vertexData.close();
+                }
+            });
+            isProducing = true;
+            consumerIteratorAdapter.bindProducer(producer);
+        } finally {
+            if (!isProducing) vertexData.close();
+        }
         final Iterator<Tuple2<Long, Float>> iterator = consumerIteratorAdapter.getIterator();
 
-        // Output results.
-        VertexIdTranslate trans = engine.getVertexIdTranslate();
-        new Thread(
-                () -> {
-                    try {
-                        VertexAggregator.foreach(engine.numVertices(), graphName, new FloatConverter(),
-                                (vertexId, vertexValue) -> consumer.accept(new Tuple2<>((long) trans.backward(vertexId), vertexValue)));
-                    } catch (IOException e) {
-                        throw new RheemException(e);
-                    } finally {
-                        consumerIteratorAdapter.declareLastAdd();
-                    }
-                },
-                String.format("%s (output)", this)
-        ).start();
-
         Stream<Tuple2<Long, Float>> outputStream = StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, 0), false);
         outputChannelInstance.accept(outputStream);
 
@@ -154,6 +189,57 @@ public class GraphChiPageRankOperator extends PageRankOperator implements GraphC
         return mainExecutionLineage.collectAndMark();
     }
 
+    /**
+     * Determines the number of shards to create. As suggested by GraphChi, we use approximately one shard per
+     * {@value #DEFAULT_EDGES_PER_SHARD} edges (configurable via {@value #EDGES_PER_SHARD_PROPERTY}). The number of edges
+     * is taken from the geometric mean of the input {@link CardinalityEstimate}, as its upper bound can be very loose,
+     * or, if not available, is derived from the input file size.
+     *
+     * @param operatorContext provides the input {@link CardinalityEstimate}
+     * @param inputFileSize   the size of the input file in bytes
+     * @param configuration   provides configuration values
+     * @return the number of shards
+     */
+    static int estimateNumShards(OptimizationContext.OperatorContext operatorContext,
+                                 long inputFileSize,
+                                 Configuration configuration) {
+        final long edgesPerShard = Math.max(1, configuration.getLongProperty(EDGES_PER_SHARD_PROPERTY, DEFAULT_EDGES_PER_SHARD));
+        final CardinalityEstimate inputEstimate = operatorContext.getInputCardinality(0);
+        long numEdges = inputEstimate == null ? -1L : inputEstimate.getGeometricMeanEstimate();
+        if (numEdges <= 0) {
+            numEdges = inputFileSize / configuration.getLongProperty(BYTES_PER_EDGE_PROPERTY, DEFAULT_BYTES_PER_EDGE);
+        }
+        final long numShards = 2 + numEdges / edgesPerShard;
+        return (int) Math.min(numShards, MAX_NUM_SHARDS);
+    }
+
+    /**
+     * Determines the memory budget for GraphChi, so that it can keep the vertex values and the edges of one shard in
+     * main memory. The budget is capped by {@value #MAX_MEMORY_BUDGET_PROPERTY}.
+     *
+     * @param operatorContext provides the {@link CardinalityEstimate}s
+     * @param numShards       the number of shards
+     * @param configuration   provides configuration values
+     * @return the memory budget in MB
+     */
+    static long estimateMemoryBudgetMb(OptimizationContext.OperatorContext operatorContext,
+                                       int numShards,
+                                       Configuration configuration) {
+        final long maxBudgetMb = configuration.getLongProperty(
+                MAX_MEMORY_BUDGET_PROPERTY, Runtime.getRuntime().maxMemory() / 4 / (1024 * 1024)
+        );
+        final long numEdges = getUpperEstimate(operatorContext.getInputCardinality(0));
+        final long numVertices = getUpperEstimate(operatorContext.getOutputCardinality(0));
+        if (numEdges <= 0 && numVertices <= 0) return maxBudgetMb;
+        final long requiredBytes = numEdges / numShards * BYTES_PER_EDGE_IN_MEMORY + numVertices * BYTES_PER_VERTEX_IN_MEMORY;
+        final long requiredMb = requiredBytes / (1024 * 1024) + 1;
+        return Math.max(MIN_MEMORY_BUDGET_MB, Math.min(requiredMb, maxBudgetMb));
+    }
+
+    private static long getUpperEstimate(CardinalityEstimate cardinalityEstimate) {
+        return cardinalityEstimate == null ? -1L : cardinalityEstimate.getUpperEstimate();
+    }
+
     /**
      * Initialize the sharder-program.
      *
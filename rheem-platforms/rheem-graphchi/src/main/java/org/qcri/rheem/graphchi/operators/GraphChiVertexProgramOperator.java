@@ -0,0 +1,535 @@
+package org.qcri.rheem.graphchi.operators;
+
+import edu.cmu.graphchi.ChiEdge;
+import edu.cmu.graphchi.ChiVertex;
+import edu.cmu.graphchi.GraphChiContext;
+import edu.cmu.graphchi.GraphChiProgram;
+import edu.cmu.graphchi.datablocks.BytesToValueConverter;
+import edu.cmu.graphchi.engine.GraphChiEngine;
+import edu.cmu.graphchi.engine.VertexInterval;
+import edu.cmu.graphchi.preprocessing.FastSharder;
+import edu.cmu.graphchi.preprocessing.VertexIdTranslate;
+import edu.cmu.graphchi.vertexdata.VertexAggregator;
+import org.qcri.rheem.basic.channels.FileChannel;
+import org.qcri.rheem.basic.data.Tuple2;
+import org.qcri.rheem.basic.function.VertexProgram;
+import org.qcri.rheem.basic.operators.VertexProgramOperator;
+import org.qcri.rheem.core.api.Configuration;
+import org.qcri.rheem.core.api.exception.RheemException;
+import org.qcri.rheem.core.optimizer.OptimizationContext;
+import org.qcri.rheem.core.plan.rheemplan.ExecutionOperator;
+import org.qcri.rheem.core.platform.ChannelDescriptor;
+import org.qcri.rheem.core.platform.ChannelInstance;
+import org.qcri.rheem.core.platform.Platform;
+import org.qcri.rheem.core.platform.lineage.ExecutionLineageNode;
+import org.qcri.rheem.core.util.ConsumerIteratorAdapter;
+import org.qcri.rheem.core.util.Tuple;
+import org.qcri.rheem.core.util.fs.FileSystem;
+import org.qcri.rheem.core.util.fs.FileSystems;
+import org.qcri.rheem.graphchi.execution.GraphChiShardCache;
+import org.qcri.rheem.graphchi.platform.GraphChiPlatform;
+import org.qcri.rheem.java.channels.StreamChannel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.stream.StreamSupport;
+
+/**
+ * {@link VertexProgramOperator} implementation for the {@link GraphChiPlatform}. The graph is processed out-of-core
+ * from (cached) GraphChi shards: Each vertex keeps its value in the GraphChi vertex data and publishes its value,
+ * degree, and activity on its edges, from where its neighbors pull them. Each GraphChi iteration corresponds to one
+ * superstep. The edges carry a slot for even and one for odd supersteps, so that vertices read the states of the
+ * previous superstep and the outcome does not depend on the order in which GraphChi updates the vertices.
+ * <p>As GraphChi requires fixed-size vertex and edge data, only {@link VertexProgram}s with {@link Long},
+ * {@link Integer}, {@link Double}, or {@link Float} values are supported (see {@link #isSupporting(VertexProgram)}).
+ * </p>
+ */
+public class GraphChiVertexProgramOperator<Value, Message>
+        extends VertexProgramOperator<Value, Message>
+        implements GraphChiExecutionOperator {
+
+    /**
+     * Distinguishes the shards of this operator in the {@link GraphChiShardCache}, as they have other edge data.
+     */
+    private static final String SHARD_VARIANT = "vertexprogram";
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    public GraphChiVertexProgramOperator(VertexProgram<Value, Message> vertexProgram, Integer numIterations) {
+        super(vertexProgram, numIterations);
+    }
+
+    public GraphChiVertexProgramOperator(VertexProgramOperator<Value, Message> that) {
+        super(that);
+    }
+
+    /**
+     * Tells whether the given {@link VertexProgram} can be run by instances of this class, i.e., whether its value
+     * type has a fixed-size representation.
+     *
+     * @param vertexProgram the {@link VertexProgram}
+     * @return whether it is supported
+     */
+    public static boolean isSupporting(VertexProgram<?, ?> vertexProgram) {
+        return ValueCodec.of(vertexProgram).isPresent();
+    }
+
+    @Override
+    public Tuple<Collection<ExecutionLineageNode>, Collection<ChannelInstance>> execute(
+            ChannelInstance[] inputChannelInstances,
+            ChannelInstance[] outputChannelInstances,
+            OptimizationContext.OperatorContext operatorContext) {
+        assert inputChannelInstances.length == this.getNumInputs();
+        assert outputChannelInstances.length == this.getNumOutputs();
+
+        final FileChannel.Instance inputChannelInstance = (FileChannel.Instance) inputChannelInstances[0];
+        final StreamChannel.Instance outputChannelInstance = (StreamChannel.Instance) outputChannelInstances[0];
+        try {
+            this.runGraphChi(inputChannelInstance, outputChannelInstance, operatorContext);
+        } catch (IOException e) {
+            throw new RheemException(String.format("Running %s failed.", this), e);
+        }
+
+        return ExecutionOperator.modelEagerExecution(inputChannelInstances, outputChannelInstances, operatorContext);
+    }
+
+    private void runGraphChi(FileChannel.Instance inputFileChannelInstance,
+                             StreamChannel.Instance outputChannelInstance,
+                             OptimizationContext.OperatorContext operatorContext)
+            throws IOException {
+
+        assert inputFileChannelInstance.wasProduced();
+        final ValueCodec valueCodec = ValueCodec.of(this.vertexProgram).orElseThrow(
+                () -> new RheemException(String.format("%s does not support %s.", this, this.vertexProgram))
+        );
+
+        final String inputPath = inputFileChannelInstance.getSinglePath();
+        final String actualInputPath = FileSystems.findActualSingleInputPath(inputPath);
+        final FileSystem inputFs = FileSystems.getFileSystem(inputPath).orElseThrow(
+                () -> new RheemException(String.format("Could not identify filesystem for \"%s\".", inputPath))
+        );
+
+        // Create shards or reuse cached ones.
+        Configuration configuration = operatorContext.getOptimizationContext().getConfiguration();
+        final GraphChiShardCache.Entry shards = GraphChiShardCache.getInstance(configuration).provide(
+                actualInputPath,
+                inputFs,
+                SHARD_VARIANT,
+                GraphChiPageRankOperator.estimateNumShards(
+                        operatorContext, inputFs.getFileSize(actualInputPath), configuration
+                ),
+                (graphName, numShards) -> {
+                    FastSharder<VertexState, EdgeState> sharder = new FastSharder<>(
+                            graphName,
+                            numShards,
+                            (vertexId, token) -> new VertexState(),
+                            (from, to, token) -> new EdgeState(),
+                            new VertexStateConverter(),
+                            new EdgeStateConverter()
+                    );
+                    try (InputStream inputStream = inputFs.open(actualInputPath)) {
+                        sharder.shard(inputStream, FastSharder.GraphInputFormat.EDGELIST);
+                    }
+                }
+        );
+
+        // Run GraphChi. The first iteration only initializes the vertices. As GraphChi updates the shards in place, we
+        // copy the final vertex data and release the shards right away.
+        final int numVertices;
+        final VertexIdTranslate vertexIdTranslate;
+        final GraphChiShardCache.VertexData vertexData;
+        try {
+            GraphChiEngine<VertexState, EdgeState> engine = new GraphChiEngine<>(shards.getGraphName(), shards.getNumShards());
+            engine.setEdataConverter(new EdgeStateConverter());
+            engine.setVertexDataConverter(new VertexStateConverter());
+            engine.setEnableDeterministicExecution(true);
+            engine.setMemoryBudgetMb(GraphChiPageRankOperator.estimateMemoryBudgetMb(
+                    operatorContext, shards.getNumShards(), configuration
+            ));
+            engine.run(new SuperstepProgram(engine.getVertexIdTranslate(), valueCodec), this.getNumIterations() + 1);
+            numVertices = engine.numVertices();
+            vertexIdTranslate = engine.getVertexIdTranslate();
+            vertexData = shards.copyVertexData(new VertexStateConverter());
+        } finally {
+            shards.close();
+        }
+
+        final ConsumerIteratorAdapter<Tuple2<Long, Value>> consumerIteratorAdapter = new ConsumerIteratorAdapter<>();
+        boolean isProducing = false;
+        try {
+            // Stream the final vertex values from the copied vertex data in the I/O pool of the Job; failures are
+            // rethrown by the iterator. The producer deletes the copy once it has read the vertex values.
+            final Consumer<Tuple2<Long, Value>> consumer = consumerIteratorAdapter.getConsumer();
+            final ExecutorService ioPool = operatorContext.getOptimizationContext().getJob()
+                    .getCrossPlatformExecutor().getThreadPools().getIoPool();
+            final Future<?> producer = ioPool.submit(() -> {
+                try {
+                    VertexAggregator.foreach(numVertices, vertexData.getGraphName(), new VertexStateConverter(),
+                            (vertexId, vertexState) -> {
+                                if (vertexState.isExisting) {
+                                    @SuppressWarnings("unchecked")
+                                    final Value value = (Value) valueCodec.decode(vertexState.valueBits);
+                                    consumer.accept(new Tuple2<>((long) vertexIdTranslate.backward(vertexId), value));
+                                }
+                            });
+                } catch (IOException e) {
+                    throw new RheemException(e);
+                } finally {
+                    consumerIteratorAdapter.declareLastAdd();
+                    vertexData.close();
+                }
+            });
+            isProducing = true;
+            consumerIteratorAdapter.bindProducer(producer);
+        } finally {
+            if (!isProducing) vertexData.close();
+        }
+
+        final Iterator<Tuple2<Long, Value>> iterator = consumerIteratorAdapter.getIterator();
+        outputChannelInstance.accept(StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, 0), false));
+    }
+
+    /**
+     * Runs the {@link #vertexProgram} in GraphChi. In superstep {@code i}, vertices pull the states of their
+     * neighbors from the edge slot {@code (i - 1) % 2} and publish their own state in the edge slot {@code i % 2}.
+     */
+    private class SuperstepProgram implements GraphChiProgram<VertexState, EdgeState> {
+
+        private final boolean isUndirected = vertexProgram.getEdgeDirection() == VertexProgram.EdgeDirection.BOTH;
+
+        private final boolean isSendingAlways = vertexProgram.isSendingAlways();
+
+        private final VertexIdTranslate vertexIdTranslate;
+
+        private final ValueCodec valueCodec;
+
+        private final LongAdder numActive = new LongAdder();
+
+        private volatile boolean isConverged = false;
+
+        private SuperstepProgram(VertexIdTranslate vertexIdTranslate, ValueCodec valueCodec) {
+            this.vertexIdTranslate = vertexIdTranslate;
+            this.valueCodec = valueCodec;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void update(ChiVertex<VertexState, EdgeState> vertex, GraphChiContext ctx) {
+            final int iteration = ctx.getIteration();
+            final long vertexId = this.vertexIdTranslate.backward(vertex.getId());
+            final int degree = vertex.numOutEdges() + (this.isUndirected ? vertex.numInEdges() : 0);
+            if (iteration == 0) {
+                final long valueBits = this.valueCodec.encode(vertexProgram.getInitialValue(vertexId));
+                vertex.setValue(new VertexState(valueBits, vertex.numEdges() > 0));
+                this.publish(vertex, 0, valueBits, degree, true);
+                return;
+            }
+            if (this.isConverged) return;
+
+            final int readSlot = (iteration - 1) % 2;
+            Message message = null;
+            for (int i = 0; i < vertex.numInEdges(); i++) {
+                final ChiEdge<EdgeState> edge = vertex.inEdge(i);
+                message = this.receive(message, edge.getVertexId(), edge.getValue(), readSlot, EdgeState.SOURCE, vertexId);
+            }
+            if (this.isUndirected) {
+                for (int i = 0; i < vertex.numOutEdges(); i++) {
+                    final ChiEdge<EdgeState> edge = vertex.outEdge(i);
+                    message = this.receive(message, edge.getVertexId(), edge.getValue(), readSlot, EdgeState.TARGET, vertexId);
+                }
+            }
+
+            final VertexState vertexState = vertex.getValue();
+            boolean isActive = false;
+            if (message != null) {
+                final Value value = (Value) this.valueCodec.decode(vertexState.valueBits);
+                final Value newValue = vertexProgram.apply(vertexId, value, message);
+                if (!Objects.equals(value, newValue)) {
+                    vertexState.valueBits = this.valueCodec.encode(newValue);
+                    vertex.setValue(vertexState);
+                    this.numActive.increment();
+                    isActive = true;
+                }
+            }
+            this.publish(vertex, iteration % 2, vertexState.valueBits, degree, isActive || this.isSendingAlways);
+        }
+
+        @SuppressWarnings("unchecked")
+        private Message receive(Message message, int source, EdgeState edgeState, int slot, int endpoint, long targetId) {
+            if (!edgeState.isActive(slot, endpoint)) return message;
+            final Message newMessage = vertexProgram.createMessage(
+                    this.vertexIdTranslate.backward(source),
+                    (Value) this.valueCodec.decode(edgeState.getValueBits(slot, endpoint)),
+                    targetId,
+                    edgeState.getDegree(slot, endpoint)
+            );
+            if (newMessage == null) return message;
+            return message == null ? newMessage : vertexProgram.combine(message, newMessage);
+        }
+
+        /**
+         * Write the state of a vertex to its edges, so that its neighbors can pull it in the next superstep.
+         */
+        private void publish(ChiVertex<VertexState, EdgeState> vertex, int slot, long valueBits, int degree,
+                             boolean isActive) {
+            for (int i = 0; i < vertex.numOutEdges(); i++) {
+                final ChiEdge<EdgeState> edge = vertex.outEdge(i);
+                final EdgeState edgeState = edge.getValue();
+                edgeState.set(slot, EdgeState.SOURCE, valueBits, degree, isActive);
+                edge.setValue(edgeState);
+            }
+            if (this.isUndirected) {
+                for (int i = 0; i < vertex.numInEdges(); i++) {
+                    final ChiEdge<EdgeState> edge = vertex.inEdge(i);
+                    final EdgeState edgeState = edge.getValue();
+                    edgeState.set(slot, EdgeState.TARGET, valueBits, degree, isActive);
+                    edge.setValue(edgeState);
+                }
+            }
+        }
+
+        @Override
+        public void beginIteration(GraphChiContext ctx) {
+        }
+
+        @Override
+        public void endIteration(GraphChiContext ctx) {
+            if (ctx.getIteration() == 0 || this.isConverged) return;
+            if (this.numActive.sumThenReset() == 0) {
+                // GraphChi will still run the remaining iterations, but they will not do any updates.
+                logger.info("Vertex program converged after {} supersteps.", ctx.getIteration());
+                this.isConverged = true;
+            }
+        }
+
+        @Override
+        public void beginInterval(GraphChiContext ctx, VertexInterval interval) {
+        }
+
+        @Override
+        public void endInterval(GraphChiContext ctx, VertexInterval interval) {
+        }
+
+        @Override
+        public void beginSubInterval(GraphChiContext ctx, VertexInterval interval) {
+        }
+
+        @Override
+        public void endSubInterval(GraphChiContext ctx, VertexInterval interval) {
+        }
+
+    }
+
+    /**
+     * Encodes supported vertex values as {@code long}s.
+     */
+    enum ValueCodec {
+
+        LONG(Long.class) {
+            @Override
+            long encode(Object value) {
+                return (Long) value;
+            }
+
+            @Override
+            Object decode(long bits) {
+                return bits;
+            }
+        },
+
+        INTEGER(Integer.class) {
+            @Override
+            long encode(Object value) {
+                return (Integer) value;
+            }
+
+            @Override
+            Object decode(long bits) {
+                return (int) bits;
+            }
+        },
+
+        DOUBLE(Double.class) {
+            @Override
+            long encode(Object value) {
+                return Double.doubleToRawLongBits((Double) value);
+            }
+
+            @Override
+            Object decode(long bits) {
+                return Double.longBitsToDouble(bits);
+            }
+        },
+
+        FLOAT(Float.class) {
+            @Override
+            long encode(Object value) {
+                return Float.floatToRawIntBits((Float) value);
+            }
+
+            @Override
+            Object decode(long bits) {
+                return Float.intBitsToFloat((int) bits);
+            }
+        };
+
+        private final Class<?> valueClass;
+
+        ValueCodec(Class<?> valueClass) {
+            this.valueClass = valueClass;
+        }
+
+        abstract long encode(Object value);
+
+        abstract Object decode(long bits);
+
+        /**
+         * Find the instance for the value type of a {@link VertexProgram}, as declared by its class.
+         */
+        static Optional<ValueCodec> of(VertexProgram<?, ?> vertexProgram) {
+            if (vertexProgram == null) return Optional.empty();
+            for (Class<?> cls = vertexProgram.getClass(); cls != null; cls = cls.getSuperclass()) {
+                for (Type type : cls.getGenericInterfaces()) {
+                    if (type instanceof ParameterizedType
+                            && ((ParameterizedType) type).getRawType() == VertexProgram.class) {
+                        final Type valueType = ((ParameterizedType) type).getActualTypeArguments()[0];
+                        return Arrays.stream(values()).filter(codec -> codec.valueClass == valueType).findAny();
+                    }
+                }
+            }
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * GraphChi vertex data: the encoded value of the vertex and whether it is part of the input graph.
+     */
+    static class VertexState {
+
+        private long valueBits;
+
+        private boolean isExisting;
+
+        VertexState() {
+        }
+
+        VertexState(long valueBits, boolean isExisting) {
+            this.valueBits = valueBits;
+            this.isExisting = isExisting;
+        }
+    }
+
+    private static class VertexStateConverter implements BytesToValueConverter<VertexState> {
+
+        @Override
+        public int sizeOf() {
+            return 9;
+        }
+
+        @Override
+        public VertexState getValue(byte[] array) {
+            final ByteBuffer buffer = ByteBuffer.wrap(array);
+            return new VertexState(buffer.getLong(), buffer.get() != 0);
+        }
+
+        @Override
+        public void setValue(byte[] array, VertexState vertexState) {
+            ByteBuffer.wrap(array).putLong(vertexState.valueBits).put((byte) (vertexState.isExisting ? 1 : 0));
+        }
+    }
+
+    /**
+     * GraphChi edge data: the states (encoded value, degree, and activity) of the source and target vertex, each
+     * for even and odd supersteps.
+     */
+    static class EdgeState {
+
+        static final int SOURCE = 0, TARGET = 1;
+
+        private static final int NUM_FIELDS = 4;
+
+        private final long[] valueBits = new long[NUM_FIELDS];
+
+        private final int[] degrees = new int[NUM_FIELDS];
+
+        private final boolean[] isActive = new boolean[NUM_FIELDS];
+
+        void set(int slot, int endpoint, long valueBits, int degree, boolean isActive) {
+            final int index = 2 * slot + endpoint;
+            this.valueBits[index] = valueBits;
+            this.degrees[index] = degree;
+            this.isActive[index] = isActive;
+        }
+
+        long getValueBits(int slot, int endpoint) {
+            return this.valueBits[2 * slot + endpoint];
+        }
+
+        int getDegree(int slot, int endpoint) {
+            return this.degrees[2 * slot + endpoint];
+        }
+
+        boolean isActive(int slot, int endpoint) {
+            return this.isActive[2 * slot + endpoint];
+        }
+    }
+
+    private static class EdgeStateConverter implements BytesToValueConverter<EdgeState> {
+
+        @Override
+        public int sizeOf() {
+            return EdgeState.NUM_FIELDS * (8 + 4 + 1);
+        }
+
+        @Override
+        public EdgeState getValue(byte[] array) {
+            final ByteBuffer buffer = ByteBuffer.wrap(array);
+            final EdgeState edgeState = new EdgeState();
+            for (int i = 0; i < EdgeState.NUM_FIELDS; i++) {
+                edgeState.valueBits[i] = buffer.getLong();
+                edgeState.degrees[i] = buffer.getInt();
+                edgeState.isActive[i] = buffer.get() != 0;
+            }
+            return edgeState;
+        }
+
+        @Override
+        public void setValue(byte[] array, EdgeState edgeState) {
+            final ByteBuffer buffer = ByteBuffer.wrap(array);
+            for (int i = 0; i < EdgeState.NUM_FIELDS; i++) {
+                buffer.putLong(edgeState.valueBits[i]).putInt(edgeState.degrees[i]).put((byte) (edgeState.isActive[i] ? 1 : 0));
+            }
+        }
+    }
+
+    @Override
+    public Platform getPlatform() {
+        return GraphChiPlatform.getInstance();
+    }
+
+    @Override
+    public Collection<String> getLoadProfileEstimatorConfigurationKeys() {
+        return Collections.singletonList("rheem.graphchi.vertexprogram.load");
+    }
+
+    @Override
+    public List<ChannelDescriptor> getSupportedInputChannels(int index) {
+        return Collections.singletonList(FileChannel.HDFS_TSV_DESCRIPTOR);
+    }
+
+    @Override
+    public List<ChannelDescriptor> getSupportedOutputChannels(int index) {
+        return Collections.singletonList(StreamChannel.DESCRIPTOR);
+    }
+
+}
@@ -10,6 +10,9 @@ import org.qcri.rheem.core.platform.Platform;
 import org.qcri.rheem.core.util.ReflectionUtils;
 import org.qcri.rheem.graphchi.execution.GraphChiExecutor;
 
+import java.util.Arrays;
+import java.util.Collection;
+
 /**
  * GraphChi {@link Platform} for Rheem.
  */
@@ -70,6 +73,14 @@ public class GraphChiPlatform extends Platform {
         );
     }
 
+    @Override
+    public Collection<String> getCostModelPropertyKeys() {
+        return Arrays.asList(
+                CPU_MHZ_PROPERTY, CORES_PROPERTY, HDFS_MS_PER_MB_PROPERTY,
+                "rheem.graphchi.costs.fix", "rheem.graphchi.costs.per-ms"
+        );
+    }
+
     @Override
     public TimeToCostConverter createTimeToCostConverter(Configuration configuration) {
         return new TimeToCostConverter(
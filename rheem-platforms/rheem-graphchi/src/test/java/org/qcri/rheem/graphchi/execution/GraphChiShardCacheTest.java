@@ -0,0 +1,193 @@
+package org.qcri.rheem.graphchi.execution;
+
+import edu.cmu.graphchi.ChiFilenames;
+import edu.cmu.graphchi.datablocks.FloatConverter;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.qcri.rheem.core.api.Configuration;
+import org.qcri.rheem.core.util.fs.LocalFileSystem;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Test suite for the {@link GraphChiShardCache}.
+ */
+public class GraphChiShardCacheTest {
+
+    private File cacheDir;
+
+    @Before
+    public void setUp() throws IOException {
+        this.cacheDir = Files.createTempDirectory("rheem-graphchi-test").toFile();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        new LocalFileSystem().delete(LocalFileSystem.toURL(this.cacheDir), true);
+    }
+
+    @Test
+    public void testCacheHitsAndEviction() throws IOException {
+        final LocalFileSystem fs = new LocalFileSystem();
+        final File input1 = this.createInputFile("input1", "1 2\n2 3\n");
+        final File input2 = this.createInputFile("input2", "1 2\n");
+        final GraphChiShardCache cache = new GraphChiShardCache(this.cacheDir, 1);
+        final AtomicInteger numShardings = new AtomicInteger(0);
+        final GraphChiShardCache.Sharding sharding = (graphName, numShards) -> {
+            numShardings.incrementAndGet();
+            LocalFileSystem.touch(new File(graphName));
+        };
+
+        // Shard the first input.
+        final GraphChiShardCache.Entry entry1 = cache.provide(LocalFileSystem.toURL(input1), fs, 3, sharding);
+        Assert.assertEquals(1, numShardings.get());
+        Assert.assertEquals(3, entry1.getNumShards());
+        entry1.close();
+
+        // The shards of the first input should be reused, even when the requested number of shards differs.
+        final GraphChiShardCache.Entry entry1Again = cache.provide(LocalFileSystem.toURL(input1), fs, 5, sharding);
+        Assert.assertEquals(1, numShardings.get());
+        Assert.assertEquals(entry1.getGraphName(), entry1Again.getGraphName());
+        Assert.assertEquals(3, entry1Again.getNumShards());
+        entry1Again.close();
+
+        // Shard the second input, thereby evicting the first one.
+        final GraphChiShardCache.Entry entry2 = cache.provide(LocalFileSystem.toURL(input2), fs, 2, sharding);
+        Assert.assertEquals(2, numShardings.get());
+        Assert.assertNotEquals(entry1.getGraphName(), entry2.getGraphName());
+        Assert.assertFalse(new File(entry1.getGraphName()).exists());
+        Assert.assertTrue(new File(entry2.getGraphName()).exists());
+        entry2.close();
+
+        // Changing the first input must invalidate its shards.
+        Files.write(input1.toPath(), "1 2\n2 3\n3 1\n".getBytes());
+        cache.provide(LocalFileSystem.toURL(input1), fs, 3, sharding).close();
+        Assert.assertEquals(3, numShardings.get());
+    }
+
+    @Test
+    public void testLeasedEntriesAreNotEvicted() throws IOException {
+        final LocalFileSystem fs = new LocalFileSystem();
+        final File input1 = this.createInputFile("input1", "1 2\n2 3\n");
+        final File input2 = this.createInputFile("input2", "1 2\n");
+        final GraphChiShardCache cache = new GraphChiShardCache(this.cacheDir, 1);
+        final GraphChiShardCache.Sharding sharding = (graphName, numShards) -> LocalFileSystem.touch(new File(graphName));
+
+        // While the first entry is in use, the second one must not evict it.
+        final GraphChiShardCache.Entry entry1 = cache.provide(LocalFileSystem.toURL(input1), fs, 3, sharding);
+        final GraphChiShardCache.Entry entry2 = cache.provide(LocalFileSystem.toURL(input2), fs, 2, sharding);
+        Assert.assertTrue(new File(entry1.getGraphName()).exists());
+        Assert.assertTrue(new File(entry2.getGraphName()).exists());
+
+        // Once both entries are released, the capacity should be enforced.
+        entry1.close();
+        entry1.close();
+        Assert.assertTrue(new File(entry2.getGraphName()).exists());
+        entry2.close();
+        final long numRemainingEntries = Stream.of(entry1, entry2)
+                .filter(entry -> new File(entry.getGraphName()).exists())
+                .count();
+        Assert.assertEquals(1, numRemainingEntries);
+    }
+
+    @Test
+    public void testEntriesAreLeasedExclusively() throws Exception {
+        final LocalFileSystem fs = new LocalFileSystem();
+        final String input1Url = LocalFileSystem.toURL(this.createInputFile("input1", "1 2\n2 3\n"));
+        final String input2Url = LocalFileSystem.toURL(this.createInputFile("input2", "1 2\n"));
+        final GraphChiShardCache cache = new GraphChiShardCache(this.cacheDir, 2);
+        final CountDownLatch isSharding = new CountDownLatch(1), mayFinishSharding = new CountDownLatch(1);
+        final GraphChiShardCache.Sharding blockingSharding = (graphName, numShards) -> {
+            isSharding.countDown();
+            try {
+                mayFinishSharding.await();
+            } catch (InterruptedException e) {
+                throw new IOException(e);
+            }
+            LocalFileSystem.touch(new File(graphName));
+        };
+        final GraphChiShardCache.Sharding sharding = (graphName, numShards) -> LocalFileSystem.touch(new File(graphName));
+
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            // While the first input is being sharded, other inputs can be provided...
+            final Future<GraphChiShardCache.Entry> entry1Future =
+                    executor.submit(() -> cache.provide(input1Url, fs, 3, blockingSharding));
+            isSharding.await();
+            cache.provide(input2Url, fs, 2, sharding).close();
+
+            // ...but the first input has to wait.
+            final Future<GraphChiShardCache.Entry> entry1AgainFuture =
+                    executor.submit(() -> cache.provide(input1Url, fs, 3, sharding));
+            mayFinishSharding.countDown();
+            final GraphChiShardCache.Entry entry1 = entry1Future.get();
+            try {
+                entry1AgainFuture.get(100, TimeUnit.MILLISECONDS);
+                Assert.fail("The leased entry has been provided a second time.");
+            } catch (TimeoutException e) {
+                // Expected.
+            }
+
+            // Once released, the entry can be leased again.
+            entry1.close();
+            final GraphChiShardCache.Entry entry1Again = entry1AgainFuture.get();
+            Assert.assertEquals(entry1.getGraphName(), entry1Again.getGraphName());
+            entry1Again.close();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testCopyVertexData() throws IOException {
+        final LocalFileSystem fs = new LocalFileSystem();
+        final File input = this.createInputFile("input", "1 2\n");
+        final GraphChiShardCache cache = new GraphChiShardCache(this.cacheDir, 1);
+        final FloatConverter converter = new FloatConverter();
+
+        final GraphChiShardCache.VertexData vertexData;
+        try (GraphChiShardCache.Entry entry = cache.provide(
+                LocalFileSystem.toURL(input), fs, 1,
+                (graphName, numShards) -> Files.write(
+                        new File(ChiFilenames.getFilenameOfVertexData(graphName, converter, false)).toPath(),
+                        new byte[]{1, 2, 3, 4}
+                ))) {
+            vertexData = entry.copyVertexData(converter);
+            Assert.assertNotEquals(entry.getGraphName(), vertexData.getGraphName());
+        }
+
+        // The copy should outlive the entry.
+        final File vertexDataFile = new File(ChiFilenames.getFilenameOfVertexData(vertexData.getGraphName(), converter, false));
+        Assert.assertArrayEquals(new byte[]{1, 2, 3, 4}, Files.readAllBytes(vertexDataFile.toPath()));
+        vertexData.close();
+        Assert.assertFalse(vertexDataFile.exists());
+    }
+
+    @Test
+    public void testSingleInstancePerDirectory() {
+        final Configuration configuration = new Configuration();
+        configuration.setProperty(GraphChiShardCache.TEMP_DIR_PROPERTY, this.cacheDir.toString());
+        final Configuration otherConfiguration = new Configuration();
+        otherConfiguration.setProperty(GraphChiShardCache.TEMP_DIR_PROPERTY, this.cacheDir.toString());
+        Assert.assertSame(GraphChiShardCache.getInstance(configuration), GraphChiShardCache.getInstance(otherConfiguration));
+    }
+
+    private File createInputFile(String name, String content) throws IOException {
+        final File file = new File(this.cacheDir, name);
+        Files.write(file.toPath(), content.getBytes());
+        return file;
+    }
+
+}
@@ -1,5 +1,6 @@
 package org.qcri.rheem.graphchi.operators;
 
+import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.qcri.rheem.basic.channels.FileChannel;
@@ -7,6 +8,7 @@ import org.qcri.rheem.core.api.Configuration;
 import org.qcri.rheem.core.api.Job;
 import org.qcri.rheem.core.optimizer.DefaultOptimizationContext;
 import org.qcri.rheem.core.optimizer.OptimizationContext;
+import org.qcri.rheem.core.optimizer.cardinality.CardinalityEstimate;
 import org.qcri.rheem.core.plan.rheemplan.ExecutionOperator;
 import org.qcri.rheem.core.platform.ChannelInstance;
 import org.qcri.rheem.core.platform.CrossPlatformExecutor;
@@ -70,4 +72,19 @@ public class GraphChiPageRankOperatorTest {
         );
     }
 
+    @Test
+    public void testEstimateNumShardsWithLooseEstimate() {
+        final Configuration configuration = new Configuration();
+        final Job job = mock(Job.class);
+        when(job.getConfiguration()).thenReturn(configuration);
+        final GraphChiPageRankOperator graphChiPageRankOperator = new GraphChiPageRankOperator(20);
+        final OptimizationContext.OperatorContext operatorContext =
+                new DefaultOptimizationContext(job).addOneTimeOperator(graphChiPageRankOperator);
+
+        // A very loose upper bound must not blow up the number of shards.
+        operatorContext.setInputCardinality(0, new CardinalityEstimate(1000000L, 1000000000000L, 0.5d));
+        final int numShards = GraphChiPageRankOperator.estimateNumShards(operatorContext, 0L, configuration);
+        Assert.assertEquals(2 + 1000, numShards);
+    }
+
 }
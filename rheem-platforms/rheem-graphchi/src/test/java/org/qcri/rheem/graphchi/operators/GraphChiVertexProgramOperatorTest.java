@@ -0,0 +1,209 @@
+package org.qcri.rheem.graphchi.operators;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.qcri.rheem.basic.channels.FileChannel;
+import org.qcri.rheem.basic.data.Tuple2;
+import org.qcri.rheem.basic.function.ConnectedComponentsProgram;
+import org.qcri.rheem.basic.function.LabelPropagationProgram;
+import org.qcri.rheem.basic.function.SingleSourceShortestPathsProgram;
+import org.qcri.rheem.basic.function.VertexProgram;
+import org.qcri.rheem.core.api.Configuration;
+import org.qcri.rheem.core.api.Job;
+import org.qcri.rheem.core.optimizer.DefaultOptimizationContext;
+import org.qcri.rheem.core.optimizer.OptimizationContext;
+import org.qcri.rheem.core.platform.ChannelInstance;
+import org.qcri.rheem.core.platform.CrossPlatformExecutor;
+import org.qcri.rheem.core.profiling.FullInstrumentationStrategy;
+import org.qcri.rheem.graphchi.GraphChi;
+import org.qcri.rheem.graphchi.execution.GraphChiExecutor;
+import org.qcri.rheem.graphchi.platform.GraphChiPlatform;
+import org.qcri.rheem.java.channels.StreamChannel;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test suite for the {@link GraphChiVertexProgramOperator}.
+ */
+public class GraphChiVertexProgramOperatorTest {
+
+    private static final List<Tuple2<Long, Long>> EDGES = Arrays.asList(
+            new Tuple2<>(1L, 2L),
+            new Tuple2<>(2L, 3L),
+            new Tuple2<>(3L, 7L),
+            new Tuple2<>(9L, 1L),
+            new Tuple2<>(5L, 4L),
+            new Tuple2<>(6L, 5L)
+    );
+
+    private GraphChiExecutor graphChiExecutor;
+
+    private Configuration configuration;
+
+    private final List<File> edgeFiles = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        // Ensure that the GraphChiPlatform is initialized.
+        GraphChiPlatform.getInstance();
+        this.configuration = new Configuration();
+        GraphChi.plugin().configure(this.configuration);
+        this.graphChiExecutor = mock(GraphChiExecutor.class);
+    }
+
+    @After
+    public void tearDown() {
+        this.edgeFiles.forEach(File::delete);
+    }
+
+    @Test
+    public void testConnectedComponents() throws IOException {
+        final Map<Long, Long> result = this.run(new ConnectedComponentsProgram(), EDGES, 100);
+
+        Map<Long, Long> expectedResult = new HashMap<>();
+        for (long vertex : Arrays.asList(1L, 2L, 3L, 7L, 9L)) expectedResult.put(vertex, 1L);
+        for (long vertex : Arrays.asList(4L, 5L, 6L)) expectedResult.put(vertex, 4L);
+        Assert.assertEquals(expectedResult, result);
+    }
+
+    @Test
+    public void testSingleSourceShortestPaths() throws IOException {
+        final Map<Long, Long> result = this.run(new SingleSourceShortestPathsProgram(1L), EDGES, 100);
+
+        Assert.assertEquals(Long.valueOf(0L), result.get(1L));
+        Assert.assertEquals(Long.valueOf(1L), result.get(2L));
+        Assert.assertEquals(Long.valueOf(2L), result.get(3L));
+        Assert.assertEquals(Long.valueOf(3L), result.get(7L));
+        for (long vertex : Arrays.asList(4L, 5L, 6L, 9L)) {
+            Assert.assertEquals(Long.valueOf(SingleSourceShortestPathsProgram.UNREACHABLE), result.get(vertex));
+        }
+    }
+
+    @Test
+    public void testSuperstepLimit() throws IOException {
+        final Map<Long, Long> result = this.run(new SingleSourceShortestPathsProgram(1L), EDGES, 2);
+
+        Assert.assertEquals(Long.valueOf(2L), result.get(3L));
+        Assert.assertEquals(Long.valueOf(SingleSourceShortestPathsProgram.UNREACHABLE), result.get(7L));
+    }
+
+    @Test
+    public void testLabelPropagation() throws IOException {
+        // Two 4-cliques that are connected by a single edge.
+        List<Tuple2<Long, Long>> edges = new ArrayList<>();
+        for (long offset : Arrays.asList(0L, 10L)) {
+            for (long i = 1; i <= 4; i++) {
+                for (long j = i + 1; j <= 4; j++) {
+                    edges.add(new Tuple2<>(offset + i, offset + j));
+                }
+            }
+        }
+        edges.add(new Tuple2<>(4L, 11L));
+
+        final Map<Long, Long> result = this.run(new LabelPropagationProgram(), edges, 10);
+
+        for (long vertex = 1; vertex <= 4; vertex++) {
+            Assert.assertEquals(Long.valueOf(1L), result.get(vertex));
+            Assert.assertEquals(Long.valueOf(11L), result.get(vertex + 10));
+        }
+    }
+
+    @Test
+    public void testLabelPropagationCountsUnchangedNeighbors() throws IOException {
+        // A 4-clique with a path 4-5-6-7 attached. The clique settles on label 1 in the first superstep, while label 1
+        // still travels along the path afterwards. The clique vertices must keep counting their unchanged neighbors.
+        List<Tuple2<Long, Long>> edges = new ArrayList<>();
+        for (long i = 1; i <= 4; i++) {
+            for (long j = i + 1; j <= 4; j++) {
+                edges.add(new Tuple2<>(i, j));
+            }
+        }
+        edges.add(new Tuple2<>(4L, 5L));
+        edges.add(new Tuple2<>(5L, 6L));
+        edges.add(new Tuple2<>(6L, 7L));
+
+        final Map<Long, Long> result = this.run(new LabelPropagationProgram(), edges, 10);
+
+        for (long vertex = 1; vertex <= 7; vertex++) {
+            Assert.assertEquals("Label of vertex " + vertex, Long.valueOf(1L), result.get(vertex));
+        }
+    }
+
+    @Test
+    public void testIsSupporting() {
+        Assert.assertTrue(GraphChiVertexProgramOperator.isSupporting(new ConnectedComponentsProgram()));
+        Assert.assertTrue(GraphChiVertexProgramOperator.isSupporting(new LabelPropagationProgram()));
+        Assert.assertFalse(GraphChiVertexProgramOperator.isSupporting(new VertexProgram<String, String>() {
+            @Override
+            public String getInitialValue(long vertexId) {
+                return "";
+            }
+
+            @Override
+            public String createMessage(long sourceVertexId, String sourceValue, long targetVertexId, int sourceDegree) {
+                return sourceValue;
+            }
+
+            @Override
+            public String combine(String message1, String message2) {
+                return message1 + message2;
+            }
+
+            @Override
+            public String apply(long vertexId, String currentValue, String message) {
+                return message;
+            }
+        }));
+    }
+
+    private <V, M> Map<Long, V> run(VertexProgram<V, M> vertexProgram, List<Tuple2<Long, Long>> edges, int numIterations)
+            throws IOException {
+        final GraphChiVertexProgramOperator<V, M> operator = new GraphChiVertexProgramOperator<>(vertexProgram, numIterations);
+
+        final Job job = mock(Job.class);
+        when(job.getConfiguration()).thenReturn(this.configuration);
+        when(job.getCrossPlatformExecutor()).thenReturn(new CrossPlatformExecutor(job, new FullInstrumentationStrategy()));
+
+        FileChannel.Instance inputChannelInstance =
+                (FileChannel.Instance) new FileChannel(FileChannel.HDFS_TSV_DESCRIPTOR)
+                        .createInstance(this.graphChiExecutor, null, -1);
+        inputChannelInstance.addPath(this.writeEdges(edges).toURI().toString());
+        inputChannelInstance.getLineage().collectAndMark();
+
+        StreamChannel.Instance outputChannelInstance =
+                (StreamChannel.Instance) StreamChannel.DESCRIPTOR
+                        .createChannel(operator.getOutput(), this.configuration)
+                        .createInstance(this.graphChiExecutor, null, -1);
+
+        final DefaultOptimizationContext optimizationContext = new DefaultOptimizationContext(job);
+        final OptimizationContext.OperatorContext operatorContext = optimizationContext.addOneTimeOperator(operator);
+
+        operator.execute(
+                new ChannelInstance[]{inputChannelInstance},
+                new ChannelInstance[]{outputChannelInstance},
+                operatorContext
+        );
+
+        return outputChannelInstance.<Tuple2<Long, V>>provideStream()
+                .collect(Collectors.toMap(Tuple2::getField0, Tuple2::getField1));
+    }
+
+    private File writeEdges(List<Tuple2<Long, Long>> edges) throws IOException {
+        final File file = File.createTempFile("vertexprogram", ".edgelist");
+        this.edgeFiles.add(file);
+        try (PrintWriter writer = new PrintWriter(file)) {
+            edges.forEach(edge -> writer.printf("%d\t%d\n", edge.getField0(), edge.getField1()));
+        }
+        return file;
+    }
+
+}
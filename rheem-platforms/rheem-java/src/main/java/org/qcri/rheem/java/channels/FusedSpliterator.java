@@ -0,0 +1,129 @@
+package org.qcri.rheem.java.channels;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * {@link Spliterator} that applies a chain of fused, stateless per-element {@link Step}s (e.g., map, filter, and
+ * flat map) to a source {@link Spliterator}. Rather than stacking one {@link java.util.stream.Stream} stage per
+ * operator, the {@link Step}s are composed into a single push-based loop body that each source element runs through.
+ */
+public class FusedSpliterator<T> implements Spliterator<T> {
+
+    /**
+     * A fusible, stateless per-element operation.
+     */
+    @FunctionalInterface
+    public interface Step {
+
+        /**
+         * Fuse this instance with its downstream.
+         *
+         * @param downstream receives the output elements of this instance
+         * @return a {@link Consumer} that receives the input elements of this instance
+         */
+        Consumer<Object> fuse(Consumer<Object> downstream);
+
+    }
+
+    /**
+     * Provides the elements to be processed.
+     */
+    private final Spliterator<?> source;
+
+    /**
+     * The {@link Step}s to apply in order.
+     */
+    private final List<Step> steps;
+
+    /**
+     * Buffers output elements for {@link #tryAdvance(Consumer)}, as a single source element might yield any number of
+     * output elements. Lazily initialized.
+     */
+    private ArrayList<Object> buffer;
+
+    /**
+     * Index of the next element to be served from the {@link #buffer}.
+     */
+    private int bufferIndex = 0;
+
+    /**
+     * Pushes source elements through the {@link #steps} into the {@link #buffer}. Lazily initialized.
+     */
+    private Consumer<Object> bufferingPipeline;
+
+    public FusedSpliterator(Spliterator<?> source, List<Step> steps) {
+        this.source = source;
+        this.steps = steps;
+    }
+
+    /**
+     * Composes the {@link #steps} with the given sink.
+     *
+     * @param sink receives the output elements of the last {@link Step}
+     * @return a {@link Consumer} that receives the source elements
+     */
+    private Consumer<Object> compose(Consumer<Object> sink) {
+        Consumer<Object> pipeline = sink;
+        for (int i = this.steps.size() - 1; i >= 0; i--) {
+            pipeline = this.steps.get(i).fuse(pipeline);
+        }
+        return pipeline;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEachRemaining(Consumer<? super T> action) {
+        // Drain any leftovers of previous #tryAdvance(...) calls first.
+        if (this.buffer != null) {
+            while (this.bufferIndex < this.buffer.size()) {
+                action.accept((T) this.buffer.get(this.bufferIndex++));
+            }
+            this.buffer.clear();
+            this.bufferIndex = 0;
+        }
+        this.source.forEachRemaining(this.compose((Consumer<Object>) action));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean tryAdvance(Consumer<? super T> action) {
+        if (this.buffer == null) {
+            this.buffer = new ArrayList<>();
+            this.bufferingPipeline = this.compose(this.buffer::add);
+        }
+        while (this.bufferIndex >= this.buffer.size()) {
+            this.buffer.clear();
+            this.bufferIndex = 0;
+            if (!this.source.tryAdvance(this.bufferingPipeline)) {
+                return false;
+            }
+        }
+        action.accept((T) this.buffer.get(this.bufferIndex++));
+        return true;
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+        return null;
+    }
+
+    @Override
+    public long estimateSize() {
+        return Long.MAX_VALUE;
+    }
+
+    @Override
+    public int characteristics() {
+        // Steps might drop, add, or change elements, so only the encounter order is retained.
+        return this.source.characteristics() & Spliterator.ORDERED;
+    }
+
+    @Override
+    public Comparator<? super T> getComparator() {
+        throw new IllegalStateException();
+    }
+}
@@ -9,9 +9,12 @@ import org.qcri.rheem.core.platform.ChannelDescriptor;
 import org.qcri.rheem.core.platform.Executor;
 import org.qcri.rheem.java.operators.JavaExecutionOperator;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.OptionalLong;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * {@link Channel} between two {@link JavaExecutionOperator}s using a {@link Stream}.
@@ -94,6 +97,17 @@ public class StreamChannel extends Channel {
 
         private Stream<?> stream;
 
+        /**
+         * If this instance holds a pipeline of {@link FusedSpliterator.Step}s that has not been materialized yet,
+         * then this field provides the input to the {@link #fusedSteps}.
+         */
+        private Stream<?> fusedSource;
+
+        /**
+         * {@link FusedSpliterator.Step}s to be applied to the {@link #fusedSource}.
+         */
+        private List<FusedSpliterator.Step> fusedSteps;
+
         // In principle, we could use Stream#onClose() to make sure that we really counted the cardinality (so as to
         // detect, when the cardinality is 0 because the #stream has not been fully executed for whatever reason).
         // However, this would require to call Stream#close() on all methods.
@@ -115,6 +129,38 @@ public class StreamChannel extends Channel {
             }
         }
 
+        /**
+         * Accept the result of applying a stateless per-element {@link FusedSpliterator.Step} to the given input.
+         * If the input is itself an unmaterialized pipeline of such {@link FusedSpliterator.Step}s, then the
+         * {@link FusedSpliterator.Step} is fused into it, so that all of them are applied in a single pass over the
+         * data. Instrumentation of the input is retained, as its counting {@link FusedSpliterator.Step} is carried along.
+         *
+         * @param input provides the input data quanta; must not be consumed elsewhere
+         * @param step  the {@link FusedSpliterator.Step} to apply
+         */
+        public void accept(JavaChannelInstance input, FusedSpliterator.Step step) {
+            assert this.stream == null && this.fusedSource == null;
+            if (input instanceof Instance && ((Instance) input).fusedSource != null) {
+                // Take over the pipeline of the input.
+                final Instance that = (Instance) input;
+                this.fusedSource = that.fusedSource;
+                this.fusedSteps = new ArrayList<>(that.fusedSteps.size() + 2);
+                this.fusedSteps.addAll(that.fusedSteps);
+                that.fusedSource = null;
+                that.fusedSteps = null;
+            } else {
+                this.fusedSource = input.provideStream();
+                this.fusedSteps = new ArrayList<>(2);
+            }
+            this.fusedSteps.add(step);
+            if (this.isMarkedForInstrumentation()) {
+                this.fusedSteps.add(downstream -> dataQuantum -> {
+                    this.cardinality += 1;
+                    downstream.accept(dataQuantum);
+                });
+            }
+        }
+
         public void accept(Collection<?> collection) {
             assert this.stream == null;
             this.stream = collection.stream();
@@ -124,6 +170,14 @@ public class StreamChannel extends Channel {
         @Override
         @SuppressWarnings("unchecked")
         public <T> Stream<T> provideStream() {
+            if (this.fusedSource != null) {
+                // Materialize the fused pipeline.
+                final Stream<?> source = this.fusedSource;
+                this.stream = StreamSupport.stream(new FusedSpliterator<>(source.spliterator(), this.fusedSteps), false)
+                        .onClose(source::close);
+                this.fusedSource = null;
+                this.fusedSteps = null;
+            }
             return (Stream<T>) this.stream;
         }
 
@@ -140,6 +194,8 @@ public class StreamChannel extends Channel {
         @Override
         protected void doDispose() throws RheemException {
             this.stream = null;
+            this.fusedSource = null;
+            this.fusedSteps = null;
         }
     }
 
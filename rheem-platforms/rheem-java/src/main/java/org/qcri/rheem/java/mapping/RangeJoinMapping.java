@@ -0,0 +1,38 @@
+package org.qcri.rheem.java.mapping;
+
+import org.qcri.rheem.basic.operators.RangeJoinOperator;
+import org.qcri.rheem.core.mapping.*;
+import org.qcri.rheem.core.types.DataSetType;
+import org.qcri.rheem.java.operators.JavaRangeJoinOperator;
+import org.qcri.rheem.java.platform.JavaPlatform;
+
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * Mapping from {@link RangeJoinOperator} to {@link JavaRangeJoinOperator}.
+ */
+public class RangeJoinMapping implements Mapping {
+
+    @Override
+    public Collection<PlanTransformation> getTransformations() {
+        return Collections.singleton(new PlanTransformation(
+                this.createSubplanPattern(),
+                this.createReplacementSubplanFactory(),
+                JavaPlatform.getInstance()
+        ));
+    }
+
+    private SubplanPattern createSubplanPattern() {
+        final OperatorPattern operatorPattern = new OperatorPattern<>(
+                "rangeJoin", new RangeJoinOperator<>(null, null, null, DataSetType.none(), DataSetType.none()), false
+        );
+        return SubplanPattern.createSingleton(operatorPattern);
+    }
+
+    private ReplacementSubplanFactory createReplacementSubplanFactory() {
+        return new ReplacementSubplanFactory.OfSingleOperators<RangeJoinOperator<Object, Object, Object>>(
+                (matchedOperator, epoch) -> new JavaRangeJoinOperator<>(matchedOperator).at(epoch)
+        );
+    }
+}
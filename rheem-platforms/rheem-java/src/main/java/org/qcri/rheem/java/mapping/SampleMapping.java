@@ -6,6 +6,7 @@ import org.qcri.rheem.core.mapping.*;
 import org.qcri.rheem.core.types.DataSetType;
 import org.qcri.rheem.java.operators.JavaRandomSampleOperator;
 import org.qcri.rheem.java.operators.JavaReservoirSampleOperator;
+import org.qcri.rheem.java.operators.JavaStratifiedSampleOperator;
 import org.qcri.rheem.java.platform.JavaPlatform;
 
 import java.util.Collection;
@@ -32,6 +33,7 @@ public class SampleMapping implements Mapping {
         ).withAdditionalTest(op ->
                 op.getSampleMethod() == SampleOperator.Methods.RANDOM
                         || op.getSampleMethod() == SampleOperator.Methods.RESERVOIR
+                        || op.getSampleMethod() == SampleOperator.Methods.STRATIFIED
                         || op.getSampleMethod() == SampleOperator.Methods.ANY
         );
         return SubplanPattern.createSingleton(operatorPattern);
@@ -46,6 +48,8 @@ public class SampleMapping implements Mapping {
                             return new JavaRandomSampleOperator<>(matchedOperator).at(epoch);
                         case RESERVOIR:
                             return new JavaReservoirSampleOperator<>(matchedOperator).at(epoch);
+                        case STRATIFIED:
+                            return new JavaStratifiedSampleOperator<>(matchedOperator).at(epoch);
                         default:
                             throw new RheemException(String.format(
                                     "%s sample method is not yet supported in Java platform.",
@@ -25,12 +25,12 @@ public class SortMapping implements Mapping {
 
     private SubplanPattern createSubplanPattern() {
         final OperatorPattern operatorPattern = new OperatorPattern(
-                "sort", new SortOperator<>(DataSetType.none()), false);
+                "sort", new SortOperator<>(null, DataSetType.none()), false);
         return SubplanPattern.createSingleton(operatorPattern);
     }
 
     private ReplacementSubplanFactory createReplacementSubplanFactory() {
-        return new ReplacementSubplanFactory.OfSingleOperators<SortOperator>(
+        return new ReplacementSubplanFactory.OfSingleOperators<SortOperator<?, ?>>(
                 (matchedOperator, epoch) -> new JavaSortOperator<>(matchedOperator).at(epoch)
         );
     }
@@ -0,0 +1,36 @@
+package org.qcri.rheem.java.mapping.graph;
+
+import org.qcri.rheem.basic.operators.VertexProgramOperator;
+import org.qcri.rheem.core.mapping.*;
+import org.qcri.rheem.java.operators.graph.JavaVertexProgramOperator;
+import org.qcri.rheem.java.platform.JavaPlatform;
+
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * Mapping from {@link VertexProgramOperator} to {@link JavaVertexProgramOperator}.
+ */
+@SuppressWarnings("unchecked")
+public class VertexProgramMapping implements Mapping {
+
+    @Override
+    public Collection<PlanTransformation> getTransformations() {
+        return Collections.singleton(new PlanTransformation(
+                this.createSubplanPattern(), this.createReplacementSubplanFactory(), JavaPlatform.getInstance()
+        ));
+    }
+
+    private SubplanPattern createSubplanPattern() {
+        final OperatorPattern operatorPattern = new OperatorPattern<>(
+                "vertexProgram", new VertexProgramOperator<>(null, 1), false
+        );
+        return SubplanPattern.createSingleton(operatorPattern);
+    }
+
+    private ReplacementSubplanFactory createReplacementSubplanFactory() {
+        return new ReplacementSubplanFactory.OfSingleOperators<VertexProgramOperator<Object, Object>>(
+                (matchedOperator, epoch) -> new JavaVertexProgramOperator<>(matchedOperator).at(epoch)
+        );
+    }
+}
@@ -62,7 +62,11 @@ public class JavaFilterOperator<Type>
 
         final Predicate<Type> filterFunction = javaExecutor.getCompiler().compile(this.predicateDescriptor);
         JavaExecutor.openFunction(this, filterFunction, inputs, operatorContext);
-        ((StreamChannel.Instance) outputs[0]).accept(((JavaChannelInstance) inputs[0]).<Type>provideStream().filter(filterFunction));
+        ((StreamChannel.Instance) outputs[0]).accept((JavaChannelInstance) inputs[0], downstream -> dataQuantum -> {
+            if (filterFunction.test((Type) dataQuantum)) {
+                downstream.accept(dataQuantum);
+            }
+        });
 
         return ExecutionOperator.modelLazyExecution(inputs, outputs, operatorContext);
     }
@@ -19,7 +19,6 @@ import org.qcri.rheem.java.execution.JavaExecutor;
 
 import java.util.*;
 import java.util.function.Function;
-import java.util.stream.StreamSupport;
 
 /**
  * Java implementation of the {@link FlatMapOperator}.
@@ -48,6 +47,7 @@ public class JavaFlatMapOperator<InputType, OutputType>
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public Tuple<Collection<ExecutionLineageNode>, Collection<ChannelInstance>> evaluate(
             ChannelInstance[] inputs,
             ChannelInstance[] outputs,
@@ -60,16 +60,11 @@ public class JavaFlatMapOperator<InputType, OutputType>
                 javaExecutor.getCompiler().compile(this.functionDescriptor);
         JavaExecutor.openFunction(this, flatmapFunction, inputs, operatorContext);
 
-        ((StreamChannel.Instance) outputs[0]).accept(
-                ((JavaChannelInstance) inputs[0]).<InputType>provideStream().flatMap(dataQuantum ->
-                        StreamSupport.stream(
-                                Spliterators.spliteratorUnknownSize(
-                                        flatmapFunction.apply(dataQuantum).iterator(),
-                                        Spliterator.ORDERED),
-                                false
-                        )
-                )
-        );
+        ((StreamChannel.Instance) outputs[0]).accept((JavaChannelInstance) inputs[0], downstream -> dataQuantum -> {
+            for (OutputType outputQuantum : flatmapFunction.apply((InputType) dataQuantum)) {
+                downstream.accept(outputQuantum);
+            }
+        });
 
         return ExecutionOperator.modelLazyExecution(inputs, outputs, operatorContext);
     }
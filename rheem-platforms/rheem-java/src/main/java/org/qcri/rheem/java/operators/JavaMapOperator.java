@@ -46,6 +46,7 @@ public class JavaMapOperator<InputType, OutputType>
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public Tuple<Collection<ExecutionLineageNode>, Collection<ChannelInstance>> evaluate(
             ChannelInstance[] inputs,
             ChannelInstance[] outputs,
@@ -58,7 +59,7 @@ public class JavaMapOperator<InputType, OutputType>
 
         final Function<InputType, OutputType> function = javaExecutor.getCompiler().compile(this.functionDescriptor);
         JavaExecutor.openFunction(this, function, inputs, operatorContext);
-        output.accept(input.<InputType>provideStream().map(function));
+        output.accept(input, downstream -> dataQuantum -> downstream.accept(function.apply((InputType) dataQuantum)));
 
         return ExecutionOperator.modelLazyExecution(inputs, outputs, operatorContext);
     }
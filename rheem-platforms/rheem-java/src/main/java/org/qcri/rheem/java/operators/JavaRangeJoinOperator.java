@@ -0,0 +1,148 @@
+package org.qcri.rheem.java.operators;
+
+import org.qcri.rheem.basic.data.Tuple2;
+import org.qcri.rheem.basic.operators.RangeJoinOperator;
+import org.qcri.rheem.core.api.Configuration;
+import org.qcri.rheem.core.function.TransformationDescriptor;
+import org.qcri.rheem.core.optimizer.OptimizationContext;
+import org.qcri.rheem.core.optimizer.costs.LoadProfileEstimator;
+import org.qcri.rheem.core.optimizer.costs.LoadProfileEstimators;
+import org.qcri.rheem.core.plan.rheemplan.ExecutionOperator;
+import org.qcri.rheem.core.platform.ChannelDescriptor;
+import org.qcri.rheem.core.platform.ChannelInstance;
+import org.qcri.rheem.core.platform.lineage.ExecutionLineageNode;
+import org.qcri.rheem.core.types.DataSetType;
+import org.qcri.rheem.core.util.Tuple;
+import org.qcri.rheem.java.channels.CollectionChannel;
+import org.qcri.rheem.java.channels.JavaChannelInstance;
+import org.qcri.rheem.java.channels.StreamChannel;
+import org.qcri.rheem.java.execution.JavaExecutor;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Java implementation of the {@link RangeJoinOperator}. Sorts the first input by its values into an index and then
+ * streams the second input, whereby the matches of each range are located with two binary searches in that index.
+ */
+public class JavaRangeJoinOperator<InputType0, InputType1, Value>
+        extends RangeJoinOperator<InputType0, InputType1, Value>
+        implements JavaExecutionOperator {
+
+    /**
+     * Creates a new instance.
+     */
+    public JavaRangeJoinOperator(DataSetType<InputType0> inputType0,
+                                 DataSetType<InputType1> inputType1,
+                                 TransformationDescriptor<InputType0, Value> valueDescriptor,
+                                 TransformationDescriptor<InputType1, Value> lowerBoundDescriptor,
+                                 TransformationDescriptor<InputType1, Value> upperBoundDescriptor) {
+        super(valueDescriptor, lowerBoundDescriptor, upperBoundDescriptor, inputType0, inputType1);
+    }
+
+    /**
+     * Copies an instance (exclusive of broadcasts).
+     *
+     * @param that that should be copied
+     */
+    public JavaRangeJoinOperator(RangeJoinOperator<InputType0, InputType1, Value> that) {
+        super(that);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Tuple<Collection<ExecutionLineageNode>, Collection<ChannelInstance>> evaluate(
+            ChannelInstance[] inputs,
+            ChannelInstance[] outputs,
+            JavaExecutor javaExecutor,
+            OptimizationContext.OperatorContext operatorContext) {
+        assert inputs.length == this.getNumInputs();
+        assert outputs.length == this.getNumOutputs();
+
+        final Function<InputType0, Value> valueExtractor = javaExecutor.getCompiler().compile(this.valueDescriptor);
+        final Function<InputType1, Value> lowerBoundExtractor = javaExecutor.getCompiler().compile(this.lowerBoundDescriptor);
+        final Function<InputType1, Value> upperBoundExtractor = javaExecutor.getCompiler().compile(this.upperBoundDescriptor);
+        final ValueComparator<Object> comparator = new ValueComparator<>();
+
+        ExecutionLineageNode indexingExecutionLineageNode = new ExecutionLineageNode(operatorContext);
+        indexingExecutionLineageNode.add(LoadProfileEstimators.createFromSpecification(
+                "rheem.java.rangejoin.load.indexing", javaExecutor.getConfiguration()
+        ));
+        ExecutionLineageNode probingExecutionLineageNode = new ExecutionLineageNode(operatorContext);
+        probingExecutionLineageNode.add(LoadProfileEstimators.createFromSpecification(
+                "rheem.java.rangejoin.load.probing", javaExecutor.getConfiguration()
+        ));
+        Collection<ExecutionLineageNode> executionLineageNodes = new LinkedList<>();
+        Collection<ChannelInstance> producedChannelInstances = new LinkedList<>();
+
+        // Index the first input: sort its data quanta by their values.
+        final Object[] dataQuanta0 = ((JavaChannelInstance) inputs[0]).provideStream().toArray();
+        final Object[] unsortedValues = new Object[dataQuanta0.length];
+        for (int i = 0; i < dataQuanta0.length; i++) {
+            unsortedValues[i] = valueExtractor.apply((InputType0) dataQuanta0[i]);
+        }
+        final Integer[] order = new Integer[dataQuanta0.length];
+        for (int i = 0; i < order.length; i++) order[i] = i;
+        Arrays.sort(order, (i, j) -> comparator.compare(unsortedValues[i], unsortedValues[j]));
+        final Object[] values = new Object[order.length];
+        final Object[] sortedDataQuanta0 = new Object[order.length];
+        for (int i = 0; i < order.length; i++) {
+            values[i] = unsortedValues[order[i]];
+            sortedDataQuanta0[i] = dataQuanta0[order[i]];
+        }
+        final List<Object> sortedValues = Arrays.asList(values);
+        indexingExecutionLineageNode.addPredecessor(inputs[0].getLineage());
+        indexingExecutionLineageNode.collectAndMark(executionLineageNodes, producedChannelInstances);
+
+        // Probe the index with the ranges of the second input.
+        final Stream<Tuple2<InputType0, InputType1>> joinStream =
+                ((JavaChannelInstance) inputs[1]).<InputType1>provideStream().flatMap(dataQuantum1 -> {
+                    final int from = comparator.countLess(sortedValues, lowerBoundExtractor.apply(dataQuantum1));
+                    final int to = comparator.countAtMost(sortedValues, upperBoundExtractor.apply(dataQuantum1));
+                    return IntStream.range(from, Math.max(from, to))
+                            .mapToObj(i -> new Tuple2<>((InputType0) sortedDataQuanta0[i], dataQuantum1));
+                });
+        probingExecutionLineageNode.addPredecessor(inputs[1].getLineage());
+
+        ((StreamChannel.Instance) outputs[0]).accept(joinStream);
+        outputs[0].getLineage().addPredecessor(probingExecutionLineageNode);
+
+        return new Tuple<>(executionLineageNodes, producedChannelInstances);
+    }
+
+    @Override
+    public Collection<String> getLoadProfileEstimatorConfigurationKeys() {
+        return Arrays.asList("rheem.java.rangejoin.load.indexing", "rheem.java.rangejoin.load.probing");
+    }
+
+    @Override
+    public Optional<LoadProfileEstimator> createLoadProfileEstimator(Configuration configuration) {
+        final Optional<LoadProfileEstimator> optEstimator =
+                JavaExecutionOperator.super.createLoadProfileEstimator(configuration);
+        LoadProfileEstimators.nestUdfEstimator(optEstimator, this.valueDescriptor, configuration);
+        LoadProfileEstimators.nestUdfEstimator(optEstimator, this.lowerBoundDescriptor, configuration);
+        LoadProfileEstimators.nestUdfEstimator(optEstimator, this.upperBoundDescriptor, configuration);
+        return optEstimator;
+    }
+
+    @Override
+    protected ExecutionOperator createCopy() {
+        return new JavaRangeJoinOperator<>(this.getInputType0(), this.getInputType1(),
+                this.getValueDescriptor(), this.getLowerBoundDescriptor(), this.getUpperBoundDescriptor());
+    }
+
+    @Override
+    public List<ChannelDescriptor> getSupportedInputChannels(int index) {
+        assert index <= this.getNumInputs() || (index == 0 && this.getNumInputs() == 0);
+        return Arrays.asList(CollectionChannel.DESCRIPTOR, StreamChannel.DESCRIPTOR);
+    }
+
+    @Override
+    public List<ChannelDescriptor> getSupportedOutputChannels(int index) {
+        assert index <= this.getNumOutputs() || (index == 0 && this.getNumOutputs() == 0);
+        return Collections.singletonList(StreamChannel.DESCRIPTOR);
+    }
+
+}
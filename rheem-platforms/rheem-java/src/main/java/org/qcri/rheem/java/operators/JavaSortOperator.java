@@ -1,7 +1,11 @@
 package org.qcri.rheem.java.operators;
 
 import org.qcri.rheem.basic.operators.SortOperator;
+import org.qcri.rheem.core.api.Configuration;
+import org.qcri.rheem.core.function.TransformationDescriptor;
 import org.qcri.rheem.core.optimizer.OptimizationContext;
+import org.qcri.rheem.core.optimizer.costs.LoadProfileEstimator;
+import org.qcri.rheem.core.optimizer.costs.LoadProfileEstimators;
 import org.qcri.rheem.core.plan.rheemplan.ExecutionOperator;
 import org.qcri.rheem.core.platform.ChannelDescriptor;
 import org.qcri.rheem.core.platform.ChannelInstance;
@@ -13,26 +17,27 @@ import org.qcri.rheem.java.channels.JavaChannelInstance;
 import org.qcri.rheem.java.channels.StreamChannel;
 import org.qcri.rheem.java.execution.JavaExecutor;
 
-import java.util.Arrays;
-import java.util.Collection;
-import java.util.Collections;
-import java.util.List;
+import java.util.*;
+import java.util.function.Function;
 
 /**
- * Java implementation of the {@link SortOperator}.
+ * Java implementation of the {@link SortOperator}. Materializes the input along with its keys and sorts it with
+ * {@link Arrays#parallelSort(Object[], Comparator)}, which splits large inputs into ranges that are sorted and merged
+ * in parallel.
  */
-public class JavaSortOperator<Type>
-        extends SortOperator<Type>
+public class JavaSortOperator<Type, Key>
+        extends SortOperator<Type, Key>
         implements JavaExecutionOperator {
 
 
     /**
      * Creates a new instance.
      *
-     * @param type type of the dataset elements
+     * @param keyDescriptor describes how to extract the sort key from data units
+     * @param type          type of the dataset elements
      */
-    public JavaSortOperator(DataSetType<Type> type) {
-        super(type);
+    public JavaSortOperator(TransformationDescriptor<Type, Key> keyDescriptor, DataSetType<Type> type) {
+        super(keyDescriptor, type);
     }
 
     /**
@@ -40,11 +45,12 @@ public class JavaSortOperator<Type>
      *
      * @param that that should be copied
      */
-    public JavaSortOperator(SortOperator<Type> that) {
+    public JavaSortOperator(SortOperator<Type, Key> that) {
         super(that);
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public Tuple<Collection<ExecutionLineageNode>, Collection<ChannelInstance>> evaluate(
             ChannelInstance[] inputs,
             ChannelInstance[] outputs,
@@ -53,9 +59,19 @@ public class JavaSortOperator<Type>
         assert inputs.length == this.getNumInputs();
         assert outputs.length == this.getNumOutputs();
 
-        ((StreamChannel.Instance) outputs[0]).accept(((JavaChannelInstance) inputs[0]).provideStream().sorted());
+        final Function<Type, Key> keyExtractor = javaExecutor.getCompiler().compile(this.keyDescriptor);
+        // Extract each key only once rather than on every comparison.
+        final Tuple<Key, Type>[] keyedDataQuanta = ((JavaChannelInstance) inputs[0]).<Type>provideStream()
+                .map(dataQuantum -> new Tuple<>(keyExtractor.apply(dataQuantum), dataQuantum))
+                .toArray(Tuple[]::new);
+        Arrays.parallelSort(keyedDataQuanta, createKeyComparator(Tuple::getField0));
+        final List<Type> dataQuanta = new ArrayList<>(keyedDataQuanta.length);
+        for (Tuple<Key, Type> keyedDataQuantum : keyedDataQuanta) {
+            dataQuanta.add(keyedDataQuantum.getField1());
+        }
+        ((CollectionChannel.Instance) outputs[0]).accept(dataQuanta);
 
-        return ExecutionOperator.modelLazyExecution(inputs, outputs, operatorContext);
+        return ExecutionOperator.modelEagerExecution(inputs, outputs, operatorContext);
     }
 
     @Override
@@ -63,9 +79,17 @@ public class JavaSortOperator<Type>
         return "rheem.java.sort.load";
     }
 
+    @Override
+    public Optional<LoadProfileEstimator> createLoadProfileEstimator(Configuration configuration) {
+        final Optional<LoadProfileEstimator> optEstimator =
+                JavaExecutionOperator.super.createLoadProfileEstimator(configuration);
+        LoadProfileEstimators.nestUdfEstimator(optEstimator, this.keyDescriptor, configuration);
+        return optEstimator;
+    }
+
     @Override
     protected ExecutionOperator createCopy() {
-        return new JavaSortOperator<>(this.getInputType());
+        return new JavaSortOperator<>(this.getKeyDescriptor(), this.getInputType());
     }
 
     @Override
@@ -77,7 +101,7 @@ public class JavaSortOperator<Type>
     @Override
     public List<ChannelDescriptor> getSupportedOutputChannels(int index) {
         assert index <= this.getNumOutputs() || (index == 0 && this.getNumOutputs() == 0);
-        return Collections.singletonList(StreamChannel.DESCRIPTOR);
+        return Collections.singletonList(CollectionChannel.DESCRIPTOR);
     }
 
 }
@@ -0,0 +1,140 @@
+package org.qcri.rheem.java.operators;
+
+import org.qcri.rheem.basic.operators.SampleOperator;
+import org.qcri.rheem.core.api.Configuration;
+import org.qcri.rheem.core.function.TransformationDescriptor;
+import org.qcri.rheem.core.optimizer.OptimizationContext;
+import org.qcri.rheem.core.optimizer.costs.LoadProfileEstimator;
+import org.qcri.rheem.core.optimizer.costs.LoadProfileEstimators;
+import org.qcri.rheem.core.plan.rheemplan.ExecutionOperator;
+import org.qcri.rheem.core.platform.ChannelDescriptor;
+import org.qcri.rheem.core.platform.ChannelInstance;
+import org.qcri.rheem.core.platform.lineage.ExecutionLineageNode;
+import org.qcri.rheem.core.util.Tuple;
+import org.qcri.rheem.java.channels.CollectionChannel;
+import org.qcri.rheem.java.channels.JavaChannelInstance;
+import org.qcri.rheem.java.channels.StreamChannel;
+import org.qcri.rheem.java.execution.JavaExecutor;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.IntUnaryOperator;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * Java implementation of the {@link SampleOperator} with the {@link SampleOperator.Methods#STRATIFIED} method.
+ * Samples all strata in a single pass by maintaining a reservoir per key.
+ */
+public class JavaStratifiedSampleOperator<Type>
+        extends SampleOperator<Type>
+        implements JavaExecutionOperator {
+
+    /**
+     * Creates a new instance.
+     */
+    public JavaStratifiedSampleOperator(IntUnaryOperator sampleSizeFunction,
+                                        TransformationDescriptor<Type, ?> keyDescriptor,
+                                        LongUnaryOperator seedFunction) {
+        super(sampleSizeFunction, keyDescriptor, seedFunction);
+    }
+
+    /**
+     * Copies an instance (exclusive of broadcasts).
+     *
+     * @param that that should be copied
+     */
+    public JavaStratifiedSampleOperator(SampleOperator<Type> that) {
+        super(that);
+        assert that.getSampleMethod() == Methods.STRATIFIED && that.getKeyDescriptor() != null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Tuple<Collection<ExecutionLineageNode>, Collection<ChannelInstance>> evaluate(
+            ChannelInstance[] inputs,
+            ChannelInstance[] outputs,
+            JavaExecutor javaExecutor,
+            OptimizationContext.OperatorContext operatorContext) {
+        assert inputs.length == this.getNumInputs();
+        assert outputs.length == this.getNumOutputs();
+
+        final Function<Type, Object> keyExtractor =
+                javaExecutor.getCompiler().compile((TransformationDescriptor<Type, Object>) this.keyDescriptor);
+        final int sampleSize = this.getSampleSize(operatorContext);
+        final Random random = new Random(this.getSeed(operatorContext));
+
+        // Fill one reservoir per key.
+        final Map<Object, Reservoir<Type>> reservoirs = new HashMap<>();
+        final Iterator<Type> iterator = ((JavaChannelInstance) inputs[0]).<Type>provideStream().iterator();
+        while (iterator.hasNext()) {
+            final Type dataQuantum = iterator.next();
+            reservoirs.computeIfAbsent(keyExtractor.apply(dataQuantum), key -> new Reservoir<>(sampleSize))
+                    .add(dataQuantum, random);
+        }
+
+        final List<Type> sample = new ArrayList<>();
+        for (Reservoir<Type> reservoir : reservoirs.values()) {
+            sample.addAll(reservoir.elements);
+        }
+        ((CollectionChannel.Instance) outputs[0]).accept(sample);
+
+        return ExecutionOperator.modelEagerExecution(inputs, outputs, operatorContext);
+    }
+
+    /**
+     * Uniformly samples up to a given number of elements from a stream of elements.
+     */
+    private static class Reservoir<T> {
+
+        private final int capacity;
+
+        private final List<T> elements = new ArrayList<>();
+
+        private long numSeenElements = 0L;
+
+        private Reservoir(int capacity) {
+            this.capacity = capacity;
+        }
+
+        private void add(T element, Random random) {
+            this.numSeenElements++;
+            if (this.elements.size() < this.capacity) {
+                this.elements.add(element);
+            } else {
+                final long index = (long) (random.nextDouble() * this.numSeenElements);
+                if (index < this.capacity) this.elements.set((int) index, element);
+            }
+        }
+    }
+
+    @Override
+    public String getLoadProfileEstimatorConfigurationKey() {
+        return "rheem.java.stratifiedsample.load";
+    }
+
+    @Override
+    public Optional<LoadProfileEstimator> createLoadProfileEstimator(Configuration configuration) {
+        final Optional<LoadProfileEstimator> optEstimator =
+                JavaExecutionOperator.super.createLoadProfileEstimator(configuration);
+        LoadProfileEstimators.nestUdfEstimator(optEstimator, this.keyDescriptor, configuration);
+        return optEstimator;
+    }
+
+    @Override
+    protected ExecutionOperator createCopy() {
+        return new JavaStratifiedSampleOperator<>(this);
+    }
+
+    @Override
+    public List<ChannelDescriptor> getSupportedInputChannels(int index) {
+        assert index <= this.getNumInputs() || (index == 0 && this.getNumInputs() == 0);
+        return Arrays.asList(CollectionChannel.DESCRIPTOR, StreamChannel.DESCRIPTOR);
+    }
+
+    @Override
+    public List<ChannelDescriptor> getSupportedOutputChannels(int index) {
+        assert index <= this.getNumOutputs() || (index == 0 && this.getNumOutputs() == 0);
+        return Collections.singletonList(CollectionChannel.DESCRIPTOR);
+    }
+
+}
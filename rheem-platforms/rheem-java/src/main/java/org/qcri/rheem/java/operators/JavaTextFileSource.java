@@ -13,15 +13,23 @@ import org.qcri.rheem.core.util.fs.FileSystems;
 import org.qcri.rheem.java.channels.StreamChannel;
 import org.qcri.rheem.java.execution.JavaExecutor;
 
+import java.io.BufferedInputStream;
 import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.nio.charset.Charset;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * This is execution operator implements the {@link TextFileSource}.
@@ -56,8 +64,13 @@ public class JavaTextFileSource extends TextFileSource implements JavaExecutionO
         );
 
         try {
-            final InputStream inputStream = fs.open(url);
-            Stream<String> lines = new BufferedReader(new InputStreamReader(inputStream)).lines();
+            final Stream<String> lines;
+            if (this.isBlockSampling()) {
+                lines = this.readSampledBlocks(fs, url);
+            } else {
+                final InputStream inputStream = fs.open(url);
+                lines = new BufferedReader(new InputStreamReader(inputStream)).lines();
+            }
             ((StreamChannel.Instance) outputs[0]).accept(lines);
         } catch (IOException e) {
             throw new RheemException(String.format("Reading %s failed.", url), e);
@@ -77,6 +90,126 @@ public class JavaTextFileSource extends TextFileSource implements JavaExecutionO
         return prepareLineageNode.collectAndMark();
     }
 
+    /**
+     * Read the lines of the randomly picked blocks of the input file. The blocks are read lazily one after another.
+     *
+     * @param fs  provides the input file
+     * @param url of the input file
+     * @return the lines of the sampled blocks
+     */
+    private Stream<String> readSampledBlocks(FileSystem fs, String url) throws IOException {
+        final long fileSize = fs.getFileSize(url);
+        final long blockSize = this.getSamplingBlockSize();
+        final long[] sampledBlocks = this.pickSampledBlocks((fileSize + blockSize - 1) / blockSize);
+        final Charset charset = Charset.forName(this.getEncoding());
+        return Arrays.stream(sampledBlocks).boxed().flatMap(block -> {
+            try {
+                final long start = block * blockSize, end = Math.min(fileSize, start + blockSize);
+                final BlockLineIterator iterator = new BlockLineIterator(fs.open(url), start, end, charset);
+                return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false)
+                        .onClose(iterator::close);
+            } catch (IOException e) {
+                throw new RheemException(String.format("Reading block %d of %s failed.", block, url), e);
+            }
+        });
+    }
+
+    /**
+     * Reads the lines that start within a byte range of an {@link InputStream}. The byte range is reached by skipping,
+     * which seeks on most file systems. Lines are separated by {@code \n} (optionally preceded by {@code \r}), so
+     * the encoding must represent these characters as single bytes, as, e.g., UTF-8 does.
+     */
+    private static class BlockLineIterator implements Iterator<String>, AutoCloseable {
+
+        private final InputStream inputStream;
+
+        private final long end;
+
+        private final Charset charset;
+
+        private final ByteArrayOutputStream lineBuffer = new ByteArrayOutputStream();
+
+        /**
+         * Byte position of the next byte in the {@link #inputStream}.
+         */
+        private long pos;
+
+        private String nextLine;
+
+        private BlockLineIterator(InputStream inputStream, long start, long end, Charset charset) throws IOException {
+            this.inputStream = new BufferedInputStream(inputStream);
+            this.end = end;
+            this.charset = charset;
+            if (start > 0) {
+                // The line that spans over the start belongs to the previous block, so skip it.
+                this.skipTo(start - 1);
+                int b;
+                while ((b = this.inputStream.read()) != -1) {
+                    this.pos++;
+                    if (b == '\n') break;
+                }
+            }
+            this.nextLine = this.readLine();
+        }
+
+        private void skipTo(long targetPos) throws IOException {
+            while (this.pos < targetPos) {
+                final long numSkippedBytes = this.inputStream.skip(targetPos - this.pos);
+                if (numSkippedBytes <= 0) {
+                    if (this.inputStream.read() == -1) return;
+                    this.pos++;
+                } else {
+                    this.pos += numSkippedBytes;
+                }
+            }
+        }
+
+        /**
+         * @return the next line starting before {@link #end} or {@code null} if none
+         */
+        private String readLine() throws IOException {
+            if (this.pos >= this.end) return null;
+            int b;
+            while ((b = this.inputStream.read()) != -1) {
+                this.pos++;
+                if (b == '\n') break;
+                this.lineBuffer.write(b);
+            }
+            if (b == -1 && this.lineBuffer.size() == 0) return null;
+            byte[] bytes = this.lineBuffer.toByteArray();
+            this.lineBuffer.reset();
+            int length = bytes.length;
+            if (length > 0 && bytes[length - 1] == '\r') length--;
+            return new String(bytes, 0, length, this.charset);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.nextLine != null;
+        }
+
+        @Override
+        public String next() {
+            if (this.nextLine == null) throw new NoSuchElementException();
+            final String line = this.nextLine;
+            try {
+                this.nextLine = this.readLine();
+            } catch (IOException e) {
+                throw new RheemException("Reading a line failed.", e);
+            }
+            return line;
+        }
+
+        @Override
+        public void close() {
+            try {
+                this.inputStream.close();
+            } catch (IOException e) {
+                throw new RheemException("Closing the input failed.", e);
+            }
+        }
+    }
+
     @Override
     public Collection<String> getLoadProfileEstimatorConfigurationKeys() {
         return Arrays.asList("rheem.java.textfilesource.load.prepare", "rheem.java.textfilesource.load.main");
@@ -84,7 +217,7 @@ public class JavaTextFileSource extends TextFileSource implements JavaExecutionO
 
     @Override
     public JavaTextFileSource copy() {
-        return new JavaTextFileSource(this.getInputUrl());
+        return new JavaTextFileSource(this);
     }
 
     @Override
@@ -0,0 +1,136 @@
+package org.qcri.rheem.java.operators;
+
+import org.qcri.rheem.basic.operators.SortOperator;
+import org.qcri.rheem.basic.operators.TopKOperator;
+import org.qcri.rheem.core.api.Configuration;
+import org.qcri.rheem.core.function.TransformationDescriptor;
+import org.qcri.rheem.core.optimizer.OptimizationContext;
+import org.qcri.rheem.core.optimizer.costs.LoadProfileEstimator;
+import org.qcri.rheem.core.optimizer.costs.LoadProfileEstimators;
+import org.qcri.rheem.core.plan.rheemplan.ExecutionOperator;
+import org.qcri.rheem.core.platform.ChannelDescriptor;
+import org.qcri.rheem.core.platform.ChannelInstance;
+import org.qcri.rheem.core.platform.lineage.ExecutionLineageNode;
+import org.qcri.rheem.core.types.DataSetType;
+import org.qcri.rheem.core.util.Tuple;
+import org.qcri.rheem.java.channels.CollectionChannel;
+import org.qcri.rheem.java.channels.JavaChannelInstance;
+import org.qcri.rheem.java.channels.StreamChannel;
+import org.qcri.rheem.java.execution.JavaExecutor;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Java implementation of the {@link TopKOperator}. Keeps a bounded max-heap of {@code k} elements, i.e., it requires
+ * {@code O(n log k)} time and {@code O(k)} memory rather than a full sort.
+ */
+public class JavaTopKOperator<Type, Key>
+        extends TopKOperator<Type, Key>
+        implements JavaExecutionOperator {
+
+    /**
+     * Upper bound for the initial capacity of the heap, so that large {@code k}s do not allocate memory up front.
+     */
+    private static final int MAX_INITIAL_HEAP_CAPACITY = 1024;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param k             the number of elements to retain
+     * @param keyDescriptor describes how to extract the sort key from data units
+     * @param type          type of the dataset elements
+     */
+    public JavaTopKOperator(int k, TransformationDescriptor<Type, Key> keyDescriptor, DataSetType<Type> type) {
+        super(k, keyDescriptor, type);
+    }
+
+    /**
+     * Copies an instance (exclusive of broadcasts).
+     *
+     * @param that that should be copied
+     */
+    public JavaTopKOperator(TopKOperator<Type, Key> that) {
+        super(that);
+    }
+
+    @Override
+    public Tuple<Collection<ExecutionLineageNode>, Collection<ChannelInstance>> evaluate(
+            ChannelInstance[] inputs,
+            ChannelInstance[] outputs,
+            JavaExecutor javaExecutor,
+            OptimizationContext.OperatorContext operatorContext) {
+        assert inputs.length == this.getNumInputs();
+        assert outputs.length == this.getNumOutputs();
+
+        final Function<Type, Key> keyExtractor = javaExecutor.getCompiler().compile(this.keyDescriptor);
+        final Iterator<Type> iterator = ((JavaChannelInstance) inputs[0]).<Type>provideStream().iterator();
+        ((CollectionChannel.Instance) outputs[0]).accept(selectTopK(iterator, this.k, keyExtractor));
+
+        return ExecutionOperator.modelEagerExecution(inputs, outputs, operatorContext);
+    }
+
+    /**
+     * Selects the {@code k} elements with the smallest keys. Each key is extracted only once.
+     *
+     * @param iterator     provides the elements
+     * @param k            the number of elements to select
+     * @param keyExtractor extracts the (comparable) keys from the elements
+     * @return the selected elements in ascending order
+     */
+    public static <T, K> List<T> selectTopK(Iterator<T> iterator, int k, Function<T, K> keyExtractor) {
+        if (k == 0) return Collections.emptyList();
+        final Comparator<Tuple<K, T>> comparator = SortOperator.createKeyComparator(Tuple::getField0);
+        final PriorityQueue<Tuple<K, T>> heap = new PriorityQueue<>(
+                Math.min(k, MAX_INITIAL_HEAP_CAPACITY), comparator.reversed()
+        );
+        while (iterator.hasNext()) {
+            final T dataQuantum = iterator.next();
+            final Tuple<K, T> keyedDataQuantum = new Tuple<>(keyExtractor.apply(dataQuantum), dataQuantum);
+            if (heap.size() < k) {
+                heap.add(keyedDataQuantum);
+            } else if (comparator.compare(keyedDataQuantum, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(keyedDataQuantum);
+            }
+        }
+        final List<Tuple<K, T>> keyedResult = new ArrayList<>(heap);
+        keyedResult.sort(comparator);
+        final List<T> result = new ArrayList<>(keyedResult.size());
+        for (Tuple<K, T> keyedDataQuantum : keyedResult) {
+            result.add(keyedDataQuantum.getField1());
+        }
+        return result;
+    }
+
+    @Override
+    public String getLoadProfileEstimatorConfigurationKey() {
+        return "rheem.java.topk.load";
+    }
+
+    @Override
+    public Optional<LoadProfileEstimator> createLoadProfileEstimator(Configuration configuration) {
+        final Optional<LoadProfileEstimator> optEstimator =
+                JavaExecutionOperator.super.createLoadProfileEstimator(configuration);
+        LoadProfileEstimators.nestUdfEstimator(optEstimator, this.keyDescriptor, configuration);
+        return optEstimator;
+    }
+
+    @Override
+    protected ExecutionOperator createCopy() {
+        return new JavaTopKOperator<>(this.getK(), this.getKeyDescriptor(), this.getInputType());
+    }
+
+    @Override
+    public List<ChannelDescriptor> getSupportedInputChannels(int index) {
+        assert index <= this.getNumInputs() || (index == 0 && this.getNumInputs() == 0);
+        return Arrays.asList(CollectionChannel.DESCRIPTOR, StreamChannel.DESCRIPTOR);
+    }
+
+    @Override
+    public List<ChannelDescriptor> getSupportedOutputChannels(int index) {
+        assert index <= this.getNumOutputs() || (index == 0 && this.getNumOutputs() == 0);
+        return Collections.singletonList(CollectionChannel.DESCRIPTOR);
+    }
+
+}
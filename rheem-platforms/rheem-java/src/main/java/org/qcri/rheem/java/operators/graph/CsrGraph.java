@@ -0,0 +1,237 @@
+package org.qcri.rheem.java.operators.graph;
+
+import gnu.trove.map.TLongIntMap;
+import gnu.trove.map.hash.TLongIntHashMap;
+import org.qcri.rheem.basic.data.Tuple2;
+
+import java.util.Collection;
+
+/**
+ * Directed graph in compressed sparse row (CSR) format. Vertices are assigned dense IDs {@code 0..n-1} and the
+ * incoming (and optionally the outgoing) edges of each vertex are stored contiguously in a primitive array, so that
+ * algorithms can run over the graph without hash lookups or boxing.
+ */
+public class CsrGraph {
+
+    /**
+     * Maps dense vertex IDs to the original vertex IDs.
+     */
+    private final long[] vertexIds;
+
+    /**
+     * Number of outgoing edges per dense vertex ID.
+     */
+    private final int[] outDegrees;
+
+    /**
+     * The incoming edges of vertex {@code v} are stored at {@code inSources[inOffsets[v]..inOffsets[v+1]-1]}.
+     */
+    private final int[] inOffsets;
+
+    /**
+     * Dense source vertex IDs of all incoming edges, grouped by target vertex.
+     */
+    private final int[] inSources;
+
+    /**
+     * The outgoing edges of vertex {@code v} are stored at {@code outTargets[outOffsets[v]..outOffsets[v+1]-1]} or
+     * {@code null} if the outgoing edges were not requested.
+     */
+    private final int[] outOffsets;
+
+    /**
+     * Dense target vertex IDs of all outgoing edges, grouped by source vertex, or {@code null} if the outgoing edges
+     * were not requested.
+     */
+    private final int[] outTargets;
+
+    /**
+     * Builds a new instance from a collection of {@code (source vertex ID, target vertex ID)} edges that provides only
+     * the incoming edges of each vertex.
+     *
+     * @param edges the edges
+     * @return the new instance
+     */
+    public static CsrGraph fromEdges(Collection<Tuple2<Long, Long>> edges) {
+        return fromEdges(edges, false);
+    }
+
+    /**
+     * Builds a new instance from a collection of {@code (source vertex ID, target vertex ID)} edges.
+     *
+     * @param edges             the edges
+     * @param isIncludeOutEdges whether also the outgoing edges of each vertex should be provided
+     * @return the new instance
+     */
+    public static CsrGraph fromEdges(Collection<Tuple2<Long, Long>> edges, boolean isIncludeOutEdges) {
+        final int numEdges = edges.size();
+        final TLongIntMap denseIds = new TLongIntHashMap(Math.max(16, numEdges / 4), 0.5f, -1L, -1);
+        long[] vertexIds = new long[16];
+        final int[] sources = new int[numEdges], targets = new int[numEdges];
+
+        // Assign dense IDs and remember the edges as dense ID pairs.
+        int numVertices = 0, edgeIndex = 0;
+        for (Tuple2<Long, Long> edge : edges) {
+            for (int i = 0; i < 2; i++) {
+                final long vertexId = i == 0 ? edge.field0 : edge.field1;
+                int denseId = denseIds.putIfAbsent(vertexId, numVertices);
+                if (denseId == -1) {
+                    denseId = numVertices++;
+                    if (denseId == vertexIds.length) {
+                        final long[] newVertexIds = new long[vertexIds.length * 2];
+                        System.arraycopy(vertexIds, 0, newVertexIds, 0, vertexIds.length);
+                        vertexIds = newVertexIds;
+                    }
+                    vertexIds[denseId] = vertexId;
+                }
+                if (i == 0) sources[edgeIndex] = denseId;
+                else targets[edgeIndex] = denseId;
+            }
+            edgeIndex++;
+        }
+
+        // Count the degrees.
+        final int[] outDegrees = new int[numVertices];
+        final int[] inOffsets = new int[numVertices + 1];
+        for (int e = 0; e < numEdges; e++) {
+            outDegrees[sources[e]]++;
+            inOffsets[targets[e] + 1]++;
+        }
+        for (int v = 0; v < numVertices; v++) {
+            inOffsets[v + 1] += inOffsets[v];
+        }
+
+        // Distribute the edges to their target vertices.
+        final int[] inSources = new int[numEdges];
+        final int[] cursors = new int[numVertices];
+        System.arraycopy(inOffsets, 0, cursors, 0, numVertices);
+        for (int e = 0; e < numEdges; e++) {
+            inSources[cursors[targets[e]]++] = sources[e];
+        }
+
+        // Distribute the edges to their source vertices, if requested.
+        int[] outOffsets = null, outTargets = null;
+        if (isIncludeOutEdges) {
+            outOffsets = new int[numVertices + 1];
+            for (int v = 0; v < numVertices; v++) {
+                outOffsets[v + 1] = outOffsets[v] + outDegrees[v];
+            }
+            outTargets = new int[numEdges];
+            System.arraycopy(outOffsets, 0, cursors, 0, numVertices);
+            for (int e = 0; e < numEdges; e++) {
+                outTargets[cursors[sources[e]]++] = targets[e];
+            }
+        }
+
+        final long[] trimmedVertexIds = new long[numVertices];
+        System.arraycopy(vertexIds, 0, trimmedVertexIds, 0, numVertices);
+        return new CsrGraph(trimmedVertexIds, outDegrees, inOffsets, inSources, outOffsets, outTargets);
+    }
+
+    private CsrGraph(long[] vertexIds, int[] outDegrees, int[] inOffsets, int[] inSources,
+                     int[] outOffsets, int[] outTargets) {
+        this.vertexIds = vertexIds;
+        this.outDegrees = outDegrees;
+        this.inOffsets = inOffsets;
+        this.inSources = inSources;
+        this.outOffsets = outOffsets;
+        this.outTargets = outTargets;
+    }
+
+    public int getNumVertices() {
+        return this.vertexIds.length;
+    }
+
+    public int getNumEdges() {
+        return this.inSources.length;
+    }
+
+    /**
+     * @return the original ID of the vertex with the given dense ID
+     */
+    public long getVertexId(int denseId) {
+        return this.vertexIds[denseId];
+    }
+
+    public int getOutDegree(int denseId) {
+        return this.outDegrees[denseId];
+    }
+
+    /**
+     * @return the index of the first incoming edge of the given vertex in {@link #getInSources()}
+     */
+    public int getInStart(int denseId) {
+        return this.inOffsets[denseId];
+    }
+
+    /**
+     * @return the index after the last incoming edge of the given vertex in {@link #getInSources()}
+     */
+    public int getInEnd(int denseId) {
+        return this.inOffsets[denseId + 1];
+    }
+
+    /**
+     * Provides the dense source vertex IDs of all edges, grouped by their target vertices. Must not be modified.
+     *
+     * @return the source vertex IDs
+     */
+    public int[] getInSources() {
+        return this.inSources;
+    }
+
+    public boolean hasOutEdges() {
+        return this.outTargets != null;
+    }
+
+    /**
+     * @return the index of the first outgoing edge of the given vertex in {@link #getOutTargets()}
+     */
+    public int getOutStart(int denseId) {
+        assert this.hasOutEdges();
+        return this.outOffsets[denseId];
+    }
+
+    /**
+     * @return the index after the last outgoing edge of the given vertex in {@link #getOutTargets()}
+     */
+    public int getOutEnd(int denseId) {
+        assert this.hasOutEdges();
+        return this.outOffsets[denseId + 1];
+    }
+
+    /**
+     * Provides the dense target vertex IDs of all edges, grouped by their source vertices. Must not be modified.
+     *
+     * @return the target vertex IDs or {@code null} if the outgoing edges were not requested
+     */
+    public int[] getOutTargets() {
+        return this.outTargets;
+    }
+
+    /**
+     * Partitions the vertices into contiguous blocks of about the same number of incoming edges.
+     *
+     * @param numBlocks the desired number of blocks
+     * @return the block boundaries; block {@code i} ranges from {@code bounds[i]} (inclusive) to {@code bounds[i+1]}
+     */
+    public int[] createVertexBlocks(int numBlocks) {
+        final int numVertices = this.getNumVertices();
+        numBlocks = Math.max(1, Math.min(numBlocks, numVertices));
+        final long workPerBlock = ((long) this.getNumEdges() + numVertices) / numBlocks + 1;
+        final int[] bounds = new int[numBlocks + 1];
+        int block = 1;
+        long work = 0;
+        for (int v = 0; v < numVertices && block < numBlocks; v++) {
+            work += this.getInEnd(v) - this.getInStart(v) + 1;
+            if (work >= workPerBlock * block) {
+                bounds[block++] = v + 1;
+            }
+        }
+        while (block <= numBlocks) {
+            bounds[block++] = numVertices;
+        }
+        return bounds;
+    }
+
+}
@@ -1,10 +1,5 @@
 package org.qcri.rheem.java.operators.graph;
 
-import gnu.trove.iterator.TLongFloatIterator;
-import gnu.trove.map.TLongFloatMap;
-import gnu.trove.map.TLongIntMap;
-import gnu.trove.map.hash.TLongFloatHashMap;
-import gnu.trove.map.hash.TLongIntHashMap;
 import org.qcri.rheem.basic.data.Tuple2;
 import org.qcri.rheem.basic.operators.PageRankOperator;
 import org.qcri.rheem.core.optimizer.OptimizationContext;
@@ -17,16 +12,31 @@ import org.qcri.rheem.java.channels.CollectionChannel;
 import org.qcri.rheem.java.channels.StreamChannel;
 import org.qcri.rheem.java.execution.JavaExecutor;
 import org.qcri.rheem.java.operators.JavaExecutionOperator;
-
-import java.util.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
-import java.util.stream.StreamSupport;
 
 /**
- * Java implementation of the {@link PageRankOperator}.
+ * Java implementation of the {@link PageRankOperator}. It converts the edges into a {@link CsrGraph} and propagates
+ * the ranks over primitive arrays in parallel.
  */
 public class JavaPageRankOperator extends PageRankOperator implements JavaExecutionOperator {
 
+    /**
+     * {@link org.qcri.rheem.core.api.Configuration} key for the convergence threshold of the rank changes. With
+     * a threshold of {@code 0}, the configured number of iterations is always performed.
+     */
+    public static final String TOLERANCE_PROPERTY = "rheem.java.pagerank.tolerance";
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
     public JavaPageRankOperator(int numIterations) {
         super(numIterations);
     }
@@ -45,8 +55,12 @@ public class JavaPageRankOperator extends PageRankOperator implements JavaExecut
         StreamChannel.Instance output = (StreamChannel.Instance) outputs[0];
 
         final Collection<Tuple2<Long, Long>> edges = input.provideCollection();
-        final TLongFloatMap pageRanks = this.pageRank(edges);
-        final Stream<Tuple2<Long, Float>> pageRankStream = this.stream(pageRanks);
+        final CsrGraph graph = CsrGraph.fromEdges(edges);
+        final double tolerance = javaExecutor.getConfiguration().getDoubleProperty(TOLERANCE_PROPERTY, 0d);
+        final ForkJoinPool pool = javaExecutor.getCrossPlatformExecutor().getThreadPools().getCpuPool();
+        final double[] pageRanks = this.pageRank(graph, tolerance, pool);
+        final Stream<Tuple2<Long, Float>> pageRankStream = IntStream.range(0, graph.getNumVertices())
+                .mapToObj(v -> new Tuple2<>(graph.getVertexId(v), (float) pageRanks[v]));
 
         output.accept(pageRankStream);
 
@@ -54,72 +68,60 @@ public class JavaPageRankOperator extends PageRankOperator implements JavaExecut
     }
 
     /**
-     * Execute the PageRank algorithm.
+     * Execute the PageRank algorithm. Each iteration pulls the rank contributions along the incoming edges of every
+     * vertex, whereby blocks of vertices are processed in parallel in a {@link ForkJoinPool}.
      *
-     * @param edgeDataSet edges of a graph
-     * @return the page ranks
+     * @param graph     the graph
+     * @param tolerance stop once the L1 norm of the rank changes of an iteration falls below this value
+     * @param pool      in which the vertex blocks are processed
+     * @return the page ranks indexed by the dense vertex IDs of the {@code graph}
      */
-    private TLongFloatMap pageRank(Collection<Tuple2<Long, Long>> edgeDataSet) {
-        // Get the degress of all vertices and make sure we collect *all* vertices.
-        TLongIntMap degrees = new TLongIntHashMap();
-        for (Tuple2<Long, Long> edge : edgeDataSet) {
-            degrees.adjustOrPutValue(edge.field0, 1, 1);
-            degrees.adjustOrPutValue(edge.field0, 0, 0);
-        }
-        int numVertices = degrees.size();
-        float initialRank = 1f / numVertices;
-        float dampingRank = (1 - this.dampingFactor) / numVertices;
-
-        // Initialize the rank map.
-        TLongFloatMap initialRanks = new TLongFloatHashMap();
-        degrees.forEachKey(k -> {
-            initialRanks.putIfAbsent(k, initialRank);
-            return true;
-        });
-
-        TLongFloatMap currentRanks = initialRanks;
+    private double[] pageRank(CsrGraph graph, double tolerance, ForkJoinPool pool) {
+        final int numVertices = graph.getNumVertices();
+        if (numVertices == 0) return new double[0];
+        final double dampingRank = (1d - this.dampingFactor) / numVertices;
+
+        double[] currentRanks = new double[numVertices];
+        double[] newRanks = new double[numVertices];
+        final double[] contributions = new double[numVertices];
+        Arrays.fill(currentRanks, 1d / numVertices);
+        final int[] blockBounds = graph.createVertexBlocks(pool.getParallelism() * 4);
+
         for (int iteration = 0; iteration < this.getNumIterations(); iteration++) {
-            // Add the damping first.
-            TLongFloatMap newRanks = new TLongFloatHashMap(currentRanks.size());
-            degrees.forEachKey(k -> {
-                newRanks.putIfAbsent(k, dampingRank);
-                return true;
+            final double[] ranks = currentRanks;
+            VertexBlockTask.invoke(pool, blockBounds, (from, to) -> {
+                for (int v = from; v < to; v++) {
+                    final int outDegree = graph.getOutDegree(v);
+                    contributions[v] = outDegree == 0 ? 0d : this.dampingFactor * ranks[v] / outDegree;
+                }
+                return 0d;
+            });
+            final double[] updatedRanks = newRanks;
+            final double delta = VertexBlockTask.invoke(pool, blockBounds, (from, to) -> {
+                final int[] inSources = graph.getInSources();
+                double blockDelta = 0d;
+                for (int v = from; v < to; v++) {
+                    double rank = dampingRank;
+                    for (int e = graph.getInStart(v), end = graph.getInEnd(v); e < end; e++) {
+                        rank += contributions[inSources[e]];
+                    }
+                    updatedRanks[v] = rank;
+                    blockDelta += Math.abs(rank - ranks[v]);
+                }
+                return blockDelta;
             });
 
-            // Now add the other ranks.
-            for (Tuple2<Long, Long> edge : edgeDataSet) {
-                final long sourceVertex = edge.field0;
-                final long targetVertex = edge.field1;
-                final int degree = degrees.get(sourceVertex);
-                final float currentRank = currentRanks.get(sourceVertex);
-                final float partialRank = this.dampingFactor * currentRank / degree;
-                newRanks.adjustOrPutValue(targetVertex, partialRank, partialRank);
+            newRanks = currentRanks;
+            currentRanks = updatedRanks;
+            if (delta < tolerance) {
+                this.logger.info("PageRank converged after {} iterations (delta: {}).", iteration + 1, delta);
+                break;
             }
-
-            currentRanks = newRanks;
         }
 
         return currentRanks;
     }
 
-    private Stream<Tuple2<Long, Float>> stream(TLongFloatMap map) {
-        final TLongFloatIterator tLongFloatIterator = map.iterator();
-        Iterator<Tuple2<Long, Float>> iterator = new Iterator<Tuple2<Long, Float>>() {
-            @Override
-            public boolean hasNext() {
-                return tLongFloatIterator.hasNext();
-            }
-
-            @Override
-            public Tuple2<Long, Float> next() {
-                tLongFloatIterator.advance();
-                return new Tuple2<>(tLongFloatIterator.key(), tLongFloatIterator.value());
-            }
-        };
-        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, 0), false);
-    }
-
-
     @Override
     public String getLoadProfileEstimatorConfigurationKey() {
         return "rheem.java.pagerank.load";
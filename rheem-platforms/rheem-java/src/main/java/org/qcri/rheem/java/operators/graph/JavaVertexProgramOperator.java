@@ -0,0 +1,183 @@
+package org.qcri.rheem.java.operators.graph;
+
+import org.qcri.rheem.basic.data.Tuple2;
+import org.qcri.rheem.basic.function.VertexProgram;
+import org.qcri.rheem.basic.operators.VertexProgramOperator;
+import org.qcri.rheem.core.optimizer.OptimizationContext;
+import org.qcri.rheem.core.plan.rheemplan.ExecutionOperator;
+import org.qcri.rheem.core.platform.ChannelDescriptor;
+import org.qcri.rheem.core.platform.ChannelInstance;
+import org.qcri.rheem.core.platform.lineage.ExecutionLineageNode;
+import org.qcri.rheem.core.util.Tuple;
+import org.qcri.rheem.java.channels.CollectionChannel;
+import org.qcri.rheem.java.channels.StreamChannel;
+import org.qcri.rheem.java.execution.JavaExecutor;
+import org.qcri.rheem.java.operators.JavaExecutionOperator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Java implementation of the {@link VertexProgramOperator}. It converts the edges into a {@link CsrGraph} and runs
+ * the supersteps in parallel, whereby each vertex pulls the messages of its active neighbors.
+ */
+public class JavaVertexProgramOperator<Value, Message>
+        extends VertexProgramOperator<Value, Message>
+        implements JavaExecutionOperator {
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    public JavaVertexProgramOperator(VertexProgram<Value, Message> vertexProgram, int numIterations) {
+        super(vertexProgram, numIterations);
+    }
+
+    public JavaVertexProgramOperator(VertexProgramOperator<Value, Message> that) {
+        super(that);
+    }
+
+    @Override
+    public Tuple<Collection<ExecutionLineageNode>, Collection<ChannelInstance>> evaluate(
+            ChannelInstance[] inputs,
+            ChannelInstance[] outputs,
+            JavaExecutor javaExecutor,
+            OptimizationContext.OperatorContext operatorContext) {
+        CollectionChannel.Instance input = (CollectionChannel.Instance) inputs[0];
+        StreamChannel.Instance output = (StreamChannel.Instance) outputs[0];
+
+        final Collection<Tuple2<Long, Long>> edges = input.provideCollection();
+        final boolean isUndirected = this.vertexProgram.getEdgeDirection() == VertexProgram.EdgeDirection.BOTH;
+        final CsrGraph graph = CsrGraph.fromEdges(edges, isUndirected);
+        final ForkJoinPool pool = javaExecutor.getCrossPlatformExecutor().getThreadPools().getCpuPool();
+        final Object[] values = this.run(graph, isUndirected, pool);
+        @SuppressWarnings("unchecked")
+        final Stream<Tuple2<Long, Value>> valueStream = IntStream.range(0, graph.getNumVertices())
+                .mapToObj(v -> new Tuple2<>(graph.getVertexId(v), (Value) values[v]));
+
+        output.accept(valueStream);
+
+        return ExecutionOperator.modelQuasiEagerExecution(inputs, outputs, operatorContext);
+    }
+
+    /**
+     * Execute the {@link VertexProgram}. In each superstep, every vertex combines the messages of its neighbors that
+     * have been active in the previous superstep (or of all neighbors if {@link VertexProgram#isSendingAlways()}),
+     * whereby blocks of vertices are processed in parallel in a
+     * {@link ForkJoinPool}.
+     *
+     * @param graph        the graph; must provide outgoing edges if {@code isUndirected}
+     * @param isUndirected whether messages should also be sent along the reversed edges
+     * @param pool         in which the vertex blocks are processed
+     * @return the vertex values indexed by the dense vertex IDs of the {@code graph}
+     */
+    private Object[] run(CsrGraph graph, boolean isUndirected, ForkJoinPool pool) {
+        final VertexProgram<Value, Message> program = this.vertexProgram;
+        final int numVertices = graph.getNumVertices();
+        if (numVertices == 0) return new Object[0];
+
+        Object[] currentValues = new Object[numVertices];
+        Object[] newValues = new Object[numVertices];
+        boolean[] currentActive = new boolean[numVertices];
+        boolean[] newActive = new boolean[numVertices];
+        final int[] degrees = new int[numVertices];
+        for (int v = 0; v < numVertices; v++) {
+            currentValues[v] = program.getInitialValue(graph.getVertexId(v));
+            degrees[v] = graph.getOutDegree(v) + (isUndirected ? graph.getInEnd(v) - graph.getInStart(v) : 0);
+        }
+        Arrays.fill(currentActive, true);
+        final boolean isSendingAlways = program.isSendingAlways();
+        final int[] blockBounds = graph.createVertexBlocks(pool.getParallelism() * 4);
+
+        for (int superstep = 0; superstep < this.getNumIterations(); superstep++) {
+            final Object[] values = currentValues, updatedValues = newValues;
+            final boolean[] active = currentActive, updatedActive = newActive;
+            final double numActive = VertexBlockTask.invoke(pool, blockBounds, (from, to) -> {
+                final int[] inSources = graph.getInSources(), outTargets = graph.getOutTargets();
+                int blockActive = 0;
+                for (int v = from; v < to; v++) {
+                    final long vertexId = graph.getVertexId(v);
+                    Message message = null;
+                    for (int e = graph.getInStart(v), end = graph.getInEnd(v); e < end; e++) {
+                        message = this.receive(message, inSources[e], vertexId, values, active, isSendingAlways, degrees, graph);
+                    }
+                    if (isUndirected) {
+                        for (int e = graph.getOutStart(v), end = graph.getOutEnd(v); e < end; e++) {
+                            message = this.receive(message, outTargets[e], vertexId, values, active, isSendingAlways, degrees, graph);
+                        }
+                    }
+                    if (message == null) {
+                        updatedValues[v] = values[v];
+                        updatedActive[v] = false;
+                    } else {
+                        @SuppressWarnings("unchecked")
+                        final Value value = program.apply(vertexId, (Value) values[v], message);
+                        updatedValues[v] = value;
+                        updatedActive[v] = !Objects.equals(value, values[v]);
+                        if (updatedActive[v]) blockActive++;
+                    }
+                }
+                return blockActive;
+            });
+
+            newValues = currentValues;
+            currentValues = updatedValues;
+            newActive = currentActive;
+            currentActive = updatedActive;
+            if (numActive == 0) {
+                this.logger.info("Vertex program converged after {} supersteps.", superstep + 1);
+                break;
+            }
+        }
+
+        return currentValues;
+    }
+
+    /**
+     * Lets a vertex receive the message of one of its neighbors if that neighbor is active.
+     *
+     * @param message         the combined messages received so far or {@code null}
+     * @param source          the dense ID of the sending vertex
+     * @param targetId        the original ID of the receiving vertex
+     * @param values          the current vertex values
+     * @param active          the current vertex activity
+     * @param isSendingAlways whether also inactive vertices send messages
+     * @param degrees         the number of neighbors of each vertex
+     * @param graph           the graph
+     * @return the combined messages received so far or {@code null}
+     */
+    @SuppressWarnings("unchecked")
+    private Message receive(Message message, int source, long targetId, Object[] values, boolean[] active,
+                            boolean isSendingAlways, int[] degrees, CsrGraph graph) {
+        if (!active[source] && !isSendingAlways) return message;
+        final Message newMessage = this.vertexProgram.createMessage(
+                graph.getVertexId(source), (Value) values[source], targetId, degrees[source]
+        );
+        if (newMessage == null) return message;
+        return message == null ? newMessage : this.vertexProgram.combine(message, newMessage);
+    }
+
+    @Override
+    public String getLoadProfileEstimatorConfigurationKey() {
+        return "rheem.java.vertexprogram.load";
+    }
+
+    @Override
+    public List<ChannelDescriptor> getSupportedInputChannels(int index) {
+        assert index == 0;
+        return Collections.singletonList(CollectionChannel.DESCRIPTOR);
+    }
+
+    @Override
+    public List<ChannelDescriptor> getSupportedOutputChannels(int index) {
+        assert index == 0;
+        return Collections.singletonList(StreamChannel.DESCRIPTOR);
+    }
+
+}
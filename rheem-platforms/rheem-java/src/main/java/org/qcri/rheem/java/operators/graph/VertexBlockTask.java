@@ -0,0 +1,61 @@
+package org.qcri.rheem.java.operators.graph;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Processes a range of vertex blocks (as created by {@link CsrGraph#createVertexBlocks(int)}) by recursively
+ * splitting it into {@link ForkJoinTask}s and sums up the partial results of the blocks.
+ */
+class VertexBlockTask extends RecursiveTask<Double> {
+
+    private final int[] blockBounds;
+
+    private final int fromBlock, toBlock;
+
+    private final VertexRangeFunction function;
+
+    /**
+     * Applies a {@link VertexRangeFunction} to all given vertex blocks in a {@link ForkJoinPool}.
+     *
+     * @param pool        in which the vertex blocks should be processed
+     * @param blockBounds the vertex block boundaries
+     * @param function    to be applied to each block
+     * @return the sum of the partial results of all blocks
+     */
+    static double invoke(ForkJoinPool pool, int[] blockBounds, VertexRangeFunction function) {
+        return pool.invoke(new VertexBlockTask(blockBounds, 0, blockBounds.length - 1, function));
+    }
+
+    private VertexBlockTask(int[] blockBounds, int fromBlock, int toBlock, VertexRangeFunction function) {
+        this.blockBounds = blockBounds;
+        this.fromBlock = fromBlock;
+        this.toBlock = toBlock;
+        this.function = function;
+    }
+
+    @Override
+    protected Double compute() {
+        if (this.toBlock - this.fromBlock == 1) {
+            return this.function.apply(this.blockBounds[this.fromBlock], this.blockBounds[this.toBlock]);
+        }
+        final int middleBlock = (this.fromBlock + this.toBlock) >>> 1;
+        final VertexBlockTask left = new VertexBlockTask(this.blockBounds, this.fromBlock, middleBlock, this.function);
+        left.fork();
+        final double rightResult =
+                new VertexBlockTask(this.blockBounds, middleBlock, this.toBlock, this.function).compute();
+        return left.join() + rightResult;
+    }
+
+    /**
+     * Processes the vertices with dense IDs in {@code [from, to)} and yields a partial result.
+     */
+    @FunctionalInterface
+    interface VertexRangeFunction {
+
+        double apply(int from, int to);
+
+    }
+
+}
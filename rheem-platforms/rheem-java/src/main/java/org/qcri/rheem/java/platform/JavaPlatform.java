@@ -9,6 +9,9 @@ import org.qcri.rheem.core.platform.Platform;
 import org.qcri.rheem.core.util.ReflectionUtils;
 import org.qcri.rheem.java.execution.JavaExecutor;
 
+import java.util.Arrays;
+import java.util.Collection;
+
 /**
  * {@link Platform} for a single JVM executor based on the {@link java.util.stream} library.
  */
@@ -56,6 +59,14 @@ public class JavaPlatform extends Platform {
         );
     }
 
+    @Override
+    public Collection<String> getCostModelPropertyKeys() {
+        return Arrays.asList(
+                "rheem.java.cpu.mhz", "rheem.java.cores", "rheem.java.hdfs.ms-per-mb", "rheem.java.stretch",
+                "rheem.java.costs.fix", "rheem.java.costs.per-ms"
+        );
+    }
+
     @Override
     public TimeToCostConverter createTimeToCostConverter(Configuration configuration) {
         return new TimeToCostConverter(
@@ -2,7 +2,10 @@ package org.qcri.rheem.java.execution;
 
 import org.junit.Assert;
 import org.junit.Test;
+import org.qcri.rheem.basic.data.Tuple2;
+import org.qcri.rheem.core.api.Job;
 import org.qcri.rheem.core.api.RheemContext;
+import org.qcri.rheem.core.api.exception.RheemException;
 import org.qcri.rheem.core.function.ExecutionContext;
 import org.qcri.rheem.core.function.FunctionDescriptor;
 import org.qcri.rheem.core.function.TransformationDescriptor;
@@ -13,12 +16,27 @@ import org.qcri.rheem.core.util.RheemCollections;
 import org.qcri.rheem.java.Java;
 import org.qcri.rheem.java.operators.JavaCollectionSource;
 import org.qcri.rheem.java.operators.JavaDoWhileOperator;
+import org.qcri.rheem.java.operators.JavaJoinOperator;
 import org.qcri.rheem.java.operators.JavaLocalCallbackSink;
 import org.qcri.rheem.java.operators.JavaMapOperator;
+import org.qcri.rheem.java.operators.JavaTextFileSource;
+import org.qcri.rheem.java.operators.JavaUnionAllOperator;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 /**
  * Test suite for the {@link JavaExecutor}.
@@ -110,4 +128,161 @@ public class JavaExecutorTest {
         Assert.assertEquals(RheemArrays.asList(6, 7, 8), collector);
     }
 
+    @Test
+    public void testConcurrentExecutionOfIndependentTasks() throws IOException {
+        // Both joins build their probe tables eagerly within the same ExecutionStage. Their key extractors can only
+        // pass the latch if they are executed concurrently.
+        final CountDownLatch latch = new CountDownLatch(2);
+        final AtomicBoolean isExecutedConcurrently = new AtomicBoolean(true);
+        final TransformationDescriptor.SerializableFunction<String, String> keyFunction = line -> {
+            latch.countDown();
+            try {
+                if (!latch.await(10, TimeUnit.SECONDS)) isExecutedConcurrently.set(false);
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+            return line;
+        };
+
+        List<JavaJoinOperator<String, String, String>> joins = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            JavaTextFileSource source0 = new JavaTextFileSource(createTempFile("a", "b"));
+            JavaTextFileSource source1 = new JavaTextFileSource(createTempFile("b", "c"));
+            JavaJoinOperator<String, String, String> join = new JavaJoinOperator<>(
+                    DataSetType.createDefault(String.class),
+                    DataSetType.createDefault(String.class),
+                    new TransformationDescriptor<>(keyFunction, String.class, String.class),
+                    new TransformationDescriptor<>(keyFunction, String.class, String.class)
+            );
+            source0.connectTo(0, join, 0);
+            source1.connectTo(0, join, 1);
+            joins.add(join);
+        }
+
+        JavaUnionAllOperator<Tuple2<String, String>> union =
+                new JavaUnionAllOperator<>(DataSetType.createDefaultUnchecked(Tuple2.class));
+        joins.get(0).connectTo(0, union, 0);
+        joins.get(1).connectTo(0, union, 1);
+
+        List<Tuple2<String, String>> collector = new ArrayList<>();
+        JavaLocalCallbackSink<Tuple2<String, String>> sink =
+                new JavaLocalCallbackSink<>(collector::add, DataSetType.createDefaultUnchecked(Tuple2.class));
+        union.connectTo(0, sink, 0);
+
+        final RheemContext rheemContext = new RheemContext().with(Java.basicPlugin());
+        rheemContext.getConfiguration().setProperty("rheem.core.executor.stage.parallelism", "2");
+        rheemContext.execute(new RheemPlan(sink));
+
+        Assert.assertTrue(isExecutedConcurrently.get());
+        Assert.assertEquals(Arrays.asList(new Tuple2<>("b", "b"), new Tuple2<>("b", "b")), collector);
+    }
+
+    @Test
+    public void testAsynchronousSubmission() throws Exception {
+        final RheemContext rheemContext = new RheemContext().with(Java.basicPlugin());
+        List<Integer> collector1 = new ArrayList<>(), collector2 = new ArrayList<>();
+        final Future<Job> future1 = rheemContext.submit(createCollectingPlan(RheemArrays.asList(1, 2), collector1::add));
+        final Future<Job> future2 = rheemContext.submit(createCollectingPlan(RheemArrays.asList(3, 4), collector2::add));
+
+        Assert.assertNotNull(future1.get(1, TimeUnit.MINUTES));
+        Assert.assertNotNull(future2.get(1, TimeUnit.MINUTES));
+        Assert.assertEquals(RheemArrays.asList(1, 2), collector1);
+        Assert.assertEquals(RheemArrays.asList(3, 4), collector2);
+        Assert.assertEquals(0, rheemContext.getJobScheduler().getNumQueuedJobs());
+    }
+
+    @Test
+    public void testExecutionLimitPerPlatform() throws Exception {
+        final RheemContext rheemContext = new RheemContext().with(Java.basicPlugin());
+        rheemContext.getConfiguration().setProperty("rheem.core.scheduler.jobs", "3");
+        rheemContext.getConfiguration().setProperty("rheem.core.scheduler.execution.parallelism.java-streams", "1");
+
+        // Track how many jobs are in their sinks at the same time.
+        final AtomicInteger numActiveSinks = new AtomicInteger(0), maxActiveSinks = new AtomicInteger(0);
+        List<Future<Job>> futures = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            futures.add(rheemContext.submit(createCollectingPlan(RheemArrays.asList(i), value -> {
+                maxActiveSinks.accumulateAndGet(numActiveSinks.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+                numActiveSinks.decrementAndGet();
+            })));
+        }
+        for (Future<Job> future : futures) {
+            future.get(1, TimeUnit.MINUTES);
+        }
+
+        Assert.assertEquals(1, maxActiveSinks.get());
+    }
+
+    @Test
+    public void testCancellationOfQueuedJob() throws Exception {
+        final RheemContext rheemContext = new RheemContext().with(Java.basicPlugin());
+        rheemContext.getConfiguration().setProperty("rheem.core.scheduler.jobs", "1");
+
+        // Block the only job slot until the second job has been cancelled.
+        final CountDownLatch blockingLatch = new CountDownLatch(1);
+        final Future<Job> blockingFuture = rheemContext.submit(createCollectingPlan(RheemArrays.asList(1), value -> {
+            try {
+                blockingLatch.await(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+        }));
+        List<Integer> collector = new ArrayList<>();
+        final Future<Job> cancelledFuture = rheemContext.submit(createCollectingPlan(RheemArrays.asList(2), collector::add));
+
+        Assert.assertTrue(cancelledFuture.cancel(true));
+        blockingLatch.countDown();
+        blockingFuture.get(1, TimeUnit.MINUTES);
+
+        Assert.assertTrue(cancelledFuture.isCancelled());
+        Assert.assertTrue(collector.isEmpty());
+    }
+
+    @Test
+    public void testCloseCompletesSubmittedJobs() throws Exception {
+        final RheemContext rheemContext = new RheemContext().with(Java.basicPlugin());
+        List<Integer> collector = new ArrayList<>();
+        final Future<Job> future = rheemContext.submit(createCollectingPlan(RheemArrays.asList(1, 2), collector::add));
+        rheemContext.close();
+
+        // The submitted Job should still be executed...
+        Assert.assertNotNull(future.get(1, TimeUnit.MINUTES));
+        Assert.assertEquals(RheemArrays.asList(1, 2), collector);
+
+        // ...but no further Jobs should be accepted.
+        try {
+            rheemContext.submit(createCollectingPlan(RheemArrays.asList(3), collector::add));
+            Assert.fail("Submission after closing should fail.");
+        } catch (RheemException e) {
+            Assert.assertEquals(RheemArrays.asList(1, 2), collector);
+        }
+    }
+
+    @Test
+    public void testJobsHaveDistinctRunIds() {
+        final RheemContext rheemContext = new RheemContext().with(Java.basicPlugin());
+        final Job job1 = rheemContext.createJob(null, createCollectingPlan(RheemArrays.asList(1), value -> {}));
+        final Job job2 = rheemContext.createJob(null, createCollectingPlan(RheemArrays.asList(1), value -> {}));
+        Assert.assertNotEquals(job1.getRunId(), job2.getRunId());
+    }
+
+    private static RheemPlan createCollectingPlan(List<Integer> values, Consumer<Integer> callback) {
+        JavaCollectionSource<Integer> source = new JavaCollectionSource<>(values, DataSetType.createDefault(Integer.class));
+        JavaLocalCallbackSink<Integer> sink = new JavaLocalCallbackSink<>(callback, DataSetType.createDefault(Integer.class));
+        source.connectTo(0, sink, 0);
+        return new RheemPlan(sink);
+    }
+
+    private static String createTempFile(String... lines) throws IOException {
+        File file = File.createTempFile("rheem-java", ".txt");
+        file.deleteOnExit();
+        Files.write(file.toPath(), Arrays.asList(lines));
+        return file.toURI().toString();
+    }
+
 }
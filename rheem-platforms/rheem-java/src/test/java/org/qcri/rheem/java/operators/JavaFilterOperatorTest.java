@@ -2,11 +2,15 @@ package org.qcri.rheem.java.operators;
 
 import org.junit.Assert;
 import org.junit.Test;
+import org.qcri.rheem.core.function.FlatMapDescriptor;
 import org.qcri.rheem.core.function.PredicateDescriptor;
+import org.qcri.rheem.core.function.TransformationDescriptor;
 import org.qcri.rheem.core.types.DataSetType;
 import org.qcri.rheem.java.channels.JavaChannelInstance;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -39,4 +43,42 @@ public class JavaFilterOperatorTest extends JavaExecutionOperatorTestBase {
 
     }
 
+    @Test
+    public void testFusedExecution() {
+        // Prepare test data.
+        Stream<Integer> inputStream = Arrays.asList(0, 1, 2, 3).stream();
+
+        // Build a pipeline of fusible operators.
+        JavaFlatMapOperator<Integer, Integer> flatMapOperator = new JavaFlatMapOperator<>(
+                DataSetType.createDefault(Integer.class),
+                DataSetType.createDefault(Integer.class),
+                new FlatMapDescriptor<>(i -> Arrays.asList(i, i), Integer.class, Integer.class)
+        );
+        JavaMapOperator<Integer, Integer> mapOperator = new JavaMapOperator<>(
+                DataSetType.createDefault(Integer.class),
+                DataSetType.createDefault(Integer.class),
+                new TransformationDescriptor<>(i -> i * 10, Integer.class, Integer.class)
+        );
+        JavaFilterOperator<Integer> filterOperator = new JavaFilterOperator<>(
+                DataSetType.createDefault(Integer.class),
+                new PredicateDescriptor<>(i -> i != 20, Integer.class)
+        );
+
+        JavaChannelInstance[] flatMapInputs = new JavaChannelInstance[]{createStreamChannelInstance(inputStream)};
+        JavaChannelInstance[] flatMapOutputs = new JavaChannelInstance[]{createStreamChannelInstance()};
+        evaluate(flatMapOperator, flatMapInputs, flatMapOutputs);
+        JavaChannelInstance[] mapOutputs = new JavaChannelInstance[]{createStreamChannelInstance()};
+        evaluate(mapOperator, flatMapOutputs, mapOutputs);
+        JavaChannelInstance[] filterOutputs = new JavaChannelInstance[]{createStreamChannelInstance()};
+        evaluate(filterOperator, mapOutputs, filterOutputs);
+
+        // Verify the outcome, thereby consuming the data quanta one by one.
+        final List<Integer> result = new ArrayList<>();
+        final Iterator<Integer> iterator = filterOutputs[0].<Integer>provideStream().iterator();
+        while (iterator.hasNext()) {
+            result.add(iterator.next());
+        }
+        Assert.assertEquals(Arrays.asList(0, 0, 10, 10, 30, 30), result);
+    }
+
 }
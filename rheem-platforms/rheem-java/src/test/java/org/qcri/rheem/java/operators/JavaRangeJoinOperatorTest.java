@@ -0,0 +1,71 @@
+package org.qcri.rheem.java.operators;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.qcri.rheem.basic.data.Tuple2;
+import org.qcri.rheem.basic.function.ProjectionDescriptor;
+import org.qcri.rheem.core.function.TransformationDescriptor;
+import org.qcri.rheem.core.types.DataSetType;
+import org.qcri.rheem.core.types.DataUnitType;
+import org.qcri.rheem.java.channels.JavaChannelInstance;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Test suite for {@link JavaRangeJoinOperator}.
+ */
+public class JavaRangeJoinOperatorTest extends JavaExecutionOperatorTestBase {
+
+    @Test
+    public void testExecution() {
+        // Prepare test data.
+        Stream<Integer> inputStream0 = Arrays.asList(7, 1, 5, 3, 5, 9).stream();
+        Stream<Tuple2<Integer, Integer>> inputStream1 = Arrays.asList(
+                new Tuple2<>(0, 2), new Tuple2<>(5, 5), new Tuple2<>(4, 8), new Tuple2<>(10, 20), new Tuple2<>(6, 4)
+        ).stream();
+
+        // Build the range join operator.
+        JavaRangeJoinOperator<Integer, Tuple2<Integer, Integer>, Integer> rangeJoin =
+                new JavaRangeJoinOperator<>(
+                        DataSetType.createDefault(Integer.class),
+                        DataSetType.createDefaultUnchecked(Tuple2.class),
+                        new TransformationDescriptor<>(i -> i, Integer.class, Integer.class),
+                        new ProjectionDescriptor<>(
+                                DataUnitType.createBasicUnchecked(Tuple2.class),
+                                DataUnitType.createBasic(Integer.class),
+                                "field0"),
+                        new ProjectionDescriptor<>(
+                                DataUnitType.createBasicUnchecked(Tuple2.class),
+                                DataUnitType.createBasic(Integer.class),
+                                "field1"));
+
+        // Execute.
+        JavaChannelInstance[] inputs = new JavaChannelInstance[]{
+                createStreamChannelInstance(inputStream0),
+                createStreamChannelInstance(inputStream1)
+        };
+        JavaChannelInstance[] outputs = new JavaChannelInstance[]{createStreamChannelInstance()};
+        evaluate(rangeJoin, inputs, outputs);
+
+        // Verify the outcome.
+        final List<Tuple2<Integer, Tuple2<Integer, Integer>>> result =
+                outputs[0].<Tuple2<Integer, Tuple2<Integer, Integer>>>provideStream()
+                        .sorted(Comparator.<Tuple2<Integer, Tuple2<Integer, Integer>>, Integer>comparing(t -> t.getField0())
+                                .thenComparing(t -> t.getField1().getField0()))
+                        .collect(Collectors.toList());
+        final List<Tuple2<Integer, Tuple2<Integer, Integer>>> expectedResult = Arrays.asList(
+                new Tuple2<>(1, new Tuple2<>(0, 2)),
+                new Tuple2<>(5, new Tuple2<>(4, 8)),
+                new Tuple2<>(5, new Tuple2<>(4, 8)),
+                new Tuple2<>(5, new Tuple2<>(5, 5)),
+                new Tuple2<>(5, new Tuple2<>(5, 5)),
+                new Tuple2<>(7, new Tuple2<>(4, 8))
+        );
+        Assert.assertEquals(expectedResult, result);
+    }
+
+}
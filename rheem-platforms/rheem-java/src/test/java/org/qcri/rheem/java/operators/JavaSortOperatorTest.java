@@ -2,12 +2,15 @@ package org.qcri.rheem.java.operators;
 
 import org.junit.Assert;
 import org.junit.Test;
+import org.qcri.rheem.core.function.TransformationDescriptor;
 import org.qcri.rheem.core.types.DataSetType;
 import org.qcri.rheem.java.channels.JavaChannelInstance;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 /**
@@ -21,14 +24,15 @@ public class JavaSortOperatorTest extends JavaExecutionOperatorTestBase {
         Stream<Integer> inputStream = Arrays.asList(6, 0, 1, 1, 5, 2).stream();
 
         // Build the sort operator.
-        JavaSortOperator<Integer> sortOperator =
+        JavaSortOperator<Integer, Integer> sortOperator =
                 new JavaSortOperator<>(
+                        new TransformationDescriptor<>(r -> r, Integer.class, Integer.class),
                         DataSetType.createDefaultUnchecked(Integer.class)
                 );
 
         // Execute.
         JavaChannelInstance[] inputs = new JavaChannelInstance[]{createStreamChannelInstance(inputStream)};
-        JavaChannelInstance[] outputs = new JavaChannelInstance[]{createStreamChannelInstance()};
+        JavaChannelInstance[] outputs = new JavaChannelInstance[]{createCollectionChannelInstance()};
         evaluate(sortOperator, inputs, outputs);
 
         // Verify the outcome.
@@ -38,4 +42,34 @@ public class JavaSortOperatorTest extends JavaExecutionOperatorTestBase {
 
     }
 
+    @Test
+    public void testExtractsEachKeyOnce() {
+        // Prepare test data.
+        Stream<Integer> inputStream = IntStream.range(0, 10000).map(i -> (i * 7919) % 10000).boxed();
+        final AtomicInteger numKeyExtractions = new AtomicInteger();
+
+        // Build the sort operator.
+        JavaSortOperator<Integer, Integer> sortOperator =
+                new JavaSortOperator<>(
+                        new TransformationDescriptor<>(r -> {
+                            numKeyExtractions.incrementAndGet();
+                            return -r;
+                        }, Integer.class, Integer.class),
+                        DataSetType.createDefaultUnchecked(Integer.class)
+                );
+
+        // Execute.
+        JavaChannelInstance[] inputs = new JavaChannelInstance[]{createStreamChannelInstance(inputStream)};
+        JavaChannelInstance[] outputs = new JavaChannelInstance[]{createCollectionChannelInstance()};
+        evaluate(sortOperator, inputs, outputs);
+
+        // Verify the outcome.
+        final List<Integer> result = outputs[0].<Integer>provideStream().collect(Collectors.toList());
+        Assert.assertEquals(
+                IntStream.range(0, 10000).map(i -> 9999 - i).boxed().collect(Collectors.toList()),
+                result
+        );
+        Assert.assertEquals(10000, numKeyExtractions.get());
+    }
+
 }
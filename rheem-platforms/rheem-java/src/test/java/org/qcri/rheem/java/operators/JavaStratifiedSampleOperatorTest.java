@@ -0,0 +1,50 @@
+package org.qcri.rheem.java.operators;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.qcri.rheem.core.function.TransformationDescriptor;
+import org.qcri.rheem.java.channels.JavaChannelInstance;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Test suite for {@link JavaStratifiedSampleOperator}.
+ */
+public class JavaStratifiedSampleOperatorTest extends JavaExecutionOperatorTestBase {
+
+    @Test
+    public void testExecution() {
+        // Prepare test data: 100 even numbers and 3 odd numbers.
+        List<Integer> inputValues = IntStream.range(0, 200).boxed()
+                .filter(i -> i % 2 == 0 || i < 6)
+                .collect(Collectors.toList());
+        final int sampleSize = 5;
+
+        // Build the sample operator.
+        JavaStratifiedSampleOperator<Integer> sampleOperator =
+                new JavaStratifiedSampleOperator<>(
+                        iterationNumber -> sampleSize,
+                        new TransformationDescriptor<>(i -> i % 2, Integer.class, Integer.class),
+                        iterationNumber -> 42L
+                );
+
+        JavaChannelInstance[] inputs = new JavaChannelInstance[]{createStreamChannelInstance(inputValues.stream())};
+        JavaChannelInstance[] outputs = new JavaChannelInstance[]{createCollectionChannelInstance()};
+
+        // Execute.
+        evaluate(sampleOperator, inputs, outputs);
+
+        // Verify the outcome.
+        final List<Integer> result = outputs[0].<Integer>provideStream().collect(Collectors.toList());
+        final Map<Integer, Long> stratumSizes = result.stream()
+                .collect(Collectors.groupingBy(i -> i % 2, Collectors.counting()));
+        Assert.assertEquals(Long.valueOf(sampleSize), stratumSizes.get(0));
+        Assert.assertEquals(Long.valueOf(3), stratumSizes.get(1));
+        Assert.assertTrue(inputValues.containsAll(result));
+        Assert.assertEquals(result.size(), result.stream().distinct().count());
+    }
+
+}
@@ -0,0 +1,113 @@
+package org.qcri.rheem.java.operators;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.qcri.rheem.core.platform.ChannelInstance;
+import org.qcri.rheem.core.util.fs.LocalFileSystem;
+import org.qcri.rheem.java.channels.JavaChannelInstance;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Test suite for {@link JavaTextFileSource}.
+ */
+public class JavaTextFileSourceTest extends JavaExecutionOperatorTestBase {
+
+    /**
+     * Contains empty lines, a {@code \r\n} line break, and a final line without line break.
+     */
+    private static final String CONTENT = "first line\nsecond\n\nthe third line is longer than the others\r\n" +
+            "x\n\nseventh\r\neighth line\nlast line without line break";
+
+    private File file;
+
+    private String fileUrl;
+
+    @Before
+    public void setUp() throws IOException {
+        this.file = new File(LocalFileSystem.findTempDir(), "JavaTextFileSourceTest.txt");
+        Files.write(this.file.toPath(), CONTENT.getBytes(StandardCharsets.UTF_8));
+        this.fileUrl = LocalFileSystem.toURL(this.file);
+    }
+
+    @After
+    public void tearDown() {
+        this.file.delete();
+    }
+
+    @Test
+    public void testReadingCompleteFile() {
+        Assert.assertEquals(this.getLinesStartingIn(0, Long.MAX_VALUE), this.read(new JavaTextFileSource(this.fileUrl)));
+    }
+
+    @Test
+    public void testBlockSamplingWithAllBlocks() {
+        // Try all block sizes, so that the block boundaries fall onto every position of the lines.
+        final List<String> expectedLines = this.getLinesStartingIn(0, Long.MAX_VALUE);
+        for (int blockSize = 1; blockSize <= CONTENT.length() + 1; blockSize++) {
+            final JavaTextFileSource source = new JavaTextFileSource(this.fileUrl);
+            source.setBlockSampling(1 - 1e-9, blockSize, 42L);
+            Assert.assertTrue(source.isBlockSampling());
+
+            Assert.assertEquals("Block size " + blockSize, expectedLines, this.read(source));
+        }
+    }
+
+    @Test
+    public void testBlockSamplingWithSomeBlocks() {
+        for (int blockSize = 1; blockSize <= 20; blockSize++) {
+            final JavaTextFileSource source = new JavaTextFileSource(this.fileUrl);
+            source.setBlockSampling(0.5, blockSize, 42L);
+
+            // Every line belongs to the block in which it starts.
+            final List<String> expectedLines = new ArrayList<>();
+            for (long block : source.pickSampledBlocks((CONTENT.length() + blockSize - 1) / blockSize)) {
+                expectedLines.addAll(this.getLinesStartingIn(block * blockSize, (block + 1) * blockSize));
+            }
+            Collections.sort(expectedLines);
+
+            Assert.assertEquals("Block size " + blockSize, expectedLines, this.read(source));
+        }
+    }
+
+    /**
+     * Determine the lines of the {@link #CONTENT} that start within a given byte range.
+     *
+     * @return the sorted lines
+     */
+    private List<String> getLinesStartingIn(long start, long end) {
+        final List<String> lines = new ArrayList<>();
+        int lineStart = 0;
+        for (String line : CONTENT.split("\n", -1)) {
+            if (lineStart >= start && lineStart < end && lineStart < CONTENT.length()) {
+                lines.add(line.endsWith("\r") ? line.substring(0, line.length() - 1) : line);
+            }
+            lineStart += line.length() + 1;
+        }
+        Collections.sort(lines);
+        return lines;
+    }
+
+    /**
+     * Evaluate the given {@link JavaTextFileSource}.
+     *
+     * @return the sorted output lines
+     */
+    private List<String> read(JavaTextFileSource source) {
+        JavaChannelInstance[] outputs = new JavaChannelInstance[]{createStreamChannelInstance()};
+        evaluate(source, new ChannelInstance[0], outputs);
+        final List<String> lines = outputs[0].<String>provideStream().collect(Collectors.toList());
+        Collections.sort(lines);
+        return lines;
+    }
+
+}
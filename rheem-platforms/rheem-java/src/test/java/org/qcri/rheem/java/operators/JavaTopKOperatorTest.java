@@ -0,0 +1,94 @@
+package org.qcri.rheem.java.operators;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.qcri.rheem.core.function.TransformationDescriptor;
+import org.qcri.rheem.core.types.DataSetType;
+import org.qcri.rheem.java.channels.JavaChannelInstance;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Test suite for {@link JavaTopKOperator}.
+ */
+public class JavaTopKOperatorTest extends JavaExecutionOperatorTestBase {
+
+    @Test
+    public void testExecution() {
+        // Prepare test data.
+        Stream<Integer> inputStream = Arrays.asList(6, 0, 1, 1, 5, 2).stream();
+
+        // Build the top-k operator.
+        JavaTopKOperator<Integer, Integer> topKOperator =
+                new JavaTopKOperator<>(
+                        3,
+                        new TransformationDescriptor<>(r -> r, Integer.class, Integer.class),
+                        DataSetType.createDefaultUnchecked(Integer.class)
+                );
+
+        // Execute.
+        JavaChannelInstance[] inputs = new JavaChannelInstance[]{createStreamChannelInstance(inputStream)};
+        JavaChannelInstance[] outputs = new JavaChannelInstance[]{createCollectionChannelInstance()};
+        evaluate(topKOperator, inputs, outputs);
+
+        // Verify the outcome.
+        final List<Integer> result = outputs[0].<Integer>provideStream().collect(Collectors.toList());
+        Assert.assertEquals(Arrays.asList(0, 1, 1), result);
+    }
+
+    @Test
+    public void testExecutionWithKeyAndSmallInput() {
+        // Prepare test data.
+        Stream<String> inputStream = Arrays.asList("ccc", "a", "bb").stream();
+
+        // Build the top-k operator.
+        JavaTopKOperator<String, Integer> topKOperator =
+                new JavaTopKOperator<>(
+                        5,
+                        new TransformationDescriptor<>(s -> -s.length(), String.class, Integer.class),
+                        DataSetType.createDefaultUnchecked(String.class)
+                );
+
+        // Execute.
+        JavaChannelInstance[] inputs = new JavaChannelInstance[]{createStreamChannelInstance(inputStream)};
+        JavaChannelInstance[] outputs = new JavaChannelInstance[]{createCollectionChannelInstance()};
+        evaluate(topKOperator, inputs, outputs);
+
+        // Verify the outcome.
+        final List<String> result = outputs[0].<String>provideStream().collect(Collectors.toList());
+        Assert.assertEquals(Arrays.asList("ccc", "bb", "a"), result);
+    }
+
+    @Test
+    public void testExecutionWithLargeK() {
+        // Prepare test data.
+        Stream<Integer> inputStream = Arrays.asList(6, 0, 1, 1, 5, 2).stream();
+        final AtomicInteger numKeyExtractions = new AtomicInteger();
+
+        // Build the top-k operator.
+        JavaTopKOperator<Integer, Integer> topKOperator =
+                new JavaTopKOperator<>(
+                        Integer.MAX_VALUE,
+                        new TransformationDescriptor<>(r -> {
+                            numKeyExtractions.incrementAndGet();
+                            return r;
+                        }, Integer.class, Integer.class),
+                        DataSetType.createDefaultUnchecked(Integer.class)
+                );
+
+        // Execute.
+        JavaChannelInstance[] inputs = new JavaChannelInstance[]{createStreamChannelInstance(inputStream)};
+        JavaChannelInstance[] outputs = new JavaChannelInstance[]{createCollectionChannelInstance()};
+        evaluate(topKOperator, inputs, outputs);
+
+        // Verify the outcome.
+        final List<Integer> result = outputs[0].<Integer>provideStream().collect(Collectors.toList());
+        Assert.assertEquals(Arrays.asList(0, 1, 1, 2, 5, 6), result);
+        Assert.assertEquals(6, numKeyExtractions.get());
+    }
+
+}
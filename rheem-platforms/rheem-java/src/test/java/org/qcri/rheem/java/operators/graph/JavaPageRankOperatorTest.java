@@ -0,0 +1,67 @@
+package org.qcri.rheem.java.operators.graph;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.qcri.rheem.basic.data.Tuple2;
+import org.qcri.rheem.java.channels.JavaChannelInstance;
+import org.qcri.rheem.java.operators.JavaExecutionOperatorTestBase;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Test suite for {@link JavaPageRankOperator}.
+ */
+public class JavaPageRankOperatorTest extends JavaExecutionOperatorTestBase {
+
+    @Test
+    public void testExecution() {
+        // Prepare test data.
+        List<Tuple2<Long, Long>> edges = Arrays.asList(
+                new Tuple2<>(1L, 2L),
+                new Tuple2<>(2L, 3L),
+                new Tuple2<>(3L, 1L),
+                new Tuple2<>(1L, 3L),
+                new Tuple2<>(4L, 3L)
+        );
+
+        // Build the PageRank operator.
+        JavaPageRankOperator pageRankOperator = new JavaPageRankOperator(20);
+
+        // Execute.
+        JavaChannelInstance[] inputs = new JavaChannelInstance[]{createCollectionChannelInstance(edges)};
+        JavaChannelInstance[] outputs = new JavaChannelInstance[]{createStreamChannelInstance()};
+        evaluate(pageRankOperator, inputs, outputs);
+
+        // Verify the outcome.
+        final Map<Long, Float> result = outputs[0].<Tuple2<Long, Float>>provideStream()
+                .collect(Collectors.toMap(Tuple2::getField0, Tuple2::getField1));
+        final Map<Long, Double> expectedResult = this.computeReferencePageRanks(edges, 20, pageRankOperator.getDampingFactor());
+        Assert.assertEquals(expectedResult.keySet(), result.keySet());
+        for (Map.Entry<Long, Double> entry : expectedResult.entrySet()) {
+            Assert.assertEquals(entry.getValue(), result.get(entry.getKey()), 0.0001d);
+        }
+    }
+
+    private Map<Long, Double> computeReferencePageRanks(List<Tuple2<Long, Long>> edges, int numIterations, float dampingFactor) {
+        Map<Long, Integer> outDegrees = new HashMap<>();
+        Set<Long> vertices = new HashSet<>();
+        for (Tuple2<Long, Long> edge : edges) {
+            outDegrees.merge(edge.field0, 1, Integer::sum);
+            vertices.add(edge.field0);
+            vertices.add(edge.field1);
+        }
+        Map<Long, Double> ranks = new HashMap<>();
+        vertices.forEach(vertex -> ranks.put(vertex, 1d / vertices.size()));
+        for (int iteration = 0; iteration < numIterations; iteration++) {
+            Map<Long, Double> newRanks = new HashMap<>();
+            vertices.forEach(vertex -> newRanks.put(vertex, (1d - dampingFactor) / vertices.size()));
+            for (Tuple2<Long, Long> edge : edges) {
+                newRanks.merge(edge.field1, dampingFactor * ranks.get(edge.field0) / outDegrees.get(edge.field0), Double::sum);
+            }
+            ranks.putAll(newRanks);
+        }
+        return ranks;
+    }
+
+}
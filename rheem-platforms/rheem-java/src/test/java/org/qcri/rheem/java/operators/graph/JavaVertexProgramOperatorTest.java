@@ -0,0 +1,114 @@
+package org.qcri.rheem.java.operators.graph;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.qcri.rheem.basic.data.Tuple2;
+import org.qcri.rheem.basic.function.ConnectedComponentsProgram;
+import org.qcri.rheem.basic.function.LabelPropagationProgram;
+import org.qcri.rheem.basic.function.SingleSourceShortestPathsProgram;
+import org.qcri.rheem.basic.function.VertexProgram;
+import org.qcri.rheem.java.channels.JavaChannelInstance;
+import org.qcri.rheem.java.operators.JavaExecutionOperatorTestBase;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Test suite for {@link JavaVertexProgramOperator}.
+ */
+public class JavaVertexProgramOperatorTest extends JavaExecutionOperatorTestBase {
+
+    private static final List<Tuple2<Long, Long>> EDGES = Arrays.asList(
+            new Tuple2<>(1L, 2L),
+            new Tuple2<>(2L, 3L),
+            new Tuple2<>(3L, 7L),
+            new Tuple2<>(9L, 1L),
+            new Tuple2<>(5L, 4L),
+            new Tuple2<>(6L, 5L)
+    );
+
+    @Test
+    public void testConnectedComponents() {
+        final Map<Long, Long> result = this.run(new ConnectedComponentsProgram(), EDGES, 100);
+
+        Map<Long, Long> expectedResult = new HashMap<>();
+        for (long vertex : Arrays.asList(1L, 2L, 3L, 7L, 9L)) expectedResult.put(vertex, 1L);
+        for (long vertex : Arrays.asList(4L, 5L, 6L)) expectedResult.put(vertex, 4L);
+        Assert.assertEquals(expectedResult, result);
+    }
+
+    @Test
+    public void testSingleSourceShortestPaths() {
+        final Map<Long, Long> result = this.run(new SingleSourceShortestPathsProgram(1L), EDGES, 100);
+
+        Assert.assertEquals(Long.valueOf(0L), result.get(1L));
+        Assert.assertEquals(Long.valueOf(1L), result.get(2L));
+        Assert.assertEquals(Long.valueOf(2L), result.get(3L));
+        Assert.assertEquals(Long.valueOf(3L), result.get(7L));
+        for (long vertex : Arrays.asList(4L, 5L, 6L, 9L)) {
+            Assert.assertEquals(Long.valueOf(SingleSourceShortestPathsProgram.UNREACHABLE), result.get(vertex));
+        }
+    }
+
+    @Test
+    public void testSuperstepLimit() {
+        final Map<Long, Long> result = this.run(new SingleSourceShortestPathsProgram(1L), EDGES, 2);
+
+        Assert.assertEquals(Long.valueOf(2L), result.get(3L));
+        Assert.assertEquals(Long.valueOf(SingleSourceShortestPathsProgram.UNREACHABLE), result.get(7L));
+    }
+
+    @Test
+    public void testLabelPropagation() {
+        // Two 4-cliques that are connected by a single edge.
+        List<Tuple2<Long, Long>> edges = new ArrayList<>();
+        for (long offset : Arrays.asList(0L, 10L)) {
+            for (long i = 1; i <= 4; i++) {
+                for (long j = i + 1; j <= 4; j++) {
+                    edges.add(new Tuple2<>(offset + i, offset + j));
+                }
+            }
+        }
+        edges.add(new Tuple2<>(4L, 11L));
+
+        final Map<Long, Long> result = this.run(new LabelPropagationProgram(), edges, 10);
+
+        for (long vertex = 1; vertex <= 4; vertex++) {
+            Assert.assertEquals(Long.valueOf(1L), result.get(vertex));
+            Assert.assertEquals(Long.valueOf(11L), result.get(vertex + 10));
+        }
+    }
+
+    @Test
+    public void testLabelPropagationCountsUnchangedNeighbors() {
+        // A 4-clique with a path 4-5-6-7 attached. The clique settles on label 1 in the first superstep, while label 1
+        // still travels along the path afterwards. The clique vertices must keep counting their unchanged neighbors.
+        List<Tuple2<Long, Long>> edges = new ArrayList<>();
+        for (long i = 1; i <= 4; i++) {
+            for (long j = i + 1; j <= 4; j++) {
+                edges.add(new Tuple2<>(i, j));
+            }
+        }
+        edges.add(new Tuple2<>(4L, 5L));
+        edges.add(new Tuple2<>(5L, 6L));
+        edges.add(new Tuple2<>(6L, 7L));
+
+        final Map<Long, Long> result = this.run(new LabelPropagationProgram(), edges, 10);
+
+        for (long vertex = 1; vertex <= 7; vertex++) {
+            Assert.assertEquals("Label of vertex " + vertex, Long.valueOf(1L), result.get(vertex));
+        }
+    }
+
+    private <V, M> Map<Long, V> run(VertexProgram<V, M> vertexProgram, List<Tuple2<Long, Long>> edges, int numIterations) {
+        JavaVertexProgramOperator<V, M> operator = new JavaVertexProgramOperator<>(vertexProgram, numIterations);
+
+        JavaChannelInstance[] inputs = new JavaChannelInstance[]{createCollectionChannelInstance(edges)};
+        JavaChannelInstance[] outputs = new JavaChannelInstance[]{createStreamChannelInstance()};
+        evaluate(operator, inputs, outputs);
+
+        return outputs[0].<Tuple2<Long, V>>provideStream()
+                .collect(Collectors.toMap(Tuple2::getField0, Tuple2::getField1));
+    }
+
+}
@@ -13,6 +13,8 @@ import org.qcri.rheem.jdbc.execution.DatabaseDescriptor;
 import org.qcri.rheem.jdbc.execution.JdbcExecutor;
 
 import java.sql.Connection;
+import java.util.Arrays;
+import java.util.Collection;
 
 /**
  * {@link Platform} implementation for a JDBC-accessible database.
@@ -70,6 +72,15 @@ public abstract class JdbcPlatformTemplate extends Platform {
         );
     }
 
+    @Override
+    public Collection<String> getCostModelPropertyKeys() {
+        return Arrays.asList(
+                this.cpuMhzProperty, this.coresProperty,
+                String.format("rheem.%s.costs.fix", this.getPlatformId()),
+                String.format("rheem.%s.costs.per-ms", this.getPlatformId())
+        );
+    }
+
     @Override
     public TimeToCostConverter createTimeToCostConverter(Configuration configuration) {
         return new TimeToCostConverter(
@@ -2,6 +2,7 @@ package org.qcri.rheem.spark.channels;
 
 import org.apache.spark.Accumulator;
 import org.apache.spark.api.java.JavaRDD;
+import org.apache.spark.api.java.JavaRDDLike;
 import org.qcri.rheem.core.api.exception.RheemException;
 import org.qcri.rheem.core.optimizer.OptimizationContext;
 import org.qcri.rheem.core.plan.executionplan.Channel;
@@ -13,6 +14,8 @@ import org.qcri.rheem.core.platform.Executor;
 import org.qcri.rheem.core.util.Actions;
 import org.qcri.rheem.spark.execution.SparkExecutor;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.OptionalLong;
 
 /**
@@ -59,6 +62,11 @@ public class RddChannel extends Channel {
 
         private Accumulator<Integer> accumulator;
 
+        /**
+         * Persisted RDDs that the {@link #rdd} is derived from and that should be unpersisted along with this instance.
+         */
+        private final List<JavaRDDLike<?, ?>> cachedDependencies = new ArrayList<>(0);
+
         public Instance(SparkExecutor executor,
                         OptimizationContext.OperatorContext producerOperatorContext,
                         int producerOutputIndex) {
@@ -79,6 +87,16 @@ public class RddChannel extends Channel {
         }
 
 
+        /**
+         * Let this instance take care of a persisted RDD that the accepted {@link JavaRDD} is derived from, i.e.,
+         * unpersist it once this instance is disposed.
+         *
+         * @param rdd the persisted RDD
+         */
+        public void addCachedDependency(JavaRDDLike<?, ?> rdd) {
+            this.cachedDependencies.add(rdd);
+        }
+
         @SuppressWarnings("unchecked")
         public <T> JavaRDD<T> provideRdd() {
             return (JavaRDD<T>) this.rdd;
@@ -94,6 +112,10 @@ public class RddChannel extends Channel {
                 Actions.doSafe(this.rdd::unpersist);
                 this.rdd = null;
             }
+            for (JavaRDDLike<?, ?> cachedDependency : this.cachedDependencies) {
+                Actions.doSafe(() -> cachedDependency.rdd().unpersist(false));
+            }
+            this.cachedDependencies.clear();
         }
 
         @Override
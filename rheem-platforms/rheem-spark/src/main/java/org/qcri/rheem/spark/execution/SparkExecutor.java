@@ -59,12 +59,18 @@ public class SparkExecutor extends PushExecutorTemplate {
      */
     private int numActions = 0;
 
+    /**
+     * Spark job group of the Spark jobs issued by this instance.
+     */
+    private final String jobGroupId;
+
     public SparkExecutor(SparkPlatform platform, Job job) {
         super(job);
         this.platform = platform;
         this.sparkContextReference = this.platform.getSparkContext(job);
         this.sparkContextReference.noteObtainedReference();
         this.sc = this.sparkContextReference.get();
+        this.jobGroupId = String.format("%s@%s", job.getName(), job.getRunId());
         if (this.sc.getConf().contains("spark.executor.cores")) {
             this.numDefaultPartitions = 2 * this.sc.getConf().getInt("spark.executor.cores", -1);
         } else {
@@ -91,6 +97,9 @@ public class SparkExecutor extends PushExecutorTemplate {
         this.job.reportProgress(task.getOperator().getName(), 50);
 
         long startTime = System.currentTimeMillis();
+        // Tag the Spark jobs with the Job, so that they can be cancelled along with it. Note that this setting is
+        // local to the current thread.
+        this.sc.setJobGroup(this.jobGroupId, this.job.getName(), true);
         try {
             final Tuple<Collection<ExecutionLineageNode>, Collection<ChannelInstance>> results =
                     cast(task.getOperator()).evaluate(
@@ -103,6 +112,10 @@ public class SparkExecutor extends PushExecutorTemplate {
             executionLineageNodes = results.getField0();
             producedChannelInstances = results.getField1();
         } catch (Exception e) {
+            if (isCancellation(e)) {
+                this.logger.info("Cancelling the Spark jobs of {}.", this.job);
+                this.sc.cancelJobGroup(this.jobGroupId);
+            }
             throw new RheemException(String.format("Executing %s failed.", task), e);
         }
         long endTime = System.currentTimeMillis();
@@ -132,6 +145,18 @@ public class SparkExecutor extends PushExecutorTemplate {
         return new Tuple<>(Arrays.asList(outputChannelInstances), partialExecution);
     }
 
+    /**
+     * Tells whether the given {@link Throwable} stems from the cancellation of the {@link #job}, i.e., whether the
+     * current thread has been interrupted.
+     */
+    private static boolean isCancellation(Throwable t) {
+        if (Thread.currentThread().isInterrupted()) return true;
+        for (Throwable cause = t; cause != null; cause = cause.getCause()) {
+            if (cause instanceof InterruptedException) return true;
+        }
+        return false;
+    }
+
     private static SparkExecutionOperator cast(ExecutionOperator executionOperator) {
         return (SparkExecutionOperator) executionOperator;
     }
@@ -177,6 +202,8 @@ public class SparkExecutor extends PushExecutorTemplate {
     @Override
     public void dispose() {
         super.dispose();
+        // Make sure that no Spark jobs outlive the Job, e.g., when it has been cancelled.
+        this.sc.cancelJobGroup(this.jobGroupId);
         this.sparkContextReference.noteDiscardedReference(true);
     }
 
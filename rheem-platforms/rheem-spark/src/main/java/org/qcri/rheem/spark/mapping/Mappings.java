@@ -2,6 +2,7 @@ package org.qcri.rheem.spark.mapping;
 
 import org.qcri.rheem.core.mapping.Mapping;
 import org.qcri.rheem.spark.mapping.graph.PageRankMapping;
+import org.qcri.rheem.spark.mapping.graph.VertexProgramMapping;
 
 import java.util.Arrays;
 import java.util.Collection;
@@ -26,11 +27,13 @@ public class Mappings {
             new CountMapping(),
             new DistinctMapping(),
             new SortMapping(),
+            new TopKMapping(),
             new FilterMapping(),
             new UnionAllMapping(),
             new IntersectMapping(),
             new CartesianMapping(),
             new JoinMapping(),
+            new RangeJoinMapping(),
             new LoopMapping(),
             new DoWhileMapping(),
             new RepeatMapping(),
@@ -39,7 +42,8 @@ public class Mappings {
     );
 
     public static Collection<Mapping> GRAPH_MAPPINGS = Arrays.asList(
-            new PageRankMapping()
+            new PageRankMapping(),
+            new VertexProgramMapping()
     );
 
 }
@@ -7,6 +7,7 @@ import org.qcri.rheem.core.types.DataSetType;
 import org.qcri.rheem.spark.operators.SparkBernoulliSampleOperator;
 import org.qcri.rheem.spark.operators.SparkRandomPartitionSampleOperator;
 import org.qcri.rheem.spark.operators.SparkShufflePartitionSampleOperator;
+import org.qcri.rheem.spark.operators.SparkStratifiedSampleOperator;
 import org.qcri.rheem.spark.platform.SparkPlatform;
 
 import java.util.Collection;
@@ -34,6 +35,7 @@ public class SampleMapping implements Mapping {
                 op.getSampleMethod() == SampleOperator.Methods.RANDOM
                         || op.getSampleMethod() == SampleOperator.Methods.SHUFFLE_PARTITION_FIRST
                         || op.getSampleMethod() == SampleOperator.Methods.BERNOULLI
+                        || op.getSampleMethod() == SampleOperator.Methods.STRATIFIED
                         || op.getSampleMethod() == SampleOperator.Methods.ANY
         ); //TODO: check if the zero here affects execution
         return SubplanPattern.createSingleton(operatorPattern);
@@ -50,6 +52,8 @@ public class SampleMapping implements Mapping {
                             return new SparkShufflePartitionSampleOperator<>(matchedOperator);
                         case BERNOULLI:
                             return new SparkBernoulliSampleOperator<>(matchedOperator);
+                        case STRATIFIED:
+                            return new SparkStratifiedSampleOperator<>(matchedOperator);
                         default:
                             throw new RheemException(String.format(
                                     "%s sample method is not yet supported in Java platform.",
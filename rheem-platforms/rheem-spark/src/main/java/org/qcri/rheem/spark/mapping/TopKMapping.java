@@ -0,0 +1,38 @@
+package org.qcri.rheem.spark.mapping;
+
+import org.qcri.rheem.basic.operators.TopKOperator;
+import org.qcri.rheem.core.mapping.*;
+import org.qcri.rheem.core.types.DataSetType;
+import org.qcri.rheem.spark.operators.SparkTopKOperator;
+import org.qcri.rheem.spark.platform.SparkPlatform;
+
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * Mapping from {@link TopKOperator} to {@link SparkTopKOperator}.
+ */
+public class TopKMapping implements Mapping {
+
+    @Override
+    public Collection<PlanTransformation> getTransformations() {
+        return Collections.singleton(new PlanTransformation(
+                this.createSubplanPattern(),
+                this.createReplacementSubplanFactory(),
+                SparkPlatform.getInstance()
+        ));
+    }
+
+    private SubplanPattern createSubplanPattern() {
+        final OperatorPattern operatorPattern = new OperatorPattern(
+                "topk", new TopKOperator<>(0, null, DataSetType.none()), false
+        );
+        return SubplanPattern.createSingleton(operatorPattern);
+    }
+
+    private ReplacementSubplanFactory createReplacementSubplanFactory() {
+        return new ReplacementSubplanFactory.OfSingleOperators<TopKOperator<?, ?>>(
+                (matchedOperator, epoch) -> new SparkTopKOperator<>(matchedOperator).at(epoch)
+        );
+    }
+}
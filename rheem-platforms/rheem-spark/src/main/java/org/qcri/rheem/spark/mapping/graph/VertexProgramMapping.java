@@ -0,0 +1,38 @@
+package org.qcri.rheem.spark.mapping.graph;
+
+import org.qcri.rheem.basic.operators.VertexProgramOperator;
+import org.qcri.rheem.core.mapping.*;
+import org.qcri.rheem.spark.operators.graph.SparkVertexProgramOperator;
+import org.qcri.rheem.spark.platform.SparkPlatform;
+
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * Mapping from {@link VertexProgramOperator} to {@link SparkVertexProgramOperator}.
+ */
+@SuppressWarnings("unchecked")
+public class VertexProgramMapping implements Mapping {
+
+    @Override
+    public Collection<PlanTransformation> getTransformations() {
+        return Collections.singleton(new PlanTransformation(
+                this.createSubplanPattern(),
+                this.createReplacementSubplanFactory(),
+                SparkPlatform.getInstance()
+        ));
+    }
+
+    private SubplanPattern createSubplanPattern() {
+        final OperatorPattern operatorPattern = new OperatorPattern<>(
+                "vertexProgram", new VertexProgramOperator<>(null, 1), false
+        );
+        return SubplanPattern.createSingleton(operatorPattern);
+    }
+
+    private ReplacementSubplanFactory createReplacementSubplanFactory() {
+        return new ReplacementSubplanFactory.OfSingleOperators<VertexProgramOperator<Object, Object>>(
+                (matchedOperator, epoch) -> new SparkVertexProgramOperator<>(matchedOperator).at(epoch)
+        );
+    }
+}
@@ -0,0 +1,184 @@
+package org.qcri.rheem.spark.operators;
+
+import org.apache.spark.TaskContext;
+import org.apache.spark.api.java.JavaRDD;
+import org.apache.spark.storage.StorageLevel;
+import org.qcri.rheem.core.platform.ExecutionResourceTemplate;
+import scala.collection.JavaConversions;
+import scala.runtime.AbstractFunction1;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Draws random samples (with replacement) from the partitions of a {@link JavaRDD}. The {@link JavaRDD} is cached
+ * and its partition sizes are counted once, so that an instance can serve many sample requests, e.g., one per
+ * iteration of a loop. Each sample request is served by a single Spark job over the sampled partitions.
+ * <p>If this instance has cached the {@link JavaRDD}, it unpersists it on {@link #releaseRdd()} or when it is
+ * disposed.</p>
+ */
+public class SparkPartitionSampler<Type> extends ExecutionResourceTemplate {
+
+    /**
+     * The {@link JavaRDD} to sample from.
+     */
+    private final JavaRDD<Type> rdd;
+
+    /**
+     * The global index of the first data quantum of each partition of the {@link #rdd} plus, finally, the total
+     * number of data quanta.
+     */
+    private final long[] partitionOffsets;
+
+    /**
+     * Whether this instance has cached the {@link #rdd} and not unpersisted it, yet.
+     */
+    private boolean isCachingRdd;
+
+    /**
+     * Creates a new instance, thereby caching the given {@link JavaRDD} (unless it is persisted already) and
+     * counting its partition sizes.
+     *
+     * @param rdd the {@link JavaRDD} to sample from
+     */
+    public SparkPartitionSampler(JavaRDD<Type> rdd) {
+        super(null);
+        if (rdd.getStorageLevel().equals(StorageLevel.NONE())) {
+            rdd.cache();
+            this.isCachingRdd = true;
+        }
+        this.rdd = rdd;
+        final List<Long> partitionSizes = rdd.mapPartitions(iterator -> {
+            long count = 0L;
+            while (iterator.hasNext()) {
+                iterator.next();
+                count++;
+            }
+            return Collections.singleton(count);
+        }).collect();
+        this.partitionOffsets = new long[partitionSizes.size() + 1];
+        for (int partition = 0; partition < partitionSizes.size(); partition++) {
+            this.partitionOffsets[partition + 1] = this.partitionOffsets[partition] + partitionSizes.get(partition);
+        }
+    }
+
+    /**
+     * Tells whether this instance samples the given {@link JavaRDD}.
+     *
+     * @param rdd the {@link JavaRDD} to test
+     * @return whether this instance can serve sample requests for the {@code rdd}
+     */
+    public boolean isSamplerOf(JavaRDD<?> rdd) {
+        return this.rdd.rdd() == rdd.rdd();
+    }
+
+    /**
+     * Unpersists the sampled {@link JavaRDD} if it has been cached by this instance. Afterwards, this instance
+     * can still serve sample requests, but these might recompute the {@link JavaRDD}.
+     */
+    public synchronized void releaseRdd() {
+        if (this.isCachingRdd) {
+            this.rdd.unpersist(false);
+            this.isCachingRdd = false;
+        }
+    }
+
+    @Override
+    protected void doDispose() {
+        this.releaseRdd();
+    }
+
+    /**
+     * @return the number of data quanta in the sampled {@link JavaRDD}
+     */
+    public long getDatasetSize() {
+        return this.partitionOffsets[this.partitionOffsets.length - 1];
+    }
+
+    /**
+     * Draws a random sample with replacement.
+     *
+     * @param sampleSize the number of data quanta to draw; must not exceed {@link #getDatasetSize()}
+     * @param random     provides the randomness
+     * @return the sampled data quanta grouped by their partitions
+     */
+    @SuppressWarnings("unchecked")
+    public List<Type> sample(int sampleSize, Random random) {
+        final long datasetSize = this.getDatasetSize();
+        assert sampleSize <= datasetSize;
+
+        // Draw global indices and assign them to their partitions.
+        final Map<Integer, List<Integer>> localIndices = new HashMap<>();
+        for (int i = 0; i < sampleSize; i++) {
+            final long globalIndex = (long) (random.nextDouble() * datasetSize);
+            int partition = Arrays.binarySearch(this.partitionOffsets, globalIndex);
+            // Skip empty partitions that share their offset with the partition containing the index.
+            if (partition >= 0) {
+                while (this.partitionOffsets[partition + 1] == globalIndex) partition++;
+            } else {
+                partition = -partition - 2;
+            }
+            localIndices.computeIfAbsent(partition, key -> new ArrayList<>())
+                    .add((int) (globalIndex - this.partitionOffsets[partition]));
+        }
+        final HashMap<Integer, int[]> sortedLocalIndices = new HashMap<>(localIndices.size());
+        for (Map.Entry<Integer, List<Integer>> entry : localIndices.entrySet()) {
+            final int[] indices = entry.getValue().stream().mapToInt(Integer::intValue).toArray();
+            Arrays.sort(indices);
+            sortedLocalIndices.put(entry.getKey(), indices);
+        }
+
+        // Fetch the data quanta in a single job.
+        final List<Integer> partitions = new ArrayList<>(sortedLocalIndices.keySet());
+        final Object samples = this.rdd.context().runJob(
+                this.rdd.rdd(),
+                new PartitionSampleListFunction<>(sortedLocalIndices),
+                (scala.collection.Seq) JavaConversions.asScalaBuffer(partitions),
+                true, scala.reflect.ClassTag$.MODULE$.apply(List.class)
+        );
+        final List<Type> result = new ArrayList<>(sampleSize);
+        for (List<Type> partitionSamples : (List<Type>[]) samples) {
+            result.addAll(partitionSamples);
+        }
+        return result;
+    }
+
+    /**
+     * Picks the data quanta at given local indices from a partition.
+     */
+    private static class PartitionSampleListFunction<V>
+            extends AbstractFunction1<scala.collection.Iterator<V>, List<V>>
+            implements Serializable {
+
+        /**
+         * Sorted local indices (possibly with duplicates) for each partition to sample.
+         */
+        private final HashMap<Integer, int[]> localIndices;
+
+        PartitionSampleListFunction(HashMap<Integer, int[]> localIndices) {
+            this.localIndices = localIndices;
+        }
+
+        @Override
+        public List<V> apply(scala.collection.Iterator<V> iterator) {
+            final int[] indices = this.localIndices.get(TaskContext.get().partitionId());
+            final List<V> samples = new ArrayList<>(indices.length);
+            int nextIndex = 0;
+            for (int index = 0; iterator.hasNext() && nextIndex < indices.length; index++) {
+                final V element = iterator.next();
+                while (nextIndex < indices.length && indices[nextIndex] == index) {
+                    samples.add(element);
+                    nextIndex++;
+                }
+            }
+            return samples;
+        }
+    }
+
+}
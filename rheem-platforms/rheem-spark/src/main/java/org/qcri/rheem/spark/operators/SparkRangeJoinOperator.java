@@ -0,0 +1,290 @@
+package org.qcri.rheem.spark.operators;
+
+import org.apache.spark.HashPartitioner;
+import org.apache.spark.api.java.JavaPairRDD;
+import org.apache.spark.api.java.JavaRDD;
+import org.apache.spark.api.java.function.FlatMapFunction2;
+import org.apache.spark.api.java.function.Function;
+import org.apache.spark.api.java.function.Function2;
+import org.apache.spark.api.java.function.PairFlatMapFunction;
+import org.apache.spark.storage.StorageLevel;
+import org.qcri.rheem.basic.data.Tuple2;
+import org.qcri.rheem.basic.operators.RangeJoinOperator;
+import org.qcri.rheem.core.api.Configuration;
+import org.qcri.rheem.core.function.TransformationDescriptor;
+import org.qcri.rheem.core.optimizer.OptimizationContext;
+import org.qcri.rheem.core.optimizer.costs.LoadProfileEstimator;
+import org.qcri.rheem.core.optimizer.costs.LoadProfileEstimators;
+import org.qcri.rheem.core.plan.rheemplan.ExecutionOperator;
+import org.qcri.rheem.core.platform.ChannelDescriptor;
+import org.qcri.rheem.core.platform.ChannelInstance;
+import org.qcri.rheem.core.platform.lineage.ExecutionLineageNode;
+import org.qcri.rheem.core.types.DataSetType;
+import org.qcri.rheem.core.util.Tuple;
+import org.qcri.rheem.spark.channels.RddChannel;
+import org.qcri.rheem.spark.compiler.FunctionCompiler;
+import org.qcri.rheem.spark.execution.SparkExecutor;
+
+import java.util.*;
+
+/**
+ * Spark implementation of the {@link RangeJoinOperator} as a range-partitioned sort-merge join: The first input is
+ * sorted by its values, which partitions it into disjoint value ranges. Then, every data quantum of the second input
+ * is sent only to those partitions whose value ranges overlap with its own range, where it is merged with the
+ * sorted values via binary search.
+ */
+public class SparkRangeJoinOperator<InputType0, InputType1, Value>
+        extends RangeJoinOperator<InputType0, InputType1, Value>
+        implements SparkExecutionOperator {
+
+    /**
+     * Creates a new instance.
+     */
+    public SparkRangeJoinOperator(DataSetType<InputType0> inputType0,
+                                  DataSetType<InputType1> inputType1,
+                                  TransformationDescriptor<InputType0, Value> valueDescriptor,
+                                  TransformationDescriptor<InputType1, Value> lowerBoundDescriptor,
+                                  TransformationDescriptor<InputType1, Value> upperBoundDescriptor) {
+        super(valueDescriptor, lowerBoundDescriptor, upperBoundDescriptor, inputType0, inputType1);
+    }
+
+    /**
+     * Copies an instance (exclusive of broadcasts).
+     *
+     * @param that that should be copied
+     */
+    public SparkRangeJoinOperator(RangeJoinOperator<InputType0, InputType1, Value> that) {
+        super(that);
+    }
+
+    @Override
+    public Tuple<Collection<ExecutionLineageNode>, Collection<ChannelInstance>> evaluate(
+            ChannelInstance[] inputs,
+            ChannelInstance[] outputs,
+            SparkExecutor sparkExecutor,
+            OptimizationContext.OperatorContext operatorContext) {
+        assert inputs.length == this.getNumInputs();
+        assert outputs.length == this.getNumOutputs();
+
+        final RddChannel.Instance input0 = (RddChannel.Instance) inputs[0];
+        final RddChannel.Instance input1 = (RddChannel.Instance) inputs[1];
+        final RddChannel.Instance output = (RddChannel.Instance) outputs[0];
+
+        final JavaRDD<InputType0> inputRdd0 = input0.provideRdd();
+        final JavaRDD<InputType1> inputRdd1 = input1.provideRdd();
+
+        FunctionCompiler compiler = sparkExecutor.getCompiler();
+        final Function<InputType0, Value> valueExtractor =
+                compiler.compile(this.valueDescriptor, this, operatorContext, inputs);
+        final Function<InputType1, Value> lowerBoundExtractor =
+                compiler.compile(this.lowerBoundDescriptor, this, operatorContext, inputs);
+        final Function<InputType1, Value> upperBoundExtractor =
+                compiler.compile(this.upperBoundDescriptor, this, operatorContext, inputs);
+        final ValueComparator<Value> comparator = new ValueComparator<>();
+
+        // Range-partition and sort the first input by its values.
+        // It is persisted, because it is used both to collect the partition ranges and to join.
+        final JavaPairRDD<Value, InputType0> sortedRdd0 = inputRdd0
+                .mapToPair(dataQuantum0 -> new scala.Tuple2<>(valueExtractor.call(dataQuantum0), dataQuantum0))
+                .sortByKey(comparator, true, sparkExecutor.getNumDefaultPartitions())
+                .persist(StorageLevel.MEMORY_AND_DISK());
+        this.name(sortedRdd0);
+        final int numPartitions = sortedRdd0.partitions().size();
+
+        // Collect the value range of each non-empty partition.
+        final List<scala.Tuple2<Integer, scala.Tuple2<Value, Value>>> partitionRanges =
+                sortedRdd0.mapPartitionsWithIndex(new PartitionRangeCollector<>(), true).collect();
+
+        // Send each data quantum of the second input to the partitions that its range overlaps.
+        final JavaPairRDD<Integer, InputType1> assignedRdd1 = inputRdd1
+                .flatMapToPair(new PartitionAssigner<>(partitionRanges, lowerBoundExtractor, upperBoundExtractor, comparator))
+                .partitionBy(new HashPartitioner(numPartitions));
+        this.name(assignedRdd1);
+
+        // Merge the co-located partitions.
+        final JavaRDD<Tuple2<InputType0, InputType1>> outputRdd = sortedRdd0.zipPartitions(
+                assignedRdd1, new PartitionJoiner<>(lowerBoundExtractor, upperBoundExtractor, comparator)
+        );
+        this.name(outputRdd);
+
+        output.accept(outputRdd, sparkExecutor);
+        output.addCachedDependency(sortedRdd0);
+
+        return ExecutionOperator.modelLazyExecution(inputs, outputs, operatorContext);
+    }
+
+    /**
+     * Determines the first and last value of a sorted partition.
+     */
+    private static class PartitionRangeCollector<Value, InputType0> implements
+            Function2<Integer, Iterator<scala.Tuple2<Value, InputType0>>, Iterator<scala.Tuple2<Integer, scala.Tuple2<Value, Value>>>> {
+
+        @Override
+        public Iterator<scala.Tuple2<Integer, scala.Tuple2<Value, Value>>> call(
+                Integer partitionIndex, Iterator<scala.Tuple2<Value, InputType0>> iterator) throws Exception {
+            if (!iterator.hasNext()) {
+                return Collections.emptyIterator();
+            }
+            final Value min = iterator.next()._1();
+            Value max = min;
+            while (iterator.hasNext()) {
+                max = iterator.next()._1();
+            }
+            return Collections.singletonList(new scala.Tuple2<>(partitionIndex, new scala.Tuple2<>(min, max))).iterator();
+        }
+    }
+
+    /**
+     * Assigns the data quanta of the second input to the partitions of the first input that they might join with.
+     */
+    private static class PartitionAssigner<InputType1, Value> implements PairFlatMapFunction<InputType1, Integer, InputType1> {
+
+        private final int[] partitionIndices;
+
+        private final List<Value> minValues, maxValues;
+
+        private final Function<InputType1, Value> lowerBoundExtractor, upperBoundExtractor;
+
+        private final ValueComparator<Value> comparator;
+
+        private PartitionAssigner(List<scala.Tuple2<Integer, scala.Tuple2<Value, Value>>> partitionRanges,
+                                  Function<InputType1, Value> lowerBoundExtractor,
+                                  Function<InputType1, Value> upperBoundExtractor,
+                                  ValueComparator<Value> comparator) {
+            // The partition ranges are disjoint and ascending.
+            this.partitionIndices = new int[partitionRanges.size()];
+            this.minValues = new ArrayList<>(partitionRanges.size());
+            this.maxValues = new ArrayList<>(partitionRanges.size());
+            for (int i = 0; i < partitionRanges.size(); i++) {
+                this.partitionIndices[i] = partitionRanges.get(i)._1();
+                this.minValues.add(partitionRanges.get(i)._2()._1());
+                this.maxValues.add(partitionRanges.get(i)._2()._2());
+            }
+            this.lowerBoundExtractor = lowerBoundExtractor;
+            this.upperBoundExtractor = upperBoundExtractor;
+            this.comparator = comparator;
+        }
+
+        @Override
+        public Iterable<scala.Tuple2<Integer, InputType1>> call(InputType1 dataQuantum1) throws Exception {
+            final Value lowerBound = this.lowerBoundExtractor.call(dataQuantum1);
+            final Value upperBound = this.upperBoundExtractor.call(dataQuantum1);
+
+            // Find the first partition that does not lie entirely below the range.
+            final int low = this.comparator.countLess(this.maxValues, lowerBound);
+
+            List<scala.Tuple2<Integer, InputType1>> assignments = new ArrayList<>(1);
+            for (int i = low; i < this.partitionIndices.length
+                    && this.comparator.compare(this.minValues.get(i), upperBound) <= 0; i++) {
+                assignments.add(new scala.Tuple2<>(this.partitionIndices[i], dataQuantum1));
+            }
+            return assignments;
+        }
+    }
+
+    /**
+     * Joins a sorted partition of the first input with the data quanta of the second input assigned to it.
+     */
+    private static class PartitionJoiner<InputType0, InputType1, Value> implements FlatMapFunction2<
+            Iterator<scala.Tuple2<Value, InputType0>>,
+            Iterator<scala.Tuple2<Integer, InputType1>>,
+            Tuple2<InputType0, InputType1>> {
+
+        private final Function<InputType1, Value> lowerBoundExtractor, upperBoundExtractor;
+
+        private final ValueComparator<Value> comparator;
+
+        private PartitionJoiner(Function<InputType1, Value> lowerBoundExtractor,
+                                Function<InputType1, Value> upperBoundExtractor,
+                                ValueComparator<Value> comparator) {
+            this.lowerBoundExtractor = lowerBoundExtractor;
+            this.upperBoundExtractor = upperBoundExtractor;
+            this.comparator = comparator;
+        }
+
+        @Override
+        public Iterable<Tuple2<InputType0, InputType1>> call(Iterator<scala.Tuple2<Value, InputType0>> iterator0,
+                                                            Iterator<scala.Tuple2<Integer, InputType1>> iterator1)
+                throws Exception {
+            // Load the (sorted) partition of the first input.
+            final List<Value> values = new ArrayList<>();
+            final List<InputType0> dataQuanta0 = new ArrayList<>();
+            while (iterator0.hasNext()) {
+                final scala.Tuple2<Value, InputType0> next = iterator0.next();
+                values.add(next._1());
+                dataQuanta0.add(next._2());
+            }
+
+            // Stream the data quanta of the second input through it.
+            return () -> new Iterator<Tuple2<InputType0, InputType1>>() {
+
+                private InputType1 dataQuantum1;
+
+                private int next = 0, end = 0;
+
+                @Override
+                public boolean hasNext() {
+                    while (this.next >= this.end) {
+                        if (!iterator1.hasNext()) return false;
+                        this.dataQuantum1 = iterator1.next()._2();
+                        try {
+                            final Value lowerBound = PartitionJoiner.this.lowerBoundExtractor.call(this.dataQuantum1);
+                            final Value upperBound = PartitionJoiner.this.upperBoundExtractor.call(this.dataQuantum1);
+                            this.next = PartitionJoiner.this.comparator.countLess(values, lowerBound);
+                            this.end = PartitionJoiner.this.comparator.countAtMost(values, upperBound);
+                        } catch (Exception e) {
+                            throw new RuntimeException(e);
+                        }
+                    }
+                    return true;
+                }
+
+                @Override
+                public Tuple2<InputType0, InputType1> next() {
+                    if (!this.hasNext()) throw new NoSuchElementException();
+                    return new Tuple2<>(dataQuanta0.get(this.next++), this.dataQuantum1);
+                }
+            };
+        }
+    }
+
+    @Override
+    protected ExecutionOperator createCopy() {
+        return new SparkRangeJoinOperator<>(this.getInputType0(), this.getInputType1(),
+                this.getValueDescriptor(), this.getLowerBoundDescriptor(), this.getUpperBoundDescriptor());
+    }
+
+    @Override
+    public String getLoadProfileEstimatorConfigurationKey() {
+        return "rheem.spark.rangejoin.load";
+    }
+
+    @Override
+    public Optional<LoadProfileEstimator> createLoadProfileEstimator(Configuration configuration) {
+        final Optional<LoadProfileEstimator> optEstimator =
+                SparkExecutionOperator.super.createLoadProfileEstimator(configuration);
+        LoadProfileEstimators.nestUdfEstimator(optEstimator, this.valueDescriptor, configuration);
+        LoadProfileEstimators.nestUdfEstimator(optEstimator, this.lowerBoundDescriptor, configuration);
+        LoadProfileEstimators.nestUdfEstimator(optEstimator, this.upperBoundDescriptor, configuration);
+        return optEstimator;
+    }
+
+    @Override
+    public List<ChannelDescriptor> getSupportedInputChannels(int index) {
+        assert index <= this.getNumInputs() || (index == 0 && this.getNumInputs() == 0);
+        return Arrays.asList(RddChannel.UNCACHED_DESCRIPTOR, RddChannel.CACHED_DESCRIPTOR);
+    }
+
+    @Override
+    public List<ChannelDescriptor> getSupportedOutputChannels(int index) {
+        assert index <= this.getNumOutputs() || (index == 0 && this.getNumOutputs() == 0);
+        return Collections.singletonList(RddChannel.UNCACHED_DESCRIPTOR);
+    }
+
+    @Override
+    public boolean containsAction() {
+        // Sorting samples the input and the partition ranges are collected.
+        return true;
+    }
+
+}
@@ -1,9 +1,13 @@
 package org.qcri.rheem.spark.operators;
 
-import org.apache.spark.api.java.JavaPairRDD;
 import org.apache.spark.api.java.JavaRDD;
+import org.apache.spark.api.java.function.Function;
 import org.qcri.rheem.basic.operators.SortOperator;
+import org.qcri.rheem.core.api.Configuration;
+import org.qcri.rheem.core.function.TransformationDescriptor;
 import org.qcri.rheem.core.optimizer.OptimizationContext;
+import org.qcri.rheem.core.optimizer.costs.LoadProfileEstimator;
+import org.qcri.rheem.core.optimizer.costs.LoadProfileEstimators;
 import org.qcri.rheem.core.plan.rheemplan.ExecutionOperator;
 import org.qcri.rheem.core.platform.ChannelDescriptor;
 import org.qcri.rheem.core.platform.ChannelInstance;
@@ -12,28 +16,27 @@ import org.qcri.rheem.core.types.DataSetType;
 import org.qcri.rheem.core.util.Tuple;
 import org.qcri.rheem.spark.channels.RddChannel;
 import org.qcri.rheem.spark.execution.SparkExecutor;
-import scala.Tuple2;
 
-import java.util.Arrays;
-import java.util.Collection;
-import java.util.Collections;
-import java.util.List;
+import java.util.*;
 
 /**
- * Spark implementation of the {@link SortOperator}.
+ * Spark implementation of the {@link SortOperator}. Uses {@link JavaRDD#sortBy(Function, boolean, int)}, which
+ * range-partitions the data quanta by their keys (with range bounds determined from a reservoir sample of the keys)
+ * and then sorts each partition locally.
  */
-public class SparkSortOperator<Type>
-        extends SortOperator<Type>
+public class SparkSortOperator<Type, Key>
+        extends SortOperator<Type, Key>
         implements SparkExecutionOperator {
 
 
     /**
      * Creates a new instance.
      *
-     * @param type type of the dataset elements
+     * @param keyDescriptor describes how to extract the sort key from data units
+     * @param type          type of the dataset elements
      */
-    public SparkSortOperator(DataSetType<Type> type) {
-        super(type);
+    public SparkSortOperator(TransformationDescriptor<Type, Key> keyDescriptor, DataSetType<Type> type) {
+        super(keyDescriptor, type);
     }
 
     /**
@@ -41,7 +44,7 @@ public class SparkSortOperator<Type>
      *
      * @param that that should be copied
      */
-    public SparkSortOperator(SortOperator<Type> that) {
+    public SparkSortOperator(SortOperator<Type, Key> that) {
         super(that);
     }
 
@@ -58,13 +61,9 @@ public class SparkSortOperator<Type>
         RddChannel.Instance output = (RddChannel.Instance) outputs[0];
 
         final JavaRDD<Type> inputRdd = input.provideRdd();
-
-        // TODO: Better sort function!
-        final JavaPairRDD<Type, Boolean> keyedRdd = inputRdd.mapToPair(x -> new Tuple2<>(x, true));
-        this.name(keyedRdd);
-        final JavaPairRDD<Type, Boolean> sortedKeyedRdd = keyedRdd.sortByKey(true, sparkExecutor.getNumDefaultPartitions());
-        this.name(sortedKeyedRdd);
-        final JavaRDD<Type> outputRdd = sortedKeyedRdd.map(y -> y._1);
+        final Function<Type, Key> keyExtractor =
+                sparkExecutor.getCompiler().compile(this.keyDescriptor, this, operatorContext, inputs);
+        final JavaRDD<Type> outputRdd = inputRdd.sortBy(keyExtractor, true, sparkExecutor.getNumDefaultPartitions());
         this.name(outputRdd);
 
         output.accept(outputRdd, sparkExecutor);
@@ -74,7 +73,7 @@ public class SparkSortOperator<Type>
 
     @Override
     protected ExecutionOperator createCopy() {
-        return new SparkSortOperator<>(this.getInputType());
+        return new SparkSortOperator<>(this.getKeyDescriptor(), this.getInputType());
     }
 
     @Override
@@ -82,6 +81,14 @@ public class SparkSortOperator<Type>
         return "rheem.spark.sort.load";
     }
 
+    @Override
+    public Optional<LoadProfileEstimator> createLoadProfileEstimator(Configuration configuration) {
+        final Optional<LoadProfileEstimator> optEstimator =
+                SparkExecutionOperator.super.createLoadProfileEstimator(configuration);
+        LoadProfileEstimators.nestUdfEstimator(optEstimator, this.keyDescriptor, configuration);
+        return optEstimator;
+    }
+
     @Override
     public List<ChannelDescriptor> getSupportedInputChannels(int index) {
         assert index <= this.getNumInputs() || (index == 0 && this.getNumInputs() == 0);
@@ -100,4 +107,3 @@ public class SparkSortOperator<Type>
     }
 
 }
-
@@ -0,0 +1,220 @@
+package org.qcri.rheem.spark.operators;
+
+import org.apache.spark.api.java.JavaPairRDD;
+import org.apache.spark.api.java.JavaRDD;
+import org.apache.spark.api.java.function.Function2;
+import org.apache.spark.api.java.function.PairFunction;
+import org.qcri.rheem.basic.operators.SampleOperator;
+import org.qcri.rheem.core.api.Configuration;
+import org.qcri.rheem.core.api.exception.RheemException;
+import org.qcri.rheem.core.function.TransformationDescriptor;
+import org.qcri.rheem.core.optimizer.OptimizationContext;
+import org.qcri.rheem.core.optimizer.costs.LoadProfileEstimator;
+import org.qcri.rheem.core.optimizer.costs.LoadProfileEstimators;
+import org.qcri.rheem.core.plan.rheemplan.ExecutionOperator;
+import org.qcri.rheem.core.platform.ChannelDescriptor;
+import org.qcri.rheem.core.platform.ChannelInstance;
+import org.qcri.rheem.core.platform.lineage.ExecutionLineageNode;
+import org.qcri.rheem.core.util.Tuple;
+import org.qcri.rheem.spark.channels.RddChannel;
+import org.qcri.rheem.spark.execution.SparkExecutor;
+import scala.Tuple2;
+
+import java.io.Serializable;
+import java.util.*;
+import java.util.function.IntUnaryOperator;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * Spark implementation of the {@link SampleOperator} with the {@link SampleOperator.Methods#STRATIFIED} method.
+ * In the style of {@code sampleByKey}, it assigns a random priority to every data quantum and then keeps, per key,
+ * the data quanta with the lowest priorities. As opposed to {@code sampleByKey}, this yields exactly the requested
+ * sample size per key (unless a key has fewer data quanta) and does not require to know the keys in advance.
+ */
+public class SparkStratifiedSampleOperator<Type>
+        extends SampleOperator<Type>
+        implements SparkExecutionOperator {
+
+    /**
+     * Creates a new instance.
+     */
+    public SparkStratifiedSampleOperator(IntUnaryOperator sampleSizeFunction,
+                                         TransformationDescriptor<Type, ?> keyDescriptor,
+                                         LongUnaryOperator seedFunction) {
+        super(sampleSizeFunction, keyDescriptor, seedFunction);
+    }
+
+    /**
+     * Copies an instance (exclusive of broadcasts).
+     *
+     * @param that that should be copied
+     */
+    public SparkStratifiedSampleOperator(SampleOperator<Type> that) {
+        super(that);
+        assert that.getSampleMethod() == Methods.STRATIFIED && that.getKeyDescriptor() != null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Tuple<Collection<ExecutionLineageNode>, Collection<ChannelInstance>> evaluate(
+            ChannelInstance[] inputs,
+            ChannelInstance[] outputs,
+            SparkExecutor sparkExecutor,
+            OptimizationContext.OperatorContext operatorContext) {
+        assert inputs.length == this.getNumInputs();
+        assert outputs.length == this.getNumOutputs();
+
+        final RddChannel.Instance input = (RddChannel.Instance) inputs[0];
+        final RddChannel.Instance output = (RddChannel.Instance) outputs[0];
+
+        final JavaRDD<Type> inputRdd = input.provideRdd();
+        final PairFunction<Type, Object, Type> keyExtractor = sparkExecutor.getCompiler()
+                .compileToKeyExtractor((TransformationDescriptor<Type, Object>) this.keyDescriptor);
+        final int sampleSize = this.getSampleSize(operatorContext);
+        final long seed = this.getSeed(operatorContext);
+
+        final JavaPairRDD<Object, Tuple2<Double, Type>> prioritizedRdd = JavaPairRDD.fromJavaRDD(
+                inputRdd.mapPartitionsWithIndex(new PrioritizingFunction<>(keyExtractor, seed), true)
+        );
+        this.name(prioritizedRdd);
+        final JavaPairRDD<Object, LowestPriorities<Type>> sampledPairRdd = prioritizedRdd.aggregateByKey(
+                new LowestPriorities<>(sampleSize),
+                sparkExecutor.getNumDefaultPartitions(),
+                LowestPriorities::add,
+                LowestPriorities::addAll
+        );
+        this.name(sampledPairRdd);
+        final JavaRDD<Type> outputRdd = sampledPairRdd.values().flatMap(LowestPriorities::getDataQuanta);
+        this.name(outputRdd);
+
+        output.accept(outputRdd, sparkExecutor);
+
+        return ExecutionOperator.modelLazyExecution(inputs, outputs, operatorContext);
+    }
+
+    /**
+     * Pairs each data quantum with its key and a random priority. Each partition draws the priorities from its own
+     * seed, so that the sample is reproducible.
+     */
+    private static class PrioritizingFunction<T>
+            implements Function2<Integer, Iterator<T>, Iterator<Tuple2<Object, Tuple2<Double, T>>>> {
+
+        private final PairFunction<T, Object, T> keyExtractor;
+
+        private final long seed;
+
+        private PrioritizingFunction(PairFunction<T, Object, T> keyExtractor, long seed) {
+            this.keyExtractor = keyExtractor;
+            this.seed = seed;
+        }
+
+        @Override
+        public Iterator<Tuple2<Object, Tuple2<Double, T>>> call(Integer partitionIndex, Iterator<T> iterator) {
+            final Random random = new Random(this.seed + 31L * partitionIndex);
+            final PairFunction<T, Object, T> keyExtractor = this.keyExtractor;
+            return new Iterator<Tuple2<Object, Tuple2<Double, T>>>() {
+                @Override
+                public boolean hasNext() {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public Tuple2<Object, Tuple2<Double, T>> next() {
+                    try {
+                        final Tuple2<Object, T> keyedDataQuantum = keyExtractor.call(iterator.next());
+                        return new Tuple2<>(keyedDataQuantum._1(), new Tuple2<>(random.nextDouble(), keyedDataQuantum._2()));
+                    } catch (Exception e) {
+                        throw new RheemException("Could not extract the key of a data quantum.", e);
+                    }
+                }
+            };
+        }
+    }
+
+    /**
+     * Keeps the data quanta with the lowest priorities up to a given capacity.
+     */
+    private static class LowestPriorities<T> implements Serializable {
+
+        /**
+         * Caps the preallocation of the {@link #heap}, as strata might be much smaller than the requested sample.
+         */
+        private static final int MAX_INITIAL_HEAP_CAPACITY = 1024;
+
+        private final int capacity;
+
+        /**
+         * Max-heap of the prioritized data quanta, so that the one with the highest priority can be evicted first.
+         */
+        private final PriorityQueue<Tuple2<Double, T>> heap;
+
+        private LowestPriorities(int capacity) {
+            this.capacity = capacity;
+            this.heap = new PriorityQueue<>(
+                    Math.max(1, Math.min(capacity, MAX_INITIAL_HEAP_CAPACITY)),
+                    (Comparator<Tuple2<Double, T>> & Serializable) (t1, t2) -> Double.compare(t2._1(), t1._1())
+            );
+        }
+
+        private LowestPriorities<T> add(Tuple2<Double, T> prioritizedDataQuantum) {
+            if (this.heap.size() < this.capacity) {
+                this.heap.add(prioritizedDataQuantum);
+            } else if (this.capacity > 0 && this.heap.peek()._1() > prioritizedDataQuantum._1()) {
+                this.heap.poll();
+                this.heap.add(prioritizedDataQuantum);
+            }
+            return this;
+        }
+
+        private LowestPriorities<T> addAll(LowestPriorities<T> that) {
+            for (Tuple2<Double, T> prioritizedDataQuantum : that.heap) {
+                this.add(prioritizedDataQuantum);
+            }
+            return this;
+        }
+
+        private Iterable<T> getDataQuanta() {
+            final List<T> dataQuanta = new ArrayList<>(this.heap.size());
+            for (Tuple2<Double, T> prioritizedDataQuantum : this.heap) {
+                dataQuanta.add(prioritizedDataQuantum._2());
+            }
+            return dataQuanta;
+        }
+    }
+
+    @Override
+    public String getLoadProfileEstimatorConfigurationKey() {
+        return "rheem.spark.stratifiedsample.load";
+    }
+
+    @Override
+    public Optional<LoadProfileEstimator> createLoadProfileEstimator(Configuration configuration) {
+        final Optional<LoadProfileEstimator> optEstimator =
+                SparkExecutionOperator.super.createLoadProfileEstimator(configuration);
+        LoadProfileEstimators.nestUdfEstimator(optEstimator, this.keyDescriptor, configuration);
+        return optEstimator;
+    }
+
+    @Override
+    protected ExecutionOperator createCopy() {
+        return new SparkStratifiedSampleOperator<>(this);
+    }
+
+    @Override
+    public List<ChannelDescriptor> getSupportedInputChannels(int index) {
+        assert index <= this.getNumInputs() || (index == 0 && this.getNumInputs() == 0);
+        return Arrays.asList(RddChannel.UNCACHED_DESCRIPTOR, RddChannel.CACHED_DESCRIPTOR);
+    }
+
+    @Override
+    public List<ChannelDescriptor> getSupportedOutputChannels(int index) {
+        assert index <= this.getNumOutputs() || (index == 0 && this.getNumOutputs() == 0);
+        return Collections.singletonList(RddChannel.UNCACHED_DESCRIPTOR);
+    }
+
+    @Override
+    public boolean containsAction() {
+        return false;
+    }
+
+}
@@ -1,6 +1,7 @@
 package org.qcri.rheem.spark.operators;
 
 import org.apache.spark.api.java.JavaRDD;
+import org.apache.spark.rdd.PartitionPruningRDD;
 import org.qcri.rheem.basic.operators.TextFileSource;
 import org.qcri.rheem.core.optimizer.OptimizationContext;
 import org.qcri.rheem.core.optimizer.costs.LoadProfileEstimators;
@@ -9,13 +10,18 @@ import org.qcri.rheem.core.platform.ChannelDescriptor;
 import org.qcri.rheem.core.platform.ChannelInstance;
 import org.qcri.rheem.core.platform.lineage.ExecutionLineageNode;
 import org.qcri.rheem.core.util.Tuple;
+import org.qcri.rheem.core.util.fs.FileSystems;
 import org.qcri.rheem.spark.channels.RddChannel;
 import org.qcri.rheem.spark.execution.SparkExecutor;
+import scala.runtime.AbstractFunction1;
 
+import java.io.Serializable;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.OptionalLong;
 
 /**
  * Provides a {@link Collection} to a Spark job.
@@ -49,7 +55,9 @@ public class SparkTextFileSource extends TextFileSource implements SparkExecutio
         assert outputs.length == this.getNumOutputs();
 
         RddChannel.Instance output = (RddChannel.Instance) outputs[0];
-        final JavaRDD<String> rdd = sparkExecutor.sc.textFile(this.getInputUrl());
+        final JavaRDD<String> rdd = this.isBlockSampling() ?
+                this.readSampledBlocks(sparkExecutor) :
+                sparkExecutor.sc.textFile(this.getInputUrl());
         this.name(rdd);
         output.accept(rdd, sparkExecutor);
 
@@ -66,9 +74,47 @@ public class SparkTextFileSource extends TextFileSource implements SparkExecutio
         return prepareLineageNode.collectAndMark();
     }
 
+    /**
+     * Read the randomly picked blocks of the input file. The file is split into partitions of at most about the
+     * sampling block size, of which only the sampled ones are read.
+     *
+     * @param sparkExecutor provides the {@link org.apache.spark.api.java.JavaSparkContext}
+     * @return a {@link JavaRDD} of the lines of the sampled blocks
+     */
+    private JavaRDD<String> readSampledBlocks(SparkExecutor sparkExecutor) {
+        final OptionalLong fileSize = FileSystems.getFileSize(this.getInputUrl());
+        final long blockSize = this.getSamplingBlockSize();
+        final int minPartitions = fileSize.isPresent() ?
+                (int) Math.min(Integer.MAX_VALUE, Math.max(1L, (fileSize.getAsLong() + blockSize - 1) / blockSize)) :
+                sparkExecutor.sc.defaultMinPartitions();
+        final JavaRDD<String> blockRdd = sparkExecutor.sc.textFile(this.getInputUrl(), minPartitions);
+        final HashSet<Integer> sampledPartitions = new HashSet<>();
+        for (long partition : this.pickSampledBlocks(blockRdd.partitions().size())) {
+            sampledPartitions.add((int) partition);
+        }
+        return PartitionPruningRDD.create(blockRdd.rdd(), new PartitionFilter(sampledPartitions)).toJavaRDD();
+    }
+
+    /**
+     * Tells whether a partition has been sampled.
+     */
+    private static class PartitionFilter extends AbstractFunction1<Object, Object> implements Serializable {
+
+        private final HashSet<Integer> sampledPartitions;
+
+        private PartitionFilter(HashSet<Integer> sampledPartitions) {
+            this.sampledPartitions = sampledPartitions;
+        }
+
+        @Override
+        public Object apply(Object partitionIndex) {
+            return this.sampledPartitions.contains((Integer) partitionIndex);
+        }
+    }
+
     @Override
     protected ExecutionOperator createCopy() {
-        return new SparkTextFileSource(this.getInputUrl(), this.getEncoding());
+        return new SparkTextFileSource(this);
     }
 
     @Override
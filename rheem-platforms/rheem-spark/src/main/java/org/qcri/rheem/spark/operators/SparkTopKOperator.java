@@ -0,0 +1,144 @@
+package org.qcri.rheem.spark.operators;
+
+import org.apache.spark.api.java.JavaRDD;
+import org.apache.spark.api.java.function.FlatMapFunction;
+import org.apache.spark.api.java.function.Function;
+import org.qcri.rheem.basic.operators.TopKOperator;
+import org.qcri.rheem.core.api.Configuration;
+import org.qcri.rheem.core.api.exception.RheemException;
+import org.qcri.rheem.core.function.TransformationDescriptor;
+import org.qcri.rheem.core.optimizer.OptimizationContext;
+import org.qcri.rheem.core.optimizer.costs.LoadProfileEstimator;
+import org.qcri.rheem.core.optimizer.costs.LoadProfileEstimators;
+import org.qcri.rheem.core.plan.rheemplan.ExecutionOperator;
+import org.qcri.rheem.core.platform.ChannelDescriptor;
+import org.qcri.rheem.core.platform.ChannelInstance;
+import org.qcri.rheem.core.platform.lineage.ExecutionLineageNode;
+import org.qcri.rheem.core.types.DataSetType;
+import org.qcri.rheem.core.util.Tuple;
+import org.qcri.rheem.java.operators.JavaTopKOperator;
+import org.qcri.rheem.spark.channels.RddChannel;
+import org.qcri.rheem.spark.execution.SparkExecutor;
+
+import java.util.*;
+
+/**
+ * Spark implementation of the {@link TopKOperator}. Each partition selects its local top-k elements with a bounded
+ * heap, and only these candidates are collapsed into a single partition to select the global top-k. Neither a shuffle
+ * nor a full sort is required.
+ */
+public class SparkTopKOperator<Type, Key>
+        extends TopKOperator<Type, Key>
+        implements SparkExecutionOperator {
+
+
+    /**
+     * Creates a new instance.
+     *
+     * @param k             the number of elements to retain
+     * @param keyDescriptor describes how to extract the sort key from data units
+     * @param type          type of the dataset elements
+     */
+    public SparkTopKOperator(int k, TransformationDescriptor<Type, Key> keyDescriptor, DataSetType<Type> type) {
+        super(k, keyDescriptor, type);
+    }
+
+    /**
+     * Copies an instance (exclusive of broadcasts).
+     *
+     * @param that that should be copied
+     */
+    public SparkTopKOperator(TopKOperator<Type, Key> that) {
+        super(that);
+    }
+
+    @Override
+    public Tuple<Collection<ExecutionLineageNode>, Collection<ChannelInstance>> evaluate(
+            ChannelInstance[] inputs,
+            ChannelInstance[] outputs,
+            SparkExecutor sparkExecutor,
+            OptimizationContext.OperatorContext operatorContext) {
+        assert inputs.length == this.getNumInputs();
+        assert outputs.length == this.getNumOutputs();
+
+        RddChannel.Instance input = (RddChannel.Instance) inputs[0];
+        RddChannel.Instance output = (RddChannel.Instance) outputs[0];
+
+        final JavaRDD<Type> inputRdd = input.provideRdd();
+        final Function<Type, Key> keyExtractor =
+                sparkExecutor.getCompiler().compile(this.keyDescriptor, this, operatorContext, inputs);
+        final TopKSelector<Type, Key> selector = new TopKSelector<>(this.k, keyExtractor);
+        final JavaRDD<Type> candidateRdd = inputRdd.mapPartitions(selector);
+        this.name(candidateRdd);
+        final JavaRDD<Type> outputRdd = candidateRdd.coalesce(1).mapPartitions(selector);
+        this.name(outputRdd);
+
+        output.accept(outputRdd, sparkExecutor);
+
+        return ExecutionOperator.modelLazyExecution(inputs, outputs, operatorContext);
+    }
+
+    /**
+     * Selects the top-k elements from a partition.
+     */
+    private static class TopKSelector<Type, Key> implements FlatMapFunction<Iterator<Type>, Type> {
+
+        private final int k;
+
+        private final Function<Type, Key> keyExtractor;
+
+        private TopKSelector(int k, Function<Type, Key> keyExtractor) {
+            this.k = k;
+            this.keyExtractor = keyExtractor;
+        }
+
+        @Override
+        public Iterable<Type> call(Iterator<Type> iterator) throws Exception {
+            return JavaTopKOperator.selectTopK(iterator, this.k, this::extractKey);
+        }
+
+        private Key extractKey(Type dataQuantum) {
+            try {
+                return this.keyExtractor.call(dataQuantum);
+            } catch (Exception e) {
+                throw new RheemException("Could not extract sort keys.", e);
+            }
+        }
+    }
+
+    @Override
+    protected ExecutionOperator createCopy() {
+        return new SparkTopKOperator<>(this.getK(), this.getKeyDescriptor(), this.getInputType());
+    }
+
+    @Override
+    public String getLoadProfileEstimatorConfigurationKey() {
+        return "rheem.spark.topk.load";
+    }
+
+    @Override
+    public Optional<LoadProfileEstimator> createLoadProfileEstimator(Configuration configuration) {
+        final Optional<LoadProfileEstimator> optEstimator =
+                SparkExecutionOperator.super.createLoadProfileEstimator(configuration);
+        LoadProfileEstimators.nestUdfEstimator(optEstimator, this.keyDescriptor, configuration);
+        return optEstimator;
+    }
+
+    @Override
+    public List<ChannelDescriptor> getSupportedInputChannels(int index) {
+        assert index <= this.getNumInputs() || (index == 0 && this.getNumInputs() == 0);
+        return Arrays.asList(RddChannel.UNCACHED_DESCRIPTOR, RddChannel.CACHED_DESCRIPTOR);
+    }
+
+    @Override
+    public List<ChannelDescriptor> getSupportedOutputChannels(int index) {
+        assert index <= this.getNumOutputs() || (index == 0 && this.getNumOutputs() == 0);
+        return Collections.singletonList(RddChannel.UNCACHED_DESCRIPTOR);
+    }
+
+    @Override
+    public boolean containsAction() {
+        return false;
+    }
+
+}
@@ -0,0 +1,190 @@
+package org.qcri.rheem.spark.operators.graph;
+
+import org.apache.spark.HashPartitioner;
+import org.apache.spark.Partitioner;
+import org.apache.spark.api.java.JavaPairRDD;
+import org.apache.spark.api.java.JavaRDD;
+import org.apache.spark.storage.StorageLevel;
+import org.qcri.rheem.basic.function.VertexProgram;
+import org.qcri.rheem.basic.operators.VertexProgramOperator;
+import org.qcri.rheem.core.optimizer.OptimizationContext;
+import org.qcri.rheem.core.plan.rheemplan.ExecutionOperator;
+import org.qcri.rheem.core.platform.ChannelDescriptor;
+import org.qcri.rheem.core.platform.ChannelInstance;
+import org.qcri.rheem.core.platform.lineage.ExecutionLineageNode;
+import org.qcri.rheem.core.util.Tuple;
+import org.qcri.rheem.spark.channels.RddChannel;
+import org.qcri.rheem.spark.execution.SparkExecutor;
+import org.qcri.rheem.spark.operators.SparkExecutionOperator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import scala.Tuple2;
+
+import java.util.*;
+
+/**
+ * Spark implementation of the {@link VertexProgramOperator}. The adjacency lists of the vertices are hash-partitioned
+ * and cached once. The vertex states are partitioned in the same way, so that in each superstep only the messages
+ * need to be shuffled.
+ */
+public class SparkVertexProgramOperator<Value, Message>
+        extends VertexProgramOperator<Value, Message>
+        implements SparkExecutionOperator {
+
+    /**
+     * Every this many supersteps, the lineage of the vertex states is truncated.
+     */
+    private static final int CHECKPOINT_INTERVAL = 20;
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    public SparkVertexProgramOperator(VertexProgram<Value, Message> vertexProgram, int numIterations) {
+        super(vertexProgram, numIterations);
+    }
+
+    public SparkVertexProgramOperator(VertexProgramOperator<Value, Message> that) {
+        super(that);
+    }
+
+    @Override
+    public Tuple<Collection<ExecutionLineageNode>, Collection<ChannelInstance>> evaluate(
+            ChannelInstance[] inputs,
+            ChannelInstance[] outputs,
+            SparkExecutor sparkExecutor,
+            OptimizationContext.OperatorContext operatorContext) {
+        assert inputs.length == this.getNumInputs();
+        assert outputs.length == this.getNumOutputs();
+
+        RddChannel.Instance input = (RddChannel.Instance) inputs[0];
+        RddChannel.Instance output = (RddChannel.Instance) outputs[0];
+
+        final JavaRDD<org.qcri.rheem.basic.data.Tuple2<Long, Long>> edgeRdd = input.provideRdd();
+        final VertexProgram<Value, Message> program = this.vertexProgram;
+        final boolean isUndirected = program.getEdgeDirection() == VertexProgram.EdgeDirection.BOTH;
+        final boolean isSendingAlways = program.isSendingAlways();
+        final Partitioner partitioner = new HashPartitioner(sparkExecutor.getNumDefaultPartitions());
+
+        // Build the adjacency lists. Vertices without outgoing messages get an empty list.
+        final JavaPairRDD<Long, long[]> adjacencyRdd = edgeRdd
+                .flatMapToPair(edge -> {
+                    List<Tuple2<Long, Long>> neighbors = new ArrayList<>(2);
+                    neighbors.add(new Tuple2<>(edge.field0, edge.field1));
+                    neighbors.add(new Tuple2<>(edge.field1, isUndirected ? edge.field0 : null));
+                    return neighbors;
+                })
+                .groupByKey(partitioner)
+                .mapValues(SparkVertexProgramOperator::toNeighborArray)
+                .persist(StorageLevel.MEMORY_AND_DISK());
+        this.name(adjacencyRdd);
+
+        // Initialize the vertex states, i.e., their values and whether they are active.
+        JavaPairRDD<Long, Tuple2<Value, Boolean>> stateRdd = adjacencyRdd
+                .mapPartitionsToPair(adjacencyLists -> {
+                    List<Tuple2<Long, Tuple2<Value, Boolean>>> states = new ArrayList<>();
+                    while (adjacencyLists.hasNext()) {
+                        final long vertexId = adjacencyLists.next()._1;
+                        states.add(new Tuple2<>(vertexId, new Tuple2<>(program.getInitialValue(vertexId), true)));
+                    }
+                    return states;
+                }, true);
+
+        for (int superstep = 0; superstep < this.getNumIterations(); superstep++) {
+            // The adjacency lists and the states are co-partitioned, so that the join does not shuffle.
+            final JavaPairRDD<Long, Message> messageRdd = adjacencyRdd
+                    .join(stateRdd)
+                    .flatMapToPair(vertex -> {
+                        final Tuple2<Value, Boolean> state = vertex._2._2;
+                        if (!state._2 && !isSendingAlways) return Collections.emptyList();
+                        final long[] neighbors = vertex._2._1;
+                        List<Tuple2<Long, Message>> messages = new ArrayList<>(neighbors.length);
+                        for (long neighbor : neighbors) {
+                            final Message message = program.createMessage(vertex._1, state._1, neighbor, neighbors.length);
+                            if (message != null) messages.add(new Tuple2<>(neighbor, message));
+                        }
+                        return messages;
+                    })
+                    .reduceByKey(partitioner, program::combine);
+
+            final JavaPairRDD<Long, Tuple2<Value, Boolean>> newStateRdd = stateRdd
+                    .cogroup(messageRdd)
+                    .mapPartitionsToPair(vertices -> {
+                        List<Tuple2<Long, Tuple2<Value, Boolean>>> states = new ArrayList<>();
+                        while (vertices.hasNext()) {
+                            final Tuple2<Long, Tuple2<Iterable<Tuple2<Value, Boolean>>, Iterable<Message>>> vertex =
+                                    vertices.next();
+                            final Value value = vertex._2._1.iterator().next()._1;
+                            final Iterator<Message> messageIterator = vertex._2._2.iterator();
+                            if (!messageIterator.hasNext()) {
+                                states.add(new Tuple2<>(vertex._1, new Tuple2<>(value, false)));
+                            } else {
+                                final Value newValue = program.apply(vertex._1, value, messageIterator.next());
+                                states.add(new Tuple2<>(vertex._1, new Tuple2<>(newValue, !Objects.equals(value, newValue))));
+                            }
+                        }
+                        return states;
+                    }, true)
+                    .persist(StorageLevel.MEMORY_AND_DISK());
+            if ((superstep + 1) % CHECKPOINT_INTERVAL == 0) {
+                newStateRdd.rdd().localCheckpoint();
+            }
+            this.name(newStateRdd);
+
+            final long numActive = newStateRdd.filter(state -> state._2._2).count();
+            stateRdd.unpersist(false);
+            stateRdd = newStateRdd;
+            if (numActive == 0) {
+                this.logger.info("Vertex program converged after {} supersteps.", superstep + 1);
+                break;
+            }
+        }
+        adjacencyRdd.unpersist(false);
+
+        final JavaRDD<org.qcri.rheem.basic.data.Tuple2<Long, Value>> outputRdd = stateRdd
+                .map(state -> new org.qcri.rheem.basic.data.Tuple2<>(state._1, state._2._1));
+        this.name(outputRdd);
+
+        output.accept(outputRdd, sparkExecutor);
+        output.addCachedDependency(stateRdd);
+
+        return ExecutionOperator.modelEagerExecution(inputs, outputs, operatorContext);
+    }
+
+    /**
+     * Collects the neighbor IDs of a vertex, thereby skipping {@code null}s.
+     */
+    private static long[] toNeighborArray(Iterable<Long> neighbors) {
+        int numNeighbors = 0;
+        for (Long neighbor : neighbors) {
+            if (neighbor != null) numNeighbors++;
+        }
+        final long[] neighborArray = new long[numNeighbors];
+        int i = 0;
+        for (Long neighbor : neighbors) {
+            if (neighbor != null) neighborArray[i++] = neighbor;
+        }
+        return neighborArray;
+    }
+
+    @Override
+    public String getLoadProfileEstimatorConfigurationKey() {
+        return "rheem.spark.vertexprogram.load";
+    }
+
+    @Override
+    public List<ChannelDescriptor> getSupportedInputChannels(int index) {
+        assert index == 0;
+        return Arrays.asList(RddChannel.UNCACHED_DESCRIPTOR, RddChannel.CACHED_DESCRIPTOR);
+    }
+
+    @Override
+    public List<ChannelDescriptor> getSupportedOutputChannels(int index) {
+        assert index == 0;
+        return Collections.singletonList(RddChannel.UNCACHED_DESCRIPTOR);
+    }
+
+    @Override
+    public boolean containsAction() {
+        return true;
+    }
+
+}
@@ -22,6 +22,8 @@ import org.qcri.rheem.spark.operators.SparkLocalCallbackSink;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Set;
 
@@ -161,6 +163,15 @@ public class SparkPlatform extends Platform {
         );
     }
 
+    @Override
+    public Collection<String> getCostModelPropertyKeys() {
+        return Arrays.asList(
+                "rheem.spark.cpu.mhz", "rheem.spark.machines", "rheem.spark.cores-per-machine",
+                "rheem.spark.hdfs.ms-per-mb", "rheem.spark.network.ms-per-mb", "rheem.spark.stretch",
+                "rheem.spark.costs.fix", "rheem.spark.costs.per-ms"
+        );
+    }
+
     @Override
     public TimeToCostConverter createTimeToCostConverter(Configuration configuration) {
         return new TimeToCostConverter(
@@ -54,11 +54,11 @@ public class SparkOperatorTestBase {
         operator.evaluate(inputs, outputs, this.sparkExecutor, this.createOperatorContext(operator));
     }
 
-    RddChannel.Instance createRddChannelInstance() {
+    protected RddChannel.Instance createRddChannelInstance() {
         return ChannelFactory.createRddChannelInstance(this.configuration);
     }
 
-    RddChannel.Instance createRddChannelInstance(Collection<?> collection) {
+    protected RddChannel.Instance createRddChannelInstance(Collection<?> collection) {
         return ChannelFactory.createRddChannelInstance(collection, this.sparkExecutor, this.configuration);
     }
 
@@ -1,5 +1,7 @@
 package org.qcri.rheem.spark.operators;
 
+import org.apache.spark.api.java.JavaRDD;
+import org.apache.spark.storage.StorageLevel;
 import org.junit.Assert;
 import org.junit.Test;
 import org.qcri.rheem.core.platform.ChannelInstance;
@@ -44,6 +46,69 @@ public class SparkRandomPartitionSampleOperatorTest extends SparkOperatorTestBas
 
     }
 
+    @Test
+    public void testRepeatedExecution() {
+        // Prepare test data.
+        final List<Integer> inputValues = Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8, 9, 10);
+        RddChannel.Instance input = this.createRddChannelInstance(inputValues);
+
+        // Build the sample operator.
+        SparkRandomPartitionSampleOperator<Integer> sampleOperator =
+                new SparkRandomPartitionSampleOperator<>(
+                        iterationNumber -> 5,
+                        DataSetType.createDefaultUnchecked(Integer.class),
+                        iterationNumber -> 42L
+                );
+
+        // Execute the operator repeatedly on the same input, as within a loop.
+        for (int i = 0; i < 3; i++) {
+            CollectionChannel.Instance output = this.createCollectionChannelInstance();
+            this.evaluate(sampleOperator, new ChannelInstance[]{input}, new ChannelInstance[]{output});
+
+            // Verify the outcome.
+            final List<Integer> result = RheemCollections.asList(output.provideCollection());
+            Assert.assertEquals(5, result.size());
+            Assert.assertTrue(inputValues.containsAll(result));
+        }
+    }
+
+    @Test
+    public void testReleasesCachedInputs() {
+        RddChannel.Instance input1 = this.createRddChannelInstance(Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8, 9, 10));
+        RddChannel.Instance input2 = this.createRddChannelInstance(Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8, 9, 10));
+        RddChannel.Instance input3 = this.createRddChannelInstance(Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8, 9, 10));
+        final JavaRDD<Integer> rdd1 = input1.provideRdd(), rdd2 = input2.provideRdd(), rdd3 = input3.provideRdd();
+        rdd3.persist(StorageLevel.MEMORY_AND_DISK());
+
+        SparkRandomPartitionSampleOperator<Integer> sampleOperator =
+                new SparkRandomPartitionSampleOperator<>(
+                        iterationNumber -> 5,
+                        DataSetType.createDefaultUnchecked(Integer.class),
+                        iterationNumber -> 42L
+                );
+
+        // Sampling an input should cache it.
+        this.evaluate(sampleOperator, new ChannelInstance[]{input1}, new ChannelInstance[]{this.createCollectionChannelInstance()});
+        Assert.assertEquals(StorageLevel.MEMORY_ONLY(), rdd1.getStorageLevel());
+
+        // Sampling another input should release the previous one.
+        this.evaluate(sampleOperator, new ChannelInstance[]{input2}, new ChannelInstance[]{this.createCollectionChannelInstance()});
+        Assert.assertEquals(StorageLevel.NONE(), rdd1.getStorageLevel());
+        Assert.assertEquals(StorageLevel.MEMORY_ONLY(), rdd2.getStorageLevel());
+
+        // Inputs that have been persisted already should not be touched.
+        this.evaluate(sampleOperator, new ChannelInstance[]{input3}, new ChannelInstance[]{this.createCollectionChannelInstance()});
+        Assert.assertEquals(StorageLevel.NONE(), rdd2.getStorageLevel());
+        Assert.assertEquals(StorageLevel.MEMORY_AND_DISK(), rdd3.getStorageLevel());
+
+        // Finishing the execution should release the current input.
+        this.evaluate(sampleOperator, new ChannelInstance[]{input2}, new ChannelInstance[]{this.createCollectionChannelInstance()});
+        this.sparkExecutor.getCrossPlatformExecutor().shutdown();
+        Assert.assertEquals(StorageLevel.NONE(), rdd2.getStorageLevel());
+        Assert.assertEquals(StorageLevel.MEMORY_AND_DISK(), rdd3.getStorageLevel());
+        rdd3.unpersist();
+    }
+
     @Test
     public void testUDFExecution() {
         // Prepare test data.
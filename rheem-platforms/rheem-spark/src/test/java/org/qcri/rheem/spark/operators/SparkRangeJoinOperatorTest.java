@@ -0,0 +1,70 @@
+package org.qcri.rheem.spark.operators;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.qcri.rheem.basic.data.Tuple2;
+import org.qcri.rheem.basic.function.ProjectionDescriptor;
+import org.qcri.rheem.core.function.TransformationDescriptor;
+import org.qcri.rheem.core.platform.ChannelInstance;
+import org.qcri.rheem.core.types.DataSetType;
+import org.qcri.rheem.core.types.DataUnitType;
+import org.qcri.rheem.spark.channels.RddChannel;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Test suite for {@link SparkRangeJoinOperator}.
+ */
+public class SparkRangeJoinOperatorTest extends SparkOperatorTestBase {
+
+    @Test
+    public void testExecution() {
+        // Prepare test data.
+        RddChannel.Instance input0 = this.createRddChannelInstance(Arrays.asList(7, 1, 5, 3, 5, 9));
+        RddChannel.Instance input1 = this.createRddChannelInstance(Arrays.asList(
+                new Tuple2<>(0, 2), new Tuple2<>(5, 5), new Tuple2<>(4, 8), new Tuple2<>(10, 20), new Tuple2<>(6, 4)));
+        RddChannel.Instance output = this.createRddChannelInstance();
+
+        // Build the range join operator.
+        SparkRangeJoinOperator<Integer, Tuple2<Integer, Integer>, Integer> rangeJoin =
+                new SparkRangeJoinOperator<>(
+                        DataSetType.createDefault(Integer.class),
+                        DataSetType.createDefaultUnchecked(Tuple2.class),
+                        new TransformationDescriptor<>(i -> i, Integer.class, Integer.class),
+                        new ProjectionDescriptor<>(
+                                DataUnitType.createBasicUnchecked(Tuple2.class),
+                                DataUnitType.createBasic(Integer.class),
+                                "field0"),
+                        new ProjectionDescriptor<>(
+                                DataUnitType.createBasicUnchecked(Tuple2.class),
+                                DataUnitType.createBasic(Integer.class),
+                                "field1"));
+
+        // Set up the ChannelInstances.
+        final ChannelInstance[] inputs = new ChannelInstance[]{input0, input1};
+        final ChannelInstance[] outputs = new ChannelInstance[]{output};
+
+        // Execute.
+        this.evaluate(rangeJoin, inputs, outputs);
+
+        // Verify the outcome.
+        final List<Tuple2<Integer, Tuple2<Integer, Integer>>> result = new ArrayList<>(
+                output.<Tuple2<Integer, Tuple2<Integer, Integer>>>provideRdd().collect()
+        );
+        result.sort(Comparator.<Tuple2<Integer, Tuple2<Integer, Integer>>, Integer>comparing(t -> t.getField0())
+                .thenComparing(t -> t.getField1().getField0()));
+        final List<Tuple2<Integer, Tuple2<Integer, Integer>>> expectedResult = Arrays.asList(
+                new Tuple2<>(1, new Tuple2<>(0, 2)),
+                new Tuple2<>(5, new Tuple2<>(4, 8)),
+                new Tuple2<>(5, new Tuple2<>(4, 8)),
+                new Tuple2<>(5, new Tuple2<>(5, 5)),
+                new Tuple2<>(5, new Tuple2<>(5, 5)),
+                new Tuple2<>(7, new Tuple2<>(4, 8))
+        );
+        Assert.assertEquals(expectedResult, result);
+    }
+
+}
@@ -0,0 +1,63 @@
+package org.qcri.rheem.spark.operators;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.qcri.rheem.core.function.TransformationDescriptor;
+import org.qcri.rheem.core.platform.ChannelInstance;
+import org.qcri.rheem.spark.channels.RddChannel;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Test suite for {@link SparkStratifiedSampleOperator}.
+ */
+public class SparkStratifiedSampleOperatorTest extends SparkOperatorTestBase {
+
+    @Test
+    public void testExecution() {
+        // Prepare test data: 100 even numbers and 3 odd numbers.
+        List<Integer> inputValues = IntStream.range(0, 200).boxed()
+                .filter(i -> i % 2 == 0 || i < 6)
+                .collect(Collectors.toList());
+        final int sampleSize = 5;
+
+        final List<Integer> result = this.sample(inputValues, sampleSize, 42L);
+
+        // Verify the outcome.
+        final Map<Integer, Long> stratumSizes = result.stream()
+                .collect(Collectors.groupingBy(i -> i % 2, Collectors.counting()));
+        Assert.assertEquals(Long.valueOf(sampleSize), stratumSizes.get(0));
+        Assert.assertEquals(Long.valueOf(3), stratumSizes.get(1));
+        Assert.assertTrue(inputValues.containsAll(result));
+        Assert.assertEquals(result.size(), result.stream().distinct().count());
+
+        // The same seed should yield the same sample.
+        Assert.assertEquals(
+                result.stream().sorted().collect(Collectors.toList()),
+                this.sample(inputValues, sampleSize, 42L).stream().sorted().collect(Collectors.toList())
+        );
+    }
+
+    private List<Integer> sample(List<Integer> inputValues, int sampleSize, long seed) {
+        RddChannel.Instance input = this.createRddChannelInstance();
+        input.accept(this.getSC().parallelize(inputValues, 4), this.sparkExecutor);
+        RddChannel.Instance output = this.createRddChannelInstance();
+
+        // Build the sample operator.
+        SparkStratifiedSampleOperator<Integer> sampleOperator =
+                new SparkStratifiedSampleOperator<>(
+                        iterationNumber -> sampleSize,
+                        new TransformationDescriptor<>(i -> i % 2, Integer.class, Integer.class),
+                        iterationNumber -> seed
+                );
+
+        // Execute.
+        this.evaluate(sampleOperator, new ChannelInstance[]{input}, new ChannelInstance[]{output});
+
+        return output.<Integer>provideRdd().collect();
+    }
+
+}
@@ -0,0 +1,96 @@
+package org.qcri.rheem.spark.operators;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.qcri.rheem.core.platform.ChannelInstance;
+import org.qcri.rheem.core.util.fs.LocalFileSystem;
+import org.qcri.rheem.spark.channels.RddChannel;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Test suite for {@link SparkTextFileSource}.
+ */
+public class SparkTextFileSourceTest extends SparkOperatorTestBase {
+
+    private static final int BLOCK_SIZE = 100;
+
+    private final List<String> lines = IntStream.range(0, 500)
+            .mapToObj(i -> "line " + i)
+            .collect(Collectors.toList());
+
+    private File file;
+
+    private String fileUrl;
+
+    @Before
+    public void setUpFile() throws IOException {
+        this.file = new File(LocalFileSystem.findTempDir(), "SparkTextFileSourceTest.txt");
+        Files.write(this.file.toPath(), this.lines);
+        this.fileUrl = LocalFileSystem.toURL(this.file);
+    }
+
+    @After
+    public void tearDown() {
+        this.file.delete();
+    }
+
+    @Test
+    public void testReadingCompleteFile() {
+        final RddChannel.Instance output = this.read(new SparkTextFileSource(this.fileUrl));
+
+        Assert.assertEquals(this.lines, output.<String>provideRdd().collect());
+    }
+
+    @Test
+    public void testBlockSamplingWithAllBlocks() {
+        final SparkTextFileSource source = new SparkTextFileSource(this.fileUrl);
+        source.setBlockSampling(1 - 1e-9, BLOCK_SIZE, 42L);
+        Assert.assertTrue(source.isBlockSampling());
+
+        final List<String> result = new ArrayList<>(this.read(source).<String>provideRdd().collect());
+
+        Collections.sort(result);
+        final List<String> expectedLines = new ArrayList<>(this.lines);
+        Collections.sort(expectedLines);
+        Assert.assertEquals(expectedLines, result);
+    }
+
+    @Test
+    public void testBlockSamplingPrunesPartitions() {
+        final SparkTextFileSource source = new SparkTextFileSource(this.fileUrl);
+        source.setBlockSampling(0.25, BLOCK_SIZE, 42L);
+
+        final RddChannel.Instance output = this.read(source);
+
+        // Only the sampled partitions should remain.
+        final int numBlocks = this.getSC().textFile(this.fileUrl, (int) (this.file.length() / BLOCK_SIZE)).partitions().size();
+        Assert.assertEquals(source.getNumSampledBlocks(numBlocks), output.provideRdd().partitions().size());
+        Assert.assertTrue(source.getNumSampledBlocks(numBlocks) < numBlocks);
+
+        // The lines of the sampled partitions should be read completely.
+        final List<String> result = output.<String>provideRdd().collect();
+        Assert.assertFalse(result.isEmpty());
+        Assert.assertTrue(result.size() < this.lines.size());
+        Assert.assertTrue(this.lines.containsAll(result));
+        Assert.assertEquals(result.size(), result.stream().distinct().count());
+        final List<Integer> partitionSizes = output.<String>provideRdd().glom().map(List::size).collect();
+        Assert.assertFalse(partitionSizes.contains(0));
+    }
+
+    private RddChannel.Instance read(SparkTextFileSource source) {
+        RddChannel.Instance output = this.createRddChannelInstance();
+        this.evaluate(source, new ChannelInstance[0], new ChannelInstance[]{output});
+        return output;
+    }
+
+}
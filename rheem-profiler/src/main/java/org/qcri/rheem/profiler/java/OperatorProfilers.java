@@ -193,7 +193,10 @@ public class OperatorProfilers {
     }
 
     public static <T> UnaryOperatorProfiler createJavaSortProfiler(Supplier<T> dataGenerator, Class<T> inClass) {
-        return new UnaryOperatorProfiler(() -> new JavaSortOperator<>(DataSetType.createDefault(inClass)), dataGenerator);
+        return new UnaryOperatorProfiler(() -> new JavaSortOperator<>(
+                new TransformationDescriptor<>(r -> r, inClass, inClass),
+                DataSetType.createDefault(inClass)
+        ), dataGenerator);
     }
 
     public static BinaryOperatorProfiler createJavaJoinProfiler() {
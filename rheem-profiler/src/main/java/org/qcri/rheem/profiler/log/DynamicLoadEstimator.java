@@ -8,10 +8,12 @@ import org.qcri.rheem.core.util.mathex.Expression;
 import org.qcri.rheem.core.util.mathex.ExpressionBuilder;
 import org.qcri.rheem.core.util.mathex.exceptions.EvaluationException;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.function.Function;
 import java.util.function.ToDoubleFunction;
 
@@ -81,11 +83,18 @@ public class DynamicLoadEstimator extends LoadEstimator {
 
         final Expression expr = ExpressionBuilder.parse(sb.toString()).specify(LoadProfileEstimators.baseContext);
 
-        SinglePointEstimator singlePointEstimator =
-                (individual, inCards, outCards) -> {
-                    Context mathContext = createMathContext(individual, inCards, outCards);
-                    return Math.round(expr.evaluate(mathContext));
-                };
+        SinglePointEstimator singlePointEstimator;
+        try {
+            // The fitness evaluation estimates loads over and over again, so avoid resolving variables by name.
+            final CompiledExpression compiledExpr = new CompiledExpression(expr);
+            singlePointEstimator = (individual, inCards, outCards) ->
+                    Math.round(compiledExpr.evaluate(individual, inCards, outCards));
+        } catch (EvaluationException e) {
+            singlePointEstimator = (individual, inCards, outCards) -> {
+                Context mathContext = createMathContext(individual, inCards, outCards);
+                return Math.round(expr.evaluate(mathContext));
+            };
+        }
         final Function<Individual, String> specificationBuilder = individual -> {
             DefaultContext context = new DefaultContext();
             for (Variable variable : variables) {
@@ -155,6 +164,88 @@ public class DynamicLoadEstimator extends LoadEstimator {
     }
 
 
+    /**
+     * Parses the index of a variable, such as {@code in0}, {@code out1}, or {@code _var2}.
+     *
+     * @param variableName the name of the variable
+     * @param prefix       the prefix of the variable name
+     * @return the index or {@code -1} if the {@code variableName} does not consist of the {@code prefix} and an index
+     */
+    private static int parseIndex(String variableName, String prefix) {
+        if (!variableName.startsWith(prefix) || variableName.length() == prefix.length()) return -1;
+        int accu = 0;
+        for (int i = prefix.length(); i < variableName.length(); i++) {
+            char c = variableName.charAt(i);
+            if (!Character.isDigit(c)) return -1;
+            accu = 10 * accu + (c - '0');
+        }
+        return accu;
+    }
+
+    /**
+     * A compiled {@link Expression} whose variables are served from cardinalities, the genome of an
+     * {@link Individual}, or properties of a {@link DynamicEstimationContext}, respectively.
+     */
+    private static class CompiledExpression {
+
+        /**
+         * The compiled {@link Expression}.
+         */
+        private final ToDoubleFunction<double[]> function;
+
+        /**
+         * Describe for each variable slot whether it is served from an input cardinality, an output cardinality,
+         * a gene, or a property, respectively; only one of the entries is set for each slot.
+         */
+        private final int[] inputIndices, outputIndices, geneIndices;
+
+        private final String[] propertyNames;
+
+        private CompiledExpression(Expression expression) throws EvaluationException {
+            final List<String> variableNames = new ArrayList<>();
+            this.function = expression.compile(variableName -> {
+                int index = variableNames.indexOf(variableName);
+                if (index == -1) {
+                    index = variableNames.size();
+                    variableNames.add(variableName);
+                }
+                return index;
+            });
+            final int numSlots = variableNames.size();
+            this.inputIndices = new int[numSlots];
+            this.outputIndices = new int[numSlots];
+            this.geneIndices = new int[numSlots];
+            this.propertyNames = new String[numSlots];
+            for (int slot = 0; slot < numSlots; slot++) {
+                final String variableName = variableNames.get(slot);
+                this.inputIndices[slot] = parseIndex(variableName, "in");
+                this.outputIndices[slot] = this.inputIndices[slot] == -1 ? parseIndex(variableName, "out") : -1;
+                this.geneIndices[slot] = this.inputIndices[slot] == -1 && this.outputIndices[slot] == -1 ?
+                        parseIndex(variableName, "_var") :
+                        -1;
+                if (this.inputIndices[slot] == -1 && this.outputIndices[slot] == -1 && this.geneIndices[slot] == -1) {
+                    this.propertyNames[slot] = variableName;
+                }
+            }
+        }
+
+        private double evaluate(DynamicEstimationContext context, long[] inputCardinalities, long[] outputCardinalities) {
+            final double[] variables = new double[this.propertyNames.length];
+            for (int slot = 0; slot < variables.length; slot++) {
+                if (this.inputIndices[slot] != -1) {
+                    variables[slot] = inputCardinalities[this.inputIndices[slot]];
+                } else if (this.outputIndices[slot] != -1) {
+                    variables[slot] = outputCardinalities[this.outputIndices[slot]];
+                } else if (this.geneIndices[slot] != -1) {
+                    variables[slot] = context.getIndividual().getGenome()[this.geneIndices[slot]];
+                } else {
+                    variables[slot] = context.getDoubleProperty(this.propertyNames[slot], Double.NaN);
+                }
+            }
+            return this.function.applyAsDouble(variables);
+        }
+    }
+
     /**
      * Creates a new instance.
      *
@@ -13,7 +13,11 @@ import org.qcri.rheem.profiler.log.sampling.Sampler;
 import org.qcri.rheem.profiler.log.sampling.TournamentSampler;
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
 import java.util.function.ToDoubleFunction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * Implementation of the genetic optimization technique for finding good {@link LoadProfileEstimator}s.
@@ -35,6 +39,11 @@ public class GeneticOptimizer {
      */
     private final Collection<PartialExecution> observations;
 
+    /**
+     * The {@link #observations} in a form that can be evaluated quickly and concurrently.
+     */
+    private final List<Observation> preparedObservations;
+
     /**
      * Counts observation instances, such as an operator or a platform initialization, in the training data.
      */
@@ -76,10 +85,15 @@ public class GeneticOptimizer {
     private final Bitmask activatedGenes;
 
     /**
-     * Provides randomness to the optimization.
+     * Provides randomness to the optimization. Concurrent tasks are seeded from it with their own {@link Random}s.
      */
     private final Random random = new Random();
 
+    /**
+     * Evaluates the fitness of {@link Individual}s in parallel. Not owned by this instance.
+     */
+    private final ForkJoinPool forkJoinPool;
+
     /**
      * Fitness function for assessing {@link Individual}s.
      */
@@ -91,14 +105,30 @@ public class GeneticOptimizer {
     private long runtimeSum;
 
     /**
-     * Creates a new instance.
+     * Creates a new instance that evaluates the fitness of {@link Individual}s in the common {@link ForkJoinPool}.
      */
     public GeneticOptimizer(OptimizationSpace optimizationSpace,
                             Collection<PartialExecution> observations,
                             Map<String, DynamicLoadProfileEstimator> estimators,
                             Map<Platform, Variable> platformOverheads,
                             Configuration configuration) {
+        this(optimizationSpace, observations, estimators, platformOverheads, configuration, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param forkJoinPool in which the fitness of {@link Individual}s is evaluated; the caller is responsible for
+     *                     shutting it down
+     */
+    public GeneticOptimizer(OptimizationSpace optimizationSpace,
+                            Collection<PartialExecution> observations,
+                            Map<String, DynamicLoadProfileEstimator> estimators,
+                            Map<Platform, Variable> platformOverheads,
+                            Configuration configuration,
+                            ForkJoinPool forkJoinPool) {
         this.configuration = configuration;
+        this.forkJoinPool = forkJoinPool;
         this.optimizationSpace = optimizationSpace;
         this.observations = observations;
         this.platformOverheads = platformOverheads;
@@ -152,6 +182,16 @@ public class GeneticOptimizer {
             }
             this.runtimeSum += observation.getMeasuredExecutionTime();
         }
+
+        // Prepare the observations for the fitness evaluation.
+        this.preparedObservations = this.observations.stream()
+                .map(observation -> new Observation(
+                        observation,
+                        this.platformOverheads,
+                        this.calculateObservationBasedWeight(observation),
+                        this.calculateRuntimeBasedWeight(observation)
+                ))
+                .collect(Collectors.toList());
     }
 
     /**
@@ -160,12 +200,11 @@ public class GeneticOptimizer {
      * @return the {@link Individual}s ordered by their fitness
      */
     public List<Individual> createInitialPopulation() {
-        List<Individual> individuals = new ArrayList<>(this.populationSize);
+        List<Function<Random, Individual>> conceptions = new ArrayList<>(this.populationSize);
         for (int i = 0; i < this.populationSize; i++) {
-            final Individual individual = this.optimizationSpace.createRandomIndividual(this.random);
-            this.updateFitnessOf(individual);
-            individuals.add(individual);
+            conceptions.add(this.optimizationSpace::createRandomIndividual);
         }
+        final List<Individual> individuals = this.conceive(conceptions);
         individuals.sort(Individual.fitnessComparator);
         return individuals;
     }
@@ -176,7 +215,7 @@ public class GeneticOptimizer {
      * @param individuals the {@link Individual}s
      */
     public void updateFitness(List<Individual> individuals) {
-        individuals.forEach(this::updateFitnessOf);
+        this.forkJoinPool.submit(() -> individuals.parallelStream().forEach(this::updateFitnessOf)).join();
         individuals.sort(Individual.fitnessComparator);
     }
 
@@ -185,9 +224,30 @@ public class GeneticOptimizer {
         individual.updateMaturity(this.activatedGenes);
     }
 
+    /**
+     * Creates new {@link Individual}s and calculates their fitness in parallel. The conceptions are supplied with
+     * their own {@link Random}s, which are seeded from {@link #random}, so that they need not share any state.
+     *
+     * @param conceptions create the new {@link Individual}s
+     * @return the new {@link Individual}s in the order of their {@code conceptions}
+     */
+    private List<Individual> conceive(List<Function<Random, Individual>> conceptions) {
+        final long[] seeds = new long[conceptions.size()];
+        for (int i = 0; i < seeds.length; i++) {
+            seeds[i] = this.random.nextLong();
+        }
+        final Individual[] individuals = new Individual[conceptions.size()];
+        this.forkJoinPool.submit(() -> IntStream.range(0, individuals.length).parallel().forEach(i -> {
+            final Individual individual = conceptions.get(i).apply(new Random(seeds[i]));
+            this.updateFitnessOf(individual);
+            individuals[i] = individual;
+        })).join();
+        return new ArrayList<>(Arrays.asList(individuals));
+    }
+
     public List<Individual> evolve(List<Individual> population) {
         assert population.size() == this.populationSize;
-        ArrayList<Individual> nextGeneration = new ArrayList<>(this.populationSize + this.eliteSize);
+        List<Function<Random, Individual>> conceptions = new ArrayList<>(this.populationSize);
 
         // Select individuals that should be able to propagate.
         double maxFitness = population.get(0).getFitness(), minFitness = population.get(this.populationSize - 1).getFitness();
@@ -203,11 +263,9 @@ public class GeneticOptimizer {
         int numMutations = (int) Math.round(this.mutationRatio * this.populationSize);
         for (int i = 0; i < numMutations; i++) {
             final Individual individual = selectedIndividuals.get(this.random.nextInt(selectionSize));
-            final Individual mutant = individual.mutate(
-                    this.random, this.activatedGenes, this.optimizationSpace, this.mutationAlterationRatio, this.mutationResetRatio
-            );
-            this.updateFitnessOf(mutant);
-            nextGeneration.add(mutant);
+            conceptions.add(random -> individual.mutate(
+                    random, this.activatedGenes, this.optimizationSpace, this.mutationAlterationRatio, this.mutationResetRatio
+            ));
         }
 
         // Cross over.
@@ -215,12 +273,11 @@ public class GeneticOptimizer {
         for (int i = 0; i < numCrossOvers; i++) {
             final Individual individual1 = selectedIndividuals.get(this.random.nextInt(selectionSize));
             final Individual individual2 = selectedIndividuals.get(this.random.nextInt(selectionSize));
-            final Individual offspring = individual1.crossOver(individual2, this.random);
-            this.updateFitnessOf(offspring);
-            nextGeneration.add(offspring);
+            conceptions.add(random -> individual1.crossOver(individual2, random));
         }
 
-        // Process elites.
+        // Conceive the new individuals and process elites.
+        List<Individual> nextGeneration = this.conceive(conceptions);
         for (int i = 0; i < this.eliteSize; i++) {
             nextGeneration.add(population.get(i));
         }
@@ -260,6 +317,10 @@ public class GeneticOptimizer {
         return observations;
     }
 
+    public List<Observation> getPreparedObservations() {
+        return this.preparedObservations;
+    }
+
     public TObjectIntMap<Object> getNumObservations() {
         return numObservations;
     }
@@ -300,5 +361,66 @@ public class GeneticOptimizer {
         return keys;
     }
 
+    /**
+     * A {@link PartialExecution} along with all data that the fitness evaluation requires and that does not depend
+     * on the evaluated {@link Individual}.
+     */
+    public static class Observation {
+
+        private final PartialExecution partialExecution;
+
+        private final AtomicExecutionGroup[] atomicExecutionGroups;
+
+        private final Variable[] platformOverheads;
+
+        private final double observationBasedWeight, runtimeBasedWeight;
+
+        private Observation(PartialExecution partialExecution,
+                            Map<Platform, Variable> platformOverheads,
+                            double observationBasedWeight,
+                            double runtimeBasedWeight) {
+            this.partialExecution = partialExecution;
+            this.atomicExecutionGroups = partialExecution.getAtomicExecutionGroups().toArray(new AtomicExecutionGroup[0]);
+            this.platformOverheads = partialExecution.getInitializedPlatforms().stream()
+                    .map(platformOverheads::get)
+                    .filter(Objects::nonNull)
+                    .toArray(Variable[]::new);
+            this.observationBasedWeight = observationBasedWeight;
+            this.runtimeBasedWeight = runtimeBasedWeight;
+        }
+
+        public PartialExecution getPartialExecution() {
+            return this.partialExecution;
+        }
+
+        public long getMeasuredExecutionTime() {
+            return this.partialExecution.getMeasuredExecutionTime();
+        }
+
+        public AtomicExecutionGroup[] getAtomicExecutionGroups() {
+            return this.atomicExecutionGroups;
+        }
+
+        /**
+         * @return the {@link Variable}s for the overheads of the initialized {@link Platform}s
+         */
+        public Variable[] getPlatformOverheads() {
+            return this.platformOverheads;
+        }
+
+        /**
+         * @see GeneticOptimizer#calculateObservationBasedWeight(PartialExecution)
+         */
+        public double getObservationBasedWeight() {
+            return this.observationBasedWeight;
+        }
+
+        /**
+         * @see GeneticOptimizer#calculateRuntimeBasedWeight(PartialExecution)
+         */
+        public double getRuntimeBasedWeight() {
+            return this.runtimeBasedWeight;
+        }
+    }
 
 }
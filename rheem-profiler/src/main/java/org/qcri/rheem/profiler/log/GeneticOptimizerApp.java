@@ -22,6 +22,7 @@ import org.qcri.rheem.spark.Spark;
 import org.qcri.rheem.sqlite3.Sqlite3;
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -62,6 +63,12 @@ public class GeneticOptimizerApp {
      */
     Map<Platform, Variable> platformOverheads = new HashMap<>();
 
+    /**
+     * Evaluates the fitness of {@link Individual}s in parallel for all {@link GeneticOptimizer}s. Only available
+     * while {@link #run()}ning.
+     */
+    private ForkJoinPool forkJoinPool;
+
     /**
      * Creates a new instance.
      *
@@ -285,6 +292,19 @@ public class GeneticOptimizerApp {
 
 
     public void run() {
+        final int parallelism = (int) this.configuration.getLongProperty(
+                "rheem.profiler.ga.parallelism", Runtime.getRuntime().availableProcessors()
+        );
+        this.forkJoinPool = new ForkJoinPool(Math.max(1, parallelism));
+        try {
+            this.runOptimization();
+        } finally {
+            this.forkJoinPool.shutdownNow();
+            this.forkJoinPool = null;
+        }
+    }
+
+    private void runOptimization() {
         if (this.optimizationSpace.getNumDimensions() == 0) {
             System.out.println("There is nothing to optimize - all estimators are specified in the configuration.");
             System.exit(0);
@@ -447,7 +467,8 @@ public class GeneticOptimizerApp {
                 partialExecutions,
                 this.estimators,
                 this.platformOverheads,
-                this.configuration
+                this.configuration,
+                this.forkJoinPool
         );
     }
 
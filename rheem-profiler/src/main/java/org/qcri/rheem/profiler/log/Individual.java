@@ -214,22 +214,18 @@ public class Individual {
         double fitnessSum = 0d;
 
         // Calculate the arithmetic mean of the partial fitnesses for each data point.
-        for (PartialExecution partialExecution : geneticOptimizer.getData()) {
+        for (GeneticOptimizer.Observation observation : geneticOptimizer.getPreparedObservations()) {
             // Estimate the time with the current variables.
-            double timeEstimate = this.estimateTime(
-                    partialExecution,
-                    geneticOptimizer.getPlatformOverheads(),
-                    geneticOptimizer.getConfiguration()
-            );
+            double timeEstimate = this.estimateTime(observation);
 
             // Calculate the weight.
 //            double weight = Math.log(partialExecution.getMeasuredExecutionTime() + 2d) / Math.log(2);
 //            double weight = Math.sqrt(Math.max(timeEstimate, partialExecution.getMeasuredExecutionTime())) + 1;
-            double weight = geneticOptimizer.calculateObservationBasedWeight(partialExecution);
-//                    + geneticOptimizer.calculateRuntimeBasedWeight(partialExecution);
+            double weight = observation.getObservationBasedWeight();
+//                    + observation.getRuntimeBasedWeight();
 
             // Calculate the partial fitness.
-            double relativeDelta = this.calculateRelativeDelta(timeEstimate, partialExecution.getMeasuredExecutionTime());
+            double relativeDelta = this.calculateRelativeDelta(timeEstimate, observation.getMeasuredExecutionTime());
 
             // Prepare mean calculation.
 //            fitnessSum += weight / (partialFitness + harmonicSmoothing);
@@ -254,15 +250,10 @@ public class Individual {
     double calculateAbsoluteFitness(GeneticOptimizer geneticOptimizer) {
         double weightSum = 0d;
         double fitnessSum = 0d;
-        for (PartialExecution partialExecution : geneticOptimizer.getData()) {
-            double timeEstimate = this.estimateTime(
-                    partialExecution,
-                    geneticOptimizer.getPlatformOverheads(),
-                    geneticOptimizer.getConfiguration()
-            );
-            double weight = geneticOptimizer.calculateObservationBasedWeight(partialExecution)
-                    + 3 * geneticOptimizer.calculateRuntimeBasedWeight(partialExecution);
-            double partialFitness = this.calculateAbsolutePartialFitness(timeEstimate, partialExecution.getMeasuredExecutionTime());
+        for (GeneticOptimizer.Observation observation : geneticOptimizer.getPreparedObservations()) {
+            double timeEstimate = this.estimateTime(observation);
+            double weight = observation.getObservationBasedWeight() + 3 * observation.getRuntimeBasedWeight();
+            double partialFitness = this.calculateAbsolutePartialFitness(timeEstimate, observation.getMeasuredExecutionTime());
             weightSum += weight;
             fitnessSum += weight * -(partialFitness * partialFitness);
         }
@@ -278,7 +269,7 @@ public class Individual {
                         Map<Platform, Variable> platformOverheads,
                         Configuration configuration) {
         final DoubleStream operatorEstimates = partialExecution.getAtomicExecutionGroups().stream()
-                .map(atomicExecutionGroup -> this.estimateTime(atomicExecutionGroup, configuration))
+                .map(atomicExecutionGroup -> this.estimateTime(atomicExecutionGroup))
                 .mapToDouble(TimeEstimate::getGeometricMeanEstimate);
         final DoubleStream platformEstimates = partialExecution.getInitializedPlatforms().stream()
                 .mapToDouble(p -> {
@@ -288,15 +279,30 @@ public class Individual {
         return DoubleStream.concat(operatorEstimates, platformEstimates).sum();
     }
 
+    /**
+     * Estimates the execution time for the given {@link GeneticOptimizer.Observation} with the genome of this instance.
+     *
+     * @param observation the {@link GeneticOptimizer.Observation}
+     * @return the estimated execution time
+     */
+    double estimateTime(GeneticOptimizer.Observation observation) {
+        double timeEstimate = 0d;
+        for (AtomicExecutionGroup atomicExecutionGroup : observation.getAtomicExecutionGroups()) {
+            timeEstimate += this.estimateTime(atomicExecutionGroup).getGeometricMeanEstimate();
+        }
+        for (Variable platformOverhead : observation.getPlatformOverheads()) {
+            timeEstimate += platformOverhead.getValue(this);
+        }
+        return timeEstimate;
+    }
+
     /**
      * Estimates the execution time for the given {@link AtomicExecutionGroup} with the genome of this instance.
      *
      * @param executionGroup the {@link AtomicExecutionGroup}
-     * @param configuration  provides estimation context
      * @return the {@link TimeEstimate}
      */
-    private TimeEstimate estimateTime(AtomicExecutionGroup executionGroup,
-                                      Configuration configuration) {
+    private TimeEstimate estimateTime(AtomicExecutionGroup executionGroup) {
         final EstimationContext estimationContext = executionGroup.getEstimationContext();
         return executionGroup.estimateExecutionTime(new DynamicEstimationContext(this, estimationContext));
     }
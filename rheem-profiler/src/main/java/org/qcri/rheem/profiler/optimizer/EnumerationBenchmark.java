@@ -0,0 +1,102 @@
+package org.qcri.rheem.profiler.optimizer;
+
+import org.qcri.rheem.basic.operators.CollectionSource;
+import org.qcri.rheem.basic.operators.LocalCallbackSink;
+import org.qcri.rheem.basic.operators.MapOperator;
+import org.qcri.rheem.basic.operators.UnionAllOperator;
+import org.qcri.rheem.core.api.Configuration;
+import org.qcri.rheem.core.api.RheemContext;
+import org.qcri.rheem.core.plan.rheemplan.Operator;
+import org.qcri.rheem.core.plan.rheemplan.RheemPlan;
+import org.qcri.rheem.java.Java;
+import org.qcri.rheem.spark.Spark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Measures how long the optimizer takes to come up with an execution plan for synthetic {@link RheemPlan}s of
+ * growing size. Each {@link RheemPlan} consists of a number of parallel pipelines of {@link MapOperator}s that are
+ * unioned into a single sink, so that the enumeration has to cost many alternative Java/Spark implementations.
+ */
+public class EnumerationBenchmark {
+
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.err.printf("Usage: java %s <number of pipelines>[,<number of pipelines>]* <pipeline length> " +
+                    "[<repetitions> [<parallel-tasks: true|false>]]\n", EnumerationBenchmark.class);
+            System.exit(1);
+        }
+
+        List<Integer> widths = Arrays.stream(args[0].split(",")).map(Integer::valueOf).collect(Collectors.toList());
+        int depth = Integer.parseInt(args[1]);
+        int repetitions = args.length >= 3 ? Integer.parseInt(args[2]) : 5;
+        boolean isParallelTasks = args.length < 4 || Boolean.parseBoolean(args[3]);
+
+        System.out.println("operators\tavg. optimization time (ms)");
+        for (int width : widths) {
+            // Warm up on the first repetition and do not count it.
+            long totalMillis = 0L;
+            for (int repetition = 0; repetition <= repetitions; repetition++) {
+                final long millis = measureOptimization(width, depth, isParallelTasks);
+                if (repetition > 0) totalMillis += millis;
+            }
+            System.out.printf("%d\t%.1f\n", width * (depth + 2), totalMillis / (double) repetitions);
+        }
+    }
+
+    /**
+     * Creates a new {@link RheemPlan} and measures how long it takes to build its initial execution plan.
+     *
+     * @return the measured time in milliseconds
+     */
+    private static long measureOptimization(int width, int depth, boolean isParallelTasks) {
+        Configuration configuration = new Configuration();
+        configuration.setProperty("rheem.core.optimizer.enumeration.parallel-tasks", String.valueOf(isParallelTasks));
+        RheemContext rheemContext = new RheemContext(configuration)
+                .with(Java.basicPlugin())
+                .with(Spark.basicPlugin());
+        RheemPlan rheemPlan = createRheemPlan(width, depth);
+
+        final long startTime = System.currentTimeMillis();
+        rheemContext.buildInitialExecutionPlan("Enumeration benchmark", rheemPlan);
+        return System.currentTimeMillis() - startTime;
+    }
+
+    /**
+     * Creates a {@link RheemPlan} with {@code width} pipelines of {@code depth} {@link MapOperator}s each.
+     */
+    private static RheemPlan createRheemPlan(int width, int depth) {
+        List<Operator> pipelineEnds = new ArrayList<>(width);
+        for (int i = 0; i < width; i++) {
+            Operator pipelineEnd = new CollectionSource<>(Collections.nCopies(1000, i), Integer.class);
+            for (int j = 0; j < depth; j++) {
+                MapOperator<Integer, Integer> map = new MapOperator<>(x -> x + 1, Integer.class, Integer.class);
+                pipelineEnd.connectTo(0, map, 0);
+                pipelineEnd = map;
+            }
+            pipelineEnds.add(pipelineEnd);
+        }
+
+        // Union the pipelines pairwise.
+        while (pipelineEnds.size() > 1) {
+            List<Operator> unions = new ArrayList<>((pipelineEnds.size() + 1) / 2);
+            for (int i = 0; i + 1 < pipelineEnds.size(); i += 2) {
+                UnionAllOperator<Integer> union = new UnionAllOperator<>(Integer.class);
+                pipelineEnds.get(i).connectTo(0, union, 0);
+                pipelineEnds.get(i + 1).connectTo(0, union, 1);
+                unions.add(union);
+            }
+            if (pipelineEnds.size() % 2 == 1) unions.add(pipelineEnds.get(pipelineEnds.size() - 1));
+            pipelineEnds = unions;
+        }
+
+        LocalCallbackSink<Integer> sink = LocalCallbackSink.createStdoutSink(Integer.class);
+        pipelineEnds.get(0).connectTo(0, sink, 0);
+        return new RheemPlan(sink);
+    }
+
+}
@@ -252,7 +252,10 @@ public class OperatorProfilers {
                                                                             Class<Type> inOutClass,
                                                                             Configuration configuration) {
         return new SparkUnaryOperatorProfiler(
-                () -> new SparkSortOperator<>(DataSetType.createDefault(inOutClass)),
+                () -> new SparkSortOperator<>(
+                        new TransformationDescriptor<>(r -> r, inOutClass, inOutClass),
+                        DataSetType.createDefault(inOutClass)
+                ),
                 configuration,
                 dataGenerator
         );
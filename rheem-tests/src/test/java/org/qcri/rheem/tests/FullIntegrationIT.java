@@ -7,16 +7,26 @@ import org.qcri.rheem.basic.RheemBasics;
 import org.qcri.rheem.basic.data.Record;
 import org.qcri.rheem.basic.data.Tuple2;
 import org.qcri.rheem.basic.operators.CollectionSource;
+import org.qcri.rheem.basic.operators.FlatMapOperator;
 import org.qcri.rheem.basic.operators.LocalCallbackSink;
+import org.qcri.rheem.basic.operators.LoopOperator;
 import org.qcri.rheem.basic.operators.MapOperator;
 import org.qcri.rheem.basic.operators.MaterializedGroupByOperator;
 import org.qcri.rheem.core.api.Configuration;
+import org.qcri.rheem.core.api.Job;
 import org.qcri.rheem.core.api.RheemContext;
 import org.qcri.rheem.core.api.exception.RheemException;
+import org.qcri.rheem.core.function.FlatMapDescriptor;
+import org.qcri.rheem.core.function.PredicateDescriptor;
 import org.qcri.rheem.core.function.TransformationDescriptor;
+import org.qcri.rheem.core.optimizer.ProbabilisticDoubleInterval;
+import org.qcri.rheem.core.optimizer.costs.TimeToCostConverter;
 import org.qcri.rheem.core.plan.executionplan.ExecutionPlan;
+import org.qcri.rheem.core.plan.executionplan.ExecutionTask;
+import org.qcri.rheem.core.plan.rheemplan.ExecutionOperator;
 import org.qcri.rheem.core.plan.rheemplan.Operator;
 import org.qcri.rheem.core.plan.rheemplan.RheemPlan;
+import org.qcri.rheem.core.platform.Platform;
 import org.qcri.rheem.core.types.DataSetType;
 import org.qcri.rheem.core.types.DataUnitType;
 import org.qcri.rheem.core.util.RheemArrays;
@@ -376,6 +386,112 @@ public class FullIntegrationIT {
         Assert.assertEquals(expected, collector);
     }
 
+    @Test
+    public void testSimpleLoopWithLoopReoptimization() throws URISyntaxException {
+        // Build the RheemPlan.
+        final Set<Integer> collector = new HashSet<>();
+        RheemPlan rheemPlan = RheemPlans.simpleLoop(3, collector, 0, 1, 2);
+
+        // Re-optimize aggressively, also when entering the loop and at iteration boundaries.
+        this.configuration.setProperty("rheem.core.optimizer.instrumentation", "org.qcri.rheem.core.profiling.FullInstrumentationStrategy");
+        this.configuration.setProperty("rheem.core.optimizer.reoptimize", "true");
+        this.configuration.setProperty("rheem.core.optimizer.reoptimize.loops", "true");
+        this.configuration.setProperty("rheem.core.optimizer.cardinality.maxspread", "1");
+        this.configuration.setProperty("rheem.core.optimizer.cardinality.spreadsmoothing", "1");
+
+        // Instantiate Rheem and activate the Java and Spark backends.
+        RheemContext rheemContext = new RheemContext(this.configuration)
+                .with(Java.basicPlugin())
+                .with(Spark.basicPlugin());
+
+        rheemContext.execute(rheemPlan);
+
+        final HashSet<Integer> expected = new HashSet<>(RheemArrays.asList(RheemArrays.range(0, 24)));
+        Assert.assertEquals(expected, collector);
+    }
+
+    /**
+     * Lets the loop body of {@link #testLoopReoptimizationMovesLoopBody()} change the cost model of its {@link Job}.
+     * This is a static field, so that the UDF does not capture it.
+     */
+    private static volatile Configuration loopJobConfiguration;
+
+    @Test
+    public void testLoopReoptimizationMovesLoopBody() {
+        // Build the RheemPlan. Its loop counter misestimates its output and, when first run, makes Java expensive.
+        final Set<Integer> collector = new HashSet<>();
+        CollectionSource<Integer> source = new CollectionSource<>(RheemArrays.asList(0, 1, 2), Integer.class);
+        source.setName("source");
+        CollectionSource<Integer> convergenceSource = new CollectionSource<>(RheemArrays.asList(0), Integer.class);
+        convergenceSource.setName("convergenceSource");
+
+        LoopOperator<Integer, Integer> loopOperator = new LoopOperator<>(DataSetType.createDefault(Integer.class),
+                DataSetType.createDefault(Integer.class),
+                (PredicateDescriptor.SerializablePredicate<Collection<Integer>>) collection ->
+                        collection.iterator().next() >= 3,
+                3
+        );
+        loopOperator.setName("loop");
+        loopOperator.initialize(source, convergenceSource);
+
+        FlatMapOperator<Integer, Integer> stepOperator = new FlatMapOperator<>(
+                val -> Arrays.asList(2 * val, 2 * val + 1), Integer.class, Integer.class
+        );
+        stepOperator.setName("step");
+
+        FlatMapOperator<Integer, Integer> counter = new FlatMapOperator<>(new FlatMapDescriptor<>(
+                n -> {
+                    final Configuration jobConfiguration = loopJobConfiguration;
+                    if (jobConfiguration != null) {
+                        loopJobConfiguration = null;
+                        jobConfiguration.getTimeToCostConverterProvider()
+                                .set(Java.platform(), new TimeToCostConverter(0d, 1e6d));
+                        jobConfiguration.getTimeToCostConverterProvider()
+                                .set(Spark.platform(), new TimeToCostConverter(0d, 1d));
+                    }
+                    return Collections.singleton(n + 1);
+                },
+                Integer.class, Integer.class,
+                new ProbabilisticDoubleInterval(3d, 3d, 1d)
+        ));
+        counter.setName("counter");
+        loopOperator.beginIteration(stepOperator, counter);
+        loopOperator.endIteration(stepOperator, counter);
+
+        LocalCallbackSink<Integer> sink = LocalCallbackSink.createCollectingSink(collector, Integer.class);
+        sink.setName("sink");
+        loopOperator.outputConnectTo(sink);
+        RheemPlan rheemPlan = new RheemPlan(sink);
+
+        // Re-optimize at iteration boundaries.
+        this.configuration.setProperty("rheem.core.optimizer.instrumentation", "org.qcri.rheem.core.profiling.FullInstrumentationStrategy");
+        this.configuration.setProperty("rheem.core.optimizer.reoptimize", "true");
+        this.configuration.setProperty("rheem.core.optimizer.reoptimize.loops", "true");
+        this.configuration.setProperty("rheem.core.optimizer.cardinality.maxspread", "1");
+        this.configuration.setProperty("rheem.core.optimizer.cardinality.spreadsmoothing", "1");
+
+        // Instantiate Rheem and activate the Java and Spark backends. Initially, Spark is expensive.
+        RheemContext rheemContext = new RheemContext(this.configuration)
+                .with(Java.basicPlugin())
+                .with(Spark.basicPlugin());
+        final Job job = rheemContext.createJob("loop re-optimization", rheemPlan);
+        job.getConfiguration().getTimeToCostConverterProvider().set(Spark.platform(), new TimeToCostConverter(0d, 1e6d));
+        loopJobConfiguration = job.getConfiguration();
+        job.execute();
+
+        final HashSet<Integer> expected = new HashSet<>(RheemArrays.asList(RheemArrays.range(0, 24)));
+        Assert.assertEquals(expected, collector);
+
+        // The loop body should have been moved from Java to Spark at an iteration boundary.
+        final Set<Platform> stepPlatforms = job.getCrossPlatformExecutor().getCompletedStages().stream()
+                .flatMap(stage -> stage.getAllTasks().stream())
+                .map(ExecutionTask::getOperator)
+                .filter(operator -> "step".equals(operator.getName()))
+                .map(ExecutionOperator::getPlatform)
+                .collect(Collectors.toSet());
+        Assert.assertEquals(new HashSet<>(Arrays.asList(Spark.platform(), Java.platform())), stepPlatforms);
+    }
+
     @Test
     public void testSimpleMultiStageLoop() throws URISyntaxException {
         // Build the RheemPlan.